@@ -0,0 +1,103 @@
+package org.prebid.server.activity.infrastructure.privacy.uscustomlogic;
+
+import com.iab.gpp.encoder.GppModel;
+import com.iab.gpp.encoder.field.UsCaField;
+import com.iab.gpp.encoder.section.UsCa;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.reader.USCaliforniaGppReader;
+import org.prebid.server.json.CompiledJsonLogic;
+import org.prebid.server.json.JsonLogic;
+import org.prebid.server.json.JsonLogicProvider;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures evaluation of US custom logic for the California GPP section, i.e. what {@link USCustomLogicModule}
+ * does for every activity configured with custom logic of the US section present in the request:
+ * <ul>
+ * <li>{@code compiled} - expression compiled once per config by {@link JsonLogic#compile} and evaluated directly
+ * against {@link USCustomLogicGppReader}, reading only the fields it refers to;</li>
+ * <li>{@code interpreted} - {@link USCustomLogicDataSupplier} collecting all section fields into a map and
+ * {@link JsonLogic#evaluate} interpreting parsed expression over it, i.e. how custom logic was evaluated before
+ * compilation, kept as a baseline.</li>
+ * </ul>
+ * Consent does not opt out of anything, so every condition of the expression is evaluated.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class USCustomLogicModuleBenchmark {
+
+    private static final String EXPRESSION = """
+            {"or": [
+              {"==": [{"var": "SaleOptOut"}, 1]},
+              {"==": [{"var": "SharingOptOut"}, 1]},
+              {"and": [{"==": [{"var": "MspaServiceProviderMode"}, 1]}, {"!=": [{"var": "Version"}, 1]}]},
+              {"in": [{"var": "SensitiveDataProcessing1"}, [1, 2]]},
+              {"in": [{"var": "SensitiveDataProcessing4"}, [1, 2]]},
+              {"==": [{"var": "KnownChildSensitiveDataConsents1"}, 1]},
+              {"===": [{"var": "Gpc"}, true]}
+            ]}""";
+
+    private GppModel gppModel;
+    private JsonLogic jsonLogic;
+    private JsonLogicNode jsonLogicNode;
+    private CompiledJsonLogic<USCustomLogicGppReader> compiledJsonLogic;
+
+    @Setup
+    public void setUp() {
+        final GppModel encodedGppModel = new GppModel();
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.SALE_OPT_OUT_NOTICE, 1);
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.SALE_OPT_OUT, 2);
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.SHARING_OPT_OUT_NOTICE, 1);
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.SHARING_OPT_OUT, 2);
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.SENSITIVE_DATA_PROCESSING, Collections.nCopies(9, 0));
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.KNOWN_CHILD_SENSITIVE_DATA_CONSENTS, List.of(0, 0));
+        encodedGppModel.setFieldValue(UsCa.NAME, UsCaField.MSPA_SERVICE_PROVIDER_MODE, 2);
+        gppModel = new GppModel(encodedGppModel.encode());
+
+        jsonLogic = JsonLogicProvider.jsonLogic();
+        jsonLogicNode = jsonLogic.parse(EXPRESSION);
+        compiledJsonLogic = jsonLogic.compile(jsonLogicNode, new USCustomLogicDataView());
+
+        if (compiled() || interpreted()) {
+            throw new IllegalStateException("Expected consent not to match the expression");
+        }
+    }
+
+    @Benchmark
+    public boolean compiled() {
+        try {
+            return compiledJsonLogic.evaluate(new USCaliforniaGppReader(gppModel));
+        } catch (JsonLogicEvaluationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Benchmark
+    public boolean interpreted() {
+        try {
+            return jsonLogic.evaluate(
+                    jsonLogicNode,
+                    USCustomLogicDataSupplier.of(new USCaliforniaGppReader(gppModel)).get());
+        } catch (JsonLogicEvaluationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
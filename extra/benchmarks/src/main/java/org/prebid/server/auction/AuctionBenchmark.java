@@ -0,0 +1,184 @@
+package org.prebid.server.auction;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.net.SocketAddress;
+import io.vertx.ext.web.RequestBody;
+import io.vertx.ext.web.RoutingContext;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.BidRequestCacheInfo;
+import org.prebid.server.auction.model.BidRejectionTracker;
+import org.prebid.server.auction.model.TimeoutContext;
+import org.prebid.server.auction.requestfactory.AuctionRequestFactory;
+import org.prebid.server.benchmark.BenchmarkRequests;
+import org.prebid.server.benchmark.PrebidServerContext;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.hooks.execution.model.HookExecutionContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the auction hot path stage by stage:
+ * <ul>
+ * <li>{@link AuctionRequestFactory} - parsing and enrichment of incoming request;</li>
+ * <li>{@link ExchangeService} - bidder requests fan-out, bids processing and response creation;</li>
+ * <li>{@link BidResponseCreator} - response creation from already collected bidder responses;</li>
+ * <li>all of the above, end to end.</li>
+ * </ul>
+ * Bidders are aliases of the generic bidder, their HTTP calls are served in-memory by pre-recorded responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuctionBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int imps;
+
+    @Param({"5", "20", "60"})
+    private int bidders;
+
+    private PrebidServerContext server;
+    private AuctionRequestFactory auctionRequestFactory;
+    private ExchangeService exchangeService;
+    private BidResponseCreator bidResponseCreator;
+    private TimeoutFactory timeoutFactory;
+
+    private RoutingContext routingContext;
+    private AuctionContext enrichedContext;
+    private AuctionContext auctionedContext;
+
+    @Setup
+    public void setUp() {
+        final List<String> bidderNames = BenchmarkRequests.bidders(bidders);
+        server = PrebidServerContext.start(imps, bidderNames);
+
+        auctionRequestFactory = server.bean(AuctionRequestFactory.class);
+        exchangeService = server.bean(ExchangeService.class);
+        bidResponseCreator = server.bean(BidResponseCreator.class);
+        timeoutFactory = server.bean(TimeoutFactory.class);
+
+        routingContext = routingContext(BenchmarkRequests.auctionRequest(imps, bidderNames));
+        enrichedContext = await(enrichRequest());
+        auctionedContext = await(exchangeService.holdAuction(copyOf(enrichedContext, timeoutFactory)));
+
+        final int seatBids = auctionedContext.getBidResponse().getSeatbid().size();
+        if (seatBids != bidders) {
+            throw new IllegalStateException("Expected %d seat bids but got %d: %s"
+                    .formatted(bidders, seatBids, auctionedContext.getBidResponse().getExt()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public AuctionContext auctionRequestFactory() {
+        return await(enrichRequest());
+    }
+
+    @Benchmark
+    public AuctionContext exchangeService() {
+        return await(exchangeService.holdAuction(copyOf(enrichedContext, timeoutFactory)));
+    }
+
+    @Benchmark
+    public Object bidResponseCreator() {
+        return await(bidResponseCreator.create(
+                copyOf(auctionedContext, timeoutFactory), BidRequestCacheInfo.noCache(), Collections.emptyMap()));
+    }
+
+    @Benchmark
+    public AuctionContext endToEnd() {
+        return await(enrichRequest().compose(exchangeService::holdAuction));
+    }
+
+    private Future<AuctionContext> enrichRequest() {
+        return auctionRequestFactory.parseRequest(routingContext, System.currentTimeMillis())
+                .compose(auctionRequestFactory::enrichAuctionContext);
+    }
+
+    /**
+     * Copies mutable parts of the context and restarts its timeout, so that every invocation
+     * sees the same state as a freshly received request.
+     */
+    static AuctionContext copyOf(AuctionContext context, TimeoutFactory timeoutFactory) {
+        final long startTime = System.currentTimeMillis();
+        final TimeoutContext timeoutContext = context.getTimeoutContext();
+        final HookExecutionContext hookExecutionContext = context.getHookExecutionContext();
+        final Map<String, BidRejectionTracker> bidRejectionTrackers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        bidRejectionTrackers.putAll(context.getBidRejectionTrackers());
+
+        return context.toBuilder()
+                .prebidErrors(new ArrayList<>(context.getPrebidErrors()))
+                .debugWarnings(new ArrayList<>(context.getDebugWarnings()))
+                .debugHttpCalls(new HashMap<>(context.getDebugHttpCalls()))
+                .bidRejectionTrackers(bidRejectionTrackers)
+                .hookExecutionContext(HookExecutionContext.of(
+                        hookExecutionContext.getEndpoint(),
+                        new EnumMap<>(hookExecutionContext.getStageOutcomes())))
+                .timeoutContext(TimeoutContext.of(
+                        startTime,
+                        timeoutFactory.create(startTime, context.getBidRequest().getTmax()),
+                        timeoutContext.getAdjustmentFactor()))
+                .build();
+    }
+
+    static RoutingContext routingContext(String body) {
+        final RequestBody requestBody = Mockito.mock(RequestBody.class);
+        Mockito.when(requestBody.asString()).thenReturn(body);
+
+        final HttpServerRequest request = Mockito.mock(HttpServerRequest.class);
+        Mockito.when(request.headers()).thenReturn(MultiMap.caseInsensitiveMultiMap()
+                .add(HttpHeaders.USER_AGENT, "Mozilla/5.0 (Windows NT 10.0; Win64; x64) Chrome/124.0.0.0")
+                .add(HttpHeaders.CONTENT_TYPE, "application/json")
+                .add(HttpHeaders.REFERER, "https://news.example.com/world/article-12345.html"));
+        Mockito.when(request.method()).thenReturn(HttpMethod.POST);
+        Mockito.when(request.absoluteURI()).thenReturn("https://prebid.example.com/openrtb2/auction");
+        Mockito.when(request.scheme()).thenReturn("https");
+        Mockito.when(request.remoteAddress()).thenReturn(SocketAddress.inetSocketAddress(443, "203.0.113.42"));
+
+        final RoutingContext routingContext = Mockito.mock(RoutingContext.class);
+        Mockito.when(routingContext.body()).thenReturn(requestBody);
+        Mockito.when(routingContext.request()).thenReturn(request);
+        Mockito.when(routingContext.queryParams()).thenReturn(MultiMap.caseInsensitiveMultiMap());
+
+        return routingContext;
+    }
+
+    static <T> T await(Future<T> future) {
+        try {
+            return future.toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
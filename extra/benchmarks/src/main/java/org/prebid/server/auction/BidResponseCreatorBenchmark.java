@@ -0,0 +1,99 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.response.BidResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionParticipation;
+import org.prebid.server.auction.model.BidRequestCacheInfo;
+import org.prebid.server.auction.model.MultiBidConfig;
+import org.prebid.server.auction.requestfactory.AuctionRequestFactory;
+import org.prebid.server.benchmark.BenchmarkRequests;
+import org.prebid.server.benchmark.PrebidServerContext;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link BidResponseCreator} assembling the response of a large multi-bid auction:
+ * 50 imps, 40 bidders and 3 bids of every bidder per imp, all of them allowed by multi-bid configuration
+ * and enriched with targeting.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BidResponseCreatorBenchmark {
+
+    private static final int IMPS = 50;
+    private static final int BIDDERS = 40;
+    private static final int BIDS_PER_IMP = 3;
+
+    private PrebidServerContext server;
+    private BidResponseCreator bidResponseCreator;
+    private TimeoutFactory timeoutFactory;
+
+    private AuctionContext auctionedContext;
+    private Map<String, MultiBidConfig> bidderToMultiBids;
+
+    @Setup
+    public void setUp() {
+        final List<String> bidderNames = BenchmarkRequests.bidders(BIDDERS);
+        server = PrebidServerContext.start(IMPS, BIDS_PER_IMP, bidderNames, Map.of());
+
+        final AuctionRequestFactory auctionRequestFactory = server.bean(AuctionRequestFactory.class);
+        final ExchangeService exchangeService = server.bean(ExchangeService.class);
+        bidResponseCreator = server.bean(BidResponseCreator.class);
+        timeoutFactory = server.bean(TimeoutFactory.class);
+
+        final AuctionContext enrichedContext = AuctionBenchmark.await(auctionRequestFactory
+                .parseRequest(
+                        AuctionBenchmark.routingContext(BenchmarkRequests.auctionRequest(IMPS, bidderNames)),
+                        System.currentTimeMillis())
+                .compose(auctionRequestFactory::enrichAuctionContext));
+        auctionedContext = AuctionBenchmark.await(
+                exchangeService.holdAuction(AuctionBenchmark.copyOf(enrichedContext, timeoutFactory)));
+
+        bidderToMultiBids = bidderNames.stream()
+                .collect(Collectors.toMap(
+                        Function.identity(),
+                        bidder -> MultiBidConfig.of(bidder, BIDS_PER_IMP, bidder + "-m")));
+
+        final int bids = auctionedContext.getAuctionParticipations().stream()
+                .map(AuctionParticipation::getBidderResponse)
+                .mapToInt(bidderResponse -> bidderResponse.getSeatBid().getBids().size())
+                .sum();
+        if (bids != IMPS * BIDDERS * BIDS_PER_IMP) {
+            throw new IllegalStateException("Expected %d bids but got %d: %s"
+                    .formatted(IMPS * BIDDERS * BIDS_PER_IMP, bids, auctionedContext.getBidResponse().getExt()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public BidResponse bidResponseCreator() {
+        return AuctionBenchmark.await(bidResponseCreator.create(
+                AuctionBenchmark.copyOf(auctionedContext, timeoutFactory),
+                BidRequestCacheInfo.noCache(),
+                bidderToMultiBids));
+    }
+}
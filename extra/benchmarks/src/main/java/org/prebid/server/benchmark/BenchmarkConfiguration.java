@@ -0,0 +1,18 @@
+package org.prebid.server.benchmark;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Replaces outgoing HTTP interactions with {@link StubHttpClient} for every bean of the application context.
+ */
+@Configuration
+public class BenchmarkConfiguration {
+
+    @Bean
+    @Primary
+    StubHttpClient stubHttpClient() {
+        return new StubHttpClient();
+    }
+}
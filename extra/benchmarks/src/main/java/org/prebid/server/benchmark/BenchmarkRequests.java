@@ -0,0 +1,99 @@
+package org.prebid.server.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Builds auction requests and bidder responses of the requested size from the recorded templates
+ * placed under {@code benchmark/} resources.
+ */
+public class BenchmarkRequests {
+
+    private static final ObjectMapper MAPPER = ObjectMapperProvider.mapper();
+
+    private static final ObjectNode BID_REQUEST_TEMPLATE = readTemplate("bid-request.json");
+    private static final ObjectNode IMP_TEMPLATE = readTemplate("imp.json");
+    private static final ObjectNode BID_TEMPLATE = readTemplate("bid.json");
+
+    private BenchmarkRequests() {
+    }
+
+    public static List<String> bidders(int count) {
+        return IntStream.rangeClosed(1, count)
+                .mapToObj("benchbidder%02d"::formatted)
+                .toList();
+    }
+
+    public static String impId(int index) {
+        return "imp-" + index;
+    }
+
+    public static String auctionRequest(int imps, List<String> bidders) {
+        final ObjectNode bidRequest = BID_REQUEST_TEMPLATE.deepCopy();
+        final ArrayNode impsNode = bidRequest.putArray("imp");
+
+        for (int i = 1; i <= imps; i++) {
+            final ObjectNode imp = IMP_TEMPLATE.deepCopy();
+            imp.put("id", impId(i));
+            imp.put("tagid", "div-gpt-ad-" + i);
+
+            final ObjectNode biddersNode = (ObjectNode) imp.at("/ext/prebid/bidder");
+            bidders.forEach(bidder -> biddersNode.putObject(bidder).put("exampleProperty", "placement-" + bidder));
+
+            impsNode.add(imp);
+        }
+
+        return bidRequest.toString();
+    }
+
+    /**
+     * Creates bidder response with one bid per imp, prices spread so that every bidder wins some imps.
+     */
+    public static String bidderResponse(String bidder, int bidderIndex, int imps) {
+        return bidderResponse(bidder, bidderIndex, imps, 1);
+    }
+
+    /**
+     * Creates bidder response with the given number of bids per imp, prices spread so that every bidder wins
+     * some imps.
+     */
+    public static String bidderResponse(String bidder, int bidderIndex, int imps, int bidsPerImp) {
+        final ObjectNode bidResponse = MAPPER.createObjectNode()
+                .put("id", "benchmark-request")
+                .put("cur", "USD");
+        final ArrayNode bids = bidResponse.putArray("seatbid").addObject()
+                .put("seat", bidder)
+                .putArray("bid");
+
+        for (int i = 1; i <= imps; i++) {
+            for (int j = 0; j < bidsPerImp; j++) {
+                final String suffix = j == 0 ? String.valueOf(i) : "%d-%d".formatted(i, j);
+                final ObjectNode bid = BID_TEMPLATE.deepCopy();
+                bid.put("id", "%s-bid-%s".formatted(bidder, suffix));
+                bid.put("impid", impId(i));
+                bid.put("price", BigDecimal.valueOf(50 + (bidderIndex * 7L + i * 13L + j * 29L) % 250, 2));
+                bid.put("crid", "%s-creative-%s".formatted(bidder, suffix));
+                bids.add(bid);
+            }
+        }
+
+        return bidResponse.toString();
+    }
+
+    private static ObjectNode readTemplate(String name) {
+        try (InputStream inputStream = BenchmarkRequests.class.getResourceAsStream("/benchmark/" + name)) {
+            return (ObjectNode) MAPPER.readTree(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.prebid.server.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs JMH with regular command line options, always attaching {@link GCProfiler}
+ * so that allocation rate ({@code gc.alloc.rate.norm}) is reported next to throughput and latency percentiles.
+ */
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+        final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+        if (commandLineOptions.shouldHelp()) {
+            commandLineOptions.showHelp();
+            return;
+        }
+
+        final Runner runner = new Runner(new OptionsBuilder()
+                .parent(commandLineOptions)
+                .addProfiler(GCProfiler.class)
+                .build());
+
+        if (commandLineOptions.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.prebid.server.benchmark;
+
+import org.prebid.server.Application;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Boots the regular PBS application context with file-based settings, the given number of enabled bidders
+ * (aliases of the generic bidder) and all outgoing HTTP traffic served by {@link StubHttpClient}.
+ */
+public class PrebidServerContext implements AutoCloseable {
+
+    public static final String ACCOUNT_ID = "bench-account";
+
+    private static final List<String> SETTINGS_DIRS = List.of(
+            "requests", "imps", "responses", "categories", "vendorlist-v2", "vendorlist-v3");
+
+    private final ConfigurableApplicationContext applicationContext;
+    private final Path settingsDir;
+
+    private PrebidServerContext(ConfigurableApplicationContext applicationContext, Path settingsDir) {
+        this.applicationContext = applicationContext;
+        this.settingsDir = settingsDir;
+    }
+
+    public static PrebidServerContext start(int imps, List<String> bidders) {
+        return start(imps, bidders, Map.of());
+    }
+
+    public static PrebidServerContext start(int imps, List<String> bidders, Map<String, String> properties) {
+        return start(imps, 1, bidders, properties);
+    }
+
+    public static PrebidServerContext start(int imps,
+                                            int bidsPerImp,
+                                            List<String> bidders,
+                                            Map<String, String> properties) {
+
+        final Path settingsDir = createSettingsDir();
+
+        final List<String> args = new ArrayList<>();
+        args.add("--server.http.enabled=false");
+        args.add("--admin.port=0");
+        args.add("--logging.level.root=WARN");
+        args.add("--status-response=ok");
+        args.add("--currency-converter.external-rates.enabled=false");
+        args.add("--cache.scheme=http");
+        args.add("--cache.host=localhost");
+        args.add("--cache.path=/cache");
+        args.add("--cache.query=uuid=");
+        args.add("--gdpr.default-value=0");
+        args.add("--gdpr.vendorlist.v2.cache-dir=" + settingsDir.resolve("vendorlist-v2"));
+        args.add("--gdpr.vendorlist.v3.cache-dir=" + settingsDir.resolve("vendorlist-v3"));
+        args.add("--settings.filesystem.settings-filename=" + settingsDir.resolve("settings.yaml"));
+        args.add("--settings.filesystem.stored-requests-dir=" + settingsDir.resolve("requests"));
+        args.add("--settings.filesystem.stored-imps-dir=" + settingsDir.resolve("imps"));
+        args.add("--settings.filesystem.stored-responses-dir=" + settingsDir.resolve("responses"));
+        args.add("--settings.filesystem.categories-dir=" + settingsDir.resolve("categories"));
+        args.add("--adapters.generic.endpoint=http://%s/generic".formatted(StubHttpClient.BIDDER_HOST));
+        bidders.forEach(bidder -> {
+            args.add("--adapters.generic.aliases.%s.enabled=true".formatted(bidder));
+            args.add("--adapters.generic.aliases.%s.endpoint=%s".formatted(bidder, bidderEndpoint(bidder)));
+        });
+        properties.forEach((key, value) -> args.add("--%s=%s".formatted(key, value)));
+
+        final ConfigurableApplicationContext applicationContext = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new));
+
+        final StubHttpClient httpClient = applicationContext.getBean(StubHttpClient.class);
+        IntStream.range(0, bidders.size()).forEach(i -> httpClient.addBidderResponse(
+                bidderEndpoint(bidders.get(i)),
+                BenchmarkRequests.bidderResponse(bidders.get(i), i, imps, bidsPerImp)));
+
+        return new PrebidServerContext(applicationContext, settingsDir);
+    }
+
+    public <T> T bean(Class<T> type) {
+        return applicationContext.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        applicationContext.close();
+        try (var paths = Files.walk(settingsDir)) {
+            paths.sorted((left, right) -> right.compareTo(left)).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static String bidderEndpoint(String bidder) {
+        return "http://%s/%s".formatted(StubHttpClient.BIDDER_HOST, bidder);
+    }
+
+    private static Path createSettingsDir() {
+        try {
+            final Path settingsDir = Files.createTempDirectory("pbs-benchmark");
+            for (String dir : SETTINGS_DIRS) {
+                Files.createDirectory(settingsDir.resolve(dir));
+            }
+            Files.writeString(settingsDir.resolve("settings.yaml"), """
+                    accounts:
+                      - id: %s
+                    """.formatted(ACCOUNT_ID));
+            return settingsDir;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
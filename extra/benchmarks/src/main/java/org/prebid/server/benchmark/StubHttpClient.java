@@ -0,0 +1,50 @@
+package org.prebid.server.benchmark;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.net.ConnectException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory {@link HttpClient} answering bidder calls with pre-recorded response bodies.
+ * <p>
+ * Calls to any other endpoint (currency rates, vendor lists, etc.) are failed immediately, so that benchmarks never
+ * leave the JVM.
+ */
+public class StubHttpClient implements HttpClient {
+
+    public static final String BIDDER_HOST = "bidder.benchmark.prebid.org";
+
+    private final Map<String, Future<HttpClientResponse>> responses = new ConcurrentHashMap<>();
+
+    public void addBidderResponse(String url, String body) {
+        responses.put(url, Future.succeededFuture(HttpClientResponse.of(200, HttpUtil.headers(), body)));
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              String body, long timeoutMs, long maxResponseSize) {
+
+        return respond(url);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers,
+                                              byte[] body, long timeoutMs, long maxResponseSize) {
+
+        return respond(url);
+    }
+
+    private Future<HttpClientResponse> respond(String url) {
+        final Future<HttpClientResponse> response = url != null ? responses.get(url) : null;
+        return response != null
+                ? response
+                : Future.failedFuture(new ConnectException("Benchmark does not allow calls to " + url));
+    }
+}
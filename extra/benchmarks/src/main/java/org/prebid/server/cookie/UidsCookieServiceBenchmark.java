@@ -0,0 +1,234 @@
+package org.prebid.server.cookie;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.Cookie;
+import io.vertx.core.http.CookieSameSite;
+import org.apache.commons.lang3.StringUtils;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures reading and writing of uids cookies holding uids of 30 bidders, which don't fit into a single
+ * 4096 bytes cookie and are split into two:
+ * <ul>
+ * <li>{@code parseCodec} and {@code splitCodec} - {@link UidsCookieService} parsing cookies of request
+ * and splitting uids into cookies of response with {@link UidsCookieCodec};</li>
+ * <li>{@code parseJacksonBinding} and {@code splitJacksonBinding} - binding {@link Uids} model with
+ * {@link JacksonMapper}, copying parsed uids to case-insensitive tree map and serializing every split cookie
+ * with the mapper, i.e. how uids cookies were handled before the codec, kept as a baseline.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UidsCookieServiceBenchmark {
+
+    private static final int BIDDERS = 30;
+    private static final int MAX_COOKIE_SIZE_BYTES = 4096;
+    private static final int NUMBER_OF_UID_COOKIES = 2;
+    private static final int TTL_DAYS = 90;
+    private static final long TTL_SECONDS = TimeUnit.DAYS.toSeconds(TTL_DAYS);
+    private static final String COOKIE_NAME = "uids";
+    private static final String COOKIE_DOMAIN = "cookie-domain";
+
+    private UidsCookieService uidsCookieService;
+    private JacksonBinding jacksonBinding;
+    private Map<String, String> cookies;
+    private UidsCookie uidsCookie;
+
+    @Setup
+    public void setUp() {
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final PrioritizedCoopSyncProvider prioritizedCoopSyncProvider =
+                new PrioritizedCoopSyncProvider(Set.of(), Mockito.mock(BidderCatalog.class));
+        uidsCookieService = new UidsCookieService(
+                "trp_optout",
+                "true",
+                null,
+                null,
+                COOKIE_DOMAIN,
+                TTL_DAYS,
+                MAX_COOKIE_SIZE_BYTES,
+                NUMBER_OF_UID_COOKIES,
+                prioritizedCoopSyncProvider,
+                Mockito.mock(Metrics.class),
+                mapper);
+        jacksonBinding = new JacksonBinding(prioritizedCoopSyncProvider, mapper);
+
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        final ZonedDateTime now = ZonedDateTime.now(ZoneId.of("UTC"));
+        for (int i = 0; i < BIDDERS; i++) {
+            // family names and uids of different length and case, as cookie families of real bidders
+            final String family = (i % 3 == 0 ? "bidderFamily" : "bidder") + i;
+            final String uid = (UUID.randomUUID().toString() + UUID.randomUUID()).substring(0, 20 + i % 4 * 12);
+            uids.put(family, new UidWithExpiry(uid, now.plusMinutes(i)));
+        }
+        uidsCookie = new UidsCookie(Uids.builder().uids(uids).optout(false).build(), mapper);
+
+        cookies = uidsCookieService.splitUidsIntoCookies(uidsCookie).stream()
+                .collect(Collectors.toMap(Cookie::getName, Cookie::getValue));
+        if (cookies.values().stream().anyMatch(String::isEmpty)) {
+            throw new IllegalStateException("Uids are expected to be split into %d cookies"
+                    .formatted(NUMBER_OF_UID_COOKIES));
+        }
+    }
+
+    @Benchmark
+    public UidsCookie parseCodec() {
+        return uidsCookieService.parseFromCookies(cookies);
+    }
+
+    @Benchmark
+    public Map<String, UidWithExpiry> parseJacksonBinding() {
+        return jacksonBinding.parse(cookies);
+    }
+
+    @Benchmark
+    public List<Cookie> splitCodec() {
+        return uidsCookieService.splitUidsIntoCookies(uidsCookie);
+    }
+
+    @Benchmark
+    public List<Cookie> splitJacksonBinding() {
+        return jacksonBinding.split(uidsCookie);
+    }
+
+    /**
+     * Reads and writes uids cookies by binding {@link Uids} model, as {@link UidsCookieService} did before
+     * {@link UidsCookieCodec} was introduced. Cookie size is estimated with uid template of the longest
+     * expiration date, as it was done then.
+     */
+    private static class JacksonBinding {
+
+        private static final int TEMP_UIDS_BASE64_BYTES = "eyJ0ZW1wVUlEcyI6e30sIm9wdG91dCI6ZmFsc2V9".length();
+        private static final int UID_TEMPLATE_BYTES;
+
+        static {
+            try {
+                UID_TEMPLATE_BYTES = "\"\":{\"uid\":\"\",\"expires\":\"%s\"},"
+                        .formatted(ObjectMapperProvider.mapper().writeValueAsString(
+                                ZonedDateTime.ofInstant(Instant.ofEpochSecond(0, 1), ZoneId.of("UTC"))))
+                        .length();
+            } catch (JsonProcessingException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        private final PrioritizedCoopSyncProvider prioritizedCoopSyncProvider;
+        private final JacksonMapper mapper;
+
+        JacksonBinding(PrioritizedCoopSyncProvider prioritizedCoopSyncProvider, JacksonMapper mapper) {
+            this.prioritizedCoopSyncProvider = prioritizedCoopSyncProvider;
+            this.mapper = mapper;
+        }
+
+        Map<String, UidWithExpiry> parse(Map<String, String> cookies) {
+            final Map<String, UidWithExpiry> uids = new HashMap<>();
+            for (Map.Entry<String, String> cookie : cookies.entrySet()) {
+                final Uids parsedUids = mapper.decodeValue(
+                        Buffer.buffer(Base64.getUrlDecoder().decode(cookie.getValue())), Uids.class);
+                parsedUids.getUids().forEach((key, value) -> uids.merge(key, value, (newValue, oldValue) ->
+                        newValue.getExpires().compareTo(oldValue.getExpires()) > 0 ? newValue : oldValue));
+            }
+
+            final Map<String, UidWithExpiry> workingUids = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            workingUids.putAll(uids);
+            return workingUids;
+        }
+
+        List<Cookie> split(UidsCookie uidsCookie) {
+            final Map<String, UidWithExpiry> uids = uidsCookie.getCookieUids().getUids();
+            final Iterator<String> families = uids.entrySet().stream()
+                    .sorted(Comparator.<Map.Entry<String, UidWithExpiry>, Boolean>comparing(
+                                    entry -> !prioritizedCoopSyncProvider.isPrioritizedFamily(entry.getKey()))
+                            .thenComparing(entry -> entry.getValue().getExpires()))
+                    .map(Map.Entry::getKey)
+                    .iterator();
+
+            final int cookieSchemaSize = UidsCookieSize.schemaSize(cookie(COOKIE_NAME, StringUtils.EMPTY));
+            final List<Cookie> cookies = new ArrayList<>();
+            String nextFamily = null;
+            for (int i = 0; i < NUMBER_OF_UID_COOKIES; i++) {
+                final int digits = Integer.signum(i);
+                int encodedUidsSize = 0;
+                final Map<String, UidWithExpiry> tempUids = new HashMap<>();
+                while (nextFamily != null || families.hasNext()) {
+                    nextFamily = nextFamily == null ? families.next() : nextFamily;
+                    final UidWithExpiry uid = uids.get(nextFamily);
+
+                    final int uidSize = UID_TEMPLATE_BYTES + nextFamily.length() + uid.getUid().length();
+                    encodedUidsSize = encodeSize(decodeSize(encodedUidsSize) + uidSize);
+                    if (cookieSchemaSize + digits + TEMP_UIDS_BASE64_BYTES + base64Size(encodedUidsSize)
+                            > MAX_COOKIE_SIZE_BYTES) {
+                        break;
+                    }
+
+                    tempUids.put(nextFamily, uid);
+                    nextFamily = null;
+                }
+
+                final String json = mapper.encodeToString(Uids.builder().uids(tempUids).optout(false).build());
+                cookies.add(cookie(
+                        i == 0 ? COOKIE_NAME : COOKIE_NAME + (i + 1),
+                        Base64.getUrlEncoder().encodeToString(json.getBytes())));
+            }
+            return cookies;
+        }
+
+        private static Cookie cookie(String name, String value) {
+            return Cookie.cookie(name, value)
+                    .setPath("/")
+                    .setSameSite(CookieSameSite.NONE)
+                    .setSecure(true)
+                    .setMaxAge(TTL_SECONDS)
+                    .setDomain(COOKIE_DOMAIN);
+        }
+
+        private static int encodeSize(int size) {
+            return size / 3 * 4 + size % 3;
+        }
+
+        private static int decodeSize(int encodedSize) {
+            return encodedSize / 4 * 3 + encodedSize % 4;
+        }
+
+        private static int base64Size(int encodedSize) {
+            return (encodedSize & -4) + 4 * Integer.signum(encodedSize % 4);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package org.prebid.server.floors;
+
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Site;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.floors.model.PriceFloorData;
+import org.prebid.server.floors.model.PriceFloorField;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
+import org.prebid.server.floors.model.PriceFloorResult;
+import org.prebid.server.floors.model.PriceFloorRules;
+import org.prebid.server.floors.model.PriceFloorSchema;
+import org.prebid.server.geolocation.CountryCodeMapper;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
+import org.prebid.server.util.dsl.config.PrebidConfigParameter;
+import org.prebid.server.util.dsl.config.impl.MostAccurateCombinationStrategy;
+import org.prebid.server.util.dsl.config.impl.SimpleDirectParameter;
+import org.prebid.server.util.dsl.config.impl.SimpleParameters;
+import org.prebid.server.util.dsl.config.impl.SimpleSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures floor resolution for a single imp against a model group with 6 schema fields:
+ * <ul>
+ * <li>{@code resolve} - {@link BasicPriceFloorResolver#resolve} using compiled {@link PriceFloorRulesIndex};</li>
+ * <li>{@code combinationStrategy} - rule lookup the way it was done before rules compilation:
+ * lower-casing rules and running {@link MostAccurateCombinationStrategy} on every call.</li>
+ * </ul>
+ * The {@code match} parameter selects whether the request matches a rule without wildcards ({@code exact})
+ * or has to fall back to the catch-all rule ({@code fallback}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PriceFloorResolverBenchmark {
+
+    private static final List<PriceFloorField> FIELDS = List.of(
+            PriceFloorField.mediaType,
+            PriceFloorField.size,
+            PriceFloorField.siteDomain,
+            PriceFloorField.adUnitCode,
+            PriceFloorField.bidder,
+            PriceFloorField.deviceType);
+
+    private static final String[] MEDIA_TYPES = {"banner", "video", "native", "audio"};
+    private static final String[] SIZES = {"300x250", "728x90", "320x50", "160x600", "300x600"};
+    private static final String[] DEVICE_TYPES = {"phone", "tablet", "desktop"};
+    private static final String PHONE_UA = "Mozilla/5.0 (iPhone; CPU iPhone OS 17_0 like Mac OS X) Mobile/15E148";
+
+    @Param({"1000", "50000"})
+    private int rules;
+
+    @Param({"exact", "fallback"})
+    private String match;
+
+    private BasicPriceFloorResolver resolver;
+    private PriceFloorRules floorRules;
+    private BidRequest bidRequest;
+    private Imp imp;
+    private String bidder;
+
+    @Setup
+    public void setUp() {
+        resolver = new BasicPriceFloorResolver(
+                Mockito.mock(CurrencyConversionService.class),
+                Mockito.mock(CountryCodeMapper.class),
+                Mockito.mock(Metrics.class),
+                new JacksonMapper(ObjectMapperProvider.mapper()));
+
+        final Random random = new Random(42);
+        final Map<String, BigDecimal> values = new HashMap<>();
+        values.put("*|*|*|*|*|*", BigDecimal.ONE);
+        while (values.size() < rules) {
+            values.put(randomRule(random), BigDecimal.valueOf(random.nextInt(1000), 2));
+        }
+
+        final boolean exact = "exact".equals(match);
+        final String domain = exact ? "domain7.com" : "unknown.com";
+        final String adUnitCode = exact ? "adunit-7" : "unknown-adunit";
+        bidder = exact ? "bidder3" : "unknown-bidder";
+        values.put(String.join("|", "banner", "300x250", domain, adUnitCode, bidder, "phone"), BigDecimal.TEN);
+
+        floorRules = PriceFloorRules.builder()
+                .data(PriceFloorData.builder()
+                        .modelGroups(List.of(PriceFloorModelGroup.builder()
+                                .schema(PriceFloorSchema.of("|", FIELDS))
+                                .values(values)
+                                .build()))
+                        .build())
+                .build();
+
+        imp = Imp.builder()
+                .id("imp")
+                .tagid(adUnitCode)
+                .banner(Banner.builder().format(List.of(Format.builder().w(300).h(250).build())).build())
+                .build();
+        bidRequest = BidRequest.builder()
+                .imp(List.of(imp))
+                .site(Site.builder().domain(domain).build())
+                .device(Device.builder().ua(PHONE_UA).build())
+                .build();
+    }
+
+    private static String randomRule(Random random) {
+        return String.join("|",
+                valueOrWildcard(random, MEDIA_TYPES[random.nextInt(MEDIA_TYPES.length)]),
+                valueOrWildcard(random, SIZES[random.nextInt(SIZES.length)]),
+                valueOrWildcard(random, "domain" + random.nextInt(50) + ".com"),
+                valueOrWildcard(random, "adunit-" + random.nextInt(50)),
+                valueOrWildcard(random, "bidder" + random.nextInt(10)),
+                valueOrWildcard(random, DEVICE_TYPES[random.nextInt(DEVICE_TYPES.length)]));
+    }
+
+    private static String valueOrWildcard(Random random, String value) {
+        return random.nextInt(10) < 3 ? "*" : value;
+    }
+
+    @Benchmark
+    public PriceFloorResult resolve() {
+        return resolver.resolve(bidRequest, floorRules, imp, ImpMediaType.banner, null, bidder, new ArrayList<>());
+    }
+
+    @Benchmark
+    public BigDecimal combinationStrategy() {
+        final PriceFloorModelGroup modelGroup = floorRules.getData().getModelGroups().getFirst();
+
+        final Map<String, BigDecimal> values = new HashMap<>();
+        modelGroup.getValues().forEach((key, value) -> values.put(key.toLowerCase(), value));
+
+        final List<PrebidConfigParameter> parameters = List.of(
+                SimpleDirectParameter.of("banner"),
+                SimpleDirectParameter.of("300x250"),
+                SimpleDirectParameter.of(bidRequest.getSite().getDomain()),
+                SimpleDirectParameter.of(imp.getTagid()),
+                SimpleDirectParameter.of(bidder),
+                BasicPriceFloorResolver.resolveDeviceTypeFromRequest(bidRequest));
+
+        final String rule = new MostAccurateCombinationStrategy().match(
+                SimpleSource.of("*", "|", values.keySet()),
+                SimpleParameters.of(parameters));
+        return rule != null ? values.get(rule) : null;
+    }
+}
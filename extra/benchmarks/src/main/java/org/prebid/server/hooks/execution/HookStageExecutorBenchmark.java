@@ -0,0 +1,326 @@
+package org.prebid.server.hooks.execution;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.apache.commons.collections4.map.DefaultedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.TimeoutContext;
+import org.prebid.server.auction.model.debug.DebugContext;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.hooks.execution.model.EndpointExecutionPlan;
+import org.prebid.server.hooks.execution.model.ExecutionGroup;
+import org.prebid.server.hooks.execution.model.ExecutionPlan;
+import org.prebid.server.hooks.execution.model.HookExecutionContext;
+import org.prebid.server.hooks.execution.model.HookId;
+import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
+import org.prebid.server.hooks.execution.model.Stage;
+import org.prebid.server.hooks.execution.model.StageExecutionPlan;
+import org.prebid.server.hooks.execution.model.StageWithHookType;
+import org.prebid.server.hooks.execution.provider.HookProvider;
+import org.prebid.server.hooks.execution.provider.abtest.ABTestHookProvider;
+import org.prebid.server.hooks.execution.v1.InvocationContextImpl;
+import org.prebid.server.hooks.execution.v1.InvocationResultImpl;
+import org.prebid.server.hooks.execution.v1.auction.AuctionInvocationContextImpl;
+import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
+import org.prebid.server.hooks.v1.Hook;
+import org.prebid.server.hooks.v1.InvocationAction;
+import org.prebid.server.hooks.v1.InvocationContext;
+import org.prebid.server.hooks.v1.InvocationResult;
+import org.prebid.server.hooks.v1.InvocationStatus;
+import org.prebid.server.hooks.v1.Module;
+import org.prebid.server.hooks.v1.auction.AuctionInvocationContext;
+import org.prebid.server.hooks.v1.auction.AuctionRequestPayload;
+import org.prebid.server.hooks.v1.auction.RawAuctionRequestHook;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.AccountMetricsVerbosityResolver;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.model.Endpoint;
+import org.prebid.server.settings.model.Account;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Measures execution of the raw auction request stage with 8 modules split into two groups of 4 hooks, where
+ * every hook completes immediately and updates the request:
+ * <ul>
+ * <li>{@code compiledPlan} - {@link HookStageExecutor} looking up compiled stage plan of the account and
+ * applying results of hooks of the group as they complete;</li>
+ * <li>{@code chainedFutures} - merging host and account plans and resolving modules execution for every
+ * invocation and chaining a future per hook to apply its result, i.e. how stages were executed before
+ * compiled plans, kept as a baseline.</li>
+ * </ul>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HookStageExecutorBenchmark {
+
+    private static final int MODULES = 8;
+    private static final int HOOKS_PER_GROUP = 4;
+    private static final long GROUP_TIMEOUT_MS = 100L;
+    private static final long AUCTION_TIMEOUT_MS = 1000L;
+    private static final String HOOK_CODE = "hook";
+
+    private Vertx vertx;
+    private TimeoutFactory timeoutFactory;
+    private HookStageExecutor hookStageExecutor;
+    private ChainedFutures chainedFutures;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final Clock clock = Clock.systemUTC();
+        final HookCatalog hookCatalog = new HookCatalog(IntStream.range(0, MODULES)
+                .mapToObj(HookStageExecutorBenchmark::module)
+                .toList());
+        final ExecutionPlan hostExecutionPlan = ExecutionPlan.of(null, Map.of(
+                Endpoint.openrtb2_auction,
+                EndpointExecutionPlan.of(Map.of(Stage.raw_auction_request, stageExecutionPlan()))));
+
+        vertx = Vertx.vertx();
+        timeoutFactory = new TimeoutFactory(clock);
+        hookStageExecutor = HookStageExecutor.create(
+                mapper.encodeToString(hostExecutionPlan),
+                null,
+                Map.of(),
+                hookCatalog,
+                timeoutFactory,
+                vertx,
+                clock,
+                mapper,
+                new Metrics(
+                        new MetricRegistry(),
+                        CounterType.counter,
+                        new AccountMetricsVerbosityResolver(AccountMetricsVerbosityLevel.none, List.of(), List.of())),
+                null,
+                false);
+        chainedFutures = new ChainedFutures(
+                hostExecutionPlan, hookCatalog, timeoutFactory, vertx, clock, mapper.mapper());
+        account = Account.empty("account");
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    private static Module module(int index) {
+        final String code = "module-" + index;
+        final RawAuctionRequestHook hook = new RawAuctionRequestHook() {
+
+            @Override
+            public Future<InvocationResult<AuctionRequestPayload>> call(AuctionRequestPayload payload,
+                                                                        AuctionInvocationContext invocationContext) {
+
+                return Future.succeededFuture(InvocationResultImpl.<AuctionRequestPayload>builder()
+                        .status(InvocationStatus.success)
+                        .action(InvocationAction.update)
+                        .payloadUpdate(updatedPayload -> AuctionRequestPayloadImpl.of(
+                                updatedPayload.bidRequest().toBuilder().id(code).build()))
+                        .build());
+            }
+
+            @Override
+            public String code() {
+                return HOOK_CODE;
+            }
+        };
+
+        return new Module() {
+
+            @Override
+            public String code() {
+                return code;
+            }
+
+            @Override
+            public Collection<? extends Hook<?, ? extends InvocationContext>> hooks() {
+                return List.of(hook);
+            }
+        };
+    }
+
+    private static StageExecutionPlan stageExecutionPlan() {
+        final List<ExecutionGroup> groups = new ArrayList<>();
+        for (int first = 0; first < MODULES; first += HOOKS_PER_GROUP) {
+            groups.add(ExecutionGroup.of(GROUP_TIMEOUT_MS, IntStream.range(first, first + HOOKS_PER_GROUP)
+                    .mapToObj(index -> HookId.of("module-" + index, HOOK_CODE))
+                    .toList()));
+        }
+
+        return StageExecutionPlan.of(groups);
+    }
+
+    private AuctionContext auctionContext() {
+        return AuctionContext.builder()
+                .bidRequest(BidRequest.builder().build())
+                .account(account)
+                .timeoutContext(TimeoutContext.of(0L, timeoutFactory.create(AUCTION_TIMEOUT_MS), 0))
+                .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                .debugContext(DebugContext.empty())
+                .build();
+    }
+
+    @Benchmark
+    public HookStageExecutionResult<AuctionRequestPayload> compiledPlan() {
+        return hookStageExecutor.executeRawAuctionRequestStage(auctionContext()).result();
+    }
+
+    @Benchmark
+    public HookStageExecutionResult<AuctionRequestPayload> chainedFutures() {
+        return chainedFutures.execute(auctionContext()).result();
+    }
+
+    /**
+     * Raw auction request stage execution as done before compiled plans.
+     */
+    private static class ChainedFutures {
+
+        private final ExecutionPlan hostExecutionPlan;
+        private final HookCatalog hookCatalog;
+        private final TimeoutFactory timeoutFactory;
+        private final Vertx vertx;
+        private final Clock clock;
+        private final ObjectMapper mapper;
+
+        ChainedFutures(ExecutionPlan hostExecutionPlan,
+                       HookCatalog hookCatalog,
+                       TimeoutFactory timeoutFactory,
+                       Vertx vertx,
+                       Clock clock,
+                       ObjectMapper mapper) {
+
+            this.hostExecutionPlan = hostExecutionPlan;
+            this.hookCatalog = hookCatalog;
+            this.timeoutFactory = timeoutFactory;
+            this.vertx = vertx;
+            this.clock = clock;
+            this.mapper = mapper;
+        }
+
+        Future<HookStageExecutionResult<AuctionRequestPayload>> execute(AuctionContext auctionContext) {
+            final Map<String, Boolean> modulesExecution = DefaultedMap.defaultedMap(new HashMap<>(), true);
+            final StageExecutionPlan plan = stagePlan();
+
+            Future<StageResult<AuctionRequestPayload>> stageFuture = Future.succeededFuture(
+                    StageResult.of(AuctionRequestPayloadImpl.of(auctionContext.getBidRequest()), "auction-request"));
+            for (final ExecutionGroup group : plan.getGroups()) {
+                stageFuture = stageFuture.compose(stageResult ->
+                        executeGroup(group, stageResult.payload(), modulesExecution, auctionContext)
+                                .map(stageResult::applyGroupResult));
+            }
+
+            return stageFuture.map(stageResult -> {
+                auctionContext.getHookExecutionContext().getStageOutcomes()
+                        .computeIfAbsent(Stage.raw_auction_request, key -> new ArrayList<>())
+                        .add(stageResult.toStageExecutionOutcome());
+                return HookStageExecutionResult.success(stageResult.payload());
+            });
+        }
+
+        private StageExecutionPlan stagePlan() {
+            final StageExecutionPlan hostPlan = hostExecutionPlan.getEndpoints()
+                    .getOrDefault(Endpoint.openrtb2_auction, EndpointExecutionPlan.empty())
+                    .getStages()
+                    .getOrDefault(Stage.raw_auction_request, StageExecutionPlan.empty());
+            final StageExecutionPlan accountPlan = StageExecutionPlan.empty();
+
+            return StageExecutionPlan.of(Stream.of(hostPlan, accountPlan)
+                    .map(StageExecutionPlan::getGroups)
+                    .flatMap(Collection::stream)
+                    .toList());
+        }
+
+        private Future<GroupResult<AuctionRequestPayload>> executeGroup(ExecutionGroup group,
+                                                                        AuctionRequestPayload payload,
+                                                                        Map<String, Boolean> modulesExecution,
+                                                                        AuctionContext auctionContext) {
+
+            final HookProvider<AuctionRequestPayload, AuctionInvocationContext> hookProvider = new ABTestHookProvider<>(
+                    hookId -> hookCatalog.hookById(hookId, StageWithHookType.RAW_AUCTION_REQUEST),
+                    Collections.emptyList(),
+                    auctionContext.getHookExecutionContext(),
+                    mapper);
+
+            final GroupResult<AuctionRequestPayload> initialGroupResult = GroupResult.of(payload, true);
+            Future<GroupResult<AuctionRequestPayload>> groupFuture = Future.succeededFuture(initialGroupResult);
+
+            for (final HookId hookId : group.getHookSequence()) {
+                if (!modulesExecution.get(hookId.getModuleCode())) {
+                    continue;
+                }
+
+                final long startTime = clock.millis();
+                final Future<InvocationResult<AuctionRequestPayload>> invocationResult = Future.succeededFuture(
+                                hookProvider.apply(hookId))
+                        .compose(hook -> executeWithTimeout(
+                                hook, initialGroupResult.payload(), group.getTimeout(), hookId, auctionContext));
+
+                groupFuture = groupFuture.compose(groupResult -> invocationResult
+                        .map(result -> groupResult.applyInvocationResult(
+                                result, hookId, clock.millis() - startTime))
+                        .otherwise(throwable -> groupResult.applyFailure(
+                                throwable, hookId, clock.millis() - startTime)));
+            }
+
+            return groupFuture;
+        }
+
+        private Future<InvocationResult<AuctionRequestPayload>> executeWithTimeout(
+                Hook<AuctionRequestPayload, AuctionInvocationContext> hook,
+                AuctionRequestPayload payload,
+                long timeout,
+                HookId hookId,
+                AuctionContext auctionContext) {
+
+            final AuctionInvocationContext invocationContext = AuctionInvocationContextImpl.of(
+                    InvocationContextImpl.of(timeoutFactory.create(timeout), Endpoint.openrtb2_auction),
+                    auctionContext,
+                    auctionContext.getDebugContext().isDebugEnabled(),
+                    null,
+                    auctionContext.getHookExecutionContext().getModuleContexts().get(hookId.getModuleCode()));
+
+            final Promise<InvocationResult<AuctionRequestPayload>> promise = Promise.promise();
+            final long timerId = vertx.setTimer(timeout, id ->
+                    promise.tryFail(new TimeoutException("Timed out while executing action")));
+            hook.call(payload, invocationContext).onComplete(result -> {
+                vertx.cancelTimer(timerId);
+                promise.tryComplete(result.result());
+            });
+
+            return promise.future();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.settings.model.Account;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures per-bidder metric updates done for every bidder response of an auction:
+ * <ul>
+ * <li>{@code updateAdapterResponseTime} and {@code updateAdapterBidMetrics} - {@link Metrics} methods updating
+ * metric handles bound on first use;</li>
+ * <li>{@code registryLookupResponseTime} and {@code registryLookupBidMetrics} - the same updates resolving
+ * every metric by name in {@link MetricRegistry}, i.e. how it was done before handles binding, kept as a baseline.</li>
+ * </ul>
+ * The {@code verbosity} parameter selects whether account-level adapter metrics are updated as well,
+ * the {@code reservoir} parameter selects reservoir of timers and histograms.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final String BIDDER = "bidder";
+    private static final String ACCOUNT_ID = "accountId";
+
+    @Param({"basic", "detailed"})
+    private AccountMetricsVerbosityLevel verbosity;
+
+    @Param({"exponentiallyDecaying", "hdrHistogram"})
+    private ReservoirType reservoir;
+
+    private Metrics metrics;
+    private RegistryLookupMetrics registryLookupMetrics;
+    private Account account;
+
+    @Setup
+    public void setUp() {
+        final AccountMetricsVerbosityResolver verbosityResolver =
+                new AccountMetricsVerbosityResolver(verbosity, List.of(), List.of());
+
+        metrics = new Metrics(metricRegistry(), CounterType.counter, verbosityResolver);
+        registryLookupMetrics = new RegistryLookupMetrics(metricRegistry(), verbosityResolver);
+        account = Account.empty(ACCOUNT_ID);
+    }
+
+    private MetricRegistry metricRegistry() {
+        return reservoir == ReservoirType.hdrHistogram
+                ? new ReservoirMetricRegistry(() -> new HdrHistogramReservoir(2, 60_000L))
+                : new MetricRegistry();
+    }
+
+    @Benchmark
+    public void updateAdapterResponseTime() {
+        metrics.updateAdapterResponseTime(BIDDER, account, 100);
+    }
+
+    @Benchmark
+    public void updateAdapterBidMetrics() {
+        metrics.updateAdapterBidMetrics(BIDDER, account, 1500L, true, "banner");
+    }
+
+    @Benchmark
+    public void registryLookupResponseTime() {
+        registryLookupMetrics.updateAdapterResponseTime(BIDDER, account, 100);
+    }
+
+    @Benchmark
+    public void registryLookupBidMetrics() {
+        registryLookupMetrics.updateAdapterBidMetrics(BIDDER, account, 1500L, true, "banner");
+    }
+
+    /**
+     * Reproduces metric updates through name lookups in {@link MetricRegistry} on every call.
+     */
+    private static class RegistryLookupMetrics {
+
+        private final MetricRegistry metricRegistry;
+        private final AccountMetricsVerbosityResolver verbosityResolver;
+        private final Map<String, Map<MetricName, String>> adapterNames = new HashMap<>();
+        private final Map<String, Map<String, Map<MetricName, String>>> bidTypeNames = new HashMap<>();
+        private final Map<String, Map<String, Map<MetricName, String>>> accountAdapterNames = new HashMap<>();
+
+        RegistryLookupMetrics(MetricRegistry metricRegistry, AccountMetricsVerbosityResolver verbosityResolver) {
+            this.metricRegistry = metricRegistry;
+            this.verbosityResolver = verbosityResolver;
+        }
+
+        void updateAdapterResponseTime(String bidder, Account account, int responseTime) {
+            timer(adapterName(bidder, MetricName.request_time), responseTime);
+            if (verbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
+                timer(accountAdapterName(account.getId(), bidder, MetricName.request_time), responseTime);
+            }
+        }
+
+        void updateAdapterBidMetrics(String bidder, Account account, long cpm, boolean isAdm, String bidType) {
+            metricRegistry.histogram(adapterName(bidder, MetricName.prices)).update(cpm);
+            metricRegistry.counter(adapterName(bidder, MetricName.bids_received)).inc();
+            metricRegistry.counter(bidTypeName(bidder, bidType,
+                    isAdm ? MetricName.adm_bids_received : MetricName.nurl_bids_received)).inc();
+
+            if (verbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
+                metricRegistry.histogram(accountAdapterName(account.getId(), bidder, MetricName.prices)).update(cpm);
+                metricRegistry.counter(accountAdapterName(account.getId(), bidder, MetricName.bids_received)).inc();
+            }
+        }
+
+        private void timer(String name, long millis) {
+            metricRegistry.timer(name).update(millis, TimeUnit.MILLISECONDS);
+        }
+
+        private String adapterName(String bidder, MetricName metricName) {
+            final String adapter = bidder.toLowerCase();
+            return adapterNames.computeIfAbsent(adapter, key -> new EnumMap<>(MetricName.class))
+                    .computeIfAbsent(metricName, key -> "adapter.%s.%s".formatted(adapter, key));
+        }
+
+        private String bidTypeName(String bidder, String bidType, MetricName metricName) {
+            final String adapter = bidder.toLowerCase();
+            return bidTypeNames.computeIfAbsent(adapter, key -> new HashMap<>())
+                    .computeIfAbsent(bidType, key -> new EnumMap<>(MetricName.class))
+                    .computeIfAbsent(metricName, key -> "adapter.%s.%s.%s".formatted(adapter, bidType, key));
+        }
+
+        private String accountAdapterName(String accountId, String bidder, MetricName metricName) {
+            return accountAdapterNames.computeIfAbsent(accountId, key -> new CaseInsensitiveMap<>())
+                    .computeIfAbsent(bidder, key -> new EnumMap<>(MetricName.class))
+                    .computeIfAbsent(metricName,
+                            key -> "account.%s.adapter.%s.%s".formatted(accountId, bidder, key));
+        }
+    }
+}
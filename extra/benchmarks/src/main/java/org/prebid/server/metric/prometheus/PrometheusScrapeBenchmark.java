@@ -0,0 +1,90 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.dropwizard.DropwizardExports;
+import io.prometheus.client.dropwizard.samplebuilder.MapperConfig;
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single Prometheus scrape of a registry with per-account/per-adapter series:
+ * <ul>
+ * <li>{@code nativeExposition} - {@link PrometheusExposition} writing pre-rendered series directly to a buffer;</li>
+ * <li>{@code dropwizardBridge} - {@link DropwizardExports} collected by {@link CollectorRegistry} and written
+ * by {@link TextFormat}, the way metrics are exposed by default.</li>
+ * </ul>
+ * Every account/adapter pair has a labelled counter, every hundredth one has a timer as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrometheusScrapeBenchmark {
+
+    private static final int ADAPTERS = 100;
+
+    @Param({"50000"})
+    private int series;
+
+    private PrometheusExposition prometheusExposition;
+    private CollectorRegistry collectorRegistry;
+
+    @Setup
+    public void setUp() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        for (int i = 0; i < series; i++) {
+            final String prefix = "account.account%d.adapter.adapter%d".formatted(i / ADAPTERS, i % ADAPTERS);
+            metricRegistry.counter(prefix + ".bids_received").inc(i);
+            if (i % 100 == 0) {
+                metricRegistry.timer(prefix + ".request_time").update(i % 1000, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        final NamespaceSubsystemSampleBuilder sampleBuilder = new NamespaceSubsystemSampleBuilder(
+                "prebid", "", List.of(
+                        new MapperConfig(
+                                "account.*.adapter.*.bids_received",
+                                "account.bids_received",
+                                Map.of("account", "${0}", "adapter", "${1}")),
+                        new MapperConfig(
+                                "account.*.adapter.*.request_time",
+                                "account.request_time",
+                                Map.of("account", "${0}", "adapter", "${1}"))));
+
+        prometheusExposition = new PrometheusExposition(metricRegistry, sampleBuilder);
+        collectorRegistry = new CollectorRegistry();
+        collectorRegistry.register(new DropwizardExports(metricRegistry, sampleBuilder));
+    }
+
+    @Benchmark
+    public Buffer nativeExposition() {
+        return prometheusExposition.write();
+    }
+
+    @Benchmark
+    public String dropwizardBridge() throws IOException {
+        final StringWriter writer = new StringWriter();
+        TextFormat.write004(writer, collectorRegistry.metricFamilySamples());
+        return writer.toString();
+    }
+}
@@ -0,0 +1,280 @@
+package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
+
+import com.iabtcf.decoder.TCString;
+import com.iabtcf.encoder.PublisherRestrictionEntry;
+import com.iabtcf.encoder.TCStringEncoder;
+import com.iabtcf.v2.RestrictionType;
+import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.collections4.map.DefaultedMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.privacy.gdpr.model.DecodedTCString;
+import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
+import org.prebid.server.privacy.gdpr.model.VendorPermission;
+import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures full enforcement of all 10 TCF purposes for 60 bidders, i.e. what {@code Tcf2Service} does
+ * for a single auction when all purposes are fully enforced:
+ * <ul>
+ * <li>{@code compiledVendorList} - {@link FullEnforcePurposeStrategy} checking vendors against
+ * {@link CompiledVendorList} compiled once per vendor list version;</li>
+ * <li>{@code vendorGvl} - checking purposes, legitimate interest purposes and flexible purposes
+ * of GVL {@link Vendor} of every permission, i.e. how vendors were checked before compilation, kept as a baseline.</li>
+ * </ul>
+ * With {@code publisherRestrictions=true} the consent string carries publisher restrictions for a part of vendors.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FullEnforcePurposeStrategyBenchmark {
+
+    private static final int BIDDERS = 60;
+    private static final Set<PurposeCode> PURPOSES = EnumSet.range(PurposeCode.ONE, PurposeCode.TEN);
+
+    @Param({"false", "true"})
+    private boolean publisherRestrictions;
+
+    private TCString tcString;
+    private CompiledVendorList vendorList;
+    private List<VendorPermissionWithGvl> vendorPermissions;
+    private FullEnforcePurposeStrategy fullEnforcePurposeStrategy;
+    private VendorGvlEnforcePurposeStrategy vendorGvlEnforcePurposeStrategy;
+
+    @Setup
+    public void setUp() {
+        final Map<Integer, Vendor> vendors = new HashMap<>();
+        vendorPermissions = new ArrayList<>();
+        for (int vendorId = 1; vendorId <= BIDDERS; vendorId++) {
+            final Vendor vendor = vendor(vendorId);
+            vendors.put(vendorId, vendor);
+            vendorPermissions.add(VendorPermissionWithGvl.of(
+                    VendorPermission.of(vendorId, "bidder" + vendorId, PrivacyEnforcementAction.restrictAll()),
+                    vendor));
+        }
+
+        tcString = DecodedTCString.of(TCString.decode(consentString()));
+        vendorList = CompiledVendorList.of(vendors);
+        fullEnforcePurposeStrategy = new FullEnforcePurposeStrategy();
+        vendorGvlEnforcePurposeStrategy = new VendorGvlEnforcePurposeStrategy();
+    }
+
+    private static Vendor vendor(int vendorId) {
+        final EnumSet<PurposeCode> purposes = EnumSet.noneOf(PurposeCode.class);
+        final EnumSet<PurposeCode> legIntPurposes = EnumSet.noneOf(PurposeCode.class);
+        final EnumSet<PurposeCode> flexiblePurposes = EnumSet.noneOf(PurposeCode.class);
+        for (PurposeCode purpose : PURPOSES) {
+            final int code = purpose.code();
+            if ((vendorId + code) % 3 != 0) {
+                purposes.add(purpose);
+            } else {
+                legIntPurposes.add(purpose);
+            }
+            if (vendorId % 2 == 0 && code % 4 == 0) {
+                flexiblePurposes.add(purpose);
+            }
+        }
+
+        return Vendor.empty(vendorId).toBuilder()
+                .purposes(purposes)
+                .legIntPurposes(legIntPurposes)
+                .flexiblePurposes(flexiblePurposes)
+                .build();
+    }
+
+    private String consentString() {
+        final TCStringEncoder.Builder builder = TCStringEncoder.newBuilder()
+                .version(2)
+                .consentLanguage("EN")
+                .vendorListVersion(52)
+                .tcfPolicyVersion(2);
+
+        for (PurposeCode purpose : PURPOSES) {
+            builder.addPurposesConsent(purpose.code());
+            if (purpose.code() != 1) {
+                builder.addPurposesLITransparency(purpose.code());
+            }
+        }
+        for (int vendorId = 1; vendorId <= BIDDERS; vendorId++) {
+            if (vendorId % 5 != 0) {
+                builder.addVendorConsent(vendorId);
+            }
+            if (vendorId % 2 == 0) {
+                builder.addVendorLegitimateInterest(vendorId);
+            }
+        }
+
+        if (publisherRestrictions) {
+            builder.addPublisherRestrictionEntry(
+                    restriction(PurposeCode.TWO, RestrictionType.REQUIRE_CONSENT, 2, 4, 6, 8),
+                    restriction(PurposeCode.FOUR, RestrictionType.REQUIRE_LEGITIMATE_INTEREST, 10, 12, 14),
+                    restriction(PurposeCode.SEVEN, RestrictionType.NOT_ALLOWED, 3, 9, 27));
+        }
+
+        return builder.encode();
+    }
+
+    private static PublisherRestrictionEntry restriction(PurposeCode purpose, RestrictionType type, int... vendorIds) {
+        return new PublisherRestrictionEntry.Builder()
+                .purposeId(purpose.code())
+                .restrictionType(type)
+                .addVendor(vendorIds)
+                .build();
+    }
+
+    @Benchmark
+    public long compiledVendorList() {
+        long allowed = 0;
+        for (PurposeCode purpose : PURPOSES) {
+            allowed += fullEnforcePurposeStrategy.allowedByTypeStrategy(
+                    purpose, tcString, vendorList, vendorPermissions, Collections.emptyList(), true).count();
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    public long vendorGvl() {
+        long allowed = 0;
+        for (PurposeCode purpose : PURPOSES) {
+            allowed += vendorGvlEnforcePurposeStrategy.allowedByTypeStrategy(
+                    purpose, tcString, vendorPermissions, Collections.emptyList(), true).count();
+        }
+        return allowed;
+    }
+
+    /**
+     * Reproduces full enforcement looking up purposes of GVL {@link Vendor} of every permission.
+     */
+    private static class VendorGvlEnforcePurposeStrategy extends EnforcePurposeStrategy {
+
+        @Override
+        public Stream<VendorPermission> allowedByTypeStrategy(PurposeCode purpose,
+                                                              TCString vendorConsent,
+                                                              Collection<VendorPermissionWithGvl> vendorsForPurpose,
+                                                              Collection<VendorPermissionWithGvl> excludedVendors,
+                                                              boolean isEnforceVendors) {
+
+            final Map<Integer, RestrictionType> vendorToRestriction = vendorToRestriction(
+                    purpose, vendorConsent, vendorsForPurpose, excludedVendors);
+
+            final Stream<VendorPermission> allowedExcluded = toVendorPermissions(excludedVendors)
+                    .filter(vendorPermission -> vendorPermission.getVendorId() == null
+                            || vendorToRestriction.get(vendorPermission.getVendorId()) != RestrictionType.NOT_ALLOWED);
+
+            final Stream<VendorPermission> allowedVendorPermissions = vendorsForPurpose.stream()
+                    .filter(vendorPermissionWithGvl -> isAllowed(
+                            purpose,
+                            isEnforceVendors,
+                            vendorPermissionWithGvl,
+                            vendorConsent,
+                            vendorToRestriction.get(vendorPermissionWithGvl.getVendorPermission().getVendorId())))
+                    .map(VendorPermissionWithGvl::getVendorPermission);
+
+            return Stream.concat(allowedExcluded, allowedVendorPermissions);
+        }
+
+        private static Map<Integer, RestrictionType> vendorToRestriction(
+                PurposeCode purpose,
+                TCString vendorConsent,
+                Collection<VendorPermissionWithGvl> vendorsForPurpose,
+                Collection<VendorPermissionWithGvl> excludedVendors) {
+
+            final Set<Integer> participatingVendorsIds =
+                    Stream.concat(vendorsForPurpose.stream(), excludedVendors.stream())
+                            .map(VendorPermissionWithGvl::getVendorPermission)
+                            .map(VendorPermission::getVendorId)
+                            .collect(Collectors.toSet());
+
+            final Map<Integer, RestrictionType> publisherRestrictions = new HashMap<>();
+            vendorConsent.getPublisherRestrictions().stream()
+                    .filter(publisherRestriction -> publisherRestriction.getPurposeId() == purpose.code())
+                    .forEach(publisherRestriction -> publisherRestriction.getVendorIds().toStream()
+                            .filter(participatingVendorsIds::contains)
+                            .forEach(vendorId -> publisherRestrictions.merge(
+                                    vendorId,
+                                    publisherRestriction.getRestrictionType(),
+                                    (first, second) -> second == RestrictionType.NOT_ALLOWED ? second : first)));
+
+            return DefaultedMap.defaultedMap(publisherRestrictions, RestrictionType.UNDEFINED);
+        }
+
+        private boolean isAllowed(PurposeCode purpose,
+                                  boolean isEnforceVendor,
+                                  VendorPermissionWithGvl vendorPermissionWithGvl,
+                                  TCString tcString,
+                                  RestrictionType restrictionType) {
+
+            if (restrictionType == RestrictionType.NOT_ALLOWED) {
+                return false;
+            }
+
+            final Integer vendorId = vendorPermissionWithGvl.getVendorPermission().getVendorId();
+            final Vendor vendorGvl = vendorPermissionWithGvl.getVendor();
+
+            final EnumSet<PurposeCode> flexiblePurposes = vendorGvl.getFlexiblePurposes();
+            final boolean isFlexible = CollectionUtils.isNotEmpty(flexiblePurposes)
+                    && flexiblePurposes.contains(purpose);
+
+            final EnumSet<PurposeCode> gvlPurposeCodes = vendorGvl.getPurposes();
+            if (gvlPurposeCodes != null && gvlPurposeCodes.contains(purpose)) {
+                return isFlexible
+                        ? isAllowedByFlexible(purpose, vendorId, isEnforceVendor, tcString, restrictionType)
+                        : restrictionType != RestrictionType.REQUIRE_LEGITIMATE_INTEREST
+                        && isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
+            }
+
+            final EnumSet<PurposeCode> legIntGvlPurposeCodes = vendorGvl.getLegIntPurposes();
+            if (legIntGvlPurposeCodes != null && legIntGvlPurposeCodes.contains(purpose)) {
+                return isFlexible
+                        ? isAllowedByFlexible(purpose, vendorId, isEnforceVendor, tcString, restrictionType)
+                        : restrictionType != RestrictionType.REQUIRE_CONSENT
+                        && isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+            }
+
+            return false;
+        }
+
+        private boolean isAllowedByFlexible(PurposeCode purpose,
+                                            Integer vendorId,
+                                            boolean isEnforceVendor,
+                                            TCString tcString,
+                                            RestrictionType restrictionType) {
+
+            return switch (restrictionType) {
+                case NOT_ALLOWED -> false;
+                case REQUIRE_CONSENT -> isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
+                case REQUIRE_LEGITIMATE_INTEREST ->
+                        isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+                case UNDEFINED ->
+                        isAllowedBySimpleConsentOrLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+            };
+        }
+    }
+}
@@ -4,11 +4,14 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
+import org.prebid.server.hooks.modules.com.confiant.adquality.core.BidScanResultsCache;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.BidsScanner;
+import org.prebid.server.hooks.modules.com.confiant.adquality.core.PipelinedBidsScanner;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisClient;
 import org.prebid.server.hooks.modules.com.confiant.adquality.core.RedisScanStateChecker;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisConnectionConfig;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisPipelineConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisRetryConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.v1.ConfiantAdQualityBidResponsesScanHook;
 import org.prebid.server.hooks.modules.com.confiant.adquality.v1.ConfiantAdQualityModule;
@@ -38,10 +41,12 @@ public class ConfiantAdQualityModuleConfiguration {
             List<String> biddersToExcludeFromScan,
             RedisConfig redisConfig,
             RedisRetryConfig retryConfig,
+            RedisPipelineConfig pipelineConfig,
             Vertx vertx,
             UserFpdActivityMask userFpdActivityMask,
             ObjectMapper objectMapper) {
 
+        final RedisPipelineConfig redisPipelineConfig = pipelineConfig.isEnabled() ? pipelineConfig : null;
         final RedisConnectionConfig writeNodeConfig = redisConfig.getWriteNode();
         final RedisClient writeRedisNode = new RedisClient(
                 vertx,
@@ -49,6 +54,7 @@ public class ConfiantAdQualityModuleConfiguration {
                 writeNodeConfig.getPort(),
                 writeNodeConfig.getPassword(),
                 retryConfig,
+                redisPipelineConfig,
                 "write node");
         final RedisConnectionConfig readNodeConfig = redisConfig.getReadNode();
         final RedisClient readRedisNode = new RedisClient(
@@ -57,9 +63,20 @@ public class ConfiantAdQualityModuleConfiguration {
                 readNodeConfig.getPort(),
                 readNodeConfig.getPassword(),
                 retryConfig,
+                redisPipelineConfig,
                 "read node");
 
-        final BidsScanner bidsScanner = new BidsScanner(writeRedisNode, readRedisNode, apiKey, objectMapper);
+        final BidsScanner bidsScanner = redisPipelineConfig != null
+                ? new PipelinedBidsScanner(
+                        writeRedisNode,
+                        readRedisNode,
+                        apiKey,
+                        objectMapper,
+                        new BidScanResultsCache(
+                                redisPipelineConfig.getScanResultsCacheSize(),
+                                redisPipelineConfig.getScanResultsCacheTtl()),
+                        redisPipelineConfig.getTimeoutReserve())
+                : new BidsScanner(writeRedisNode, readRedisNode, apiKey, objectMapper);
         final RedisScanStateChecker redisScanStateChecker = new RedisScanStateChecker(
                 bidsScanner, scanStateCheckInterval, vertx);
 
@@ -88,4 +105,10 @@ public class ConfiantAdQualityModuleConfiguration {
     RedisRetryConfig redisRetryConfig() {
         return new RedisRetryConfig();
     }
+
+    @Bean
+    @ConfigurationProperties(prefix = "hooks.modules.confiant-ad-quality.redis-pipeline-config")
+    RedisPipelineConfig redisPipelineConfig() {
+        return new RedisPipelineConfig();
+    }
 }
@@ -0,0 +1,89 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.openrtb.response.Bid;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded cache of recent scan results keyed by the hash of the scanned creative.
+ */
+public class BidScanResultsCache {
+
+    private final Map<String, BidScanResult> cache;
+
+    public BidScanResultsCache(int maxSize, long ttlMs) {
+        cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttlMs, TimeUnit.MILLISECONDS)
+                .<String, BidScanResult>build()
+                .asMap();
+    }
+
+    /**
+     * Returns the hash identifying creative of the bid of the given DSP or null if the bid
+     * carries no markup to identify the creative by.
+     */
+    public static String creativeHash(String dspId, Bid bid) {
+        final String adm = bid.getAdm();
+        if (StringUtils.isEmpty(adm)) {
+            return null;
+        }
+
+        final MessageDigest digest = sha256();
+        update(digest, dspId);
+        update(digest, bid.getCrid());
+        update(digest, adm);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the cached scan result of the creative attributed to the given imp or null if there is none.
+     */
+    public BidScanResult get(String creativeHash, String impId) {
+        final BidScanResult cachedResult = creativeHash != null ? cache.get(creativeHash) : null;
+        if (cachedResult == null) {
+            return null;
+        }
+
+        final BidScanResult result = new BidScanResult();
+        result.setTagKey(cachedResult.getTagKey());
+        result.setImpId(impId);
+        result.setIssues(cachedResult.getIssues());
+        return result;
+    }
+
+    /**
+     * Caches the scan result of the creative unless the creative is unknown to the scanner yet.
+     */
+    public void put(String creativeHash, BidScanResult result) {
+        if (creativeHash != null && result != null && !result.isRoSkipped()) {
+            cache.put(creativeHash, result);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void update(MessageDigest digest, String value) {
+        final byte[] bytes = StringUtils.defaultString(value).getBytes(StandardCharsets.UTF_8);
+        // length prefix keeps values apart, e.g. ("ab", "c") and ("a", "bc")
+        digest.update((byte) (bytes.length >>> 24));
+        digest.update((byte) (bytes.length >>> 16));
+        digest.update((byte) (bytes.length >>> 8));
+        digest.update((byte) bytes.length);
+        digest.update(bytes);
+    }
+}
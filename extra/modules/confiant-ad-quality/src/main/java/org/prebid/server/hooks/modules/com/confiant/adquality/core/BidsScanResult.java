@@ -8,6 +8,7 @@ import org.prebid.server.hooks.modules.com.confiant.adquality.model.GroupByIssue
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Builder
 @Value(staticConstructor = "of")
@@ -38,6 +39,7 @@ public class BidsScanResult {
 
     public List<String> getIssuesMessages() {
         return bidScanResults.stream()
+                .filter(Objects::nonNull)
                 .map(r -> r.getTagKey() + ": " + (r.getIssues() == null ? "no issues" : r.getIssues().toString()))
                 .toList();
     }
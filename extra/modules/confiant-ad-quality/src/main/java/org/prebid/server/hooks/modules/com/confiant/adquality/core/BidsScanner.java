@@ -6,6 +6,7 @@ import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.Response;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
 
@@ -14,13 +15,13 @@ import java.util.List;
 
 public class BidsScanner {
 
-    private final RedisParser redisParser;
+    protected final RedisParser redisParser;
 
-    private final String apiKey;
+    protected final String apiKey;
 
-    private final RedisClient writeRedisNode;
+    protected final RedisClient writeRedisNode;
 
-    private final RedisClient readRedisNode;
+    protected final RedisClient readRedisNode;
 
     private volatile Boolean isScanDisabled = true;
 
@@ -54,6 +55,18 @@ public class BidsScanner {
         isScanDisabled = true;
     }
 
+    protected boolean isScanEnabled() {
+        return !isScanDisabled;
+    }
+
+    /**
+     * Submits bids to scan within the given auction timeout. The scan itself is not limited by the auction timeout
+     * here, it is left to the hook execution timeout.
+     */
+    public Future<BidsScanResult> submitBids(RedisBidsData bids, Timeout timeout) {
+        return submitBids(bids);
+    }
+
     public Future<BidsScanResult> submitBids(RedisBidsData bids) {
         final Promise<BidsScanResult> scanResult = Promise.promise();
 
@@ -134,7 +147,7 @@ public class BidsScanner {
         return Future.succeededFuture(true);
     }
 
-    private String toBidsAsJson(RedisBidsData bids) {
+    protected String toBidsAsJson(RedisBidsData bids) {
         try {
             return objectMapper.writeValueAsString(bids);
         } catch (JsonProcessingException ignored) {
@@ -142,7 +155,7 @@ public class BidsScanner {
         }
     }
 
-    private BidsScanResult getEmptyScanResult() {
+    protected BidsScanResult getEmptyScanResult() {
         return BidsScanResult.builder()
                 .bidScanResults(Collections.emptyList())
                 .debugMessages(Collections.emptyList())
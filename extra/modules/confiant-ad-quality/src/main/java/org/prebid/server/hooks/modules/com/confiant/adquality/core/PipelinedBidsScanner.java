@@ -0,0 +1,282 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import io.vertx.core.Future;
+import io.vertx.redis.client.Command;
+import io.vertx.redis.client.RedisAPI;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidResponseData;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link BidsScanner} over pooled, pipelined {@link RedisClient}s, which keeps Redis round trips of the auction
+ * at minimum:
+ * <ul>
+ * <li>hash of the submit function is fetched in the same batch with the scan state by the periodic scan state check,
+ * so normally no auction waits for it;</li>
+ * <li>bids of recently scanned creatives are answered from {@link BidScanResultsCache} and the rest of the bids
+ * of the auction are submitted in a single call;</li>
+ * <li>scan is given up once the deadline derived from the remaining auction timeout is exceeded.</li>
+ * </ul>
+ */
+public class PipelinedBidsScanner extends BidsScanner {
+
+    private static final String SCAN_DISABLED_KEY = "scan-disabled";
+    private static final String SUBMIT_FUNCTION_KEY = "function_submit_bids";
+
+    private final BidScanResultsCache scanResultsCache;
+    private final long timeoutReserve;
+
+    private volatile String submitFunctionHash;
+
+    public PipelinedBidsScanner(RedisClient writeRedisNode,
+                                RedisClient readRedisNode,
+                                String apiKey,
+                                ObjectMapper objectMapper,
+                                BidScanResultsCache scanResultsCache,
+                                long timeoutReserve) {
+
+        super(writeRedisNode, readRedisNode, apiKey, objectMapper);
+
+        this.scanResultsCache = Objects.requireNonNull(scanResultsCache);
+        this.timeoutReserve = timeoutReserve;
+    }
+
+    @Override
+    public Future<BidsScanResult> submitBids(RedisBidsData bids) {
+        return submitBids(bids, null);
+    }
+
+    @Override
+    public Future<BidsScanResult> submitBids(RedisBidsData bids, Timeout timeout) {
+        final RedisAPI readRedisNodeAPI = readRedisNode.getRedisAPI();
+        if (!isScanEnabled() || readRedisNodeAPI == null || bids.getBresps().isEmpty()) {
+            return Future.succeededFuture(getEmptyScanResult());
+        }
+
+        final BidsScan scan = BidsScan.of(bids, scanResultsCache);
+        if (scan.bidsToSubmit == null) {
+            return Future.succeededFuture(scan.toScanResult(null));
+        }
+
+        if (timeout == null) {
+            return submit(readRedisNodeAPI, scan).map(scan::toScanResult);
+        }
+
+        final long deadline = timeout.remaining() - timeoutReserve;
+        if (deadline <= 0) {
+            return Future.succeededFuture(
+                    scan.toScanResult(emptyScanResult("Scan is skipped: auction timeout is about to expire")));
+        }
+
+        return submit(readRedisNodeAPI, scan)
+                .timeout(deadline, TimeUnit.MILLISECONDS)
+                .otherwise(ignored -> emptyScanResult("Scan deadline of %d ms is exceeded".formatted(deadline)))
+                .map(scan::toScanResult);
+    }
+
+    /**
+     * Reads the scan state and the hash of the submit function in a single batch. Scan is considered disabled
+     * while its state can not be read.
+     */
+    @Override
+    public Future<Boolean> isScanDisabledFlag() {
+        if (readRedisNode.getRedisAPI() == null) {
+            return Future.succeededFuture(true);
+        }
+
+        return readRedisNode.batch(List.of(
+                        Request.cmd(Command.GET).arg(SCAN_DISABLED_KEY),
+                        Request.cmd(Command.GET).arg(SUBMIT_FUNCTION_KEY)))
+                .map(responses -> {
+                    updateSubmitFunctionHash(responses.get(1));
+                    return "true".equals(Objects.toString(responses.get(0), null));
+                })
+                .otherwise(true);
+    }
+
+    private Future<BidsScanResult> submit(RedisAPI readRedisNodeAPI, BidsScan scan) {
+        return submitFunctionHash(readRedisNodeAPI)
+                .compose(submitHash -> submitHash != null
+                        ? evalSubmitBids(readRedisNodeAPI, submitHash, scan)
+                        : Future.succeededFuture(getEmptyScanResult()))
+                .otherwise(this::toFailedScanResult);
+    }
+
+    private Future<String> submitFunctionHash(RedisAPI readRedisNodeAPI) {
+        final String submitHash = submitFunctionHash;
+        return submitHash != null
+                ? Future.succeededFuture(submitHash)
+                : readRedisNodeAPI.get(SUBMIT_FUNCTION_KEY).map(this::updateSubmitFunctionHash);
+    }
+
+    private String updateSubmitFunctionHash(Response response) {
+        final String submitHash = Objects.toString(response, null);
+        submitFunctionHash = submitHash;
+        return submitHash;
+    }
+
+    private Future<BidsScanResult> evalSubmitBids(RedisAPI readRedisNodeAPI, String submitHash, BidsScan scan) {
+        final List<String> readArgs = List.of(submitHash, "0", toBidsAsJson(scan.bidsToSubmit), apiKey, "true");
+
+        return readRedisNodeAPI.evalsha(readArgs)
+                .map(this::parseBidsScanResult)
+                .compose(readResult -> {
+                    if (readResult.getBidScanResults().stream().anyMatch(BidScanResult::isRoSkipped)) {
+                        return reSubmitBidsToWriteNode(readArgs);
+                    }
+
+                    // only creatives already known to the read node are cached, new ones may be not scanned yet
+                    scan.cacheResults(readResult, scanResultsCache);
+                    return Future.succeededFuture(readResult);
+                });
+    }
+
+    private Future<BidsScanResult> reSubmitBidsToWriteNode(List<String> readArgs) {
+        final RedisAPI writeRedisNodeAPI = writeRedisNode.getRedisAPI();
+        return writeRedisNodeAPI != null
+                ? writeRedisNodeAPI.evalsha(readArgs.subList(0, 4)).map(this::parseBidsScanResult)
+                : Future.succeededFuture(getEmptyScanResult());
+    }
+
+    private BidsScanResult parseBidsScanResult(Response response) {
+        return response != null
+                ? redisParser.parseBidsScanResult(response.toString())
+                : getEmptyScanResult();
+    }
+
+    private BidsScanResult toFailedScanResult(Throwable error) {
+        if (StringUtils.startsWith(error.getMessage(), "NOSCRIPT")) {
+            // submit function was reloaded, so its hash is fetched again by the next submission
+            submitFunctionHash = null;
+        }
+
+        return emptyScanResult("Scan is failed: " + error.getMessage());
+    }
+
+    private static BidsScanResult emptyScanResult(String debugMessage) {
+        return scanResult(Collections.emptyList(), Collections.singletonList(debugMessage));
+    }
+
+    private static BidsScanResult scanResult(List<BidScanResult> bidScanResults, List<String> debugMessages) {
+        return BidsScanResult.builder()
+                .bidScanResults(bidScanResults)
+                .debugMessages(debugMessages)
+                .build();
+    }
+
+    /**
+     * Bids of the auction split into the ones answered from cache and the ones to submit, preserving the order
+     * of the bids in scan result.
+     */
+    private static class BidsScan {
+
+        private final List<BidScanResult> cachedResults;
+
+        private final List<String> creativeHashesToSubmit;
+
+        private final RedisBidsData bidsToSubmit;
+
+        BidsScan(List<BidScanResult> cachedResults,
+                 List<String> creativeHashesToSubmit,
+                 RedisBidsData bidsToSubmit) {
+
+            this.cachedResults = cachedResults;
+            this.creativeHashesToSubmit = creativeHashesToSubmit;
+            this.bidsToSubmit = bidsToSubmit;
+        }
+
+        static BidsScan of(RedisBidsData bids, BidScanResultsCache scanResultsCache) {
+            final List<BidScanResult> cachedResults = new ArrayList<>();
+            final List<String> creativeHashesToSubmit = new ArrayList<>();
+            final List<RedisBidResponseData> brespsToSubmit = new ArrayList<>();
+
+            for (RedisBidResponseData bresp : bids.getBresps()) {
+                final BidResponse bidResponse = bresp.getBidresponse();
+                final List<SeatBid> seatBidsToSubmit = new ArrayList<>();
+
+                for (SeatBid seatBid : seatBids(bidResponse)) {
+                    final List<Bid> seatBidBidsToSubmit = new ArrayList<>();
+                    for (Bid bid : ListUtils.emptyIfNull(seatBid.getBid())) {
+                        final String creativeHash = BidScanResultsCache.creativeHash(bresp.getDspId(), bid);
+                        final BidScanResult cachedResult = scanResultsCache.get(creativeHash, bid.getImpid());
+
+                        cachedResults.add(cachedResult);
+                        if (cachedResult == null) {
+                            creativeHashesToSubmit.add(creativeHash);
+                            seatBidBidsToSubmit.add(bid);
+                        }
+                    }
+
+                    if (!seatBidBidsToSubmit.isEmpty()) {
+                        seatBidsToSubmit.add(seatBid.toBuilder().bid(seatBidBidsToSubmit).build());
+                    }
+                }
+
+                if (!seatBidsToSubmit.isEmpty()) {
+                    brespsToSubmit.add(bresp.toBuilder()
+                            .bidresponse(bidResponse.toBuilder().seatbid(seatBidsToSubmit).build())
+                            .build());
+                }
+            }
+
+            return new BidsScan(
+                    cachedResults,
+                    creativeHashesToSubmit,
+                    brespsToSubmit.isEmpty() ? null : bids.toBuilder().bresps(brespsToSubmit).build());
+        }
+
+        private static List<SeatBid> seatBids(BidResponse bidResponse) {
+            return bidResponse != null ? ListUtils.emptyIfNull(bidResponse.getSeatbid()) : Collections.emptyList();
+        }
+
+        void cacheResults(BidsScanResult submittedResult, BidScanResultsCache scanResultsCache) {
+            final List<BidScanResult> submittedResults = submittedResult.getBidScanResults();
+            if (submittedResults.size() != creativeHashesToSubmit.size()) {
+                return;
+            }
+
+            for (int i = 0; i < submittedResults.size(); i++) {
+                scanResultsCache.put(creativeHashesToSubmit.get(i), submittedResults.get(i));
+            }
+        }
+
+        /**
+         * Merges results of the submitted bids into cached ones. Results can not be attributed to the bids
+         * when their number does not match the number of submitted bids, e.g. on Redis error or timeout,
+         * so submitted bids are left without verdict then, while cached results are kept in their positions.
+         */
+        BidsScanResult toScanResult(BidsScanResult submittedResult) {
+            if (submittedResult == null) {
+                return scanResult(cachedResults, Collections.emptyList());
+            }
+
+            final List<BidScanResult> submittedResults = submittedResult.getBidScanResults();
+            if (submittedResults.size() != creativeHashesToSubmit.size()) {
+                return scanResult(cachedResults, submittedResult.getDebugMessages());
+            }
+
+            final List<BidScanResult> results = new ArrayList<>(cachedResults.size());
+            int submittedIndex = 0;
+            for (BidScanResult cachedResult : cachedResults) {
+                results.add(cachedResult != null ? cachedResult : submittedResults.get(submittedIndex++));
+            }
+
+            return scanResult(results, submittedResult.getDebugMessages());
+        }
+    }
+}
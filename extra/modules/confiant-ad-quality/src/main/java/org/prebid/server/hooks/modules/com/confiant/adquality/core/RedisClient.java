@@ -1,17 +1,24 @@
 package org.prebid.server.hooks.modules.com.confiant.adquality.core;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import io.vertx.redis.client.Command;
 import io.vertx.redis.client.Redis;
 import io.vertx.redis.client.RedisAPI;
 import io.vertx.redis.client.RedisConnection;
 import io.vertx.redis.client.RedisOptions;
+import io.vertx.redis.client.Request;
+import io.vertx.redis.client.Response;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisPipelineConfig;
 import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisRetryConfig;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 
+import java.util.List;
+
 public class RedisClient {
 
     private static final Logger logger = LoggerFactory.getLogger(RedisClient.class);
@@ -22,27 +29,58 @@ public class RedisClient {
 
     private RedisAPI redisAPI;
 
+    private Redis pool;
+
     private final RedisRetryConfig retryConfig;
 
     private final Vertx vertx;
 
     private final String type;
 
+    private final boolean pooled;
+
+    public RedisClient(
+            Vertx vertx,
+            String host,
+            int port,
+            String password,
+            RedisRetryConfig retryConfig,
+            String type) {
+
+        this(vertx, host, port, password, retryConfig, null, type);
+    }
+
+    /**
+     * Creates client in pooled mode when pipeline config is given: commands are multiplexed over the pool
+     * of connections and pipelined on each of them, reconnection is left to the pool.
+     */
     public RedisClient(
             Vertx vertx,
             String host,
             int port,
             String password,
             RedisRetryConfig retryConfig,
+            RedisPipelineConfig pipelineConfig,
             String type) {
 
         this.vertx = vertx;
         this.retryConfig = retryConfig;
         this.options = new RedisOptions().setConnectionString("redis://:" + password + "@" + host + ":" + port);
         this.type = type;
+        this.pooled = pipelineConfig != null;
+
+        if (pooled) {
+            options.setMaxPoolSize(pipelineConfig.getMaxPoolSize())
+                    .setMaxWaitingHandlers(pipelineConfig.getMaxWaitingHandlers());
+        }
     }
 
     public void start(Promise<Void> startFuture) {
+        if (pooled) {
+            createRedisPool(0, startFuture);
+            return;
+        }
+
         createRedisClient(onCreate -> {
             if (onCreate.succeeded()) {
                 logger.info("Confiant Redis {} connection is established", type);
@@ -55,6 +93,43 @@ public class RedisClient {
         return redisAPI;
     }
 
+    /**
+     * Sends all requests at once and completes with their responses in the same order.
+     */
+    public Future<List<Response>> batch(List<Request> requests) {
+        if (pool != null) {
+            return pool.batch(requests);
+        }
+
+        final RedisConnection currentConnection = connection;
+        return currentConnection != null
+                ? currentConnection.batch(requests)
+                : Future.failedFuture("Confiant Redis %s connection is not established".formatted(type));
+    }
+
+    /**
+     * Will create a redis client over the pool of connections and check that the server is reachable,
+     * retrying the check until it succeeds or attempts are exhausted.
+     */
+    private void createRedisPool(int retry, Promise<Void> startFuture) {
+        final Redis redis = Redis.createClient(vertx, options);
+        redis.send(Request.cmd(Command.PING)).onComplete(onPing -> {
+            if (onPing.succeeded()) {
+                pool = redis;
+                redisAPI = RedisAPI.api(redis);
+                logger.info("Confiant Redis {} connection pool is established", type);
+                startFuture.tryComplete();
+            } else {
+                redis.close();
+                if (retry > (retryConfig.getShortIntervalAttempts() + retryConfig.getLongIntervalAttempts())) {
+                    logger.info("Confiant Redis connection is not established");
+                } else {
+                    vertx.setTimer(backoff(retry), timer -> createRedisPool(retry + 1, startFuture));
+                }
+            }
+        });
+    }
+
     /**
      * Will create a redis client and setup a reconnect handler when there is
      * an exception in the connection.
@@ -92,11 +167,7 @@ public class RedisClient {
         if (retry > (retryConfig.getShortIntervalAttempts() + retryConfig.getLongIntervalAttempts())) {
             logger.info("Confiant Redis connection is not established");
         } else {
-            final long backoff = retry < retryConfig.getShortIntervalAttempts()
-                    ? retryConfig.getShortInterval()
-                    : retryConfig.getLongInterval();
-
-            vertx.setTimer(backoff, timer -> createRedisClient(onReconnect -> {
+            vertx.setTimer(backoff(retry), timer -> createRedisClient(onReconnect -> {
                 if (onReconnect.failed()) {
                     attemptReconnect(retry + 1, handler);
                 } else if (onReconnect.succeeded()) {
@@ -105,4 +176,10 @@ public class RedisClient {
             }, true));
         }
     }
+
+    private long backoff(int retry) {
+        return retry < retryConfig.getShortIntervalAttempts()
+                ? retryConfig.getShortInterval()
+                : retryConfig.getLongInterval();
+    }
 }
@@ -0,0 +1,31 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.model;
+
+import lombok.Data;
+
+@Data
+public class RedisPipelineConfig {
+
+    /**
+     * Enables pooled, pipelined mode of the Redis clients, which submits all bids of the auction
+     * in a single round trip and answers bids of recently scanned creatives locally
+     */
+    boolean enabled;
+
+    /** Maximum number of connections pooled per Redis node */
+    int maxPoolSize;
+
+    /** Maximum number of commands pipelined on one connection while awaiting their responses */
+    int maxWaitingHandlers;
+
+    /** Maximum number of recently scanned creatives which scan results are cached locally */
+    int scanResultsCacheSize;
+
+    /** Time in milliseconds the scan result of the creative is cached for */
+    long scanResultsCacheTtl;
+
+    /**
+     * Time in milliseconds left to the rest of the auction, i.e. the scan is given up
+     * when the remaining auction timeout is about to go below this value
+     */
+    long timeoutReserve;
+}
@@ -63,7 +63,9 @@ public class ConfiantAdQualityBidResponsesScanHook implements AllProcessedBidRes
         final List<BidderResponse> toScan = needScanMap.getOrDefault(true, Collections.emptyList());
         final List<BidderResponse> avoidScan = needScanMap.getOrDefault(false, Collections.emptyList());
 
-        return bidsScanner.submitBids(BidsMapper.toRedisBidsFromBidResponses(bidRequest, toScan))
+        return bidsScanner.submitBids(
+                        BidsMapper.toRedisBidsFromBidResponses(bidRequest, toScan),
+                        auctionInvocationContext.timeout())
                 .map(scanResult -> toInvocationResult(scanResult, toScan, avoidScan, auctionInvocationContext));
     }
 
@@ -0,0 +1,79 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import com.iab.openrtb.response.Bid;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.Issue;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BidScanResultsCacheTest {
+
+    private final BidScanResultsCache target = new BidScanResultsCache(100, 60000L);
+
+    @Test
+    public void creativeHashShouldReturnNullWhenBidHasNoMarkup() {
+        // when and then
+        assertThat(BidScanResultsCache.creativeHash("dsp", Bid.builder().crid("crid").build())).isNull();
+        assertThat(BidScanResultsCache.creativeHash("dsp", Bid.builder().adm("").build())).isNull();
+    }
+
+    @Test
+    public void creativeHashShouldDependOnDspAndCreativeOnly() {
+        // given
+        final String hash = BidScanResultsCache.creativeHash("dsp", bid("imp-1", "crid", "adm"));
+
+        // when and then
+        assertThat(BidScanResultsCache.creativeHash("dsp", bid("imp-2", "crid", "adm"))).isEqualTo(hash);
+        assertThat(BidScanResultsCache.creativeHash("other-dsp", bid("imp-1", "crid", "adm"))).isNotEqualTo(hash);
+        assertThat(BidScanResultsCache.creativeHash("dsp", bid("imp-1", "other-crid", "adm"))).isNotEqualTo(hash);
+        assertThat(BidScanResultsCache.creativeHash("dsp", bid("imp-1", "crid", "other-adm"))).isNotEqualTo(hash);
+        assertThat(BidScanResultsCache.creativeHash("dsp", bid("imp-1", "cri", "dadm"))).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void getShouldReturnCachedResultAttributedToGivenImp() {
+        // given
+        final Issue issue = new Issue();
+        issue.setSpecName("malicious_domain");
+        target.put("hash", scanResult("tag", "imp-1", false, List.of(issue)));
+
+        // when
+        final BidScanResult result = target.get("hash", "imp-2");
+
+        // then
+        assertThat(result).isEqualTo(scanResult("tag", "imp-2", false, List.of(issue)));
+    }
+
+    @Test
+    public void getShouldReturnNullWhenResultIsNotCached() {
+        // when and then
+        assertThat(target.get("hash", "imp")).isNull();
+        assertThat(target.get(null, "imp")).isNull();
+    }
+
+    @Test
+    public void putShouldSkipResultOfCreativeUnknownToScanner() {
+        // when
+        target.put("hash", scanResult("tag", "imp", true, null));
+        target.put(null, scanResult("tag", "imp", false, null));
+
+        // then
+        assertThat(target.get("hash", "imp")).isNull();
+    }
+
+    private static Bid bid(String impId, String crid, String adm) {
+        return Bid.builder().impid(impId).crid(crid).adm(adm).build();
+    }
+
+    private static BidScanResult scanResult(String tagKey, String impId, boolean roSkipped, List<Issue> issues) {
+        final BidScanResult result = new BidScanResult();
+        result.setTagKey(tagKey);
+        result.setImpId(impId);
+        result.setRoSkipped(roSkipped);
+        result.setIssues(issues);
+        return result;
+    }
+}
@@ -0,0 +1,339 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.Bid;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.BidScanResult;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisBidsData;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisPipelineConfig;
+import org.prebid.server.hooks.modules.com.confiant.adquality.model.RedisRetryConfig;
+import org.prebid.server.hooks.modules.com.confiant.adquality.util.RedisStandIn;
+import org.prebid.server.proto.openrtb.ext.response.BidType;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class PipelinedBidsScannerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Vertx vertx;
+
+    private RedisStandIn readRedis;
+
+    private RedisStandIn writeRedis;
+
+    private PipelinedBidsScanner target;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+
+        readRedis = RedisStandIn.start(vertx);
+        readRedis.set("function_submit_bids", "submit-hash");
+        readRedis.set("scan-disabled", "false");
+        readRedis.onEvalsha(args -> scan(args, false));
+
+        writeRedis = RedisStandIn.start(vertx);
+        writeRedis.onEvalsha(args -> scan(args, false));
+
+        final RedisRetryConfig retryConfig = new RedisRetryConfig();
+        retryConfig.setShortIntervalAttempts(1);
+        retryConfig.setShortInterval(100);
+
+        final RedisPipelineConfig pipelineConfig = new RedisPipelineConfig();
+        pipelineConfig.setMaxPoolSize(2);
+        pipelineConfig.setMaxWaitingHandlers(100);
+
+        target = new PipelinedBidsScanner(
+                new RedisClient(vertx, "127.0.0.1", writeRedis.port(), "", retryConfig, pipelineConfig, "write node"),
+                new RedisClient(vertx, "127.0.0.1", readRedis.port(), "", retryConfig, pipelineConfig, "read node"),
+                "api-key",
+                MAPPER,
+                new BidScanResultsCache(100, 60000L),
+                10L);
+
+        final Promise<Void> started = Promise.promise();
+        target.start(started);
+        await(started.future());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        await(vertx.close());
+    }
+
+    @Test
+    public void isScanDisabledFlagShouldReadScanStateAlongWithSubmitFunctionHashInSingleBatch() {
+        // given
+        readRedis.set("scan-disabled", "true");
+
+        // when
+        final boolean isScanDisabled = await(target.isScanDisabledFlag());
+
+        // then
+        assertThat(isScanDisabled).isTrue();
+        assertThat(readRedis.reads()).contains(List.of(
+                List.of("get", "scan-disabled"),
+                List.of("get", "function_submit_bids")));
+    }
+
+    @Test
+    public void submitBidsShouldReturnEmptyResultWhenScanIsDisabled() {
+        // given
+        await(target.isScanDisabledFlag());
+
+        // when
+        final BidsScanResult result = await(target.submitBids(bids(bidderResponse("bidder", "bad-adm")), timeout()));
+
+        // then
+        assertThat(result.getBidScanResults()).isEmpty();
+        assertThat(readRedis.commands("evalsha")).isEmpty();
+    }
+
+    @Test
+    public void submitBidsShouldSubmitAllBidsOfAuctionInSingleCall() {
+        // given
+        enableScan();
+
+        // when
+        final BidsScanResult result = await(target.submitBids(
+                bids(bidderResponse("bidder-a", "adm-1"), bidderResponse("bidder-b", "bad-adm-2", "adm-3")),
+                timeout()));
+
+        // then
+        assertThat(readRedis.commands("evalsha")).hasSize(1);
+        assertThat(readRedis.commands("get")).hasSize(2);
+        assertThat(result.getBidScanResults())
+                .extracting(BidScanResult::getTagKey)
+                .containsExactly("tag-adm-1", "tag-bad-adm-2", "tag-adm-3");
+        assertThat(result.getBidScanResults())
+                .extracting(bidScanResult -> bidScanResult.getIssues() != null)
+                .containsExactly(false, true, false);
+    }
+
+    @Test
+    public void submitBidsShouldFetchSubmitFunctionHashOnceWhenItIsNotKnownYet() {
+        // given
+        target.enableScan();
+
+        // when
+        await(target.submitBids(bids(bidderResponse("bidder", "adm-1")), timeout()));
+        await(target.submitBids(bids(bidderResponse("bidder", "adm-2")), timeout()));
+
+        // then
+        assertThat(readRedis.commands("get")).containsExactly(List.of("get", "function_submit_bids"));
+        assertThat(readRedis.commands("evalsha"))
+                .extracting(List::getFirst, command -> command.get(1))
+                .containsOnly(tuple("evalsha", "submit-hash"));
+    }
+
+    @Test
+    public void submitBidsShouldAnswerRecentlyScannedCreativesFromCache() {
+        // given
+        enableScan();
+        await(target.submitBids(bids(bidderResponse("bidder", "bad-adm")), timeout()));
+
+        // when
+        final BidsScanResult result = await(target.submitBids(
+                bids(bidderResponseForImp("bidder", "imp-2", "bad-adm")),
+                timeout()));
+
+        // then
+        assertThat(readRedis.commands("evalsha")).hasSize(1);
+        assertThat(result.getBidScanResults()).hasSize(1);
+        assertThat(result.getBidScanResults().getFirst().getImpId()).isEqualTo("imp-2");
+        assertThat(result.getBidScanResults().getFirst().getIssues()).isNotEmpty();
+    }
+
+    @Test
+    public void submitBidsShouldSubmitOnlyBidsOfCreativesNotScannedRecently() throws JsonProcessingException {
+        // given
+        enableScan();
+        await(target.submitBids(bids(bidderResponse("bidder-a", "bad-adm-1")), timeout()));
+
+        // when
+        final BidsScanResult result = await(target.submitBids(
+                bids(bidderResponse("bidder-a", "adm-2", "bad-adm-1"), bidderResponse("bidder-b", "bad-adm-1")),
+                timeout()));
+
+        // then
+        final List<List<String>> evalshaCommands = readRedis.commands("evalsha");
+        assertThat(evalshaCommands).hasSize(2);
+        assertThat(MAPPER.readTree(evalshaCommands.get(1).get(3)).findValuesAsText("adm"))
+                .containsExactly("adm-2", "bad-adm-1");
+
+        assertThat(result.getBidScanResults())
+                .extracting(BidScanResult::getTagKey)
+                .containsExactly("tag-adm-2", "tag-bad-adm-1", "tag-bad-adm-1");
+        assertThat(result.getBidScanResults())
+                .extracting(bidScanResult -> bidScanResult.getIssues() != null)
+                .containsExactly(false, true, true);
+    }
+
+    @Test
+    public void submitBidsShouldResubmitToWriteNodeAndNotCacheCreativesUnknownToReadNode() {
+        // given
+        enableScan();
+        readRedis.onEvalsha(args -> scan(args, true));
+
+        // when
+        final BidsScanResult result = await(target.submitBids(bids(bidderResponse("bidder", "bad-adm")), timeout()));
+        await(target.submitBids(bids(bidderResponse("bidder", "bad-adm")), timeout()));
+
+        // then
+        assertThat(result.getBidScanResults()).hasSize(1);
+        assertThat(result.getBidScanResults().getFirst().getIssues()).isNotEmpty();
+        assertThat(readRedis.commands("evalsha")).hasSize(2);
+        assertThat(writeRedis.commands("evalsha")).hasSize(2)
+                .allSatisfy(command -> assertThat(command).hasSize(5));
+    }
+
+    @Test
+    public void submitBidsShouldGiveUpScanWhenDeadlineIsExceeded() {
+        // given
+        enableScan();
+        readRedis.delayResponses(500L);
+
+        // when
+        final long startTime = System.currentTimeMillis();
+        final BidsScanResult result = await(target.submitBids(bids(bidderResponse("bidder", "bad-adm")), timeout()));
+
+        // then
+        assertThat(System.currentTimeMillis() - startTime).isLessThan(500L);
+        assertThat(result.getBidScanResults()).containsExactly((BidScanResult) null);
+        assertThat(result.getDebugMessages()).hasSize(1)
+                .allSatisfy(message -> assertThat(message).startsWith("Scan deadline of "));
+    }
+
+    @Test
+    public void submitBidsShouldKeepCachedResultsWhenSubmittedBidsAreNotScanned() {
+        // given
+        enableScan();
+        await(target.submitBids(bids(bidderResponse("bidder", "bad-adm-1")), timeout()));
+        readRedis.delayResponses(500L);
+
+        // when
+        final BidsScanResult result = await(target.submitBids(
+                bids(bidderResponse("bidder", "adm-2", "bad-adm-1")),
+                timeout()));
+
+        // then
+        assertThat(result.getBidScanResults()).hasSize(2);
+        assertThat(result.getBidScanResults().getFirst()).isNull();
+        assertThat(result.getBidScanResults().get(1).getTagKey()).isEqualTo("tag-bad-adm-1");
+        assertThat(result.getBidScanResults().get(1).getIssues()).isNotEmpty();
+        assertThat(result.getIssuesMessages()).hasSize(1);
+    }
+
+    @Test
+    public void submitBidsShouldSkipScanWhenAuctionTimeoutIsAboutToExpire() {
+        // given
+        enableScan();
+        final Timeout timeout = new TimeoutFactory(Clock.systemUTC()).create(5L);
+
+        // when
+        final BidsScanResult result = await(target.submitBids(bids(bidderResponse("bidder", "adm")), timeout));
+
+        // then
+        assertThat(readRedis.commands("evalsha")).isEmpty();
+        assertThat(result.getBidScanResults()).containsExactly((BidScanResult) null);
+        assertThat(result.getDebugMessages()).containsExactly("Scan is skipped: auction timeout is about to expire");
+    }
+
+    private void enableScan() {
+        await(target.isScanDisabledFlag());
+        target.enableScan();
+    }
+
+    private static Timeout timeout() {
+        return new TimeoutFactory(Clock.systemUTC()).create(200L);
+    }
+
+    private static RedisBidsData bids(BidderResponse... bidderResponses) {
+        return BidsMapper.toRedisBidsFromBidResponses(
+                BidRequest.builder().id("request-id").cur(List.of("USD")).build(),
+                Arrays.asList(bidderResponses));
+    }
+
+    private static BidderResponse bidderResponse(String bidder, String... adms) {
+        return BidderResponse.of(
+                bidder,
+                BidderSeatBid.builder()
+                        .bids(Arrays.stream(adms)
+                                .map(adm -> BidderBid.builder()
+                                        .type(BidType.banner)
+                                        .bid(Bid.builder()
+                                                .id("bid-" + adm)
+                                                .impid("imp-1")
+                                                .price(BigDecimal.ONE)
+                                                .adm(adm)
+                                                .build())
+                                        .build())
+                                .toList())
+                        .build(),
+                10);
+    }
+
+    private static BidderResponse bidderResponseForImp(String bidder, String impId, String adm) {
+        final BidderResponse bidderResponse = bidderResponse(bidder, adm);
+        final BidderBid bidderBid = bidderResponse.getSeatBid().getBids().getFirst();
+        return bidderResponse.with(bidderResponse.getSeatBid().with(List.of(bidderBid.toBuilder()
+                .bid(bidderBid.getBid().toBuilder().impid(impId).build())
+                .build())));
+    }
+
+    /**
+     * Emulates submit function: scan result of every submitted bid, creatives with "bad" markup have issues.
+     */
+    private static String scan(List<String> evalshaArgs, boolean roSkipped) {
+        try {
+            final ArrayNode result = MAPPER.createArrayNode();
+            for (JsonNode bresp : MAPPER.readTree(evalshaArgs.get(2)).get("bresps")) {
+                final ArrayNode brespResult = result.addArray();
+                for (JsonNode bid : bresp.at("/bidresponse/seatbid/0/bid")) {
+                    final String adm = bid.get("adm").asText();
+                    final ObjectNode bidResult = brespResult.addArray().addObject()
+                            .put("tag_key", "tag-" + adm)
+                            .put("imp_id", bid.get("impid").asText())
+                            .put("ro_skipped", roSkipped);
+                    if (adm.startsWith("bad")) {
+                        bidResult.putArray("issues").addObject().put("spec_name", "malicious_domain");
+                    }
+                }
+            }
+            return MAPPER.writeValueAsString(result);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package org.prebid.server.hooks.modules.com.confiant.adquality.util;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.net.NetServer;
+import io.vertx.core.net.NetSocket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Embedded stand-in of Redis server speaking RESP over TCP. Answers GET with the stored values and EVALSHA
+ * with the configured handler, and records all commands it receives grouped by socket reads.
+ */
+public class RedisStandIn {
+
+    private final Vertx vertx;
+    private final NetServer server;
+
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+    private final List<List<List<String>>> reads = new CopyOnWriteArrayList<>();
+
+    private volatile Function<List<String>, String> evalshaHandler = args -> null;
+    private volatile long responseDelay;
+
+    private RedisStandIn(Vertx vertx) {
+        this.vertx = vertx;
+        this.server = vertx.createNetServer().connectHandler(this::handleConnection);
+    }
+
+    public static RedisStandIn start(Vertx vertx) {
+        final RedisStandIn redis = new RedisStandIn(vertx);
+        try {
+            redis.server.listen(0, "127.0.0.1").toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return redis;
+    }
+
+    public int port() {
+        return server.actualPort();
+    }
+
+    public void set(String key, String value) {
+        values.put(key, value);
+    }
+
+    /**
+     * Sets handler producing the raw JSON returned by EVALSHA for its arguments or null for nil response.
+     */
+    public void onEvalsha(Function<List<String>, String> handler) {
+        evalshaHandler = handler;
+    }
+
+    public void delayResponses(long delayMs) {
+        responseDelay = delayMs;
+    }
+
+    /**
+     * Returns received commands of the given name with their arguments.
+     */
+    public List<List<String>> commands(String name) {
+        return reads.stream()
+                .flatMap(List::stream)
+                .filter(command -> command.getFirst().equalsIgnoreCase(name))
+                .toList();
+    }
+
+    /**
+     * Returns commands grouped by the socket reads they were received with, i.e. pipelined commands
+     * sent at once come in one group.
+     */
+    public List<List<List<String>>> reads() {
+        return reads;
+    }
+
+    public void close() {
+        server.close();
+    }
+
+    private void handleConnection(NetSocket socket) {
+        final Buffer[] pending = {Buffer.buffer()};
+
+        socket.handler(chunk -> {
+            pending[0].appendBuffer(chunk);
+
+            final List<List<String>> commands = new ArrayList<>();
+            final Buffer replies = Buffer.buffer();
+            int offset = 0;
+            Parsed parsed;
+            while ((parsed = parseCommand(pending[0], offset)) != null) {
+                commands.add(parsed.command);
+                replies.appendString(reply(parsed.command));
+                offset = parsed.end;
+            }
+            pending[0] = pending[0].getBuffer(offset, pending[0].length());
+
+            if (commands.isEmpty()) {
+                return;
+            }
+
+            reads.add(commands);
+            if (responseDelay > 0) {
+                vertx.setTimer(responseDelay, ignored -> socket.write(replies));
+            } else {
+                socket.write(replies);
+            }
+        });
+    }
+
+    private String reply(List<String> command) {
+        return switch (command.getFirst().toUpperCase()) {
+            case "PING" -> "+PONG\r\n";
+            case "AUTH", "SELECT", "CLIENT" -> "+OK\r\n";
+            case "GET" -> bulkString(values.get(command.get(1)));
+            case "EVALSHA" -> bulkString(evalshaHandler.apply(command.subList(1, command.size())));
+            default -> "-ERR unknown command '%s'\r\n".formatted(command.getFirst());
+        };
+    }
+
+    private static String bulkString(String value) {
+        if (value == null) {
+            return "$-1\r\n";
+        }
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return "$" + bytes.length + "\r\n" + value + "\r\n";
+    }
+
+    private static Parsed parseCommand(Buffer buffer, int offset) {
+        final Line header = readLine(buffer, offset);
+        if (header == null) {
+            return null;
+        }
+
+        final int size = Integer.parseInt(header.value.substring(1));
+        final List<String> command = new ArrayList<>(size);
+        int position = header.end;
+        for (int i = 0; i < size; i++) {
+            final Line lengthLine = readLine(buffer, position);
+            if (lengthLine == null) {
+                return null;
+            }
+
+            final int length = Integer.parseInt(lengthLine.value.substring(1));
+            if (buffer.length() < lengthLine.end + length + 2) {
+                return null;
+            }
+
+            command.add(buffer.getString(lengthLine.end, lengthLine.end + length, StandardCharsets.UTF_8.name()));
+            position = lengthLine.end + length + 2;
+        }
+
+        return new Parsed(command, position);
+    }
+
+    private static Line readLine(Buffer buffer, int offset) {
+        for (int i = offset; i < buffer.length() - 1; i++) {
+            if (buffer.getByte(i) == '\r' && buffer.getByte(i + 1) == '\n') {
+                return new Line(buffer.getString(offset, i), i + 2);
+            }
+        }
+        return null;
+    }
+
+    private record Parsed(List<String> command, int end) {
+    }
+
+    private record Line(String value, int end) {
+    }
+}
@@ -16,6 +16,8 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
 import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.hooks.execution.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.execution.v1.analytics.AppliedToImpl;
 import org.prebid.server.hooks.execution.v1.analytics.ResultImpl;
@@ -31,6 +33,9 @@ import org.prebid.server.hooks.v1.PayloadUpdate;
 import org.prebid.server.hooks.v1.auction.AuctionInvocationContext;
 import org.prebid.server.hooks.v1.bidder.AllProcessedBidResponsesPayload;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
 
@@ -38,6 +43,8 @@ import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.hooks.modules.com.confiant.adquality.util.AdQualityModuleTestUtils.getBidderResponse;
@@ -83,7 +90,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
                 .debugMessages(Collections.emptyList())
                 .build();
 
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
 
         // when
@@ -102,6 +109,26 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
         assertThat(result.debugMessages()).isNull();
     }
 
+    @Test
+    public void callShouldSubmitBidsWithinAuctionTimeout() {
+        // given
+        final Timeout timeout = new TimeoutFactory(Clock.fixed(Instant.now(), ZoneOffset.UTC)).create(100L);
+        final BidsScanResult bidsScanResult = BidsScanResult.builder()
+                .bidScanResults(Collections.emptyList())
+                .debugMessages(Collections.emptyList())
+                .build();
+
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
+        doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
+        doReturn(timeout).when(auctionInvocationContext).timeout();
+
+        // when
+        target.call(allProcessedBidResponsesPayload, auctionInvocationContext);
+
+        // then
+        verify(bidsScanner).submitBids(any(), same(timeout));
+    }
+
     @Test
     public void callShouldReturnResultWithUpdateActionWhenRedisHasFoundSomeIssues() {
         // given
@@ -115,7 +142,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
                     }]
                 }]]]""");
 
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
         doReturn(List.of(getBidderResponse("bidder_a", "imp_a", "bid_id_a")))
                 .when(allProcessedBidResponsesPayload).bidResponses();
@@ -162,14 +189,14 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
                     }]
                 }]]]""");
 
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
 
         // when
         target.call(allProcessedBidResponsesPayload, auctionInvocationContext);
 
         // then
-        verify(bidsScanner).submitBids(any());
+        verify(bidsScanner).submitBids(any(), any());
     }
 
     @Test
@@ -208,7 +235,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
 
         doReturn(List.of(secureBidderResponse, notSecureBadBidderResponse, notSecureGoodBidderResponse))
                 .when(allProcessedBidResponsesPayload).bidResponses();
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(auctionContext).when(auctionInvocationContext).auctionContext();
 
         // when
@@ -216,9 +243,11 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
                 .call(allProcessedBidResponsesPayload, auctionInvocationContext);
 
         // then
-        verify(bidsScanner).submitBids(BidsMapper.toRedisBidsFromBidResponses(
-                auctionContext.getBidRequest(),
-                List.of(notSecureBadBidderResponse, notSecureGoodBidderResponse)));
+        verify(bidsScanner).submitBids(
+                eq(BidsMapper.toRedisBidsFromBidResponses(
+                        auctionContext.getBidRequest(),
+                        List.of(notSecureBadBidderResponse, notSecureGoodBidderResponse))),
+                any());
 
         final PayloadUpdate<AllProcessedBidResponsesPayload> payloadUpdate = invocationResult.result().payloadUpdate();
         final AllProcessedBidResponsesPayloadImpl initPayloadToUpdate = AllProcessedBidResponsesPayloadImpl.of(
@@ -275,7 +304,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
 
         doReturn(List.of(secureBidderResponse, notSecureBadBidderResponse, emptyBidderResponse))
                 .when(allProcessedBidResponsesPayload).bidResponses();
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(auctionContext).when(auctionInvocationContext).auctionContext();
 
         // when
@@ -283,8 +312,10 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
                 .call(allProcessedBidResponsesPayload, auctionInvocationContext);
 
         // then
-        verify(bidsScanner).submitBids(BidsMapper.toRedisBidsFromBidResponses(
-                auctionContext.getBidRequest(), List.of(notSecureBadBidderResponse)));
+        verify(bidsScanner).submitBids(
+                eq(BidsMapper.toRedisBidsFromBidResponses(
+                        auctionContext.getBidRequest(), List.of(notSecureBadBidderResponse))),
+                any());
 
         final PayloadUpdate<AllProcessedBidResponsesPayload> payloadUpdate = invocationResult.result().payloadUpdate();
         final AllProcessedBidResponsesPayloadImpl initPayloadToUpdate = AllProcessedBidResponsesPayloadImpl.of(
@@ -326,7 +357,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
 
         bidsScanner.enableScan();
         doReturn(transmitGeoIsAllowed).when(activityInfrastructure).isAllowed(any(), any());
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
 
         // when
@@ -334,12 +365,12 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
 
         // then
         verify(bidsScanner).submitBids(
-                BidsMapper.toRedisBidsFromBidResponses(BidRequest.builder()
+                eq(BidsMapper.toRedisBidsFromBidResponses(BidRequest.builder()
                         .user(user)
                         .device(device)
                         .cur(List.of("USD"))
-                        .build(), List.of())
-        );
+                        .build(), List.of())),
+                any());
     }
 
     @Test
@@ -361,7 +392,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
 
         bidsScanner.enableScan();
         doReturn(transmitGeoIsAllowed).when(activityInfrastructure).isAllowed(any(), any());
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
 
         // when
@@ -369,12 +400,12 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
 
         // then
         verify(bidsScanner).submitBids(
-                BidsMapper.toRedisBidsFromBidResponses(BidRequest.builder()
+                eq(BidsMapper.toRedisBidsFromBidResponses(BidRequest.builder()
                         .user(user)
                         .device(device)
                         .cur(List.of("USD"))
-                        .build(), List.of())
-        );
+                        .build(), List.of())),
+                any());
     }
 
     @Test
@@ -382,7 +413,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
         // given
         final BidsScanResult bidsScanResult = redisParser.parseBidsScanResult("[[[{\"t");
 
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(true).when(auctionInvocationContext).debugEnabled();
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
 
@@ -407,7 +438,7 @@ public class ConfiantAdQualityBidResponsesScanHookTest {
         // given
         final BidsScanResult bidsScanResult = redisParser.parseBidsScanResult("[[[{\"t");
 
-        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any());
+        doReturn(Future.succeededFuture(bidsScanResult)).when(bidsScanner).submitBids(any(), any());
         doReturn(false).when(auctionInvocationContext).debugEnabled();
         doReturn(getAuctionContext()).when(auctionInvocationContext).auctionContext();
 
@@ -10,6 +10,8 @@ import org.prebid.server.hooks.modules.greenbids.real.time.data.core.FilterServi
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInferenceDataService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInvocationService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.ModelCache;
+import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxInferenceBatcher;
+import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelPreloader;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunner;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerFactory;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerWithThresholds;
@@ -18,11 +20,13 @@ import org.prebid.server.hooks.modules.greenbids.real.time.data.core.ThrottlingT
 import org.prebid.server.hooks.modules.greenbids.real.time.data.model.filter.ThrottlingThresholds;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.v1.GreenbidsRealTimeDataProcessedAuctionRequestHook;
 import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.Metrics;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Clock;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -49,7 +53,8 @@ public class GreenbidsRealTimeDataConfiguration {
             FilterService filterService,
             OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds,
             GreenbidsInferenceDataService greenbidsInferenceDataService,
-            GreenbidsInvocationService greenbidsInvocationService) {
+            GreenbidsInvocationService greenbidsInvocationService,
+            OnnxInferenceBatcher onnxInferenceBatcher) {
 
         return new GreenbidsRealTimeDataModule(List.of(
                 new GreenbidsRealTimeDataProcessedAuctionRequestHook(
@@ -57,7 +62,8 @@ public class GreenbidsRealTimeDataConfiguration {
                         filterService,
                         onnxModelRunnerWithThresholds,
                         greenbidsInferenceDataService,
-                        greenbidsInvocationService)));
+                        greenbidsInvocationService,
+                        onnxInferenceBatcher)));
     }
 
     @Bean
@@ -65,6 +71,24 @@ public class GreenbidsRealTimeDataConfiguration {
         return new FilterService();
     }
 
+    @Bean
+    OnnxInferenceBatcher onnxInferenceBatcher(GreenbidsRealTimeDataProperties properties,
+                                              FilterService filterService,
+                                              Vertx vertx,
+                                              Metrics metrics,
+                                              Clock clock) {
+
+        return new OnnxInferenceBatcher(
+                filterService,
+                vertx,
+                metrics,
+                clock,
+                GreenbidsRealTimeDataModule.CODE,
+                properties.getInferenceBatchWindowMs(),
+                properties.getInferenceMaxBatchSize(),
+                properties.getInferenceQueueCapacity());
+    }
+
     @Bean
     Storage storage(GreenbidsRealTimeDataProperties properties) {
         return StorageOptions.newBuilder()
@@ -88,8 +112,14 @@ public class GreenbidsRealTimeDataConfiguration {
             Storage storage,
             OnnxModelRunnerFactory onnxModelRunnerFactory) {
 
+        // replaced and expired models are closed to free their native sessions once inferences are done with them
         final Cache<String, OnnxModelRunner> modelCacheWithExpiration = Caffeine.newBuilder()
                 .expireAfterWrite(properties.getCacheExpirationMinutes(), TimeUnit.MINUTES)
+                .<String, OnnxModelRunner>removalListener((key, onnxModelRunner, cause) -> {
+                    if (onnxModelRunner != null) {
+                        onnxModelRunner.close();
+                    }
+                })
                 .build();
 
         return new ModelCache(
@@ -130,6 +160,24 @@ public class GreenbidsRealTimeDataConfiguration {
         return new OnnxModelRunnerWithThresholds(modelCache, thresholdCache);
     }
 
+    @Bean
+    OnnxModelPreloader onnxModelPreloader(GreenbidsRealTimeDataProperties properties,
+                                          OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds,
+                                          FilterService filterService,
+                                          Vertx vertx) {
+
+        // preloaded models are renewed at half of the cache expiration, so they never expire while in use
+        final long refreshPeriodMs = TimeUnit.MINUTES.toMillis(properties.getCacheExpirationMinutes()) / 2;
+
+        return new OnnxModelPreloader(
+                properties.getPreloadPbuids(),
+                onnxModelRunnerWithThresholds,
+                filterService,
+                vertx,
+                properties.getWarmUpRuns(),
+                refreshPeriodMs);
+    }
+
     @Bean
     GreenbidsInvocationService greenbidsInvocationService() {
         return new GreenbidsInvocationService();
@@ -3,6 +3,9 @@ package org.prebid.server.hooks.modules.greenbids.real.time.data.config;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.Collections;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "hooks.modules." + GreenbidsRealTimeDataModule.CODE)
 @Data
 public class GreenbidsRealTimeDataProperties {
@@ -24,4 +27,14 @@ public class GreenbidsRealTimeDataProperties {
     Long timeoutMs;
 
     Integer maxRedirects;
+
+    Long inferenceBatchWindowMs = 2L;
+
+    Integer inferenceMaxBatchSize = 512;
+
+    Integer inferenceQueueCapacity = 1000;
+
+    List<String> preloadPbuids = Collections.emptyList();
+
+    Integer warmUpRuns = 3;
 }
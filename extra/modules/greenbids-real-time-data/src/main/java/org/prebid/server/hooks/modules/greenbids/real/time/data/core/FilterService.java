@@ -8,12 +8,10 @@ import org.prebid.server.exception.PreBidException;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.model.data.ThrottlingMessage;
 import org.springframework.util.CollectionUtils;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
 
 public class FilterService {
@@ -23,16 +21,45 @@ public class FilterService {
             List<ThrottlingMessage> throttlingMessages,
             Double threshold) {
 
-        final OrtSession.Result results;
-        try {
-            final String[][] throttlingInferenceRows = convertToArray(throttlingMessages);
-            results = onnxModelRunner.runModel(throttlingInferenceRows);
-            return processModelResults(results, throttlingMessages, threshold);
+        final String[][] throttlingInferenceRows = toInferenceRows(throttlingMessages);
+        final float[][] probabilities = runInference(onnxModelRunner, throttlingInferenceRows);
+        return processProbabilities(probabilities, throttlingMessages, threshold);
+    }
+
+    public String[][] toInferenceRows(List<ThrottlingMessage> throttlingMessages) {
+        validateThrottlingMessages(throttlingMessages);
+        return convertToArray(throttlingMessages);
+    }
+
+    /**
+     * Runs the model over the given rows and returns the probabilities predicted for each of them.
+     */
+    public float[][] runInference(OnnxModelRunner onnxModelRunner, String[][] throttlingInferenceRows) {
+        try (OrtSession.Result results = onnxModelRunner.runModel(throttlingInferenceRows)) {
+            return extractProbabilities(results, throttlingInferenceRows.length);
         } catch (OrtException e) {
             throw new PreBidException("Exception during model inference: ", e);
         }
     }
 
+    public Map<String, Map<String, Boolean>> processProbabilities(
+            float[][] probabilities,
+            List<ThrottlingMessage> throttlingMessages,
+            Double threshold) {
+
+        final Map<String, Map<String, Boolean>> result = new HashMap<>();
+
+        for (int i = 0; i < probabilities.length; i++) {
+            final ThrottlingMessage message = throttlingMessages.get(i);
+            final String impId = message.getAdUnitCode();
+            final String bidder = message.getBidder();
+            final boolean isKeptInAuction = probabilities[i][1] > threshold;
+            result.computeIfAbsent(impId, k -> new HashMap<>()).put(bidder, isKeptInAuction);
+        }
+
+        return result;
+    }
+
     private static String[][] convertToArray(List<ThrottlingMessage> messages) {
         return messages.stream()
                 .map(message -> new String[]{
@@ -47,23 +74,16 @@ public class FilterService {
                 .toArray(String[][]::new);
     }
 
-    private Map<String, Map<String, Boolean>> processModelResults(
-            OrtSession.Result results,
-            List<ThrottlingMessage> throttlingMessages,
-            Double threshold) {
-
-        validateThrottlingMessages(throttlingMessages);
-
+    private static float[][] extractProbabilities(OrtSession.Result results, int expectedSize) {
         return StreamSupport.stream(results.spliterator(), false)
                 .peek(FilterService::validateOnnxTensor)
                 .filter(onnxItem -> Objects.equals(onnxItem.getKey(), "probabilities"))
                 .map(Map.Entry::getValue)
                 .map(OnnxTensor.class::cast)
-                .peek(tensor -> validateTensorSize(tensor, throttlingMessages.size()))
-                .map(tensor -> extractAndProcessProbabilities(tensor, throttlingMessages, threshold))
-                .map(Map::entrySet)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+                .peek(tensor -> validateTensorSize(tensor, expectedSize))
+                .map(FilterService::extractProbabilitiesValues)
+                .findFirst()
+                .orElseThrow(() -> new PreBidException("Model results contain no probabilities"));
     }
 
     private static void validateThrottlingMessages(List<ThrottlingMessage> throttlingMessages) {
@@ -86,38 +106,11 @@ public class FilterService {
         }
     }
 
-    private Map<String, Map<String, Boolean>> extractAndProcessProbabilities(
-            OnnxTensor tensor,
-            List<ThrottlingMessage> throttlingMessages,
-            Double threshold) {
-
+    private static float[][] extractProbabilitiesValues(OnnxTensor tensor) {
         try {
-            final float[][] probabilities = extractProbabilitiesValues(tensor);
-            return processProbabilities(probabilities, throttlingMessages, threshold);
+            return (float[][]) tensor.getValue();
         } catch (OrtException e) {
             throw new PreBidException("Exception when extracting proba from OnnxTensor: ", e);
         }
     }
-
-    private float[][] extractProbabilitiesValues(OnnxTensor tensor) throws OrtException {
-        return (float[][]) tensor.getValue();
-    }
-
-    private Map<String, Map<String, Boolean>> processProbabilities(
-            float[][] probabilities,
-            List<ThrottlingMessage> throttlingMessages,
-            Double threshold) {
-
-        final Map<String, Map<String, Boolean>> result = new HashMap<>();
-
-        for (int i = 0; i < probabilities.length; i++) {
-            final ThrottlingMessage message = throttlingMessages.get(i);
-            final String impId = message.getAdUnitCode();
-            final String bidder = message.getBidder();
-            final boolean isKeptInAuction = probabilities[i][1] > threshold;
-            result.computeIfAbsent(impId, k -> new HashMap<>()).put(bidder, isKeptInAuction);
-        }
-
-        return result;
-    }
 }
@@ -68,6 +68,14 @@ public class ModelCache {
         return Future.failedFuture("ModelRunner fetching in progress. Skip current request");
     }
 
+    /**
+     * Fetches the model regardless of the cached one and caches it, e.g. to have it ready before the first
+     * auction of the partner or to renew it ahead of expiration.
+     */
+    public Future<OnnxModelRunner> load(String onnxModelPath, String pbuid) {
+        return fetchAndCacheModelRunner(onnxModelPath, onnxModelCacheKeyPrefix + pbuid);
+    }
+
     private Future<OnnxModelRunner> fetchAndCacheModelRunner(String onnxModelPath, String cacheKey) {
         return vertx.executeBlocking(() -> getBlob(onnxModelPath))
                 .map(this::loadModelRunner)
@@ -0,0 +1,221 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Micro-batches model inference: rows of the requests for the same model arriving within the batch window
+ * are run by a single model session call on the worker pool and the predicted probabilities are split back
+ * to the requests.
+ * <p>
+ * Number of queued requests is bounded, and requests exceeding the queue capacity or not served before their
+ * deadline are failed, so the caller can fall back to leaving the auction unfiltered.
+ * <p>
+ * Requests of a batch may come from different event loops, so every request is completed on the context it was
+ * made from.
+ */
+public class OnnxInferenceBatcher {
+
+    private final FilterService filterService;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+    private final String moduleCode;
+    private final long batchWindowMs;
+    private final int maxBatchSize;
+    private final int queueCapacity;
+
+    private final Map<OnnxModelRunner, Batch> pendingBatches = new HashMap<>();
+    private final AtomicInteger queuedRequests = new AtomicInteger();
+
+    public OnnxInferenceBatcher(FilterService filterService,
+                                Vertx vertx,
+                                Metrics metrics,
+                                Clock clock,
+                                String moduleCode,
+                                long batchWindowMs,
+                                int maxBatchSize,
+                                int queueCapacity) {
+
+        this.filterService = Objects.requireNonNull(filterService);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.moduleCode = Objects.requireNonNull(moduleCode);
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = maxBatchSize;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Returns the probabilities predicted by the model for the given rows, or failed future if they can not be
+     * predicted before the timeout expires.
+     */
+    public Future<float[][]> infer(OnnxModelRunner onnxModelRunner, String[][] rows, Timeout timeout) {
+        final long remaining = timeout.remaining();
+        if (remaining <= 0) {
+            return fallback("Inference deadline is exceeded");
+        }
+
+        if (queuedRequests.incrementAndGet() > queueCapacity) {
+            queuedRequests.decrementAndGet();
+            return fallback("Inference queue is full");
+        }
+
+        // model may be replaced in the cache while the request is queued, so its session is retained until then
+        if (!onnxModelRunner.retain()) {
+            queuedRequests.decrementAndGet();
+            return fallback("Inference model is closed");
+        }
+
+        final InferenceRequest request = new InferenceRequest(rows, clock.millis(), vertx.getOrCreateContext());
+        final long deadlineTimerId = vertx.setTimer(remaining, ignored -> expire(request));
+        request.promise.future().onComplete(ignored -> {
+            vertx.cancelTimer(deadlineTimerId);
+            onnxModelRunner.release();
+        });
+
+        enqueue(onnxModelRunner, request);
+
+        return request.promise.future();
+    }
+
+    private Future<float[][]> fallback(String message) {
+        metrics.updateModuleInferenceFallbackMetric(moduleCode);
+        return Future.failedFuture(new PreBidException(message));
+    }
+
+    private void expire(InferenceRequest request) {
+        if (request.promise.tryFail(new PreBidException("Inference deadline is exceeded"))) {
+            metrics.updateModuleInferenceFallbackMetric(moduleCode);
+        }
+    }
+
+    private void enqueue(OnnxModelRunner onnxModelRunner, InferenceRequest request) {
+        final Batch readyBatch;
+        synchronized (pendingBatches) {
+            final Batch batch = pendingBatches.computeIfAbsent(onnxModelRunner, ignored -> new Batch());
+            batch.add(request);
+
+            if (batchWindowMs > 0 && batch.rowsCount < maxBatchSize) {
+                if (batch.requests.size() == 1) {
+                    batch.windowTimerId = vertx.setTimer(batchWindowMs, ignored -> flush(onnxModelRunner, batch));
+                }
+                return;
+            }
+
+            pendingBatches.remove(onnxModelRunner);
+            readyBatch = batch;
+        }
+
+        if (readyBatch.windowTimerId != null) {
+            vertx.cancelTimer(readyBatch.windowTimerId);
+        }
+        run(onnxModelRunner, readyBatch.requests);
+    }
+
+    private void flush(OnnxModelRunner onnxModelRunner, Batch batch) {
+        synchronized (pendingBatches) {
+            // batch is already run if it was filled up before its window elapsed
+            if (!pendingBatches.remove(onnxModelRunner, batch)) {
+                return;
+            }
+        }
+
+        run(onnxModelRunner, batch.requests);
+    }
+
+    private void run(OnnxModelRunner onnxModelRunner, List<InferenceRequest> requests) {
+        queuedRequests.addAndGet(-requests.size());
+
+        final long startTime = clock.millis();
+        final List<InferenceRequest> liveRequests = requests.stream()
+                .filter(request -> !request.promise.future().isComplete())
+                .toList();
+        if (liveRequests.isEmpty()) {
+            return;
+        }
+
+        liveRequests.forEach(request ->
+                metrics.updateModuleInferenceQueueWaitTime(moduleCode, startTime - request.enqueueTime));
+
+        final String[][] rows = liveRequests.stream()
+                .map(request -> request.rows)
+                .flatMap(Arrays::stream)
+                .toArray(String[][]::new);
+
+        vertx.executeBlocking(() -> filterService.runInference(onnxModelRunner, rows), false)
+                .onComplete(result -> {
+                    metrics.updateModuleInferenceMetrics(
+                            moduleCode, liveRequests.size(), clock.millis() - startTime);
+
+                    if (result.succeeded()) {
+                        complete(liveRequests, result.result());
+                    } else {
+                        liveRequests.forEach(request -> request.fail(result.cause()));
+                    }
+                });
+    }
+
+    private static void complete(List<InferenceRequest> requests, float[][] probabilities) {
+        int offset = 0;
+        for (InferenceRequest request : requests) {
+            final int rowsCount = request.rows.length;
+            request.complete(Arrays.copyOfRange(probabilities, offset, offset + rowsCount));
+            offset += rowsCount;
+        }
+    }
+
+    private static class InferenceRequest {
+
+        private final String[][] rows;
+
+        private final long enqueueTime;
+
+        private final Context context;
+
+        private final Promise<float[][]> promise = Promise.promise();
+
+        InferenceRequest(String[][] rows, long enqueueTime, Context context) {
+            this.rows = rows;
+            this.enqueueTime = enqueueTime;
+            this.context = context;
+        }
+
+        void complete(float[][] probabilities) {
+            context.runOnContext(ignored -> promise.tryComplete(probabilities));
+        }
+
+        void fail(Throwable cause) {
+            context.runOnContext(ignored -> promise.tryFail(cause));
+        }
+    }
+
+    private static class Batch {
+
+        private final List<InferenceRequest> requests = new ArrayList<>();
+
+        private int rowsCount;
+
+        private Long windowTimerId;
+
+        void add(InferenceRequest request) {
+            requests.add(request);
+            rowsCount += request.rows.length;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.vertx.Initializable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Loads models and thresholds of the configured partners at startup, so their first auctions are not left
+ * unfiltered while the model is being fetched, and runs the model a few times to get the session warmed up.
+ * Models are reloaded periodically to have them renewed ahead of cache expiration.
+ */
+public class OnnxModelPreloader implements Initializable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnnxModelPreloader.class);
+
+    private static final String[][] WARM_UP_ROWS = {{"", "", "", "", "", "", "0", "0"}};
+
+    private final List<String> pbuids;
+    private final OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds;
+    private final FilterService filterService;
+    private final Vertx vertx;
+    private final int warmUpRuns;
+    private final long refreshPeriodMs;
+
+    public OnnxModelPreloader(List<String> pbuids,
+                              OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds,
+                              FilterService filterService,
+                              Vertx vertx,
+                              int warmUpRuns,
+                              long refreshPeriodMs) {
+
+        this.pbuids = Objects.requireNonNull(pbuids);
+        this.onnxModelRunnerWithThresholds = Objects.requireNonNull(onnxModelRunnerWithThresholds);
+        this.filterService = Objects.requireNonNull(filterService);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.warmUpRuns = warmUpRuns;
+        this.refreshPeriodMs = refreshPeriodMs;
+    }
+
+    @Override
+    public void initialize(Promise<Void> initializePromise) {
+        if (pbuids.isEmpty()) {
+            initializePromise.tryComplete();
+            return;
+        }
+
+        if (refreshPeriodMs > 0) {
+            vertx.setPeriodic(refreshPeriodMs, ignored -> preloadAll());
+        }
+
+        preloadAll().onComplete(ignored -> initializePromise.tryComplete());
+    }
+
+    private Future<Void> preloadAll() {
+        // models are loaded one by one to keep memory and worker pool usage of the loading at minimum
+        Future<Void> result = Future.succeededFuture();
+        for (String pbuid : pbuids) {
+            result = result.compose(ignored -> preload(pbuid));
+        }
+        return result;
+    }
+
+    private Future<Void> preload(String pbuid) {
+        return onnxModelRunnerWithThresholds.preload(pbuid)
+                .compose(onnxModelRunner -> vertx.executeBlocking(() -> warmUp(onnxModelRunner), false))
+                .recover(error -> {
+                    logger.warn("Failed to preload model for pbuid {}: {}", pbuid, error.getMessage());
+                    return Future.succeededFuture();
+                });
+    }
+
+    private Void warmUp(OnnxModelRunner onnxModelRunner) {
+        for (int i = 0; i < warmUpRuns; i++) {
+            filterService.runInference(onnxModelRunner, WARM_UP_ROWS);
+        }
+        return null;
+    }
+}
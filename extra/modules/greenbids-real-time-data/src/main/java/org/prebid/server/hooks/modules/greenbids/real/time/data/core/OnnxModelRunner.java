@@ -4,21 +4,79 @@ import ai.onnxruntime.OnnxTensor;
 import ai.onnxruntime.OrtEnvironment;
 import ai.onnxruntime.OrtException;
 import ai.onnxruntime.OrtSession;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
 
 import java.util.Collections;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
-public class OnnxModelRunner {
+/**
+ * Runs the model in its native session.
+ * <p>
+ * Session is released when the runner is closed and no inference retains it anymore, so the runner replaced
+ * in the cache doesn't break inferences still using it.
+ */
+public class OnnxModelRunner implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(OnnxModelRunner.class);
 
     private static final OrtEnvironment ENVIRONMENT = OrtEnvironment.getEnvironment();
 
     private final OrtSession session;
 
+    // one reference is held by the owner of the runner until it is closed, others - by inferences in progress
+    private final AtomicInteger references = new AtomicInteger(1);
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
     public OnnxModelRunner(byte[] onnxModelBytes) throws OrtException {
         session = ENVIRONMENT.createSession(onnxModelBytes, new OrtSession.SessionOptions());
     }
 
     public OrtSession.Result runModel(String[][] throttlingInferenceRow) throws OrtException {
-        final OnnxTensor inputTensor = OnnxTensor.createTensor(ENVIRONMENT, throttlingInferenceRow);
-        return session.run(Collections.singletonMap("input", inputTensor));
+        if (!retain()) {
+            throw new IllegalStateException("Model session is closed");
+        }
+
+        try (OnnxTensor inputTensor = OnnxTensor.createTensor(ENVIRONMENT, throttlingInferenceRow)) {
+            return session.run(Collections.singletonMap("input", inputTensor));
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Keeps the session open until {@link #release()} is called, returns false if the session is already closed.
+     */
+    public boolean retain() {
+        int current;
+        do {
+            current = references.get();
+            if (current == 0) {
+                return false;
+            }
+        } while (!references.compareAndSet(current, current + 1));
+
+        return true;
+    }
+
+    public void release() {
+        if (references.decrementAndGet() != 0) {
+            return;
+        }
+
+        try {
+            session.close();
+        } catch (OrtException e) {
+            logger.warn("Failed to close model session: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            release();
+        }
     }
 }
@@ -19,13 +19,29 @@ public class OnnxModelRunnerWithThresholds {
     }
 
     public Future<OnnxModelRunner> retrieveOnnxModelRunner(GreenbidsConfig greenbidsConfig) {
-        final String onnxModelPath = "models_pbuid=" + greenbidsConfig.getPbuid() + ".onnx";
-        return modelCache.get(onnxModelPath, greenbidsConfig.getPbuid());
+        final String pbuid = greenbidsConfig.getPbuid();
+        return modelCache.get(onnxModelPath(pbuid), pbuid);
     }
 
     public Future<Double> retrieveThreshold(GreenbidsConfig greenbidsConfig) {
-        final String thresholdJsonPath = "thresholds_pbuid=" + greenbidsConfig.getPbuid() + ".json";
-        return thresholdCache.get(thresholdJsonPath, greenbidsConfig.getPbuid())
+        final String pbuid = greenbidsConfig.getPbuid();
+        return thresholdCache.get(thresholdJsonPath(pbuid), pbuid)
                 .map(greenbidsConfig::getThreshold);
     }
+
+    /**
+     * Loads thresholds and model of the partner into caches, returning the loaded model.
+     */
+    public Future<OnnxModelRunner> preload(String pbuid) {
+        return thresholdCache.load(thresholdJsonPath(pbuid), pbuid)
+                .compose(ignored -> modelCache.load(onnxModelPath(pbuid), pbuid));
+    }
+
+    private static String onnxModelPath(String pbuid) {
+        return "models_pbuid=" + pbuid + ".onnx";
+    }
+
+    private static String thresholdJsonPath(String pbuid) {
+        return "thresholds_pbuid=" + pbuid + ".json";
+    }
 }
@@ -74,6 +74,13 @@ public class ThresholdCache {
         return Future.failedFuture("ThrottlingThresholds fetching in progress. Skip current request");
     }
 
+    /**
+     * Fetches the thresholds regardless of the cached ones and caches them.
+     */
+    public Future<ThrottlingThresholds> load(String thresholdJsonPath, String pbuid) {
+        return fetchAndCacheThrottlingThresholds(thresholdJsonPath, thresholdsCacheKeyPrefix + pbuid);
+    }
+
     private Future<ThrottlingThresholds> fetchAndCacheThrottlingThresholds(String thresholdJsonPath, String cacheKey) {
         return vertx.executeBlocking(() -> getBlob(thresholdJsonPath))
                 .map(this::loadThrottlingThresholds)
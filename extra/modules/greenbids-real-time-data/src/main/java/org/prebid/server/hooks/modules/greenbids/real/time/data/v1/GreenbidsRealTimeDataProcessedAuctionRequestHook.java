@@ -11,6 +11,7 @@ import org.prebid.server.analytics.reporter.greenbids.model.ExplorationResult;
 import org.prebid.server.analytics.reporter.greenbids.model.Ortb2ImpExtResult;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.execution.v1.InvocationResultImpl;
 import org.prebid.server.hooks.execution.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.execution.v1.analytics.AppliedToImpl;
@@ -20,6 +21,7 @@ import org.prebid.server.hooks.execution.v1.auction.AuctionRequestPayloadImpl;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.FilterService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInferenceDataService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInvocationService;
+import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxInferenceBatcher;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunner;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerWithThresholds;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.model.data.GreenbidsConfig;
@@ -56,18 +58,21 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHook implements Process
     private final OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds;
     private final GreenbidsInferenceDataService greenbidsInferenceDataService;
     private final GreenbidsInvocationService greenbidsInvocationService;
+    private final OnnxInferenceBatcher onnxInferenceBatcher;
 
     public GreenbidsRealTimeDataProcessedAuctionRequestHook(
             ObjectMapper mapper,
             FilterService filterService,
             OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds,
             GreenbidsInferenceDataService greenbidsInferenceDataService,
-            GreenbidsInvocationService greenbidsInvocationService) {
+            GreenbidsInvocationService greenbidsInvocationService,
+            OnnxInferenceBatcher onnxInferenceBatcher) {
         this.mapper = Objects.requireNonNull(mapper);
         this.filterService = Objects.requireNonNull(filterService);
         this.onnxModelRunnerWithThresholds = Objects.requireNonNull(onnxModelRunnerWithThresholds);
         this.greenbidsInferenceDataService = Objects.requireNonNull(greenbidsInferenceDataService);
         this.greenbidsInvocationService = Objects.requireNonNull(greenbidsInvocationService);
+        this.onnxInferenceBatcher = Objects.requireNonNull(onnxInferenceBatcher);
     }
 
     @Override
@@ -92,7 +97,8 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHook implements Process
                         bidRequest,
                         greenbidsConfig,
                         compositeFuture.resultAt(0),
-                        compositeFuture.resultAt(1)))
+                        compositeFuture.resultAt(1),
+                        invocationContext.timeout()))
                 .recover(throwable -> Future.succeededFuture(toInvocationResult(
                         bidRequest, null, InvocationAction.no_action)));
     }
@@ -125,29 +131,24 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHook implements Process
             BidRequest bidRequest,
             GreenbidsConfig greenbidsConfig,
             OnnxModelRunner onnxModelRunner,
-            Double threshold) {
+            Double threshold,
+            Timeout timeout) {
 
-        final Map<String, Map<String, Boolean>> impsBiddersFilterMap;
+        final List<ThrottlingMessage> throttlingMessages;
+        final String[][] throttlingInferenceRows;
         try {
-            final List<ThrottlingMessage> throttlingMessages = greenbidsInferenceDataService
-                    .extractThrottlingMessagesFromBidRequest(bidRequest);
-
-            impsBiddersFilterMap = filterService.filterBidders(
-                    onnxModelRunner,
-                    throttlingMessages,
-                    threshold);
+            throttlingMessages = greenbidsInferenceDataService.extractThrottlingMessagesFromBidRequest(bidRequest);
+            throttlingInferenceRows = filterService.toInferenceRows(throttlingMessages);
         } catch (PreBidException e) {
             return Future.succeededFuture(toInvocationResult(
                     bidRequest, null, InvocationAction.no_action));
         }
 
-        final GreenbidsInvocationResult greenbidsInvocationResult = greenbidsInvocationService
-                .createGreenbidsInvocationResult(greenbidsConfig, bidRequest, impsBiddersFilterMap);
-
-        return Future.succeededFuture(toInvocationResult(
-                greenbidsInvocationResult.getUpdatedBidRequest(),
-                greenbidsInvocationResult.getAnalyticsResult(),
-                greenbidsInvocationResult.getInvocationAction()));
+        // failed inference, e.g. on exceeded deadline, leaves the auction unfiltered
+        return onnxInferenceBatcher.infer(onnxModelRunner, throttlingInferenceRows, timeout)
+                .map(probabilities -> filterService.processProbabilities(
+                        probabilities, throttlingMessages, threshold))
+                .map(filterMap -> toFilteredInvocationResult(greenbidsConfig, bidRequest, filterMap));
     }
 
     private InvocationResult<AuctionRequestPayload> toInvocationResult(
@@ -172,6 +173,20 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHook implements Process
         };
     }
 
+    private InvocationResult<AuctionRequestPayload> toFilteredInvocationResult(
+            GreenbidsConfig greenbidsConfig,
+            BidRequest bidRequest,
+            Map<String, Map<String, Boolean>> impsBiddersFilterMap) {
+
+        final GreenbidsInvocationResult greenbidsInvocationResult = greenbidsInvocationService
+                .createGreenbidsInvocationResult(greenbidsConfig, bidRequest, impsBiddersFilterMap);
+
+        return toInvocationResult(
+                greenbidsInvocationResult.getUpdatedBidRequest(),
+                greenbidsInvocationResult.getAnalyticsResult(),
+                greenbidsInvocationResult.getInvocationAction());
+    }
+
     private Tags toAnalyticsTags(AnalyticsResult analyticsResult) {
         if (analyticsResult == null) {
             return null;
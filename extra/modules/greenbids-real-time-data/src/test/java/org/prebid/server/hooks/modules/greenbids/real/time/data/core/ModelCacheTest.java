@@ -16,12 +16,15 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.PreBidException;
 
 import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -188,4 +191,23 @@ public class ModelCacheTest {
         });
     }
 
+    @Test
+    public void loadShouldFetchAndCacheModelRegardlessOfCachedOne() throws Exception {
+        // given
+        final byte[] bytes = new byte[]{1, 2, 3};
+
+        when(storage.get(GCS_BUCKET_NAME)).thenReturn(bucket);
+        when(bucket.get(ONNX_MODEL_PATH)).thenReturn(blob);
+        when(blob.getContent()).thenReturn(bytes);
+        when(onnxModelRunnerFactory.create(bytes)).thenReturn(onnxModelRunner);
+
+        // when
+        final OnnxModelRunner result = target.load(ONNX_MODEL_PATH, PBUUID)
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(result).isEqualTo(onnxModelRunner);
+        verify(cache).put(eq(MODEL_CACHE_KEY_PREFIX + PBUUID), eq(onnxModelRunner));
+        verify(cache, never()).getIfPresent(any());
+    }
 }
@@ -0,0 +1,289 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OnnxInferenceBatcherTest {
+
+    private static final String MODULE_CODE = "greenbids-real-time-data";
+
+    @Mock(strictness = LENIENT)
+    private FilterService filterService;
+
+    @Mock
+    private Metrics metrics;
+
+    @Mock(strictness = LENIENT)
+    private OnnxModelRunner onnxModelRunner;
+
+    private Vertx vertx;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+
+        when(onnxModelRunner.retain()).thenReturn(true);
+
+        // probability of each row is taken from its first value
+        when(filterService.runInference(any(), any())).thenAnswer(invocation -> {
+            final String[][] rows = invocation.getArgument(1);
+            return Arrays.stream(rows)
+                    .map(row -> new float[]{0F, Float.parseFloat(row[0])})
+                    .toArray(float[][]::new);
+        });
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void inferShouldRunRequestsArrivingWithinBatchWindowInSingleModelCall() throws Exception {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+        final Future<float[][]> second = target.infer(onnxModelRunner, rows("0.2", "0.3"), givenTimeout(1000L));
+
+        // then
+        assertThat(await(first)).isDeepEqualTo(new float[][]{{0F, 0.1F}});
+        assertThat(await(second)).isDeepEqualTo(new float[][]{{0F, 0.2F}, {0F, 0.3F}});
+
+        final ArgumentCaptor<String[][]> rowsCaptor = ArgumentCaptor.forClass(String[][].class);
+        verify(filterService).runInference(eq(onnxModelRunner), rowsCaptor.capture());
+        assertThat(rowsCaptor.getValue()).isDeepEqualTo(new String[][]{{"0.1"}, {"0.2"}, {"0.3"}});
+
+        verify(metrics).updateModuleInferenceMetrics(eq(MODULE_CODE), eq(2), anyLong());
+        verify(metrics, times(2)).updateModuleInferenceQueueWaitTime(eq(MODULE_CODE), anyLong());
+    }
+
+    @Test
+    public void inferShouldCompleteRequestsOfBatchOnContextsTheyWereMadeFrom() throws Exception {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+        final Context firstContext = vertx.getOrCreateContext();
+        final Context secondContext = vertx.getOrCreateContext();
+
+        // when
+        final CompletableFuture<Context> first = inferOnContext(target, firstContext, rows("0.1"));
+        final CompletableFuture<Context> second = inferOnContext(target, secondContext, rows("0.2"));
+
+        // then
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(firstContext);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isSameAs(secondContext);
+        verify(filterService).runInference(eq(onnxModelRunner), any());
+    }
+
+    @Test
+    public void inferShouldRunRequestsOfDifferentModelsSeparately() throws Exception {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+        final OnnxModelRunner otherOnnxModelRunner = mock(OnnxModelRunner.class);
+        when(otherOnnxModelRunner.retain()).thenReturn(true);
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+        final Future<float[][]> second = target.infer(otherOnnxModelRunner, rows("0.2"), givenTimeout(1000L));
+
+        // then
+        assertThat(await(first)).isDeepEqualTo(new float[][]{{0F, 0.1F}});
+        assertThat(await(second)).isDeepEqualTo(new float[][]{{0F, 0.2F}});
+        verify(filterService).runInference(eq(onnxModelRunner), any());
+        verify(filterService).runInference(eq(otherOnnxModelRunner), any());
+    }
+
+    @Test
+    public void inferShouldRunBatchWithoutWaitingForWindowWhenMaxBatchSizeIsReached() throws Exception {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(60000L, 3, 10);
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+        final Future<float[][]> second = target.infer(onnxModelRunner, rows("0.2", "0.3"), givenTimeout(1000L));
+
+        // then
+        assertThat(await(first)).isDeepEqualTo(new float[][]{{0F, 0.1F}});
+        assertThat(await(second)).isDeepEqualTo(new float[][]{{0F, 0.2F}, {0F, 0.3F}});
+        verify(filterService).runInference(eq(onnxModelRunner), any());
+    }
+
+    @Test
+    public void inferShouldRunEachRequestSeparatelyWhenBatchWindowIsNotPositive() throws Exception {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(0L, 100, 10);
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+        final Future<float[][]> second = target.infer(onnxModelRunner, rows("0.2"), givenTimeout(1000L));
+
+        // then
+        assertThat(await(first)).isDeepEqualTo(new float[][]{{0F, 0.1F}});
+        assertThat(await(second)).isDeepEqualTo(new float[][]{{0F, 0.2F}});
+        verify(filterService, times(2)).runInference(eq(onnxModelRunner), any());
+    }
+
+    @Test
+    public void inferShouldFailWhenQueueIsFull() {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(60000L, 100, 1);
+        target.infer(onnxModelRunner, rows("0.1"), givenTimeout(60000L));
+
+        // when
+        final Future<float[][]> result = target.infer(onnxModelRunner, rows("0.2"), givenTimeout(60000L));
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(PreBidException.class).hasMessage("Inference queue is full");
+        verify(metrics).updateModuleInferenceFallbackMetric(MODULE_CODE);
+    }
+
+    @Test
+    public void inferShouldFailWhenModelIsClosed() {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+        when(onnxModelRunner.retain()).thenReturn(false);
+
+        // when
+        final Future<float[][]> result = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(PreBidException.class).hasMessage("Inference model is closed");
+        verify(metrics).updateModuleInferenceFallbackMetric(MODULE_CODE);
+        verify(filterService, never()).runInference(any(), any());
+    }
+
+    @Test
+    public void inferShouldRetainModelUntilRequestIsCompleted() throws Exception {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+
+        // when
+        final Future<float[][]> result = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+
+        // then
+        verify(onnxModelRunner).retain();
+        verify(onnxModelRunner, never()).release();
+
+        await(result);
+        verify(onnxModelRunner, timeout(1000L)).release();
+    }
+
+    @Test
+    public void inferShouldFailWhenTimeoutIsExpired() {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+
+        // when
+        final Future<float[][]> result = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1L).minus(1L));
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).hasMessage("Inference deadline is exceeded");
+        verify(metrics).updateModuleInferenceFallbackMetric(MODULE_CODE);
+        verify(filterService, never()).runInference(any(), any());
+    }
+
+    @Test
+    public void inferShouldFailWhenRequestIsNotServedBeforeDeadline() {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(60000L, 100, 10);
+
+        // when
+        final Future<float[][]> result = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(20L));
+
+        // then
+        assertThatThrownBy(() -> await(result))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("Inference deadline is exceeded");
+        verify(metrics, timeout(1000L)).updateModuleInferenceFallbackMetric(MODULE_CODE);
+    }
+
+    @Test
+    public void inferShouldFailAllRequestsOfBatchWhenModelCallFails() {
+        // given
+        final OnnxInferenceBatcher target = givenBatcher(50L, 100, 10);
+        doThrow(new PreBidException("Exception during model inference: "))
+                .when(filterService).runInference(any(), any());
+
+        // when
+        final Future<float[][]> first = target.infer(onnxModelRunner, rows("0.1"), givenTimeout(1000L));
+        final Future<float[][]> second = target.infer(onnxModelRunner, rows("0.2"), givenTimeout(1000L));
+
+        // then
+        assertThatThrownBy(() -> await(first)).hasMessageContaining("Exception during model inference");
+        assertThatThrownBy(() -> await(second)).hasMessageContaining("Exception during model inference");
+        verify(filterService).runInference(any(), any());
+    }
+
+    private OnnxInferenceBatcher givenBatcher(long batchWindowMs, int maxBatchSize, int queueCapacity) {
+        return new OnnxInferenceBatcher(
+                filterService,
+                vertx,
+                metrics,
+                Clock.systemUTC(),
+                MODULE_CODE,
+                batchWindowMs,
+                maxBatchSize,
+                queueCapacity);
+    }
+
+    private CompletableFuture<Context> inferOnContext(OnnxInferenceBatcher target,
+                                                      Context context,
+                                                      String[][] rows) {
+
+        final CompletableFuture<Context> completionContext = new CompletableFuture<>();
+        context.runOnContext(ignored -> target.infer(onnxModelRunner, rows, givenTimeout(1000L))
+                .onComplete(result -> completionContext.complete(Vertx.currentContext())));
+        return completionContext;
+    }
+
+    private static Timeout givenTimeout(long timeout) {
+        return new TimeoutFactory(Clock.systemUTC()).create(timeout);
+    }
+
+    private static String[][] rows(String... firstValues) {
+        return Arrays.stream(firstValues)
+                .map(value -> new String[]{value})
+                .toArray(String[][]::new);
+    }
+
+    private static float[][] await(Future<float[][]> future) throws Exception {
+        return future.toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,119 @@
+package org.prebid.server.hooks.modules.greenbids.real.time.data.core;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OnnxModelPreloaderTest {
+
+    @Mock
+    private OnnxModelRunnerWithThresholds onnxModelRunnerWithThresholds;
+
+    @Mock
+    private FilterService filterService;
+
+    @Mock
+    private OnnxModelRunner onnxModelRunner;
+
+    private Vertx vertx;
+
+    @BeforeEach
+    public void setUp() {
+        vertx = Vertx.vertx();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Test
+    public void initializeShouldPreloadModelsAndWarmThemUp() throws Exception {
+        // given
+        final OnnxModelPreloader target = givenPreloader(List.of("pbuid1", "pbuid2"), 3);
+        when(onnxModelRunnerWithThresholds.preload(any())).thenReturn(Future.succeededFuture(onnxModelRunner));
+
+        // when
+        await(target);
+
+        // then
+        verify(onnxModelRunnerWithThresholds).preload("pbuid1");
+        verify(onnxModelRunnerWithThresholds).preload("pbuid2");
+        verify(filterService, times(6)).runInference(eq(onnxModelRunner), any());
+    }
+
+    @Test
+    public void initializeShouldPreloadRemainingModelsWhenOneFails() throws Exception {
+        // given
+        final OnnxModelPreloader target = givenPreloader(List.of("pbuid1", "pbuid2"), 1);
+        when(onnxModelRunnerWithThresholds.preload("pbuid1"))
+                .thenReturn(Future.failedFuture(new PreBidException("Bucket not found: bucket")));
+        when(onnxModelRunnerWithThresholds.preload("pbuid2")).thenReturn(Future.succeededFuture(onnxModelRunner));
+
+        // when
+        await(target);
+
+        // then
+        verify(filterService).runInference(eq(onnxModelRunner), any());
+    }
+
+    @Test
+    public void initializeShouldCompleteWhenWarmUpFails() throws Exception {
+        // given
+        final OnnxModelPreloader target = givenPreloader(List.of("pbuid"), 3);
+        when(onnxModelRunnerWithThresholds.preload(any())).thenReturn(Future.succeededFuture(onnxModelRunner));
+        when(filterService.runInference(any(), any()))
+                .thenThrow(new PreBidException("Exception during model inference: "));
+
+        // when
+        await(target);
+
+        // then
+        verify(filterService).runInference(eq(onnxModelRunner), any());
+    }
+
+    @Test
+    public void initializeShouldDoNothingWhenNoModelsToPreload() throws Exception {
+        // given
+        final OnnxModelPreloader target = givenPreloader(Collections.emptyList(), 3);
+
+        // when
+        await(target);
+
+        // then
+        verifyNoInteractions(onnxModelRunnerWithThresholds);
+        verify(filterService, never()).runInference(any(), any());
+    }
+
+    private OnnxModelPreloader givenPreloader(List<String> pbuids, int warmUpRuns) {
+        return new OnnxModelPreloader(pbuids, onnxModelRunnerWithThresholds, filterService, vertx, warmUpRuns, 0L);
+    }
+
+    private static void await(OnnxModelPreloader target) throws Exception {
+        final Promise<Void> promise = Promise.promise();
+        target.initialize(promise);
+        promise.future().toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+        assertThat(promise.future().succeeded()).isTrue();
+    }
+}
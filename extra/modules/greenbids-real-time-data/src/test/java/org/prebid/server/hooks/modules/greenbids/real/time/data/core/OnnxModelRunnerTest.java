@@ -65,6 +65,39 @@ public class OnnxModelRunnerTest {
                 .isInstanceOf(OrtException.class);
     }
 
+    @Test
+    public void runModelShouldThrowIllegalStateExceptionWhenRunnerIsClosed() {
+        // given
+        target.close();
+
+        // when & then
+        assertThatThrownBy(() -> target.runModel(givenThrottlingInferenceRow()))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Model session is closed");
+        assertThat(target.retain()).isFalse();
+    }
+
+    @Test
+    public void runModelShouldRunClosedRunnerUntilItIsReleased() throws OrtException {
+        // given
+        assertThat(target.retain()).isTrue();
+        target.close();
+
+        // when
+        final OrtSession.Result actualResult = target.runModel(givenThrottlingInferenceRow());
+
+        // then
+        assertThat(actualResult).hasSize(2);
+
+        target.release();
+        assertThatThrownBy(() -> target.runModel(givenThrottlingInferenceRow()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private static String[][] givenThrottlingInferenceRow() {
+        return new String[][]{{"Chrome 59", "rubicon", "adunitcodevalue", "US", "www.leparisien.fr", "PC", "10", "1"}};
+    }
+
     private OnnxModelRunner givenOnnxModelRunner() throws OrtException, IOException {
         final byte[] onnxModelBytes = Files.readAllBytes(Paths.get(
                 "src/test/resources/models_pbuid=test-pbuid.onnx"));
@@ -19,12 +19,15 @@ import org.prebid.server.hooks.modules.greenbids.real.time.data.util.TestBidRequ
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -195,4 +198,25 @@ public class ThresholdCacheTest {
             assertThat(ar.cause().getMessage()).contains("Bucket not found");
         });
     }
+
+    @Test
+    public void loadShouldFetchAndCacheThresholdsRegardlessOfCachedOnes() throws Exception {
+        // given
+        final byte[] bytes = "test_json_content".getBytes(StandardCharsets.UTF_8);
+
+        when(storage.get(GCS_BUCKET_NAME)).thenReturn(bucket);
+        when(bucket.get(THRESHOLDS_PATH)).thenReturn(blob);
+        when(blob.getContent()).thenReturn(bytes);
+        when(throttlingThresholdsFactory.create(bytes, TestBidRequestProvider.MAPPER))
+                .thenReturn(throttlingThresholds);
+
+        // when
+        final ThrottlingThresholds result = target.load(THRESHOLDS_PATH, PBUUID)
+                .toCompletionStage().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        // then
+        assertThat(result).isEqualTo(throttlingThresholds);
+        verify(cache).put(eq(THRESHOLD_CACHE_KEY_PREFIX + PBUUID), eq(throttlingThresholds));
+        verify(cache, never()).getIfPresent(any());
+    }
 }
@@ -25,6 +25,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.analytics.reporter.greenbids.model.ExplorationResult;
 import org.prebid.server.analytics.reporter.greenbids.model.Ortb2ImpExtResult;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.exception.PreBidException;
 import org.prebid.server.geolocation.CountryCodeMapper;
 import org.prebid.server.hooks.execution.v1.analytics.ActivityImpl;
 import org.prebid.server.hooks.execution.v1.analytics.AppliedToImpl;
@@ -36,6 +37,7 @@ import org.prebid.server.hooks.modules.greenbids.real.time.data.core.FilterServi
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInferenceDataService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.GreenbidsInvocationService;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.ModelCache;
+import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxInferenceBatcher;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunner;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerFactory;
 import org.prebid.server.hooks.modules.greenbids.real.time.data.core.OnnxModelRunnerWithThresholds;
@@ -66,6 +68,7 @@ import static java.util.function.UnaryOperator.identity;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.prebid.server.hooks.modules.greenbids.real.time.data.util.TestBidRequestProvider.givenBanner;
@@ -101,6 +104,9 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHookTest {
     @Mock
     private CountryCodeMapper countryCodeMapper;
 
+    @Mock(strictness = LENIENT)
+    private OnnxInferenceBatcher onnxInferenceBatcher;
+
     private GreenbidsRealTimeDataProcessedAuctionRequestHook target;
 
     @BeforeEach
@@ -114,6 +120,9 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHookTest {
         when(databaseReaderFactory.getDatabaseReader()).thenReturn(databaseReader);
 
         final FilterService filterService = new FilterService();
+        when(onnxInferenceBatcher.infer(any(), any(), any())).thenAnswer(invocation -> Future.succeededFuture(
+                filterService.runInference(invocation.getArgument(0), invocation.getArgument(1))));
+
         final OnnxModelRunnerFactory onnxModelRunnerFactory = new OnnxModelRunnerFactory();
         final ThrottlingThresholdsFactory throttlingThresholdsFactory = new ThrottlingThresholdsFactory();
         final ModelCache modelCache = new ModelCache(
@@ -145,7 +154,8 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHookTest {
                 filterService,
                 onnxModelRunnerWithThresholds,
                 greenbidsInferenceDataService,
-                greenbidsInvocationService);
+                greenbidsInvocationService,
+                onnxInferenceBatcher);
     }
 
     @Test
@@ -390,6 +400,35 @@ public class GreenbidsRealTimeDataProcessedAuctionRequestHookTest {
                 .isEqualTo(expectedBidRequest);
     }
 
+    @Test
+    public void callShouldReturnNoActionWhenInferenceFails() throws OrtException, IOException {
+        // given
+        final Imp imp = Imp.builder()
+                .id("adunitcodevalue")
+                .ext(givenImpExt())
+                .banner(givenBanner())
+                .build();
+
+        final BidRequest bidRequest = givenBidRequest(request -> request, List.of(imp), givenDevice(identity()));
+        final AuctionContext auctionContext = givenAuctionContext(bidRequest, context -> context);
+        final AuctionInvocationContext invocationContext = givenAuctionInvocationContext(auctionContext, 0.0001);
+        when(modelCacheWithExpiration.getIfPresent("onnxModelRunner_test-pbuid"))
+                .thenReturn(givenOnnxModelRunner());
+        when(thresholdsCacheWithExpiration.getIfPresent("throttlingThresholds_test-pbuid"))
+                .thenReturn(givenThrottlingThresholds());
+        doReturn(Future.failedFuture(new PreBidException("Inference deadline is exceeded")))
+                .when(onnxInferenceBatcher).infer(any(), any(), any());
+
+        // when
+        final Future<InvocationResult<AuctionRequestPayload>> future = target.call(null, invocationContext);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().status()).isEqualTo(InvocationStatus.success);
+        assertThat(future.result().action()).isEqualTo(InvocationAction.no_action);
+        assertThat(future.result().payloadUpdate()).isNull();
+    }
+
     private AuctionContext givenAuctionContext(
             BidRequest bidRequest,
             UnaryOperator<AuctionContext.AuctionContextBuilder> auctionContextCustomizer) {
@@ -277,7 +277,8 @@ public class Ortb2BlockingBidderRequestHookTest {
                 false,
                 null,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
     }
 
     private static BidRequest emptyRequest() {
@@ -1,22 +1,40 @@
 package org.prebid.server.activity.infrastructure;
 
+import org.prebid.server.activity.ComponentType;
 import org.prebid.server.activity.infrastructure.debug.ActivityInfrastructureDebug;
 import org.prebid.server.activity.infrastructure.payload.ActivityInvocationPayload;
+import org.prebid.server.activity.infrastructure.payload.GeoActivityInvocationPayload;
+import org.prebid.server.activity.infrastructure.payload.GpcActivityInvocationPayload;
 import org.prebid.server.activity.infrastructure.rule.Rule;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Decides on a single activity within a request.
+ * <p>
+ * Rules depend only on the component and the geo and GPC data of the invocation payload, so results are memoized
+ * by them for the lifetime of the controller, i.e. for the request. Memoized invocation still reports results of
+ * the rules processed for it, so processed rules are counted the same way. Memoization is turned off while the
+ * request is traced, so that every invocation is still reported with its processed rules.
+ */
 public class ActivityController {
 
     private final boolean allowByDefault;
     private final List<Rule> rules;
     private final ActivityInfrastructureDebug debug;
 
+    private final Map<InvocationKey, List<Rule.Result>> results;
+
     private ActivityController(boolean allowByDefault, List<Rule> rules, ActivityInfrastructureDebug debug) {
         this.allowByDefault = allowByDefault;
         this.rules = Objects.requireNonNull(rules);
         this.debug = Objects.requireNonNull(debug);
+
+        results = new HashMap<>();
     }
 
     public static ActivityController of(boolean allowByDefault, List<Rule> rules, ActivityInfrastructureDebug debug) {
@@ -24,19 +42,84 @@ public class ActivityController {
     }
 
     public boolean isAllowed(ActivityInvocationPayload activityInvocationPayload) {
+        if (rules.isEmpty() || activityInvocationPayload == null || debug.isTraceEnabled()) {
+            return evaluate(activityInvocationPayload);
+        }
+
+        final InvocationKey key = InvocationKey.of(activityInvocationPayload);
+        final List<Rule.Result> memoizedRuleResults = results.get(key);
+        if (memoizedRuleResults != null) {
+            return replay(memoizedRuleResults);
+        }
+
+        final List<Rule.Result> ruleResults = new ArrayList<>();
+        final boolean result = evaluate(activityInvocationPayload, ruleResults);
+        results.put(key, ruleResults);
+
+        return result;
+    }
+
+    private boolean evaluate(ActivityInvocationPayload activityInvocationPayload) {
+        return evaluate(activityInvocationPayload, null);
+    }
+
+    private boolean evaluate(ActivityInvocationPayload activityInvocationPayload, List<Rule.Result> ruleResults) {
         debug.emitActivityInvocationDefaultResult(allowByDefault);
-        boolean result = allowByDefault;
 
         for (Rule rule : rules) {
             final Rule.Result ruleResult = rule.proceed(activityInvocationPayload);
             debug.emitProcessedRule(rule, ruleResult);
+            if (ruleResults != null) {
+                ruleResults.add(ruleResult);
+            }
 
             if (ruleResult != Rule.Result.ABSTAIN) {
-                result = ruleResult == Rule.Result.ALLOW;
-                break;
+                return ruleResult == Rule.Result.ALLOW;
             }
         }
 
-        return result;
+        return allowByDefault;
+    }
+
+    /**
+     * Reports results of the rules processed by memoized invocation, which are the leading rules of the list,
+     * and returns its result.
+     */
+    private boolean replay(List<Rule.Result> ruleResults) {
+        for (int i = 0; i < ruleResults.size(); i++) {
+            final Rule.Result ruleResult = ruleResults.get(i);
+            debug.emitProcessedRule(rules.get(i), ruleResult);
+
+            if (ruleResult != Rule.Result.ABSTAIN) {
+                return ruleResult == Rule.Result.ALLOW;
+            }
+        }
+
+        return allowByDefault;
+    }
+
+    private record InvocationKey(Class<?> payloadType,
+                                 ComponentType componentType,
+                                 String componentName,
+                                 String country,
+                                 String region,
+                                 String gpc) {
+
+        static InvocationKey of(ActivityInvocationPayload payload) {
+            final GeoActivityInvocationPayload geoPayload = payload instanceof GeoActivityInvocationPayload geo
+                    ? geo
+                    : null;
+            final GpcActivityInvocationPayload gpcPayload = payload instanceof GpcActivityInvocationPayload gpc
+                    ? gpc
+                    : null;
+
+            return new InvocationKey(
+                    payload.getClass(),
+                    payload.componentType(),
+                    payload.componentName(),
+                    geoPayload != null ? geoPayload.country() : null,
+                    geoPayload != null ? geoPayload.region() : null,
+                    gpcPayload != null ? gpcPayload.gpc() : null);
+        }
     }
 }
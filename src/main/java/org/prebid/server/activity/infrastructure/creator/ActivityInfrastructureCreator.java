@@ -1,6 +1,8 @@
 package org.prebid.server.activity.infrastructure.creator;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.infrastructure.ActivityController;
 import org.prebid.server.activity.infrastructure.ActivityInfrastructure;
@@ -46,12 +48,15 @@ public class ActivityInfrastructureCreator {
     private static final Logger logger = LoggerFactory.getLogger(ActivityInfrastructureCreator.class);
 
     private static final int MODULE_MAX_SKIP_RATE = 100;
+    private static final int MAX_COMPILED_PLANS = 10_000;
 
     private final ActivityRuleFactory activityRuleFactory;
     private final Purpose defaultPurpose4;
     private final Metrics metrics;
     private final JacksonMapper jacksonMapper;
 
+    private final Map<String, CompiledActivityPlan> compiledPlans;
+
     public ActivityInfrastructureCreator(ActivityRuleFactory activityRuleFactory,
                                          GdprConfig gdprConfig,
                                          Metrics metrics,
@@ -64,6 +69,11 @@ public class ActivityInfrastructureCreator {
                 .orElse(null);
         this.metrics = Objects.requireNonNull(metrics);
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
+
+        compiledPlans = Caffeine.newBuilder()
+                .maximumSize(MAX_COMPILED_PLANS)
+                .<String, CompiledActivityPlan>build()
+                .asMap();
     }
 
     public ActivityInfrastructure create(Account account, GppContext gppContext, TraceLevel traceLevel) {
@@ -76,7 +86,46 @@ public class ActivityInfrastructureCreator {
     }
 
     Map<Activity, ActivityController> parse(Account account, GppContext gppContext, ActivityInfrastructureDebug debug) {
-        final Optional<AccountPrivacyConfig> accountPrivacyConfig = Optional.ofNullable(account.getPrivacy());
+        final CompiledActivityPlan plan = compiledPlanFor(account);
+        final Map<PrivacyModuleQualifier, AccountPrivacyModuleConfig> modulesConfigs = plan.modulesConfigs();
+
+        final Set<PrivacyModuleQualifier> skipPrivacyModules = modulesConfigs.entrySet().stream()
+                .filter(entry -> shouldSkipPrivacyModule(entry.getValue()))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PrivacyModuleQualifier.class)));
+
+        final Map<Activity, ActivityController> controllers = new EnumMap<>(Activity.class);
+        plan.activities().forEach((activity, activityPlan) -> controllers.put(
+                activity,
+                from(activityPlan, modulesConfigs, skipPrivacyModules, gppContext, debug)));
+
+        return controllers;
+    }
+
+    /**
+     * Returns activities configuration of the account resolved for the current version of its privacy config.
+     * Resolution is done once per config, so only rules depending on the request are created per request.
+     */
+    private CompiledActivityPlan compiledPlanFor(Account account) {
+        final AccountPrivacyConfig accountPrivacyConfig = account.getPrivacy();
+        if (accountPrivacyConfig == null) {
+            return compilePlan(account.getId(), null);
+        }
+
+        final String key = StringUtils.defaultString(account.getId());
+        final CompiledActivityPlan compiledPlan = compiledPlans.get(key);
+        if (compiledPlan != null && compiledPlan.isCompiledFrom(accountPrivacyConfig)) {
+            return compiledPlan;
+        }
+
+        final CompiledActivityPlan plan = compilePlan(account.getId(), accountPrivacyConfig);
+        compiledPlans.put(key, plan);
+
+        return plan;
+    }
+
+    private CompiledActivityPlan compilePlan(String accountId, AccountPrivacyConfig privacyConfig) {
+        final Optional<AccountPrivacyConfig> accountPrivacyConfig = Optional.ofNullable(privacyConfig);
 
         final Map<Activity, AccountActivityConfiguration> activitiesConfiguration = accountPrivacyConfig
                 .map(AccountPrivacyConfig::getActivities)
@@ -90,27 +139,18 @@ public class ActivityInfrastructureCreator {
                 .collect(Collectors.toMap(
                         AccountPrivacyModuleConfig::getCode,
                         UnaryOperator.identity(),
-                        takeFirstAndLogDuplicates(account.getId())));
+                        takeFirstAndLogDuplicates(accountId)));
 
-        final Set<PrivacyModuleQualifier> skipPrivacyModules = modulesConfigs.entrySet().stream()
-                .filter(entry -> shouldSkipPrivacyModule(entry.getValue()))
-                .map(Map.Entry::getKey)
-                .collect(Collectors.toCollection(() -> EnumSet.noneOf(PrivacyModuleQualifier.class)));
-
-        return Arrays.stream(Activity.values()).collect(Collectors.toMap(
+        final Map<Activity, ActivityPlan> activities = Arrays.stream(Activity.values()).collect(Collectors.toMap(
                 UnaryOperator.identity(),
                 fallbackActivity(
                         activitiesConfiguration,
                         accountPrivacyConfig,
-                        activity -> from(
-                                activity,
-                                activitiesConfiguration.get(activity),
-                                modulesConfigs,
-                                skipPrivacyModules,
-                                gppContext,
-                                debug)),
+                        activity -> ActivityPlan.of(activity, activitiesConfiguration.get(activity))),
                 (oldValue, newValue) -> oldValue,
                 enumMapFactory()));
+
+        return new CompiledActivityPlan(privacyConfig, modulesConfigs, activities);
     }
 
     private BinaryOperator<AccountPrivacyModuleConfig> takeFirstAndLogDuplicates(String accountId) {
@@ -124,10 +164,10 @@ public class ActivityInfrastructureCreator {
     }
 
     // TODO: remove this wrapper after transition period
-    private Function<Activity, ActivityController> fallbackActivity(
+    private Function<Activity, ActivityPlan> fallbackActivity(
             Map<Activity, AccountActivityConfiguration> activitiesConfiguration,
             Optional<AccountPrivacyConfig> accountPrivacyConfig,
-            Function<Activity, ActivityController> activityControllerCreator) {
+            Function<Activity, ActivityPlan> activityPlanCreator) {
 
         final boolean imitateTransmitEids = !activitiesConfiguration.containsKey(Activity.TRANSMIT_EIDS)
                 && activitiesConfiguration.containsKey(Activity.TRANSMIT_UFPD)
@@ -141,42 +181,36 @@ public class ActivityInfrastructureCreator {
                 .orElse(false);
 
         return originalActivity -> originalActivity == Activity.TRANSMIT_EIDS && imitateTransmitEids
-                ? activityControllerCreator.apply(Activity.TRANSMIT_UFPD)
-                : activityControllerCreator.apply(originalActivity);
+                ? activityPlanCreator.apply(Activity.TRANSMIT_UFPD)
+                : activityPlanCreator.apply(originalActivity);
     }
 
     private static boolean shouldSkipPrivacyModule(AccountPrivacyModuleConfig config) {
         return ThreadLocalRandom.current().nextInt(MODULE_MAX_SKIP_RATE) < config.getSkipRate();
     }
 
-    private ActivityController from(Activity activity,
-                                    AccountActivityConfiguration activityConfiguration,
+    private ActivityController from(ActivityPlan activityPlan,
                                     Map<PrivacyModuleQualifier, AccountPrivacyModuleConfig> modulesConfigs,
                                     Set<PrivacyModuleQualifier> skipPrivacyModules,
                                     GppContext gppContext,
                                     ActivityInfrastructureDebug debug) {
 
-        if (activityConfiguration == null) {
-            return ActivityController.of(
-                    ActivityInfrastructure.ALLOW_ACTIVITY_BY_DEFAULT,
-                    Collections.emptyList(),
-                    debug);
+        if (activityPlan.rules().isEmpty()) {
+            return ActivityController.of(activityPlan.allow(), Collections.emptyList(), debug);
         }
 
         final ActivityControllerCreationContext creationContext = ActivityControllerCreationContext.of(
-                activity,
+                activityPlan.activity(),
                 modulesConfigs,
                 skipPrivacyModules,
                 gppContext);
 
-        final boolean allow = allowFromConfig(activityConfiguration.getAllow());
-        final List<Rule> rules = ListUtils.emptyIfNull(activityConfiguration.getRules()).stream()
-                .filter(Objects::nonNull)
+        final List<Rule> rules = activityPlan.rules().stream()
                 .map(ruleConfiguration -> createRule(ruleConfiguration, creationContext))
                 .filter(Objects::nonNull)
                 .toList();
 
-        return ActivityController.of(allow, rules, debug);
+        return ActivityController.of(activityPlan.allow(), rules, debug);
     }
 
     private static boolean allowFromConfig(Boolean configValue) {
@@ -197,7 +231,35 @@ public class ActivityInfrastructureCreator {
         }
     }
 
-    private static Supplier<Map<Activity, ActivityController>> enumMapFactory() {
+    private static Supplier<Map<Activity, ActivityPlan>> enumMapFactory() {
         return () -> new EnumMap<>(Activity.class);
     }
+
+    private record CompiledActivityPlan(AccountPrivacyConfig source,
+                                        Map<PrivacyModuleQualifier, AccountPrivacyModuleConfig> modulesConfigs,
+                                        Map<Activity, ActivityPlan> activities) {
+
+        boolean isCompiledFrom(AccountPrivacyConfig privacyConfig) {
+            return source == privacyConfig || Objects.equals(source, privacyConfig);
+        }
+    }
+
+    private record ActivityPlan(Activity activity, boolean allow, List<AccountActivityRuleConfig> rules) {
+
+        static ActivityPlan of(Activity activity, AccountActivityConfiguration activityConfiguration) {
+            if (activityConfiguration == null) {
+                return new ActivityPlan(
+                        activity,
+                        ActivityInfrastructure.ALLOW_ACTIVITY_BY_DEFAULT,
+                        Collections.emptyList());
+            }
+
+            return new ActivityPlan(
+                    activity,
+                    allowFromConfig(activityConfiguration.getAllow()),
+                    ListUtils.emptyIfNull(activityConfiguration.getRules()).stream()
+                            .filter(Objects::nonNull)
+                            .toList());
+        }
+    }
 }
@@ -2,7 +2,6 @@ package org.prebid.server.activity.infrastructure.creator.privacy.uscustomlogic;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.gpp.encoder.GppModel;
-import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
 import org.apache.commons.collections4.SetUtils;
 import org.prebid.server.activity.Activity;
 import org.prebid.server.activity.infrastructure.creator.PrivacyModuleCreationContext;
@@ -11,9 +10,11 @@ import org.prebid.server.activity.infrastructure.privacy.AndPrivacyModules;
 import org.prebid.server.activity.infrastructure.privacy.PrivacyModule;
 import org.prebid.server.activity.infrastructure.privacy.PrivacyModuleQualifier;
 import org.prebid.server.activity.infrastructure.privacy.PrivacySection;
-import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicDataSupplier;
+import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicDataView;
+import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicGppReader;
 import org.prebid.server.activity.infrastructure.privacy.uscustomlogic.USCustomLogicModule;
 import org.prebid.server.auction.gpp.model.GppContext;
+import org.prebid.server.json.CompiledJsonLogic;
 import org.prebid.server.json.JsonLogic;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.Logger;
@@ -45,10 +46,12 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
 
     private final USCustomLogicGppReaderFactory gppReaderFactory;
     private final JsonLogic jsonLogic;
-    private final Map<String, JsonLogicNode> jsonLogicNodesCache;
+    private final Map<String, CompiledJsonLogic<USCustomLogicGppReader>> compiledJsonLogicCache;
     private final Metrics metrics;
     private final double samplingRate;
 
+    private final USCustomLogicDataView dataView;
+
     public USCustomLogicModuleCreator(USCustomLogicGppReaderFactory gppReaderFactory,
                                       JsonLogic jsonLogic,
                                       Integer cacheTtl,
@@ -61,7 +64,8 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
         this.metrics = Objects.requireNonNull(metrics);
         this.samplingRate = samplingRate;
 
-        jsonLogicNodesCache = cacheTtl != null && cacheSize != null
+        dataView = new USCustomLogicDataView();
+        compiledJsonLogicCache = cacheTtl != null && cacheSize != null
                 ? SettingsCache.createCache(cacheTtl, cacheSize, 0)
                 : null;
     }
@@ -133,9 +137,8 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
 
         try {
             return new USCustomLogicModule(
-                    jsonLogic,
-                    jsonLogicNode(jsonLogicConfig),
-                    USCustomLogicDataSupplier.of(gppReaderFactory.forSection(sectionId, normalizeSection, gppModel)));
+                    compiledJsonLogic(jsonLogicConfig),
+                    gppReaderFactory.forSection(sectionId, normalizeSection, gppModel));
         } catch (Exception e) {
             conditionalLogger.error(
                     "USCustomLogic creation failed: %s. Config: %s".formatted(e.getMessage(), jsonLogicConfig),
@@ -146,10 +149,14 @@ public class USCustomLogicModuleCreator implements PrivacyModuleCreator {
         }
     }
 
-    private JsonLogicNode jsonLogicNode(ObjectNode jsonLogicConfig) {
+    private CompiledJsonLogic<USCustomLogicGppReader> compiledJsonLogic(ObjectNode jsonLogicConfig) {
         final String jsonAsString = jsonLogicConfig.toString();
-        return jsonLogicNodesCache != null
-                ? jsonLogicNodesCache.computeIfAbsent(jsonAsString, jsonLogic::parse)
-                : jsonLogic.parse(jsonAsString);
+        return compiledJsonLogicCache != null
+                ? compiledJsonLogicCache.computeIfAbsent(jsonAsString, this::compile)
+                : compile(jsonAsString);
+    }
+
+    private CompiledJsonLogic<USCustomLogicGppReader> compile(String jsonLogicConfig) {
+        return jsonLogic.compile(jsonLogic.parse(jsonLogicConfig), dataView);
     }
 }
@@ -1,5 +1,6 @@
 package org.prebid.server.activity.infrastructure.creator.rule;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.ComponentType;
@@ -12,30 +13,57 @@ import org.prebid.server.settings.model.activity.rule.AccountActivityConditionsR
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 
+/**
+ * Creates {@link ConditionsRule}s. Rules are immutable and depend on the request only by the GPP sections matching,
+ * so both variants of the rule are built once per configuration and shared between requests.
+ */
 public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityConditionsRuleConfig> {
 
+    private static final int MAX_COMPILED_RULES = 10_000;
+
+    private final Map<AccountActivityConditionsRuleConfig, CompiledRule> compiledRules;
+
     public ConditionsRuleCreator() {
         super(AccountActivityConditionsRuleConfig.class);
+
+        compiledRules = Caffeine.newBuilder()
+                .maximumSize(MAX_COMPILED_RULES)
+                .<AccountActivityConditionsRuleConfig, CompiledRule>build()
+                .asMap();
     }
 
     @Override
     protected Rule fromConfiguration(AccountActivityConditionsRuleConfig ruleConfiguration,
                                      ActivityControllerCreationContext creationContext) {
 
+        final CompiledRule compiledRule = compiledRules.computeIfAbsent(
+                ruleConfiguration, ConditionsRuleCreator::compile);
+
+        return sidsMatched(compiledRule.sids(), creationContext.getGppContext().scope().getSectionsIds())
+                ? compiledRule.sidsMatchedRule()
+                : compiledRule.sidsNotMatchedRule();
+    }
+
+    private static CompiledRule compile(AccountActivityConditionsRuleConfig ruleConfiguration) {
         final boolean allow = allowFromConfig(ruleConfiguration.getAllow());
         final AccountActivityConditionsRuleConfig.Condition condition = ruleConfiguration.getCondition();
 
-        return new ConditionsRule(
-                condition != null ? setOf(condition.getComponentTypes()) : null,
-                condition != null ? caseInsensitiveSetOf(condition.getComponentNames()) : null,
-                sidsMatched(condition, creationContext.getGppContext().scope().getSectionsIds()),
-                condition != null ? geoCodes(condition.getGeoCodes()) : null,
-                condition != null ? condition.getGpc() : null,
-                allow);
+        final Set<ComponentType> componentTypes = condition != null ? setOf(condition.getComponentTypes()) : null;
+        final Set<String> componentNames = condition != null
+                ? caseInsensitiveSetOf(condition.getComponentNames())
+                : null;
+        final List<ConditionsRule.GeoCode> geoCodes = condition != null ? geoCodes(condition.getGeoCodes()) : null;
+        final String gpc = condition != null ? condition.getGpc() : null;
+
+        return new CompiledRule(
+                condition != null ? condition.getSids() : null,
+                new ConditionsRule(componentTypes, componentNames, true, geoCodes, gpc, allow),
+                new ConditionsRule(componentTypes, componentNames, false, geoCodes, gpc, allow));
     }
 
     private static boolean allowFromConfig(Boolean configValue) {
@@ -56,8 +84,7 @@ public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityCo
         return caseInsensitiveSet;
     }
 
-    private static boolean sidsMatched(AccountActivityConditionsRuleConfig.Condition condition, Set<Integer> gppSids) {
-        final List<Integer> sids = condition != null ? condition.getSids() : null;
+    private static boolean sidsMatched(List<Integer> sids, Set<Integer> gppSids) {
         return sids == null || intersects(sids, gppSids);
     }
 
@@ -91,4 +118,9 @@ public class ConditionsRuleCreator extends AbstractRuleCreator<AccountActivityCo
                 stringGeoCode.substring(0, firstDot),
                 stringGeoCode.substring(firstDot + 1));
     }
+
+    private record CompiledRule(List<Integer> sids,
+                                ConditionsRule sidsMatchedRule,
+                                ConditionsRule sidsNotMatchedRule) {
+    }
 }
@@ -118,6 +118,10 @@ public class ActivityInfrastructureDebug {
         }
     }
 
+    public boolean isTraceEnabled() {
+        return atLeast(TraceLevel.basic);
+    }
+
     public List<ExtTraceActivityInfrastructure> trace() {
         return Collections.unmodifiableList(traceLog);
     }
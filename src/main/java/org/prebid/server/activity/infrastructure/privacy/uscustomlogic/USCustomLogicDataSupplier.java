@@ -22,34 +22,7 @@ public class USCustomLogicDataSupplier implements Supplier<Map<String, Object>>
     @Override
     public Map<String, Object> get() {
         final DataAggregator dataAggregator = new DataAggregator();
-
-        dataAggregator.put("Version", gppReader.getVersion());
-
-        dataAggregator.put("Gpc", gppReader.getGpc());
-        dataAggregator.put("GpcSegmentType", gppReader.getGpcSegmentType());
-        dataAggregator.put("GpcSegmentIncluded", gppReader.getGpcSegmentIncluded());
-
-        dataAggregator.put("SaleOptOut", gppReader.getSaleOptOut());
-        dataAggregator.put("SaleOptOutNotice", gppReader.getSaleOptOutNotice());
-
-        dataAggregator.put("SharingNotice", gppReader.getSharingNotice());
-        dataAggregator.put("SharingOptOut", gppReader.getSharingOptOut());
-        dataAggregator.put("SharingOptOutNotice", gppReader.getSharingOptOutNotice());
-
-        dataAggregator.put("TargetedAdvertisingOptOut", gppReader.getTargetedAdvertisingOptOut());
-        dataAggregator.put("TargetedAdvertisingOptOutNotice", gppReader.getTargetedAdvertisingOptOutNotice());
-
-        dataAggregator.put("SensitiveDataLimitUseNotice", gppReader.getSensitiveDataLimitUseNotice());
-        dataAggregator.put("SensitiveDataProcessing", gppReader.getSensitiveDataProcessing());
-        dataAggregator.put("SensitiveDataProcessingOptOutNotice", gppReader.getSensitiveDataProcessingOptOutNotice());
-
-        dataAggregator.put("KnownChildSensitiveDataConsents", gppReader.getKnownChildSensitiveDataConsents());
-
-        dataAggregator.put("PersonalDataConsents", gppReader.getPersonalDataConsents());
-
-        dataAggregator.put("MspaCoveredTransaction", gppReader.getMspaCoveredTransaction());
-        dataAggregator.put("MspaServiceProviderMode", gppReader.getMspaServiceProviderMode());
-        dataAggregator.put("MspaOptOutOptionMode", gppReader.getMspaOptOutOptionMode());
+        USCustomLogicDataView.FIELDS.forEach((name, field) -> dataAggregator.put(name, field.apply(gppReader)));
 
         return dataAggregator.data();
     }
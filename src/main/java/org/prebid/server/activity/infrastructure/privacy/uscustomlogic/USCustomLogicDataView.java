@@ -0,0 +1,93 @@
+package org.prebid.server.activity.infrastructure.privacy.uscustomlogic;
+
+import org.prebid.server.json.JsonLogicDataView;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Exposes GPP section fields to compiled JsonLogic by the names {@link USCustomLogicDataSupplier} gives them,
+ * e.g. {@code SaleOptOut} or {@code SensitiveDataProcessing3} for the third element of the list field, so that
+ * evaluation reads only the fields the expression refers to.
+ */
+public class USCustomLogicDataView implements JsonLogicDataView<USCustomLogicGppReader> {
+
+    private static final int MAX_INDEX_DIGITS = 9;
+
+    static final Map<String, Function<USCustomLogicGppReader, Object>> FIELDS;
+
+    static {
+        final Map<String, Function<USCustomLogicGppReader, Object>> fields = new LinkedHashMap<>();
+
+        fields.put("Version", USCustomLogicGppReader::getVersion);
+
+        fields.put("Gpc", USCustomLogicGppReader::getGpc);
+        fields.put("GpcSegmentType", USCustomLogicGppReader::getGpcSegmentType);
+        fields.put("GpcSegmentIncluded", USCustomLogicGppReader::getGpcSegmentIncluded);
+
+        fields.put("SaleOptOut", USCustomLogicGppReader::getSaleOptOut);
+        fields.put("SaleOptOutNotice", USCustomLogicGppReader::getSaleOptOutNotice);
+
+        fields.put("SharingNotice", USCustomLogicGppReader::getSharingNotice);
+        fields.put("SharingOptOut", USCustomLogicGppReader::getSharingOptOut);
+        fields.put("SharingOptOutNotice", USCustomLogicGppReader::getSharingOptOutNotice);
+
+        fields.put("TargetedAdvertisingOptOut", USCustomLogicGppReader::getTargetedAdvertisingOptOut);
+        fields.put("TargetedAdvertisingOptOutNotice", USCustomLogicGppReader::getTargetedAdvertisingOptOutNotice);
+
+        fields.put("SensitiveDataLimitUseNotice", USCustomLogicGppReader::getSensitiveDataLimitUseNotice);
+        fields.put("SensitiveDataProcessing", USCustomLogicGppReader::getSensitiveDataProcessing);
+        fields.put("SensitiveDataProcessingOptOutNotice",
+                USCustomLogicGppReader::getSensitiveDataProcessingOptOutNotice);
+
+        fields.put("KnownChildSensitiveDataConsents", USCustomLogicGppReader::getKnownChildSensitiveDataConsents);
+
+        fields.put("PersonalDataConsents", USCustomLogicGppReader::getPersonalDataConsents);
+
+        fields.put("MspaCoveredTransaction", USCustomLogicGppReader::getMspaCoveredTransaction);
+        fields.put("MspaServiceProviderMode", USCustomLogicGppReader::getMspaServiceProviderMode);
+        fields.put("MspaOptOutOptionMode", USCustomLogicGppReader::getMspaOptOutOptionMode);
+
+        FIELDS = Collections.unmodifiableMap(fields);
+    }
+
+    @Override
+    public Function<USCustomLogicGppReader, Object> variable(String name) {
+        final Function<USCustomLogicGppReader, Object> field = FIELDS.get(name);
+        if (field != null) {
+            return gppReader -> nonListValue(field.apply(gppReader));
+        }
+
+        int indexStart = name.length();
+        while (indexStart > 0 && Character.isDigit(name.charAt(indexStart - 1))) {
+            indexStart--;
+        }
+
+        final Function<USCustomLogicGppReader, Object> listField = FIELDS.get(name.substring(0, indexStart));
+        final int indexDigits = name.length() - indexStart;
+        if (listField == null || indexDigits == 0 || indexDigits > MAX_INDEX_DIGITS
+                || name.charAt(indexStart) == '0') {
+
+            return gppReader -> null;
+        }
+
+        final int index = Integer.parseInt(name.substring(indexStart)) - 1;
+        return gppReader -> listElement(listField.apply(gppReader), index);
+    }
+
+    private static Object nonListValue(Object value) {
+        return value instanceof List<?> ? null : value;
+    }
+
+    private static Object listElement(Object value, int index) {
+        return value instanceof List<?> list && index < list.size() ? list.get(index) : null;
+    }
+
+    @Override
+    public Map<String, Object> asMap(USCustomLogicGppReader gppReader) {
+        return USCustomLogicDataSupplier.of(gppReader).get();
+    }
+}
@@ -3,14 +3,18 @@ package org.prebid.server.activity.infrastructure.rule;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.Value;
-import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.activity.ComponentType;
 import org.prebid.server.activity.infrastructure.debug.Loggable;
 import org.prebid.server.activity.infrastructure.payload.ActivityInvocationPayload;
 import org.prebid.server.activity.infrastructure.payload.GeoActivityInvocationPayload;
 import org.prebid.server.activity.infrastructure.payload.GpcActivityInvocationPayload;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 public final class ConditionsRule extends AbstractMatchRule implements Loggable {
@@ -22,6 +26,9 @@ public final class ConditionsRule extends AbstractMatchRule implements Loggable
     private final String gpc;
     private final boolean allowed;
 
+    private final Set<String> lowerCaseComponentNames;
+    private final Map<String, Set<String>> countryToRegions;
+
     public ConditionsRule(Set<ComponentType> componentTypes,
                           Set<String> componentNames,
                           boolean sidsMatched,
@@ -35,6 +42,43 @@ public final class ConditionsRule extends AbstractMatchRule implements Loggable
         this.geoCodes = geoCodes;
         this.gpc = gpc;
         this.allowed = allowed;
+
+        lowerCaseComponentNames = componentNames != null ? lowerCaseSetOf(componentNames) : null;
+        countryToRegions = geoCodes != null ? countryToRegions(geoCodes) : null;
+    }
+
+    private static Set<String> lowerCaseSetOf(Set<String> values) {
+        final Set<String> result = HashSet.newHashSet(values.size());
+        for (String value : values) {
+            result.add(toLowerCase(value));
+        }
+        return result;
+    }
+
+    /**
+     * Builds two-level lookup of geo codes: lower-cased country to lower-cased regions, where empty regions
+     * set means that any region of the country matches.
+     */
+    private static Map<String, Set<String>> countryToRegions(List<GeoCode> geoCodes) {
+        final Map<String, Set<String>> result = new HashMap<>();
+        for (GeoCode geoCode : geoCodes) {
+            final String country = toLowerCase(geoCode.getCountry());
+            final String region = geoCode.getRegion();
+            final Set<String> regions = result.get(country);
+
+            if (region == null) {
+                result.put(country, Collections.emptySet());
+            } else if (regions == null) {
+                result.put(country, new HashSet<>(Collections.singleton(toLowerCase(region))));
+            } else if (!regions.isEmpty()) {
+                regions.add(toLowerCase(region));
+            }
+        }
+        return result;
+    }
+
+    private static String toLowerCase(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
     }
 
     @Override
@@ -43,23 +87,24 @@ public final class ConditionsRule extends AbstractMatchRule implements Loggable
                 && (geoCodes == null || matchesOneOfGeoCodes(activityInvocationPayload))
                 && (gpc == null || matchesGpc(activityInvocationPayload))
                 && (componentTypes == null || componentTypes.contains(activityInvocationPayload.componentType()))
-                && (componentNames == null || componentNames.contains(activityInvocationPayload.componentName()));
+                && (componentNames == null
+                || lowerCaseComponentNames.contains(toLowerCase(activityInvocationPayload.componentName())));
     }
 
     private boolean matchesOneOfGeoCodes(ActivityInvocationPayload activityInvocationPayload) {
         if (activityInvocationPayload instanceof GeoActivityInvocationPayload geoPayload) {
-            return geoCodes.stream().anyMatch(geoCode -> matchesGeoCode(geoCode, geoPayload));
+            final Set<String> regions = countryToRegions.get(toLowerCase(geoPayload.country()));
+            if (regions == null) {
+                return false;
+            }
+
+            final String region = geoPayload.region();
+            return regions.isEmpty() || (region != null && regions.contains(toLowerCase(region)));
         }
 
         return true;
     }
 
-    private static boolean matchesGeoCode(GeoCode geoCode, GeoActivityInvocationPayload geoPayload) {
-        final String region = geoCode.getRegion();
-        return StringUtils.equalsIgnoreCase(geoCode.getCountry(), geoPayload.country())
-                && (region == null || StringUtils.equalsIgnoreCase(region, geoPayload.region()));
-    }
-
     private boolean matchesGpc(ActivityInvocationPayload activityInvocationPayload) {
         if (activityInvocationPayload instanceof GpcActivityInvocationPayload gpcActivityInvocationPayload) {
             return gpc.equals(gpcActivityInvocationPayload.gpc());
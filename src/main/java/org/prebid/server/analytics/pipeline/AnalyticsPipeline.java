@@ -0,0 +1,418 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.analytics.pipeline.model.BatchFormat;
+import org.prebid.server.analytics.pipeline.model.BatchProperties;
+import org.prebid.server.analytics.pipeline.model.Compression;
+import org.prebid.server.analytics.pipeline.model.DropPolicy;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.execution.retry.Retryable;
+import org.prebid.server.log.ConditionalLogger;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Batches events of analytics reporter and delivers them to reporter endpoint.
+ * <p>
+ * Events are appended to a single pooled direct buffer of the configured batch size, which is reused for
+ * every batch, so buffering doesn't allocate on heap besides the encoded event itself. Batch is flushed when
+ * it reaches events count or bytes limit, or by timer, and is compressed into the request body. Event exceeding
+ * the batch size is sent as a batch of its own. Buffer and flush timer are held only between {@link #start()} and
+ * {@link #stop()}, events submitted outside of it are dropped.
+ * <p>
+ * Batches are kept until they are delivered or given up on, their total size is limited by pending bytes budget.
+ * Failed deliveries are retried according to retry policy, and when endpoint is unavailable and budget is exceeded
+ * batches are dropped according to drop policy, so analytics never grows memory during endpoint outages.
+ * Dropped events and retried batches are counted in metrics of the reporter.
+ */
+public class AnalyticsPipeline {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalyticsPipeline.class);
+    private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
+
+    private static final int INITIAL_BUFFER_CAPACITY = 4096;
+
+    private final String name;
+    private final MultiMap headers;
+    private final int maxEvents;
+    private final int maxBytes;
+    private final long timeoutMs;
+    private final long flushIntervalMs;
+    private final Compression compression;
+    private final BatchFormat format;
+    private final long maxPendingBytes;
+    private final DropPolicy dropPolicy;
+    private final RetryPolicy retryPolicy;
+    private final HttpClient httpClient;
+    private final Vertx vertx;
+    private final Metrics metrics;
+
+    private final ReentrantLock lock;
+    private final Deque<Batch> pendingBatches;
+    private ByteBuf buffer;
+    private Long flushTimerId;
+    private int bufferedEvents;
+    private long pendingBytes;
+
+    private volatile String endpoint;
+
+    public AnalyticsPipeline(String name,
+                             String endpoint,
+                             MultiMap headers,
+                             BatchProperties batchProperties,
+                             long maxPendingBytes,
+                             DropPolicy dropPolicy,
+                             RetryPolicy retryPolicy,
+                             HttpClient httpClient,
+                             Vertx vertx,
+                             Metrics metrics) {
+
+        this.name = Objects.requireNonNull(name);
+        this.endpoint = validateUrl(endpoint);
+        this.maxEvents = batchProperties.getMaxEvents();
+        this.maxBytes = batchProperties.getMaxBytes();
+        this.timeoutMs = batchProperties.getTimeoutMs();
+        this.flushIntervalMs = batchProperties.getFlushIntervalMs();
+        this.compression = Objects.requireNonNull(batchProperties.getCompression());
+        this.format = Objects.requireNonNull(batchProperties.getFormat());
+        this.headers = makeHeaders(Objects.requireNonNull(headers), compression);
+        this.maxPendingBytes = maxPendingBytes;
+        this.dropPolicy = Objects.requireNonNull(dropPolicy);
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        if (maxBytes <= 0 || maxPendingBytes <= 0) {
+            throw new IllegalArgumentException(
+                    "Batch size and pending bytes budget should be positive: max-bytes=%d, max-pending-bytes=%d"
+                            .formatted(maxBytes, maxPendingBytes));
+        }
+
+        lock = new ReentrantLock();
+        pendingBatches = new ArrayDeque<>();
+    }
+
+    private static String validateUrl(String url) {
+        try {
+            return URI.create(url).toURL().toString();
+        } catch (IllegalArgumentException | MalformedURLException e) {
+            throw new IllegalArgumentException("URL supplied is not valid: " + url, e);
+        }
+    }
+
+    private static MultiMap makeHeaders(MultiMap headers, Compression compression) {
+        final MultiMap batchHeaders = MultiMap.caseInsensitiveMultiMap().addAll(headers);
+        if (compression.getContentEncoding() != null) {
+            batchHeaders.add(HttpHeaders.CONTENT_ENCODING, compression.getContentEncoding());
+        }
+        return batchHeaders;
+    }
+
+    /**
+     * Allocates batch buffer and starts flushing it by timer, unless pipeline is already started.
+     */
+    public void start() {
+        lock.lock();
+        try {
+            if (buffer != null) {
+                return;
+            }
+
+            buffer = PooledByteBufAllocator.DEFAULT.directBuffer(
+                    Math.min(INITIAL_BUFFER_CAPACITY, maxBytes), maxBytes + format.getSuffix().length);
+            flushTimerId = vertx.setPeriodic(flushIntervalMs, ignored -> flush());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Sends current batch, if any, cancels flush timer and releases batch buffer. Pending batches are still
+     * delivered or retried afterward.
+     */
+    public void stop() {
+        final Batch batch;
+        lock.lock();
+        try {
+            if (buffer == null) {
+                return;
+            }
+
+            vertx.cancelTimer(flushTimerId);
+            batch = bufferedEvents > 0 ? enqueueBatch() : null;
+            buffer.release();
+            buffer = null;
+            flushTimerId = null;
+        } finally {
+            lock.unlock();
+        }
+
+        send(batch);
+    }
+
+    /**
+     * Appends encoded event to the current batch, which is sent if it reaches events count or bytes limit.
+     */
+    public void submit(byte[] event) {
+        if (format.getPrefix().length + event.length > maxBytes) {
+            submitOversized(event);
+            return;
+        }
+
+        Batch fullBatch = null;
+        Batch batch = null;
+        lock.lock();
+        try {
+            if (buffer == null) {
+                dropEvents(1, "pipeline is not started");
+                return;
+            }
+
+            if (bufferedEvents > 0
+                    && buffer.readableBytes() + format.getDelimiter().length + event.length > maxBytes) {
+                fullBatch = enqueueBatch();
+            }
+
+            buffer.writeBytes(bufferedEvents == 0 ? format.getPrefix() : format.getDelimiter());
+            buffer.writeBytes(event);
+            bufferedEvents++;
+
+            if (bufferedEvents >= maxEvents || buffer.readableBytes() >= maxBytes) {
+                batch = enqueueBatch();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        send(fullBatch);
+        send(batch);
+    }
+
+    private void submitOversized(byte[] event) {
+        final byte[] body = encode(Unpooled.wrappedBuffer(format.getPrefix(), event, format.getSuffix()), compression);
+        final Batch batch;
+        lock.lock();
+        try {
+            if (buffer == null) {
+                dropEvents(1, "pipeline is not started");
+                return;
+            }
+
+            batch = enqueue(body, 1);
+        } finally {
+            lock.unlock();
+        }
+
+        send(batch);
+    }
+
+    /**
+     * Sends current batch, if any.
+     */
+    public void flush() {
+        final Batch batch;
+        lock.lock();
+        try {
+            batch = buffer != null && bufferedEvents > 0 ? enqueueBatch() : null;
+        } finally {
+            lock.unlock();
+        }
+
+        send(batch);
+    }
+
+    public void updateEndpoint(String endpoint) {
+        this.endpoint = validateUrl(endpoint);
+    }
+
+    private Batch enqueueBatch() {
+        final int events = bufferedEvents;
+        final byte[] body;
+        try {
+            buffer.writeBytes(format.getSuffix());
+            body = encode(buffer, compression);
+        } finally {
+            buffer.clear();
+            bufferedEvents = 0;
+        }
+
+        return enqueue(body, events);
+    }
+
+    private Batch enqueue(byte[] body, int events) {
+        if (body.length > maxPendingBytes) {
+            dropEvents(events, "batch of %d bytes exceeds pending bytes budget".formatted(body.length));
+            return null;
+        }
+
+        while (pendingBytes + body.length > maxPendingBytes) {
+            if (dropPolicy == DropPolicy.DROP_NEWEST) {
+                dropEvents(events, "pending bytes budget is exceeded");
+                return null;
+            }
+
+            final Batch oldestBatch = pendingBatches.pollFirst();
+            discard(oldestBatch);
+            dropEvents(oldestBatch.events, "pending bytes budget is exceeded");
+        }
+
+        final Batch batch = new Batch(body, events, retryPolicy);
+        pendingBatches.addLast(batch);
+        pendingBytes += body.length;
+        return batch;
+    }
+
+    private static byte[] encode(ByteBuf buffer, Compression compression) {
+        return switch (compression) {
+            case NONE -> ByteBufUtil.getBytes(buffer);
+            case GZIP -> gzip(buffer);
+        };
+    }
+
+    private static byte[] gzip(ByteBuf buffer) {
+        final ByteArrayOutputStream output = new ByteArrayOutputStream(buffer.readableBytes() / 4 + 32);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+            buffer.readBytes(gzip, buffer.readableBytes());
+        } catch (IOException e) {
+            throw new PreBidException("Failed to compress analytics events: " + e.getMessage());
+        }
+        return output.toByteArray();
+    }
+
+    private void send(Batch batch) {
+        if (batch == null) {
+            return;
+        }
+
+        httpClient.request(HttpMethod.POST, endpoint, headers, batch.body, timeoutMs)
+                .onComplete(result -> handleResponse(batch, result));
+    }
+
+    private void handleResponse(Batch batch, AsyncResult<HttpClientResponse> result) {
+        final int statusCode = result.succeeded() ? result.result().getStatusCode() : 0;
+        if (statusCode >= 200 && statusCode < 300) {
+            complete(batch);
+            return;
+        }
+
+        final String reason = result.succeeded()
+                ? "wrong code received %d instead of 200".formatted(statusCode)
+                : result.cause().getMessage();
+        final boolean retryable = result.failed()
+                || statusCode >= 500
+                || statusCode == HttpResponseStatus.TOO_MANY_REQUESTS.code();
+
+        if (retryable && batch.retryPolicy instanceof Retryable policy && scheduleRetry(batch, policy)) {
+            metrics.updateAnalyticsRetriedBatchesMetric(name);
+            conditionalLogger.error(
+                    "[%s] Failed to send events to endpoint %s, will retry in %d ms: %s"
+                            .formatted(name, endpoint, policy.delay(), reason),
+                    1, TimeUnit.MINUTES);
+        } else if (complete(batch)) {
+            dropEvents(batch.events, reason);
+        }
+    }
+
+    private boolean scheduleRetry(Batch batch, Retryable policy) {
+        lock.lock();
+        try {
+            if (batch.discarded) {
+                return false;
+            }
+
+            batch.retryPolicy = policy.next();
+            batch.retryTimerId = vertx.setTimer(policy.delay(), ignored -> resend(batch));
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void resend(Batch batch) {
+        lock.lock();
+        try {
+            if (batch.discarded) {
+                return;
+            }
+
+            batch.retryTimerId = null;
+        } finally {
+            lock.unlock();
+        }
+
+        send(batch);
+    }
+
+    /**
+     * Releases batch from pending ones, returns false if batch was already discarded by drop policy.
+     */
+    private boolean complete(Batch batch) {
+        lock.lock();
+        try {
+            if (batch.discarded) {
+                return false;
+            }
+
+            pendingBatches.remove(batch);
+            discard(batch);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void discard(Batch batch) {
+        batch.discarded = true;
+        pendingBytes -= batch.body.length;
+        if (batch.retryTimerId != null) {
+            vertx.cancelTimer(batch.retryTimerId);
+        }
+    }
+
+    private void dropEvents(int events, String reason) {
+        metrics.updateAnalyticsDroppedEventsMetric(name, events);
+        conditionalLogger.error(
+                "[%s] Dropped %d analytics events: %s".formatted(name, events, reason), 1, TimeUnit.MINUTES);
+    }
+
+    private static class Batch {
+
+        private final byte[] body;
+        private final int events;
+
+        private RetryPolicy retryPolicy;
+        private Long retryTimerId;
+        private boolean discarded;
+
+        Batch(byte[] body, int events, RetryPolicy retryPolicy) {
+            this.body = body;
+            this.events = events;
+            this.retryPolicy = retryPolicy;
+        }
+    }
+}
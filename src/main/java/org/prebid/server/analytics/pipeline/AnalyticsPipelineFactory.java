@@ -0,0 +1,54 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import org.prebid.server.analytics.pipeline.model.BatchProperties;
+import org.prebid.server.analytics.pipeline.model.DropPolicy;
+import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+import java.util.Objects;
+
+/**
+ * Creates {@link AnalyticsPipeline}s sharing delivery settings, so analytics reporters only configure batches
+ * and encode their events.
+ */
+public class AnalyticsPipelineFactory {
+
+    private final long maxPendingBytes;
+    private final DropPolicy dropPolicy;
+    private final RetryPolicy retryPolicy;
+    private final HttpClient httpClient;
+    private final Vertx vertx;
+    private final Metrics metrics;
+
+    public AnalyticsPipelineFactory(long maxPendingBytes,
+                                    DropPolicy dropPolicy,
+                                    RetryPolicy retryPolicy,
+                                    HttpClient httpClient,
+                                    Vertx vertx,
+                                    Metrics metrics) {
+
+        this.maxPendingBytes = maxPendingBytes;
+        this.dropPolicy = Objects.requireNonNull(dropPolicy);
+        this.retryPolicy = Objects.requireNonNull(retryPolicy);
+        this.httpClient = Objects.requireNonNull(httpClient);
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public AnalyticsPipeline create(String name, String endpoint, MultiMap headers, BatchProperties batchProperties) {
+        return new AnalyticsPipeline(
+                name,
+                endpoint,
+                headers,
+                batchProperties,
+                maxPendingBytes,
+                dropPolicy,
+                retryPolicy,
+                httpClient,
+                vertx,
+                metrics);
+    }
+}
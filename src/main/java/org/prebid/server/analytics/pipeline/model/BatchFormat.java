@@ -0,0 +1,26 @@
+package org.prebid.server.analytics.pipeline.model;
+
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+
+@Value(staticConstructor = "of")
+public class BatchFormat {
+
+    public static final BatchFormat JSON_ARRAY = of("[", ",", "]");
+
+    public static final BatchFormat NEW_LINE_DELIMITED = of("", "\n", "");
+
+    byte[] prefix;
+
+    byte[] delimiter;
+
+    byte[] suffix;
+
+    public static BatchFormat of(String prefix, String delimiter, String suffix) {
+        return of(
+                prefix.getBytes(StandardCharsets.UTF_8),
+                delimiter.getBytes(StandardCharsets.UTF_8),
+                suffix.getBytes(StandardCharsets.UTF_8));
+    }
+}
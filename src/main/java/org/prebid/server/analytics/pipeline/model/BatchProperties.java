@@ -0,0 +1,21 @@
+package org.prebid.server.analytics.pipeline.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Builder
+@Value
+public class BatchProperties {
+
+    int maxEvents;
+
+    int maxBytes;
+
+    long flushIntervalMs;
+
+    long timeoutMs;
+
+    Compression compression;
+
+    BatchFormat format;
+}
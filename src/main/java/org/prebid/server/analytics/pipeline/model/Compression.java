@@ -0,0 +1,15 @@
+package org.prebid.server.analytics.pipeline.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@AllArgsConstructor
+@Getter
+public enum Compression {
+
+    NONE(null),
+
+    GZIP("gzip");
+
+    private final String contentEncoding;
+}
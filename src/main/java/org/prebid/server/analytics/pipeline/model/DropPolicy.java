@@ -0,0 +1,17 @@
+package org.prebid.server.analytics.pipeline.model;
+
+/**
+ * Defines which batches are dropped when batches waiting for delivery exceed the pending bytes budget.
+ */
+public enum DropPolicy {
+
+    /**
+     * Batch that doesn't fit into budget is dropped, batches waiting for delivery keep being retried.
+     */
+    DROP_NEWEST,
+
+    /**
+     * Batches waiting for delivery the longest are dropped to make room for the new one.
+     */
+    DROP_OLDEST
+}
@@ -8,28 +8,26 @@ import com.iab.openrtb.request.User;
 import com.iabtcf.decoder.TCString;
 import com.iabtcf.utils.IntIterable;
 import io.netty.handler.codec.http.HttpHeaderValues;
-import io.netty.handler.codec.http.HttpResponseStatus;
-import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import io.vertx.core.Promise;
-import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpHeaders;
-import io.vertx.core.http.HttpMethod;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.tuple.Pair;
 import org.prebid.server.analytics.AnalyticsReporter;
 import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipeline;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.model.BatchFormat;
+import org.prebid.server.analytics.pipeline.model.BatchProperties;
+import org.prebid.server.analytics.pipeline.model.Compression;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
 import org.prebid.server.analytics.reporter.agma.model.AgmaEvent;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
-import org.prebid.server.exception.PreBidException;
 import org.prebid.server.json.JacksonMapper;
-import org.prebid.server.log.Logger;
-import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.model.PrivacyContext;
@@ -37,69 +35,52 @@ import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.Initializable;
-import org.prebid.server.vertx.httpclient.HttpClient;
-import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZonedDateTime;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.zip.GZIPOutputStream;
 
 public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
-    private static final Logger logger = LoggerFactory.getLogger(AgmaAnalyticsReporter.class);
-
-    private final String url;
-    private final boolean compressToGzip;
-    private final long bufferTimeoutMs;
-    private final long httpTimeoutMs;
-
-    private final EventBuffer<String> buffer;
+    private static final String NAME = "agmaAnalytics";
 
     private final Map<String, String> accounts;
 
-    private final Vertx vertx;
     private final JacksonMapper jacksonMapper;
-    private final HttpClient httpClient;
     private final Clock clock;
-    private final MultiMap headers;
+    private final AnalyticsPipeline pipeline;
 
     public AgmaAnalyticsReporter(AgmaAnalyticsProperties agmaAnalyticsProperties,
                                  PrebidVersionProvider prebidVersionProvider,
                                  JacksonMapper jacksonMapper,
                                  Clock clock,
-                                 HttpClient httpClient,
-                                 Vertx vertx) {
+                                 AnalyticsPipelineFactory analyticsPipelineFactory) {
 
         this.accounts = agmaAnalyticsProperties.getAccounts();
 
-        this.url = HttpUtil.validateUrl(agmaAnalyticsProperties.getUrl());
-        this.bufferTimeoutMs = agmaAnalyticsProperties.getBufferTimeoutMs();
-        this.httpTimeoutMs = agmaAnalyticsProperties.getHttpTimeoutMs();
-        this.compressToGzip = agmaAnalyticsProperties.isGzip();
-
-        this.buffer = new EventBuffer<>(
-                agmaAnalyticsProperties.getMaxEventsCount(),
-                agmaAnalyticsProperties.getBufferSize());
-
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
-        this.httpClient = Objects.requireNonNull(httpClient);
-        this.vertx = Objects.requireNonNull(vertx);
         this.clock = Objects.requireNonNull(clock);
-        this.headers = makeHeaders(Objects.requireNonNull(prebidVersionProvider));
+        this.pipeline = analyticsPipelineFactory.create(
+                NAME,
+                agmaAnalyticsProperties.getUrl(),
+                makeHeaders(Objects.requireNonNull(prebidVersionProvider)),
+                BatchProperties.builder()
+                        .maxEvents(agmaAnalyticsProperties.getMaxEventsCount())
+                        .maxBytes(agmaAnalyticsProperties.getBufferSize())
+                        .flushIntervalMs(agmaAnalyticsProperties.getBufferTimeoutMs())
+                        .timeoutMs(agmaAnalyticsProperties.getHttpTimeoutMs())
+                        .compression(agmaAnalyticsProperties.isGzip() ? Compression.GZIP : Compression.NONE)
+                        .format(BatchFormat.JSON_ARRAY)
+                        .build());
     }
 
     @Override
     public void initialize(Promise<Void> initializePromise) {
-        vertx.setPeriodic(bufferTimeoutMs, ignored -> sendEvents(buffer.pollAll()));
-        initializePromise.complete();
+        pipeline.start();
+        initializePromise.tryComplete();
     }
 
     @Override
@@ -150,9 +131,7 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                         Instant.ofEpochMilli(timeoutContext.getStartTime()), clock.getZone()))
                 .build();
 
-        final String eventString = jacksonMapper.encodeToString(agmaEvent);
-        buffer.put(eventString, eventString.length());
-        sendEvents(buffer.pollToFlush());
+        pipeline.submit(jacksonMapper.encodeToBytes(agmaEvent));
         return Future.succeededFuture();
     }
 
@@ -207,58 +186,10 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
                 : publisherId;
     }
 
-    private void sendEvents(List<String> events) {
-        if (events.isEmpty()) {
-            return;
-        }
-        final String payload = preparePayload(events);
-        final Future<HttpClientResponse> responseFuture = compressToGzip
-                ? httpClient.request(HttpMethod.POST, url, headers, gzip(payload), httpTimeoutMs)
-                : httpClient.request(HttpMethod.POST, url, headers, payload, httpTimeoutMs);
-
-        responseFuture.onComplete(this::handleReportResponse);
-    }
-
-    private static String preparePayload(List<String> events) {
-        return "[" + String.join(",", events) + "]";
-    }
-
-    private static byte[] gzip(String value) {
-        try (ByteArrayOutputStream obj = new ByteArrayOutputStream();
-                GZIPOutputStream gzip = new GZIPOutputStream(obj)) {
-
-            gzip.write(value.getBytes(StandardCharsets.UTF_8));
-            gzip.finish();
-
-            return obj.toByteArray();
-        } catch (IOException e) {
-            throw new PreBidException("[agmaAnalytics] failed to compress, skip the events : " + e.getMessage());
-        }
-    }
-
-    private void handleReportResponse(AsyncResult<HttpClientResponse> result) {
-        if (result.failed()) {
-            logger.error("[agmaAnalytics] Failed to send events to endpoint {} with a reason: {}",
-                    url, result.cause().getMessage());
-        } else {
-            final HttpClientResponse httpClientResponse = result.result();
-            final int statusCode = httpClientResponse.getStatusCode();
-            if (statusCode != HttpResponseStatus.OK.code()) {
-                logger.error("[agmaAnalytics] Wrong code received {} instead of 200", statusCode);
-            }
-        }
-    }
-
-    private MultiMap makeHeaders(PrebidVersionProvider versionProvider) {
-        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+    private static MultiMap makeHeaders(PrebidVersionProvider versionProvider) {
+        return MultiMap.caseInsensitiveMultiMap()
                 .add(HttpHeaders.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
                 .add(HttpUtil.X_PREBID_HEADER, versionProvider.getNameVersionRecord());
-
-        if (compressToGzip) {
-            headers.add(HttpHeaders.CONTENT_ENCODING, HttpHeaderValues.GZIP);
-        }
-
-        return headers;
     }
 
     @Override
@@ -268,6 +199,6 @@ public class AgmaAnalyticsReporter implements AnalyticsReporter, Initializable {
 
     @Override
     public String name() {
-        return "agmaAnalytics";
+        return NAME;
     }
 }
@@ -13,6 +13,7 @@ import org.prebid.server.analytics.model.CookieSyncEvent;
 import org.prebid.server.analytics.model.NotificationEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
 import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackConfig;
@@ -52,7 +53,8 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
     public PubstackAnalyticsReporter(PubstackAnalyticsProperties pubstackAnalyticsProperties,
                                      HttpClient httpClient,
                                      JacksonMapper jacksonMapper,
-                                     Vertx vertx) {
+                                     Vertx vertx,
+                                     AnalyticsPipelineFactory analyticsPipelineFactory) {
 
         this.configurationRefreshDelay =
                 Objects.requireNonNull(pubstackAnalyticsProperties.getConfigurationRefreshDelayMs());
@@ -61,16 +63,16 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
         this.jacksonMapper = Objects.requireNonNull(jacksonMapper);
         this.vertx = Objects.requireNonNull(vertx);
 
-        this.eventHandlers = createEventHandlers(pubstackAnalyticsProperties, httpClient, jacksonMapper, vertx);
+        this.eventHandlers = createEventHandlers(
+                pubstackAnalyticsProperties, jacksonMapper, Objects.requireNonNull(analyticsPipelineFactory));
         this.pubstackConfig = PubstackConfig.of(pubstackAnalyticsProperties.getScopeId(),
                 pubstackAnalyticsProperties.getEndpoint(), Collections.emptyMap());
     }
 
     private static Map<EventType, PubstackEventHandler> createEventHandlers(
             PubstackAnalyticsProperties pubstackAnalyticsProperties,
-            HttpClient httpClient,
             JacksonMapper jacksonMapper,
-            Vertx vertx) {
+            AnalyticsPipelineFactory analyticsPipelineFactory) {
 
         return Arrays.stream(EventType.values())
                 .collect(Collectors.toMap(Function.identity(),
@@ -79,8 +81,7 @@ public class PubstackAnalyticsReporter implements AnalyticsReporter, Initializab
                                 false,
                                 buildEventEndpointUrl(pubstackAnalyticsProperties.getEndpoint(), eventType),
                                 jacksonMapper,
-                                httpClient,
-                                vertx)));
+                                analyticsPipelineFactory)));
     }
 
     private static String buildEventEndpointUrl(String endpoint, EventType eventType) {
@@ -0,0 +1,184 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.response.Bid;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.commons.lang3.tuple.Pair;
+import org.prebid.server.auction.model.BidInfo;
+import org.prebid.server.auction.model.BidderResponseInfo;
+import org.prebid.server.auction.model.MultiBidConfig;
+import org.prebid.server.auction.model.TargetingInfo;
+import org.prebid.server.bidder.model.BidderSeatBidInfo;
+import org.prebid.server.cache.model.CacheInfo;
+import org.prebid.server.exception.PreBidException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Helpers of {@link BidResponseCreator} building {@link BidInfo}s of the auction: looks up imps of bids by id,
+ * ranks bids and resolves their targeting in a single pass over bids grouped by imp.
+ */
+final class BidInfoAssembler {
+
+    private BidInfoAssembler() {
+    }
+
+    /**
+     * Indexes imps by id once per auction, so that every bid finds its imp without scanning the whole list.
+     * The first imp wins if ids are duplicated.
+     */
+    static Map<String, Imp> impIdToImp(List<Imp> imps) {
+        final Map<String, Imp> impIdToImp = HashMap.newHashMap(imps.size());
+        for (Imp imp : imps) {
+            impIdToImp.putIfAbsent(imp.getId(), imp);
+        }
+        return Collections.unmodifiableMap(impIdToImp);
+    }
+
+    static Imp correspondingImp(Bid bid, Map<String, Imp> impIdToImp) {
+        final String impId = bid.getImpid();
+        final Imp imp = impIdToImp.get(impId);
+        if (imp == null) {
+            // Should never occur. See ResponseBidValidator
+            throw new PreBidException("Bid with impId %s doesn't have matched imp".formatted(impId));
+        }
+        return imp;
+    }
+
+    /**
+     * Ranks bids of all bidders per imp and resolves their targeting in the same pass,
+     * so every {@link BidInfo} is rebuilt once and bids are not regrouped by imp again.
+     */
+    static List<List<BidInfo>> rankAndEnrichWithTargeting(List<BidderResponseInfo> bidderResponses,
+                                                          List<List<BidInfo>> bidInfosPerBidder,
+                                                          Map<String, MultiBidConfig> bidderToMultiBids,
+                                                          Comparator<BidInfo> comparator) {
+
+        final int biddersCount = bidInfosPerBidder.size();
+        final Map<String, List<Pair<Integer, BidInfo>>> impIdToBidderBidInfo = new HashMap<>();
+        for (int bidderIndex = 0; bidderIndex < biddersCount; bidderIndex++) {
+            final List<BidInfo> bidInfos = bidInfosPerBidder.get(bidderIndex);
+
+            for (BidInfo bidInfo : bidInfos) {
+                impIdToBidderBidInfo
+                        .computeIfAbsent(bidInfo.getCorrespondingImp().getId(), ignore -> new ArrayList<>())
+                        .add(Pair.of(bidderIndex, bidInfo));
+            }
+        }
+
+        for (List<Pair<Integer, BidInfo>> bidderToBidInfo : impIdToBidderBidInfo.values()) {
+            bidderToBidInfo.sort(Comparator.comparing(Pair::getRight, comparator));
+        }
+
+        final List<List<BidInfo>> rankedBidInfosPerBidder = new ArrayList<>(biddersCount);
+        for (int i = 0; i < biddersCount; i++) {
+            rankedBidInfosPerBidder.add(new ArrayList<>());
+        }
+
+        final int[] impBidsCountPerBidder = new int[biddersCount];
+        final int[] impBidIndexPerBidder = new int[biddersCount];
+        for (List<Pair<Integer, BidInfo>> sortedBidderToBidInfo : impIdToBidderBidInfo.values()) {
+            Arrays.fill(impBidsCountPerBidder, 0);
+            Arrays.fill(impBidIndexPerBidder, 0);
+            for (Pair<Integer, BidInfo> bidderToBidInfo : sortedBidderToBidInfo) {
+                impBidsCountPerBidder[bidderToBidInfo.getLeft()]++;
+            }
+
+            for (int rank = 0; rank < sortedBidderToBidInfo.size(); rank++) {
+                final Pair<Integer, BidInfo> bidderToBidInfo = sortedBidderToBidInfo.get(rank);
+                final int bidderIndex = bidderToBidInfo.getLeft();
+                final BidInfo bidInfo = bidderToBidInfo.getRight();
+
+                final TargetingInfo targetingInfo = targetingInfo(
+                        bidInfo,
+                        bidderResponses.get(bidderIndex).getBidder(),
+                        bidderToMultiBids,
+                        impBidIndexPerBidder[bidderIndex]++,
+                        impBidsCountPerBidder[bidderIndex],
+                        rank == 0);
+
+                rankedBidInfosPerBidder.get(bidderIndex).add(bidInfo.toBuilder()
+                        .rank(rank + 1)
+                        .targetingInfo(targetingInfo)
+                        .build());
+            }
+        }
+
+        return rankedBidInfosPerBidder;
+    }
+
+    private static TargetingInfo targetingInfo(BidInfo bidInfo,
+                                               String bidder,
+                                               Map<String, MultiBidConfig> bidderToMultiBids,
+                                               int impBidIndex,
+                                               int impBidsCount,
+                                               boolean isWinningBid) {
+
+        final MultiBidConfig multiBid = bidderToMultiBids.get(bidder);
+        final String bidderCodePrefix = multiBid != null ? multiBid.getTargetBidderCodePrefix() : null;
+
+        // first bid have the highest value and can't be extra bid
+        final String targetingBidderCode = targetingCode(bidder, bidderCodePrefix, impBidIndex);
+
+        return TargetingInfo.builder()
+                .isTargetingEnabled(targetingBidderCode != null)
+                .isWinningBid(isWinningBid)
+                .isAddTargetBidderCode(targetingBidderCode != null && impBidsCount > 1)
+                .bidderCode(targetingBidderCode)
+                .seat(targetingCode(bidInfo.getSeat(), bidderCodePrefix, impBidIndex))
+                .build();
+    }
+
+    private static String targetingCode(String base, String prefix, int i) {
+        if (i == 0) {
+            return base;
+        }
+
+        return prefix != null ? prefix + (i + 1) : null;
+    }
+
+    static BidderResponseInfo withBidInfos(BidderResponseInfo bidderResponseInfo, List<BidInfo> bidInfos) {
+        final BidderSeatBidInfo seatBid = bidderResponseInfo.getSeatBid();
+        return bidderResponseInfo.with(seatBid.with(bidInfos));
+    }
+
+    /**
+     * Collects all bids and, if targeting is requested, winning bids of the given responses in a single pass.
+     * <p>
+     * Bid infos are distinct instances, so identity avoids hashing their bids and imps.
+     */
+    static void collectBidInfos(List<BidderResponseInfo> bidderResponseInfos,
+                                Set<BidInfo> bidInfos,
+                                Set<BidInfo> winningBidInfos) {
+
+        for (BidderResponseInfo bidderResponseInfo : bidderResponseInfos) {
+            for (BidInfo bidInfo : ListUtils.emptyIfNull(bidderResponseInfo.getSeatBid().getBidsInfos())) {
+                bidInfos.add(bidInfo);
+                if (winningBidInfos != null && bidInfo.getTargetingInfo().isWinningBid()) {
+                    winningBidInfos.add(bidInfo);
+                }
+            }
+        }
+    }
+
+    /**
+     * Creates a map with {@link Bid} as a key and empty {@link CacheInfo} as a value.
+     * <p>
+     * Keys are the same instances bids are looked up by later, so identity avoids hashing whole bids.
+     */
+    static Map<Bid, CacheInfo> toMapBidsWithEmptyCacheIds(Set<BidInfo> bids) {
+        final Map<Bid, CacheInfo> bidToCacheInfo = new IdentityHashMap<>(bids.size());
+        for (BidInfo bidInfo : bids) {
+            bidToCacheInfo.put(bidInfo.getBid(), CacheInfo.empty());
+        }
+        return bidToCacheInfo;
+    }
+}
@@ -23,7 +23,6 @@ import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.tuple.Pair;
 import org.prebid.server.auction.categorymapping.CategoryMappingService;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.AuctionParticipation;
@@ -119,6 +118,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -408,7 +408,7 @@ public class BidResponseCreator {
                                                            BidRequestCacheInfo cacheInfo,
                                                            AuctionContext auctionContext) {
 
-        final List<Imp> imps = auctionContext.getBidRequest().getImp();
+        final Map<String, Imp> impIdToImp = BidInfoAssembler.impIdToImp(auctionContext.getBidRequest().getImp());
         final Account account = auctionContext.getAccount();
         final List<BidderResponseInfo> result = new ArrayList<>();
         final List<BidderResponse> bidderResponses = categoryMappingResult.getBidderResponses();
@@ -458,7 +458,7 @@ public class BidResponseCreator {
                             bidderBid.getBid(),
                             bidderBid.getType(),
                             seat,
-                            imps,
+                            impIdToImp,
                             bidder,
                             categoryMappingResult,
                             cacheInfo,
@@ -488,13 +488,13 @@ public class BidResponseCreator {
     private BidInfo toBidInfo(Bid bid,
                               BidType type,
                               String seat,
-                              List<Imp> imps,
+                              Map<String, Imp> impIdToImp,
                               String bidder,
                               CategoryMappingResult categoryMappingResult,
                               BidRequestCacheInfo cacheInfo,
                               Account account) {
 
-        final Imp correspondingImp = correspondingImp(bid, imps);
+        final Imp correspondingImp = BidInfoAssembler.correspondingImp(bid, impIdToImp);
         return BidInfo.builder()
                 .bid(bid)
                 .bidType(type)
@@ -508,14 +508,6 @@ public class BidResponseCreator {
                 .build();
     }
 
-    private static Imp correspondingImp(Bid bid, List<Imp> imps) {
-        final String impId = bid.getImpid();
-        return correspondingImp(impId, imps)
-                // Should never occur. See ResponseBidValidator
-                .orElseThrow(
-                        () -> new PreBidException("Bid with impId %s doesn't have matched imp".formatted(impId)));
-    }
-
     private static Optional<Imp> correspondingImp(String impId, List<Imp> imps) {
         return imps.stream()
                 .filter(imp -> Objects.equals(impId, imp.getId()))
@@ -651,18 +643,11 @@ public class BidResponseCreator {
                 bidderToMultiBids,
                 preferDeals(targeting));
 
-        final Set<BidInfo> bidInfos = bidderResponseInfos.stream()
-                .map(BidderResponseInfo::getSeatBid)
-                .map(BidderSeatBidInfo::getBidsInfos)
-                .filter(CollectionUtils::isNotEmpty)
-                .flatMap(Collection::stream)
-                .collect(Collectors.toSet());
-
-        final Set<BidInfo> winningBidInfos = targeting == null
-                ? null
-                : bidInfos.stream()
-                .filter(bidInfo -> bidInfo.getTargetingInfo().isWinningBid())
-                .collect(Collectors.toSet());
+        final Set<BidInfo> bidInfos = Collections.newSetFromMap(new IdentityHashMap<>());
+        final Set<BidInfo> winningBidInfos = targeting != null
+                ? Collections.newSetFromMap(new IdentityHashMap<>())
+                : null;
+        BidInfoAssembler.collectBidInfos(bidderResponseInfos, bidInfos, winningBidInfos);
 
         final Set<BidInfo> bidsToCache = cacheInfo.isShouldCacheWinningBidsOnly() ? winningBidInfos : bidInfos;
 
@@ -697,13 +682,14 @@ public class BidResponseCreator {
         final List<List<BidInfo>> bidInfosPerBidder = bidderResponses.stream()
                 .map(bidderResponse -> limitMultiBid(bidderResponse, bidderToMultiBids, comparator))
                 .toList();
-        final List<List<BidInfo>> rankedBidInfos = applyRanking(bidInfosPerBidder, comparator);
+        final List<List<BidInfo>> rankedBidInfos = BidInfoAssembler.rankAndEnrichWithTargeting(
+                bidderResponses,
+                bidInfosPerBidder,
+                bidderToMultiBids,
+                comparator);
 
         return IntStream.range(0, bidderResponses.size())
-                .mapToObj(i -> enrichBidInfoWithTargeting(
-                        bidderResponses.get(i),
-                        rankedBidInfos.get(i),
-                        bidderToMultiBids))
+                .mapToObj(i -> BidInfoAssembler.withBidInfos(bidderResponses.get(i), rankedBidInfos.get(i)))
                 .toList();
     }
 
@@ -725,105 +711,6 @@ public class BidResponseCreator {
                 .toList();
     }
 
-    private static List<List<BidInfo>> applyRanking(List<List<BidInfo>> bidInfosPerBidder,
-                                                    Comparator<BidInfo> comparator) {
-
-        final Map<String, List<Pair<Integer, BidInfo>>> impIdToBidderBidInfo = new HashMap<>();
-        for (int bidderIndex = 0; bidderIndex < bidInfosPerBidder.size(); bidderIndex++) {
-            final List<BidInfo> bidInfos = bidInfosPerBidder.get(bidderIndex);
-
-            for (BidInfo bidInfo : bidInfos) {
-                impIdToBidderBidInfo
-                        .computeIfAbsent(bidInfo.getCorrespondingImp().getId(), ignore -> new ArrayList<>())
-                        .add(Pair.of(bidderIndex, bidInfo));
-            }
-        }
-
-        for (List<Pair<Integer, BidInfo>> bidderToBidInfo : impIdToBidderBidInfo.values()) {
-            bidderToBidInfo.sort(Comparator.comparing(Pair::getRight, comparator));
-        }
-
-        final List<List<BidInfo>> rankedBidInfosPerBidder = new ArrayList<>();
-        for (int i = 0; i < bidInfosPerBidder.size(); i++) {
-            rankedBidInfosPerBidder.add(new ArrayList<>());
-        }
-
-        for (List<Pair<Integer, BidInfo>> sortedBidderToBidInfo : impIdToBidderBidInfo.values()) {
-            for (int rank = 0; rank < sortedBidderToBidInfo.size(); rank++) {
-                final Pair<Integer, BidInfo> bidderToBidInfo = sortedBidderToBidInfo.get(rank);
-                final BidInfo bidInfo = bidderToBidInfo.getRight();
-
-                rankedBidInfosPerBidder.get(bidderToBidInfo.getLeft())
-                        .add(bidInfo.toBuilder().rank(rank + 1).build());
-            }
-        }
-
-        return rankedBidInfosPerBidder;
-    }
-
-    private static BidderResponseInfo enrichBidInfoWithTargeting(BidderResponseInfo bidderResponseInfo,
-                                                                 List<BidInfo> bidderBidInfos,
-                                                                 Map<String, MultiBidConfig> bidderToMultiBids) {
-
-        final String bidder = bidderResponseInfo.getBidder();
-        final List<BidInfo> bidInfosWithTargeting = toBidInfoWithTargeting(bidderBidInfos, bidder, bidderToMultiBids);
-
-        final BidderSeatBidInfo seatBid = bidderResponseInfo.getSeatBid();
-        final BidderSeatBidInfo modifiedSeatBid = seatBid.with(bidInfosWithTargeting);
-        return bidderResponseInfo.with(modifiedSeatBid);
-    }
-
-    private static List<BidInfo> toBidInfoWithTargeting(List<BidInfo> bidderBidInfos,
-                                                        String bidder,
-                                                        Map<String, MultiBidConfig> bidderToMultiBids) {
-
-        final Map<String, List<BidInfo>> impIdToBidInfos = bidderBidInfos.stream()
-                .collect(Collectors.groupingBy(bidInfo -> bidInfo.getCorrespondingImp().getId()));
-
-        return impIdToBidInfos.values().stream()
-                .map(bidInfos -> enrichWithTargeting(bidInfos, bidder, bidderToMultiBids))
-                .flatMap(Collection::stream)
-                .toList();
-    }
-
-    private static List<BidInfo> enrichWithTargeting(List<BidInfo> bidderImpIdBidInfos,
-                                                     String bidder,
-                                                     Map<String, MultiBidConfig> bidderToMultiBids) {
-
-        final List<BidInfo> result = new ArrayList<>();
-
-        final MultiBidConfig multiBid = bidderToMultiBids.get(bidder);
-        final String bidderCodePrefix = multiBid != null ? multiBid.getTargetBidderCodePrefix() : null;
-
-        final int multiBidSize = bidderImpIdBidInfos.size();
-        for (int i = 0; i < multiBidSize; i++) {
-            // first bid have the highest value and can't be extra bid
-            final String targetingBidderCode = targetingCode(bidder, bidderCodePrefix, i);
-            final BidInfo bidInfo = bidderImpIdBidInfos.get(i);
-
-            final TargetingInfo targetingInfo = TargetingInfo.builder()
-                    .isTargetingEnabled(targetingBidderCode != null)
-                    .isWinningBid(bidInfo.getRank() == 1)
-                    .isAddTargetBidderCode(targetingBidderCode != null && multiBidSize > 1)
-                    .bidderCode(targetingBidderCode)
-                    .seat(targetingCode(bidInfo.getSeat(), bidderCodePrefix, i))
-                    .build();
-
-            final BidInfo modifiedBidInfo = bidInfo.toBuilder().targetingInfo(targetingInfo).build();
-            result.add(modifiedBidInfo);
-        }
-
-        return result;
-    }
-
-    private static String targetingCode(String base, String prefix, int i) {
-        if (i == 0) {
-            return base;
-        }
-
-        return prefix != null ? prefix + (i + 1) : null;
-    }
-
     private ExtBidResponse toExtBidResponse(List<BidderResponseInfo> bidderResponseInfos,
                                             AuctionContext auctionContext,
                                             CacheServiceResult cacheResult,
@@ -1063,7 +950,8 @@ public class BidResponseCreator {
                                                  EventsContext eventsContext) {
 
         if (!cacheInfo.isDoCaching()) {
-            return Future.succeededFuture(CacheServiceResult.of(null, null, toMapBidsWithEmptyCacheIds(bidsToCache)));
+            return Future.succeededFuture(
+                    CacheServiceResult.of(null, null, BidInfoAssembler.toMapBidsWithEmptyCacheIds(bidsToCache)));
         }
 
         // do not submit non deals bids with zero price to prebid cache
@@ -1086,15 +974,6 @@ public class BidResponseCreator {
         return bid.getDealid() != null ? price.compareTo(BigDecimal.ZERO) >= 0 : price.compareTo(BigDecimal.ZERO) > 0;
     }
 
-    /**
-     * Creates a map with {@link Bid} as a key and null as a value.
-     */
-    private static Map<Bid, CacheInfo> toMapBidsWithEmptyCacheIds(Set<BidInfo> bids) {
-        return bids.stream()
-                .map(BidInfo::getBid)
-                .collect(Collectors.toMap(Function.identity(), ignored -> CacheInfo.empty()));
-    }
-
     /**
      * Adds bids with no cache id info.
      */
@@ -0,0 +1,179 @@
+package org.prebid.server.auction;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Tracks response time quantile of every bidder and derives bidder timeout from it.
+ * <p>
+ * Response times are recorded by wait-free HdrHistogram {@link Recorder} and quantile is computed over values
+ * recorded during the current and the previous time window. Computed quantile is reused for a second,
+ * so resolving timeout doesn't walk histogram on every bidder request.
+ * <p>
+ * Bidder timeout is its response time quantile plus headroom, it's known only after the configured number
+ * of responses is recorded. With per-account tracking, response times are tracked by account as well and
+ * account-level timeout is preferred when account has enough recorded responses for the bidder.
+ */
+public class BidderLatencyTracker {
+
+    private static final int SIGNIFICANT_DIGITS = 2;
+    private static final long QUANTILE_REFRESH_MILLIS = 1000L;
+    private static final int MAX_ACCOUNT_ENTRIES = 10_000;
+
+    private final double percentile;
+    private final long headroomMillis;
+    private final long minSamples;
+    private final long windowMillis;
+    private final boolean perAccount;
+    private final Clock clock;
+
+    private final Map<String, Latency> bidderLatencies;
+    private final Map<AccountBidder, Latency> accountBidderLatencies;
+
+    public BidderLatencyTracker(double percentile,
+                                long headroomMillis,
+                                long minSamples,
+                                long windowMillis,
+                                boolean perAccount,
+                                Clock clock) {
+
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile should be in range (0, 100], but was: " + percentile);
+        }
+        if (headroomMillis < 0 || minSamples < 1 || windowMillis <= 0) {
+            throw new IllegalArgumentException(
+                    "Headroom should be non negative, min samples and window should be positive: "
+                            + "headroom=%d, min-samples=%d, window=%d"
+                            .formatted(headroomMillis, minSamples, windowMillis));
+        }
+
+        this.percentile = percentile;
+        this.headroomMillis = headroomMillis;
+        this.minSamples = minSamples;
+        this.windowMillis = windowMillis;
+        this.perAccount = perAccount;
+        this.clock = Objects.requireNonNull(clock);
+
+        bidderLatencies = new ConcurrentHashMap<>();
+        accountBidderLatencies = perAccount ? createAccountBidderLatencies() : null;
+    }
+
+    private Map<AccountBidder, Latency> createAccountBidderLatencies() {
+        return Caffeine.newBuilder()
+                .maximumSize(MAX_ACCOUNT_ENTRIES)
+                .<AccountBidder, Latency>build()
+                .asMap();
+    }
+
+    public void record(String bidder, String accountId, long responseTime) {
+        final long now = clock.millis();
+        bidderLatencies.computeIfAbsent(bidder, key -> new Latency(now)).record(responseTime);
+        if (perAccount && accountId != null) {
+            accountBidderLatencies.computeIfAbsent(new AccountBidder(accountId, bidder), key -> new Latency(now))
+                    .record(responseTime);
+        }
+    }
+
+    /**
+     * Returns bidder timeout derived from its response time quantile or -1 if there are not enough recorded
+     * responses of the bidder yet.
+     */
+    public long timeout(String bidder, String accountId) {
+        final long now = clock.millis();
+        if (perAccount && accountId != null) {
+            final long accountQuantile =
+                    quantile(accountBidderLatencies.get(new AccountBidder(accountId, bidder)), now);
+            if (accountQuantile >= 0) {
+                return accountQuantile + headroomMillis;
+            }
+        }
+
+        final long quantile = quantile(bidderLatencies.get(bidder), now);
+        return quantile >= 0 ? quantile + headroomMillis : -1;
+    }
+
+    private static long quantile(Latency latency, long now) {
+        return latency != null ? latency.quantile(now) : -1;
+    }
+
+    private record AccountBidder(String accountId, String bidder) {
+    }
+
+    private class Latency {
+
+        private final Recorder recorder;
+        private final ReentrantLock lock;
+        private final Histogram windows;
+
+        private Histogram intervalHistogram;
+        private Histogram previousWindow;
+        private Histogram currentWindow;
+        private long currentWindowStart;
+
+        private volatile long nextRefresh;
+        private volatile long quantile;
+
+        Latency(long now) {
+            recorder = new Recorder(SIGNIFICANT_DIGITS);
+            lock = new ReentrantLock();
+
+            previousWindow = new Histogram(SIGNIFICANT_DIGITS);
+            currentWindow = new Histogram(SIGNIFICANT_DIGITS);
+            windows = new Histogram(SIGNIFICANT_DIGITS);
+            currentWindowStart = now;
+            nextRefresh = now;
+
+            quantile = -1;
+        }
+
+        void record(long responseTime) {
+            if (responseTime >= 0) {
+                recorder.recordValue(responseTime);
+            }
+        }
+
+        long quantile(long now) {
+            // quantile is refreshed by a single thread, others use the previous one meanwhile
+            if (now >= nextRefresh && lock.tryLock()) {
+                try {
+                    refresh(now);
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return quantile;
+        }
+
+        private void refresh(long now) {
+            final long sinceWindowStart = now - currentWindowStart;
+            if (sinceWindowStart >= 2 * windowMillis) {
+                previousWindow.reset();
+                currentWindow.reset();
+                currentWindowStart = now;
+            } else if (sinceWindowStart >= windowMillis) {
+                final Histogram expiredWindow = previousWindow;
+                previousWindow = currentWindow;
+                currentWindow = expiredWindow;
+                currentWindow.reset();
+                currentWindowStart += windowMillis;
+            }
+
+            intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+            currentWindow.add(intervalHistogram);
+
+            windows.reset();
+            windows.add(previousWindow);
+            windows.add(currentWindow);
+
+            quantile = windows.getTotalCount() >= minSamples ? windows.getValueAtPercentile(percentile) : -1;
+            nextRefresh = now + QUANTILE_REFRESH_MILLIS;
+        }
+    }
+}
@@ -67,6 +67,7 @@ import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
 import org.prebid.server.hooks.v1.bidder.BidderRequestPayload;
 import org.prebid.server.hooks.v1.bidder.BidderResponsePayload;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.JsonFragmentCache;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.log.CriteriaLogManager;
 import org.prebid.server.log.HttpInteractionLogger;
@@ -108,6 +109,7 @@ import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -116,6 +118,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class ExchangeService {
@@ -134,6 +137,9 @@ public class ExchangeService {
     private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
     private static final Set<String> BIDDER_FIELDS_EXCEPTION_LIST = Set.of(
             "adunitcode", "storedrequest", "options", "is_rewarded_inventory");
+    private static final Set<BidderError.Type> FAILED_CALL_ERROR_TYPES = EnumSet.of(
+            BidderError.Type.timeout, BidderError.Type.failed_to_request_bids, BidderError.Type.bad_server_response);
+    private static final Set<BidderError.Type> TIMED_OUT_CALL_ERROR_TYPES = EnumSet.of(BidderError.Type.timeout);
 
     private final double logSamplingRate;
     private final BidderCatalog bidderCatalog;
@@ -161,6 +167,7 @@ public class ExchangeService {
     private final JacksonMapper mapper;
     private final CriteriaLogManager criteriaLogManager;
     private final boolean enabledStrictAppSiteDoohValidation;
+    private final boolean fragmentCacheEnabled;
 
     public ExchangeService(double logSamplingRate,
                            BidderCatalog bidderCatalog,
@@ -187,7 +194,8 @@ public class ExchangeService {
                            Clock clock,
                            JacksonMapper mapper,
                            CriteriaLogManager criteriaLogManager,
-                           boolean enabledStrictAppSiteDoohValidation) {
+                           boolean enabledStrictAppSiteDoohValidation,
+                           boolean fragmentCacheEnabled) {
 
         this.logSamplingRate = logSamplingRate;
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
@@ -215,6 +223,7 @@ public class ExchangeService {
         this.mapper = Objects.requireNonNull(mapper);
         this.criteriaLogManager = Objects.requireNonNull(criteriaLogManager);
         this.enabledStrictAppSiteDoohValidation = enabledStrictAppSiteDoohValidation;
+        this.fragmentCacheEnabled = fragmentCacheEnabled;
     }
 
     public Future<AuctionContext> holdAuction(AuctionContext context) {
@@ -259,17 +268,8 @@ public class ExchangeService {
                                 .map(receivedContext::with))
 
                 .map(context -> updateRequestMetric(context, uidsCookie, aliases, account, requestTypeMetric))
-                .compose(context -> Future.join(
-                                context.getAuctionParticipations().stream()
-                                        .map(auctionParticipation -> processAndRequestBids(
-                                                context,
-                                                auctionParticipation.getBidderRequest(),
-                                                timeout,
-                                                aliases)
-                                                .map(auctionParticipation::with))
-                                        .toList())
+                .compose(context -> processAndRequestAllBids(context, timeout, aliases)
                         // send all the requests to the bidders and gathers results
-                        .map(CompositeFuture::<AuctionParticipation>list)
                         .map(storedResponseProcessor::updateStoredBidResponse)
                         .map(auctionParticipations -> storedResponseProcessor.mergeWithBidderResponses(
                                 auctionParticipations,
@@ -1128,10 +1128,37 @@ public class ExchangeService {
         return context;
     }
 
+    private Future<List<AuctionParticipation>> processAndRequestAllBids(AuctionContext context,
+                                                                        Timeout timeout,
+                                                                        BidderAliases aliases) {
+
+        final JsonFragmentCache fragmentCache = fragmentCacheEnabled ? new JsonFragmentCache() : null;
+
+        return Future.join(context.getAuctionParticipations().stream()
+                        .map(auctionParticipation -> processAndRequestBids(
+                                context,
+                                auctionParticipation.getBidderRequest(),
+                                timeout,
+                                aliases,
+                                fragmentCache)
+                                .map(auctionParticipation::with))
+                        .toList())
+                .map(CompositeFuture::<AuctionParticipation>list)
+                .onComplete(ignored -> releaseFragmentCache(fragmentCache));
+    }
+
+    private void releaseFragmentCache(JsonFragmentCache fragmentCache) {
+        if (fragmentCache != null) {
+            metrics.updateJsonFragmentCacheMetrics(fragmentCache.getHits(), fragmentCache.getMisses());
+            fragmentCache.clear();
+        }
+    }
+
     private Future<BidderResponse> processAndRequestBids(AuctionContext auctionContext,
                                                          BidderRequest bidderRequest,
                                                          Timeout timeout,
-                                                         BidderAliases aliases) {
+                                                         BidderAliases aliases,
+                                                         JsonFragmentCache fragmentCache) {
 
         final String bidderName = bidderRequest.getBidder();
         final MediaTypeProcessingResult mediaTypeProcessingResult = mediaTypeProcessor.process(
@@ -1155,7 +1182,7 @@ public class ExchangeService {
         return Future.succeededFuture(mediaTypeProcessingResult.getBidRequest())
                 .map(bidderRequest::with)
                 .compose(modifiedBidderRequest -> invokeHooksAndRequestBids(
-                        auctionContext, modifiedBidderRequest, timeout, aliases))
+                        auctionContext, modifiedBidderRequest, timeout, aliases, fragmentCache))
                 .map(bidderResponse -> bidderResponse.with(
                         addWarnings(bidderResponse.getSeatBid(), mediaTypeProcessingErrors)));
     }
@@ -1199,11 +1226,12 @@ public class ExchangeService {
     private Future<BidderResponse> invokeHooksAndRequestBids(AuctionContext auctionContext,
                                                              BidderRequest bidderRequest,
                                                              Timeout timeout,
-                                                             BidderAliases aliases) {
+                                                             BidderAliases aliases,
+                                                             JsonFragmentCache fragmentCache) {
 
         return hookStageExecutor.executeBidderRequestStage(bidderRequest, auctionContext)
                 .compose(stageResult -> requestBidsOrRejectBidder(
-                        stageResult, bidderRequest, auctionContext, timeout, aliases))
+                        stageResult, bidderRequest, auctionContext, timeout, aliases, fragmentCache))
                 .compose(bidderResponse -> hookStageExecutor.executeRawBidderResponseStage(
                                 bidderResponse, auctionContext)
                         .map(stageResult -> rejectBidderResponseOrProceed(stageResult, bidderResponse)));
@@ -1214,7 +1242,8 @@ public class ExchangeService {
             BidderRequest bidderRequest,
             AuctionContext auctionContext,
             Timeout timeout,
-            BidderAliases aliases) {
+            BidderAliases aliases,
+            JsonFragmentCache fragmentCache) {
 
         httpInteractionLogger.maybeLogBidderRequest(auctionContext, bidderRequest);
         if (hookStageResult.isShouldReject()) {
@@ -1228,7 +1257,7 @@ public class ExchangeService {
         final BidderRequest enrichedBidderRequest = bidderRequest.toBuilder()
                 .bidRequest(hookStageResult.getPayload().bidRequest())
                 .build();
-        return requestBids(enrichedBidderRequest, auctionContext, timeout, aliases);
+        return requestBids(enrichedBidderRequest, auctionContext, timeout, aliases, fragmentCache);
     }
 
     /**
@@ -1238,7 +1267,8 @@ public class ExchangeService {
     private Future<BidderResponse> requestBids(BidderRequest bidderRequest,
                                                AuctionContext auctionContext,
                                                Timeout timeout,
-                                               BidderAliases aliases) {
+                                               BidderAliases aliases,
+                                               JsonFragmentCache fragmentCache) {
 
         final CaseInsensitiveMultiMap requestHeaders = auctionContext.getHttpRequest().getHeaders();
         final String bidderName = bidderRequest.getBidder();
@@ -1247,27 +1277,74 @@ public class ExchangeService {
         final long bidderTmaxDeductionMs = bidderCatalog.bidderInfoByName(resolvedBidderName).getTmaxDeductionMs();
         final BidRejectionTracker bidRejectionTracker = auctionContext.getBidRejectionTrackers().get(bidderName);
 
+        final String accountId = auctionContext.getAccount().getId();
+
         final TimeoutContext timeoutContext = auctionContext.getTimeoutContext();
         final long auctionStartTime = timeoutContext.getStartTime();
         final int adjustmentFactor = timeoutContext.getAdjustmentFactor();
         final long bidderRequestStartTime = clock.millis();
+        final long bidderTimeout = adjustTimeout(
+                timeout, auctionStartTime, bidderRequestStartTime, resolvedBidderName, accountId);
 
         return Future.succeededFuture(bidderRequest.getBidRequest())
                 .map(bidRequest -> adjustTmax(
-                        bidRequest, auctionStartTime, adjustmentFactor, bidderRequestStartTime, bidderTmaxDeductionMs))
+                        bidRequest,
+                        auctionStartTime,
+                        adjustmentFactor,
+                        bidderRequestStartTime,
+                        bidderTmaxDeductionMs,
+                        resolvedBidderName,
+                        accountId))
                 .map(bidRequest -> ortbVersionConversionManager.convertFromAuctionSupportedVersion(
                         bidRequest, bidderRequest.getOrtbVersion()))
                 .map(bidderRequest::with)
-                .compose(convertedBidderRequest -> httpBidderRequester.requestBids(
-                        bidder,
-                        convertedBidderRequest,
-                        bidRejectionTracker,
-                        adjustTimeout(timeout, auctionStartTime, bidderRequestStartTime),
-                        requestHeaders,
-                        aliases,
-                        debugResolver.resolveDebugForBidder(auctionContext, resolvedBidderName)))
+                .compose(convertedBidderRequest -> requestBidsSharingFragments(
+                        fragmentCache,
+                        () -> httpBidderRequester.requestBids(
+                                bidder,
+                                convertedBidderRequest,
+                                bidRejectionTracker,
+                                timeoutFactory.create(bidderRequestStartTime, bidderTimeout),
+                                requestHeaders,
+                                aliases,
+                                debugResolver.resolveDebugForBidder(auctionContext, resolvedBidderName))))
                 .map(seatBid -> populateBidderCode(seatBid, bidderName, resolvedBidderName))
-                .map(seatBid -> BidderResponse.of(bidderName, seatBid, responseTime(bidderRequestStartTime)));
+                .map(seatBid -> toBidderResponse(
+                        bidderName, resolvedBidderName, accountId, seatBid, bidderRequestStartTime, bidderTimeout));
+    }
+
+    private BidderResponse toBidderResponse(String bidderName,
+                                            String resolvedBidderName,
+                                            String accountId,
+                                            BidderSeatBid seatBid,
+                                            long bidderRequestStartTime,
+                                            long bidderTimeout) {
+
+        final int responseTime = responseTime(bidderRequestStartTime);
+        // timed out call is recorded at its timeout, since bidder would respond not earlier than that,
+        // while other failed calls don't reflect bidder response time at all
+        if (hasFailedCall(seatBid, TIMED_OUT_CALL_ERROR_TYPES)) {
+            timeoutResolver.recordBidderResponseTime(resolvedBidderName, accountId, bidderTimeout);
+        } else if (!hasFailedCall(seatBid, FAILED_CALL_ERROR_TYPES)) {
+            timeoutResolver.recordBidderResponseTime(resolvedBidderName, accountId, responseTime);
+        }
+        return BidderResponse.of(bidderName, seatBid, responseTime);
+    }
+
+    private static boolean hasFailedCall(BidderSeatBid seatBid, Set<BidderError.Type> errorTypes) {
+        return seatBid.getErrors().stream()
+                .map(BidderError::getType)
+                .anyMatch(errorTypes::contains);
+    }
+
+    /**
+     * Bidders encode their requests synchronously, so making it within {@link JsonFragmentCache} of the auction
+     * allows to reuse JSON of request parts shared with other bidders of the same auction.
+     */
+    private static Future<BidderSeatBid> requestBidsSharingFragments(JsonFragmentCache fragmentCache,
+                                                                     Supplier<Future<BidderSeatBid>> bidsRequester) {
+
+        return fragmentCache != null ? fragmentCache.within(bidsRequester) : bidsRequester.get();
     }
 
     private BidderSeatBid populateBidderCode(BidderSeatBid seatBid, String bidderName, String resolvedBidderName) {
@@ -1307,21 +1384,31 @@ public class ExchangeService {
                                   long startTime,
                                   int adjustmentFactor,
                                   long currentTime,
-                                  long bidderTmaxDeductionMs) {
+                                  long bidderTmaxDeductionMs,
+                                  String bidder,
+                                  String accountId) {
 
         final long tmax = timeoutResolver.limitToMax(bidRequest.getTmax());
+        final long spentTime = currentTime - startTime;
+        // latency limits bidder call timeout, so request budget is limited by it before the bidder adjustments,
+        // which keeps bidder tmax below its call timeout by the same margin as without the limit
+        final long limitedTmax = timeoutResolver.limitByLatency(bidder, accountId, tmax - spentTime) + spentTime;
         final long adjustedTmax = timeoutResolver.adjustForBidder(
-                tmax, adjustmentFactor, currentTime - startTime, bidderTmaxDeductionMs);
+                limitedTmax, adjustmentFactor, spentTime, bidderTmaxDeductionMs);
 
         return tmax != adjustedTmax
                 ? bidRequest.toBuilder().tmax(adjustedTmax).build()
                 : bidRequest;
     }
 
-    private Timeout adjustTimeout(Timeout timeout, long startTime, long currentTime) {
+    private long adjustTimeout(Timeout timeout, long startTime, long currentTime, String bidder, String accountId) {
         final long adjustedTmax = timeoutResolver.adjustForRequest(
                 timeout.getDeadline() - startTime, currentTime - startTime);
-        return timeoutFactory.create(currentTime, adjustedTmax);
+        final long bidderTmax = timeoutResolver.limitByLatency(bidder, accountId, adjustedTmax);
+        if (bidderTmax < adjustedTmax) {
+            metrics.updateAdapterAdaptiveTimeoutMetrics(bidder, adjustedTmax - bidderTmax);
+        }
+        return bidderTmax;
     }
 
     private BidderResponse rejectBidderResponseOrProceed(HookStageExecutionResult<BidderResponsePayload> stageResult,
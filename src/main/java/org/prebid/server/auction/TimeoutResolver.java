@@ -5,13 +5,23 @@ public class TimeoutResolver {
     private final long minTimeout;
     private final long maxTimeout;
     private final long upstreamResponseTime;
+    private final BidderLatencyTracker bidderLatencyTracker;
 
     public TimeoutResolver(long minTimeout, long maxTimeout, long upstreamResponseTime) {
+        this(minTimeout, maxTimeout, upstreamResponseTime, null);
+    }
+
+    public TimeoutResolver(long minTimeout,
+                           long maxTimeout,
+                           long upstreamResponseTime,
+                           BidderLatencyTracker bidderLatencyTracker) {
+
         validateTimeouts(minTimeout, maxTimeout);
 
         this.minTimeout = minTimeout;
         this.maxTimeout = maxTimeout;
         this.upstreamResponseTime = upstreamResponseTime;
+        this.bidderLatencyTracker = bidderLatencyTracker;
     }
 
     private static void validateTimeouts(long minTimeout, long maxTimeout) {
@@ -40,6 +50,24 @@ public class TimeoutResolver {
         return adjustWithFactor(timeout, 1.0, spentTime, 0L);
     }
 
+    /**
+     * Limits bidder timeout by the one derived from bidder response times, if adaptive bidder timeouts are enabled
+     * and enough responses of the bidder are recorded. Returned timeout is not less than min timeout,
+     * unless the given one is.
+     */
+    public long limitByLatency(String bidder, String accountId, long timeout) {
+        final long latencyTimeout = bidderLatencyTracker != null ? bidderLatencyTracker.timeout(bidder, accountId) : -1;
+        return latencyTimeout >= 0
+                ? Math.min(timeout, limitToMin(latencyTimeout))
+                : timeout;
+    }
+
+    public void recordBidderResponseTime(String bidder, String accountId, long responseTime) {
+        if (bidderLatencyTracker != null) {
+            bidderLatencyTracker.record(bidder, accountId, responseTime);
+        }
+    }
+
     private long adjustWithFactor(long timeout, double adjustFactor, long spentTime, long deductionTime) {
         return limitToMin((long) (timeout * adjustFactor) - spentTime - deductionTime - upstreamResponseTime);
     }
@@ -11,6 +11,7 @@ import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
 import org.prebid.server.auction.gpp.model.privacy.UspV1Privacy;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.model.UpdateResult;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 
@@ -21,9 +22,11 @@ import java.util.Optional;
 public class AuctionGppService {
 
     private final GppService gppService;
+    private final DecodedConsentCache decodedConsentCache;
 
-    public AuctionGppService(GppService gppService) {
+    public AuctionGppService(GppService gppService, DecodedConsentCache decodedConsentCache) {
         this.gppService = Objects.requireNonNull(gppService);
+        this.decodedConsentCache = Objects.requireNonNull(decodedConsentCache);
     }
 
     public Future<GppContext> contextFrom(AuctionContext auctionContext) {
@@ -35,7 +38,7 @@ public class AuctionGppService {
         return Future.succeededFuture(gppContextWrapper.getGppContext());
     }
 
-    private static GppContextWrapper contextFrom(BidRequest bidRequest) {
+    private GppContextWrapper contextFrom(BidRequest bidRequest) {
         final Regs regs = bidRequest.getRegs();
 
         final String gpp = regs != null ? regs.getGpp() : null;
@@ -46,7 +49,7 @@ public class AuctionGppService {
 
         final String usPrivacy = usPrivacy(regs);
 
-        return GppContextCreator.from(gpp, gppSid)
+        return GppContextCreator.from(gpp, gppSid, decodedConsentCache)
                 .with(TcfEuV2Privacy.of(gdpr, consent))
                 .with(UspV1Privacy.of(usPrivacy))
                 .build();
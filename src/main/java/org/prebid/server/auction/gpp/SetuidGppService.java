@@ -8,6 +8,7 @@ import org.prebid.server.auction.gpp.model.GppContextWrapper;
 import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
 import org.prebid.server.auction.model.SetuidContext;
 import org.prebid.server.model.UpdateResult;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.privacy.model.Privacy;
 import org.prebid.server.privacy.model.PrivacyContext;
 
@@ -17,9 +18,11 @@ import java.util.Objects;
 public class SetuidGppService {
 
     private final GppService gppService;
+    private final DecodedConsentCache decodedConsentCache;
 
-    public SetuidGppService(GppService gppService) {
+    public SetuidGppService(GppService gppService, DecodedConsentCache decodedConsentCache) {
         this.gppService = Objects.requireNonNull(gppService);
+        this.decodedConsentCache = Objects.requireNonNull(decodedConsentCache);
     }
 
     public Future<GppContext> contextFrom(SetuidContext setuidContext) {
@@ -29,7 +32,7 @@ public class SetuidGppService {
         return Future.succeededFuture(gppContextWrapper.getGppContext());
     }
 
-    private static GppContextWrapper contextFrom(PrivacyContext privacyContext) {
+    private GppContextWrapper contextFrom(PrivacyContext privacyContext) {
         final Privacy privacy = privacyContext.getPrivacy();
 
         final String gpp = privacy.getGpp();
@@ -38,7 +41,7 @@ public class SetuidGppService {
         final Integer gdpr = toInt(privacy.getGdpr());
         final String consent = privacy.getConsentString();
 
-        return GppContextCreator.from(gpp, gppSid)
+        return GppContextCreator.from(gpp, gppSid, decodedConsentCache)
                 .with(TcfEuV2Privacy.of(gdpr, consent))
                 .build();
     }
@@ -6,6 +6,7 @@ import org.prebid.server.auction.gpp.model.privacy.Privacy;
 import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
 import org.prebid.server.auction.gpp.model.privacy.UspV1Privacy;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.privacy.DecodedConsentCache;
 
 class GppContextUtils {
 
@@ -13,12 +14,18 @@ class GppContextUtils {
     }
 
     static GppModel gppModel(String gpp) {
+        return gppModel(gpp, null);
+    }
+
+    static GppModel gppModel(String gpp, DecodedConsentCache decodedConsentCache) {
         if (StringUtils.isEmpty(gpp)) {
             return null;
         }
 
         try {
-            return new GppModelWrapper(gpp);
+            return decodedConsentCache != null
+                    ? decodedConsentCache.decodeGpp(gpp, GppModelWrapper::new)
+                    : new GppModelWrapper(gpp);
         } catch (Exception e) {
             throw new PreBidException("GPP string invalid: " + e.getMessage());
         }
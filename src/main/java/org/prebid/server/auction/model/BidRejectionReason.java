@@ -63,6 +63,11 @@ public enum BidRejectionReason {
      */
     REQUEST_BLOCKED_UNACCEPTABLE_CURRENCY(205),
 
+    /**
+     * The bidder is not called because its concurrent requests limit is reached.
+     */
+    REQUEST_BLOCKED_CONCURRENCY_LIMIT(206),
+
     /**
      * The bidder is called, but its response is rejected.
      * Applied if any other RESPONSE_REJECTED reason is not recognized.
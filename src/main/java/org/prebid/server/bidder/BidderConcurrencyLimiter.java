@@ -0,0 +1,131 @@
+package org.prebid.server.bidder;
+
+import org.prebid.server.metric.Metrics;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits number of concurrent HTTP requests to every bidder with AIMD (additive increase, multiplicative decrease)
+ * algorithm, so requests to a degraded bidder are rejected early instead of piling up until circuit breaker opens.
+ * <p>
+ * Limit of the bidder is increased by one on every completed request sent while at least half of the limit
+ * was in use and multiplied by backoff ratio on every request showing the bidder is overloaded: timed out ones,
+ * those failed to connect to the bidder and those answered with HTTP 429 or 503.
+ */
+public class BidderConcurrencyLimiter {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Metrics metrics;
+
+    private final Map<String, Limit> limits;
+
+    public BidderConcurrencyLimiter(int initialLimit,
+                                    int minLimit,
+                                    int maxLimit,
+                                    double backoffRatio,
+                                    Metrics metrics) {
+
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "Concurrency limits should satisfy 1 <= min <= initial <= max, but were: min=%d, initial=%d, max=%d"
+                            .formatted(minLimit, initialLimit, maxLimit));
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException(
+                    "Backoff ratio should be in range (0, 1), but was: " + backoffRatio);
+        }
+
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.metrics = Objects.requireNonNull(metrics);
+
+        limits = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns permit to send request to the bidder or null if the bidder concurrency limit is reached.
+     * Acquired permit should be released once request is completed.
+     */
+    public Permit tryAcquire(String bidder) {
+        Limit limit = limits.get(bidder);
+        if (limit == null) {
+            limit = limits.computeIfAbsent(bidder, this::createLimit);
+        }
+
+        final int inFlight = limit.tryAcquire();
+        if (inFlight < 0) {
+            metrics.updateAdapterConcurrencyRejectedMetric(bidder);
+            return null;
+        }
+
+        return new Permit(limit, inFlight);
+    }
+
+    private Limit createLimit(String bidder) {
+        final Limit limit = new Limit(initialLimit);
+        metrics.createAdapterConcurrencyGauges(bidder, () -> limit.limit, limit.inFlight::get);
+        return limit;
+    }
+
+    public final class Permit {
+
+        private final Limit limit;
+        private final int inFlight;
+
+        private Permit(Limit limit, int inFlight) {
+            this.limit = limit;
+            this.inFlight = inFlight;
+        }
+
+        /**
+         * Releases permit, adjusting limit according to the outcome of the request.
+         */
+        public void release(boolean overloaded) {
+            limit.inFlight.decrementAndGet();
+            limit.update(inFlight, overloaded);
+        }
+    }
+
+    private class Limit {
+
+        private final AtomicInteger inFlight;
+        private volatile int limit;
+
+        Limit(int limit) {
+            this.inFlight = new AtomicInteger();
+            this.limit = limit;
+        }
+
+        /**
+         * Returns number of requests in flight before this one or -1 if limit is reached.
+         */
+        int tryAcquire() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= limit) {
+                    return -1;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+
+            return current;
+        }
+
+        synchronized void update(int inFlightOnAcquire, boolean overloaded) {
+            if (overloaded) {
+                limit = Math.max(minLimit, (int) (limit * backoffRatio));
+            } else if (inFlightOnAcquire * 2 >= limit) {
+                // increase limit only when it was really needed, otherwise it grows unbounded under low load
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package org.prebid.server.bidder;
+
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+/**
+ * Resolves {@link HttpClient} requests to the bidder should be sent with.
+ */
+@FunctionalInterface
+public interface BidderHttpClientProvider {
+
+    HttpClient httpClient(String bidder);
+}
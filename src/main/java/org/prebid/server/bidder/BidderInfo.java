@@ -2,11 +2,15 @@ package org.prebid.server.bidder;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Value;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.versionconverter.OrtbVersion;
 import org.prebid.server.spring.config.bidder.model.CompressionType;
 import org.prebid.server.spring.config.bidder.model.MediaType;
 
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.util.List;
 
 @Value(staticConstructor = "of")
@@ -42,6 +46,8 @@ public class BidderInfo {
 
     long tmaxDeductionMs;
 
+    ConnectionPool connectionPool;
+
     public static BidderInfo create(boolean enabled,
                                     OrtbVersion ortbVersion,
                                     boolean debugAllowed,
@@ -58,7 +64,8 @@ public class BidderInfo {
                                     boolean modifyingVastXmlAllowed,
                                     CompressionType compressionType,
                                     org.prebid.server.spring.config.bidder.model.Ortb ortb,
-                                    long tmaxDeductionMs) {
+                                    long tmaxDeductionMs,
+                                    org.prebid.server.spring.config.bidder.model.ConnectionPool connectionPool) {
 
         return of(
                 enabled,
@@ -78,13 +85,48 @@ public class BidderInfo {
                 modifyingVastXmlAllowed,
                 compressionType,
                 Ortb.of(ortb.getMultiFormatSupported()),
-                tmaxDeductionMs);
+                tmaxDeductionMs,
+                connectionPool(connectionPool, endpoint));
     }
 
     private static PlatformInfo platformInfo(List<MediaType> mediaTypes) {
         return mediaTypes != null ? new PlatformInfo(mediaTypes) : null;
     }
 
+    private static ConnectionPool connectionPool(
+            org.prebid.server.spring.config.bidder.model.ConnectionPool connectionPool, String endpoint) {
+
+        if (connectionPool == null) {
+            return null;
+        }
+
+        return ConnectionPool.of(
+                connectionPool.getMaxSize(),
+                connectionPool.getKeepAliveTimeoutSeconds(),
+                BooleanUtils.isTrue(connectionPool.getHttp2()),
+                connectionPool.getHttp2MultiplexingLimit(),
+                ObjectUtils.defaultIfNull(connectionPool.getWarmUpConnections(), 0),
+                warmUpUrl(endpoint));
+    }
+
+    /**
+     * Returns root URL of bidder endpoint host or null if endpoint host is resolved per request.
+     */
+    private static String warmUpUrl(String endpoint) {
+        if (endpoint == null || endpoint.contains("{{")) {
+            return null;
+        }
+
+        try {
+            final URI uri = URI.create(endpoint);
+            return uri.getScheme() != null && uri.getHost() != null
+                    ? new URI(uri.getScheme(), null, uri.getHost(), uri.getPort(), "/", null, null).toString()
+                    : null;
+        } catch (IllegalArgumentException | URISyntaxException e) {
+            return null;
+        }
+    }
+
     @Value
     public static class MaintainerInfo {
 
@@ -125,6 +167,22 @@ public class BidderInfo {
         int vendorId;
     }
 
+    @Value(staticConstructor = "of")
+    public static class ConnectionPool {
+
+        int maxSize;
+
+        Integer keepAliveTimeoutSeconds;
+
+        boolean http2;
+
+        Integer http2MultiplexingLimit;
+
+        int warmUpConnections;
+
+        String warmUpUrl;
+    }
+
     @Value(staticConstructor = "of")
     public static class Ortb {
 
@@ -4,6 +4,7 @@ import com.iab.openrtb.request.BidRequest;
 import io.netty.channel.ConnectTimeoutException;
 import io.netty.handler.codec.http.HttpHeaderValues;
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
 import org.apache.commons.collections4.CollectionUtils;
@@ -38,6 +39,7 @@ import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.net.ConnectException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -65,7 +67,12 @@ public class HttpBidderRequester {
     private static final Logger logger = LoggerFactory.getLogger(HttpBidderRequester.class);
     private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
 
-    private final HttpClient httpClient;
+    // marks calls not sent due to bidder concurrency limit, so they are told apart from other failed ones
+    private static final BidderError CONCURRENCY_LIMIT_ERROR = BidderError.failedToRequestBids(
+            "Request was not sent: concurrent requests limit of the bidder is reached");
+
+    private final BidderHttpClientProvider httpClientProvider;
+    private final BidderConcurrencyLimiter concurrencyLimiter;
     private final BidderRequestCompletionTrackerFactory completionTrackerFactory;
     private final BidderErrorNotifier bidderErrorNotifier;
     private final HttpBidderRequestEnricher requestEnricher;
@@ -79,7 +86,26 @@ public class HttpBidderRequester {
                                JacksonMapper mapper,
                                double logSamplingRate) {
 
-        this.httpClient = Objects.requireNonNull(httpClient);
+        this(
+                sharedHttpClientProvider(Objects.requireNonNull(httpClient)),
+                null,
+                completionTrackerFactory,
+                bidderErrorNotifier,
+                requestEnricher,
+                mapper,
+                logSamplingRate);
+    }
+
+    public HttpBidderRequester(BidderHttpClientProvider httpClientProvider,
+                               BidderConcurrencyLimiter concurrencyLimiter,
+                               BidderRequestCompletionTrackerFactory completionTrackerFactory,
+                               BidderErrorNotifier bidderErrorNotifier,
+                               HttpBidderRequestEnricher requestEnricher,
+                               JacksonMapper mapper,
+                               double logSamplingRate) {
+
+        this.httpClientProvider = Objects.requireNonNull(httpClientProvider);
+        this.concurrencyLimiter = concurrencyLimiter;
         this.completionTrackerFactory = completionTrackerFactoryOrFallback(completionTrackerFactory);
         this.bidderErrorNotifier = Objects.requireNonNull(bidderErrorNotifier);
         this.requestEnricher = Objects.requireNonNull(requestEnricher);
@@ -87,6 +113,10 @@ public class HttpBidderRequester {
         this.logSamplingRate = logSamplingRate;
     }
 
+    private static BidderHttpClientProvider sharedHttpClientProvider(HttpClient httpClient) {
+        return bidder -> httpClient;
+    }
+
     /**
      * Executes given request to a given bidder.
      */
@@ -117,7 +147,7 @@ public class HttpBidderRequester {
         // stored response available only for single request interaction for the moment.
         final Stream<Future<BidderCall<T>>> httpCalls = isStoredResponse(httpRequests, storedResponse, bidderName)
                 ? Stream.of(makeStoredHttpCall(httpRequests.getFirst(), storedResponse))
-                : httpRequests.stream().map(httpRequest -> doRequest(httpRequest, timeout));
+                : requestAll(aliases.resolveBidder(bidderName), httpRequests, timeout);
 
         // httpCalls contains recovered and mapped to succeeded Future<BidderHttpCall> with error inside
         final BidderRequestCompletionTracker completionTracker = completionTrackerFactory.create(bidRequest);
@@ -196,21 +226,67 @@ public class HttpBidderRequester {
                 .build());
     }
 
+    private <T> Stream<Future<BidderCall<T>>> requestAll(String bidder,
+                                                          List<HttpRequest<T>> httpRequests,
+                                                          Timeout timeout) {
+
+        final HttpClient httpClient = httpClientProvider.httpClient(bidder);
+        return httpRequests.stream().map(httpRequest -> doRequest(bidder, httpRequest, httpClient, timeout));
+    }
+
     /**
      * Makes an HTTP request and returns {@link Future} that will be eventually completed with success or error result.
      */
-    private <T> Future<BidderCall<T>> doRequest(HttpRequest<T> httpRequest, Timeout timeout) {
+    private <T> Future<BidderCall<T>> doRequest(String bidder,
+                                                HttpRequest<T> httpRequest,
+                                                HttpClient httpClient,
+                                                Timeout timeout) {
+
         final long remainingTimeout = timeout.remaining();
         if (remainingTimeout <= 0) {
             return failResponse(new TimeoutException("Timeout has been exceeded"), httpRequest);
         }
 
-        return createRequest(httpRequest, remainingTimeout)
+        if (concurrencyLimiter == null) {
+            return sendRequest(httpRequest, createRequest(httpRequest, httpClient, remainingTimeout));
+        }
+
+        final BidderConcurrencyLimiter.Permit permit = concurrencyLimiter.tryAcquire(bidder);
+        if (permit == null) {
+            return Future.succeededFuture(BidderCall.failedHttp(httpRequest, CONCURRENCY_LIMIT_ERROR));
+        }
+
+        return sendRequest(httpRequest, createRequest(httpRequest, httpClient, remainingTimeout)
+                .onComplete(result -> permit.release(isOverloaded(result))));
+    }
+
+    private <T> Future<BidderCall<T>> sendRequest(HttpRequest<T> httpRequest,
+                                                  Future<HttpClientResponse> responseFuture) {
+
+        return responseFuture
                 .compose(response -> processResponse(response, httpRequest))
                 .recover(exception -> failResponse(exception, httpRequest));
     }
 
-    private <T> Future<HttpClientResponse> createRequest(HttpRequest<T> httpRequest, long remainingTimeout) {
+    /**
+     * Tells if the request outcome indicates that bidder is overloaded: request timed out or connection to bidder
+     * failed, or request was throttled.
+     */
+    private static boolean isOverloaded(AsyncResult<HttpClientResponse> result) {
+        if (result.failed()) {
+            final Throwable exception = result.cause();
+            return exception instanceof TimeoutException || exception instanceof ConnectException;
+        }
+
+        final int statusCode = result.result().getStatusCode();
+        return statusCode == HttpResponseStatus.SERVICE_UNAVAILABLE.code()
+                || statusCode == HttpResponseStatus.TOO_MANY_REQUESTS.code();
+    }
+
+    private static <T> Future<HttpClientResponse> createRequest(HttpRequest<T> httpRequest,
+                                                                HttpClient httpClient,
+                                                                long remainingTimeout) {
+
         final MultiMap requestHeaders = httpRequest.getHeaders();
         final byte[] preparedBody = compressIfRequired(httpRequest.getBody(), requestHeaders);
 
@@ -269,7 +345,8 @@ public class HttpBidderRequester {
                                                              HttpRequest<T> httpRequest) {
 
         final int statusCode = response.getStatusCode();
-        final HttpResponse httpResponse = HttpResponse.of(statusCode, response.getHeaders(), response.getBody());
+        final HttpResponse httpResponse = HttpResponse.ofBuffer(
+                statusCode, response.getHeaders(), response.getBodyBuffer());
         return Future.succeededFuture(BidderCall.succeededHttp(httpRequest, httpResponse, errorOrNull(statusCode)));
     }
 
@@ -420,6 +497,8 @@ public class HttpBidderRequester {
 
             if (callErrorType == BidderError.Type.timeout) {
                 bidRejectionTracker.rejectImps(requestedImpIds, BidRejectionReason.ERROR_TIMED_OUT);
+            } else if (CONCURRENCY_LIMIT_ERROR.equals(callError)) {
+                bidRejectionTracker.rejectImps(requestedImpIds, BidRejectionReason.REQUEST_BLOCKED_CONCURRENCY_LIMIT);
             } else {
                 bidRejectionTracker.rejectImps(requestedImpIds, BidRejectionReason.ERROR_GENERAL);
             }
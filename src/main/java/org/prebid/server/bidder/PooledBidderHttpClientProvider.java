@@ -0,0 +1,124 @@
+package org.prebid.server.bidder;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import org.apache.commons.collections4.map.CaseInsensitiveMap;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+/**
+ * Provides dedicated {@link HttpClient} with its own connection pool to every active bidder having connection pool
+ * configured and the shared one to others, so a slow bidder can't exhaust connections needed by the rest of bidders.
+ * <p>
+ * Dedicated connection pool is warmed up on creation by sending configured number of concurrent HEAD requests to
+ * bidder endpoint host, connections opened by them are kept alive by the pool for subsequent bid requests.
+ */
+public class PooledBidderHttpClientProvider implements BidderHttpClientProvider {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledBidderHttpClientProvider.class);
+
+    private static final String METRICS_NAME_PREFIX = "adapter.";
+
+    private final HttpClient defaultHttpClient;
+    private final Map<String, HttpClient> bidderHttpClients;
+
+    public PooledBidderHttpClientProvider(HttpClient defaultHttpClient,
+                                          BidderCatalog bidderCatalog,
+                                          BiFunction<String, BidderInfo.ConnectionPool, HttpClient> httpClientFactory,
+                                          long warmUpTimeoutMs) {
+
+        this.defaultHttpClient = Objects.requireNonNull(defaultHttpClient);
+        this.bidderHttpClients = createBidderHttpClients(
+                Objects.requireNonNull(bidderCatalog),
+                Objects.requireNonNull(httpClientFactory),
+                warmUpTimeoutMs);
+    }
+
+    private static Map<String, HttpClient> createBidderHttpClients(
+            BidderCatalog bidderCatalog,
+            BiFunction<String, BidderInfo.ConnectionPool, HttpClient> httpClientFactory,
+            long warmUpTimeoutMs) {
+
+        final Map<String, HttpClient> bidderHttpClients = new CaseInsensitiveMap<>();
+        for (String bidder : bidderCatalog.names()) {
+            final BidderInfo.ConnectionPool connectionPool = bidderCatalog.isActive(bidder)
+                    ? bidderCatalog.bidderInfoByName(bidder).getConnectionPool()
+                    : null;
+            if (connectionPool == null) {
+                continue;
+            }
+
+            final HttpClient httpClient = httpClientFactory.apply(bidder, connectionPool);
+            warmUp(bidder, httpClient, connectionPool, warmUpTimeoutMs);
+            bidderHttpClients.put(bidder, httpClient);
+        }
+
+        return bidderHttpClients;
+    }
+
+    private static void warmUp(String bidder,
+                               HttpClient httpClient,
+                               BidderInfo.ConnectionPool connectionPool,
+                               long timeoutMs) {
+
+        final String warmUpUrl = connectionPool.getWarmUpUrl();
+        if (warmUpUrl == null) {
+            return;
+        }
+
+        for (int i = 0; i < connectionPool.getWarmUpConnections(); i++) {
+            httpClient.request(HttpMethod.HEAD, warmUpUrl, null, (String) null, timeoutMs)
+                    .recover(error -> {
+                        logger.warn("Failed to warm up connection pool of bidder {}: {}", bidder, error.getMessage());
+                        return Future.succeededFuture();
+                    });
+        }
+    }
+
+    /**
+     * Returns options of the dedicated bidder connection pool based on the options of shared one.
+     */
+    public static HttpClientOptions httpClientOptions(HttpClientOptions defaultOptions,
+                                                      String bidder,
+                                                      BidderInfo.ConnectionPool connectionPool) {
+
+        final HttpClientOptions options = new HttpClientOptions(defaultOptions)
+                .setMaxPoolSize(connectionPool.getMaxSize())
+                .setKeepAlive(true)
+                .setMetricsName(METRICS_NAME_PREFIX + bidder);
+
+        final Integer keepAliveTimeoutSeconds = connectionPool.getKeepAliveTimeoutSeconds();
+        if (keepAliveTimeoutSeconds != null) {
+            options
+                    .setKeepAliveTimeout(keepAliveTimeoutSeconds)
+                    .setHttp2KeepAliveTimeout(keepAliveTimeoutSeconds);
+        }
+
+        if (connectionPool.isHttp2()) {
+            // falls back to HTTP/1.1 when endpoint doesn't negotiate HTTP/2 via ALPN or h2c upgrade
+            options
+                    .setProtocolVersion(HttpVersion.HTTP_2)
+                    .setUseAlpn(true)
+                    .setHttp2MaxPoolSize(connectionPool.getMaxSize());
+
+            final Integer multiplexingLimit = connectionPool.getHttp2MultiplexingLimit();
+            if (multiplexingLimit != null) {
+                options.setHttp2MultiplexingLimit(multiplexingLimit);
+            }
+        }
+
+        return options;
+    }
+
+    @Override
+    public HttpClient httpClient(String bidder) {
+        return bidderHttpClients.getOrDefault(bidder, defaultHttpClient);
+    }
+}
@@ -119,7 +119,8 @@ public class AdheseBidder implements Bidder<BidRequest> {
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse = mapper.decodeValue(
+                    httpCall.getResponse().getBodyBuffer(), BidResponse.class);
             final Optional<Bid> optionalBid = getBid(bidResponse);
 
             if (optionalBid.isEmpty()) {
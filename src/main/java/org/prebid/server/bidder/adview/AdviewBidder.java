@@ -137,7 +137,8 @@ public class AdviewBidder implements Bidder<BidRequest> {
     @Override
     public final Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse = mapper.decodeValue(
+                    httpCall.getResponse().getBodyBuffer(), BidResponse.class);
             final List<BidderError> errors = new ArrayList<>();
             return Result.of(extractBids(bidResponse, errors), errors);
         } catch (DecodeException | PreBidException e) {
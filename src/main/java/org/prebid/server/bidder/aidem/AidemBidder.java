@@ -69,7 +69,7 @@ public class AidemBidder implements Bidder<BidRequest> {
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         final BidResponse bidResponse;
         try {
-            bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            bidResponse = mapper.decodeValue(httpCall.getResponse().getBodyBuffer(), BidResponse.class);
         } catch (DecodeException e) {
             return Result.withError(BidderError.badServerResponse(e.getMessage()));
         }
@@ -54,7 +54,8 @@ public class BidTheatreBidder implements Bidder<BidRequest> {
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse = mapper.decodeValue(
+                    httpCall.getResponse().getBodyBuffer(), BidResponse.class);
             final List<BidderError> errors = new ArrayList<>();
             return Result.of(extractBids(bidResponse, errors), errors);
         } catch (DecodeException | PreBidException e) {
@@ -42,7 +42,8 @@ public class CointrafficBidder implements Bidder<BidRequest> {
     @Override
     public final Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse = mapper.decodeValue(
+                    httpCall.getResponse().getBodyBuffer(), BidResponse.class);
             final List<BidderError> errors = new ArrayList<>();
             return Result.of(extractBids(bidResponse), errors);
         } catch (DecodeException e) {
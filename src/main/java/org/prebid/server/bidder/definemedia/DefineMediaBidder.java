@@ -43,7 +43,8 @@ public class DefineMediaBidder implements Bidder<BidRequest> {
     @Override
     public Result<List<BidderBid>> makeBids(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         try {
-            final BidResponse bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            final BidResponse bidResponse = mapper.decodeValue(
+                    httpCall.getResponse().getBodyBuffer(), BidResponse.class);
             final List<BidderError> errors = new ArrayList<>();
             final List<BidderBid> bidderBids = extractBids(bidResponse, errors);
             return Result.of(bidderBids, errors);
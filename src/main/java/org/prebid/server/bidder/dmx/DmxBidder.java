@@ -295,7 +295,7 @@ public class DmxBidder implements Bidder<BidRequest> {
 
     private BidResponse decodeBodyToBidResponse(BidderCall<BidRequest> httpCall) {
         try {
-            return mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            return mapper.decodeValue(httpCall.getResponse().getBodyBuffer(), BidResponse.class);
         } catch (DecodeException e) {
             throw new PreBidException(e.getMessage(), e);
         }
@@ -59,7 +59,7 @@ public class MedianetBidder implements Bidder<BidRequest> {
     public final CompositeBidderResponse makeBidderResponse(BidderCall<BidRequest> httpCall, BidRequest bidRequest) {
         final MedianetBidResponse bidResponse;
         try {
-            bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), MedianetBidResponse.class);
+            bidResponse = mapper.decodeValue(httpCall.getResponse().getBodyBuffer(), MedianetBidResponse.class);
         } catch (DecodeException e) {
             return CompositeBidderResponse.withError(BidderError.badServerResponse(e.getMessage()));
         }
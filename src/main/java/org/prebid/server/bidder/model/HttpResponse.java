@@ -1,17 +1,53 @@
 package org.prebid.server.bidder.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Packages together information from the server's http response.
+ * <p>
+ * Bidders should prefer {@link #getBodyBuffer()} to parse response directly from bytes received from network,
+ * {@link #getBody()} decodes them to {@link String} on first call.
  */
-@Value(staticConstructor = "of")
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class HttpResponse {
 
     int statusCode;
 
     MultiMap headers;
 
-    String body;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String rawBody;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Buffer rawBodyBuffer;
+
+    @Getter(lazy = true)
+    String body = rawBodyBuffer != null ? rawBodyBuffer.toString(StandardCharsets.UTF_8) : rawBody;
+
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Buffer bodyBuffer = rawBody != null ? Buffer.buffer(rawBody) : rawBodyBuffer;
+
+    public static HttpResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpResponse(statusCode, headers, body, null);
+    }
+
+    public static HttpResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpResponse(statusCode, headers, null, body);
+    }
 }
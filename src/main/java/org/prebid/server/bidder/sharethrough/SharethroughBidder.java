@@ -209,7 +209,7 @@ public class SharethroughBidder implements Bidder<BidRequest> {
         final BidResponse bidResponse;
 
         try {
-            bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            bidResponse = mapper.decodeValue(httpCall.getResponse().getBodyBuffer(), BidResponse.class);
         } catch (DecodeException | PreBidException e) {
             return Result.withError(BidderError.badServerResponse(e.getMessage()));
         }
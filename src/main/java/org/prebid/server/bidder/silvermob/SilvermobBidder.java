@@ -133,7 +133,7 @@ public class SilvermobBidder implements Bidder<BidRequest> {
     private List<BidderBid> extractBids(BidderCall<BidRequest> httpCall) {
         final BidResponse bidResponse;
         try {
-            bidResponse = mapper.decodeValue(httpCall.getResponse().getBody(), BidResponse.class);
+            bidResponse = mapper.decodeValue(httpCall.getResponse().getBodyBuffer(), BidResponse.class);
         } catch (DecodeException e) {
             throw new PreBidException("Error unmarshalling server Response: " + e.getMessage());
         }
@@ -0,0 +1,77 @@
+package org.prebid.server.cookie;
+
+import org.prebid.server.cookie.model.UidWithExpiry;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map of uids by cookie family name, which ignores case of family names.
+ * <p>
+ * Entries are hashed by lower-cased family name, so lookups don't compare names char by char as tree map
+ * with {@link String#CASE_INSENSITIVE_ORDER} does. Like such tree map, it keeps family name it was first put with.
+ */
+class CaseInsensitiveUidsMap extends AbstractMap<String, UidWithExpiry> {
+
+    private final Map<String, Map.Entry<String, UidWithExpiry>> entries = new HashMap<>();
+    private final Set<Map.Entry<String, UidWithExpiry>> entrySet = new EntrySet();
+
+    @Override
+    public UidWithExpiry get(Object family) {
+        final Map.Entry<String, UidWithExpiry> entry = entries.get(normalize(family));
+        return entry != null ? entry.getValue() : null;
+    }
+
+    @Override
+    public boolean containsKey(Object family) {
+        return entries.containsKey(normalize(family));
+    }
+
+    @Override
+    public UidWithExpiry put(String family, UidWithExpiry uid) {
+        final String normalizedFamily = normalize(family);
+        final Map.Entry<String, UidWithExpiry> previous = entries.get(normalizedFamily);
+        final String entryFamily = previous != null ? previous.getKey() : family;
+
+        entries.put(normalizedFamily, new AbstractMap.SimpleImmutableEntry<>(entryFamily, uid));
+        return previous != null ? previous.getValue() : null;
+    }
+
+    @Override
+    public UidWithExpiry remove(Object family) {
+        final Map.Entry<String, UidWithExpiry> removed = entries.remove(normalize(family));
+        return removed != null ? removed.getValue() : null;
+    }
+
+    @Override
+    public void clear() {
+        entries.clear();
+    }
+
+    @Override
+    public Set<Map.Entry<String, UidWithExpiry>> entrySet() {
+        return entrySet;
+    }
+
+    private static String normalize(Object family) {
+        return family instanceof String familyName ? familyName.toLowerCase(Locale.ROOT) : null;
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<String, UidWithExpiry>> {
+
+        @Override
+        public Iterator<Map.Entry<String, UidWithExpiry>> iterator() {
+            return entries.values().iterator();
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package org.prebid.server.cookie;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.json.DecodeException;
+import org.prebid.server.json.JacksonMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.temporal.ChronoField;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * Reads and writes uids cookie value, which is base64 URL encoded JSON of {@link Uids}.
+ * <p>
+ * Reads JSON tokens and writes JSON bytes directly instead of binding {@link Uids} model, produces the same JSON
+ * as {@link JacksonMapper} does. Every uid can be encoded separately, so its size is known before cookie is built
+ * and encoded uids can be joined into cookie values without serializing them again.
+ */
+public class UidsCookieCodec {
+
+    private static final String UIDS_FIELD = "tempUIDs";
+    private static final String UID_FIELD = "uid";
+    private static final String EXPIRES_FIELD = "expires";
+
+    private static final byte[] UIDS_START = "{\"tempUIDs\":{".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OPTOUT_TRUE = "},\"optout\":true}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] OPTOUT_FALSE = "},\"optout\":false}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UIDS_END = "}}".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] FAMILY_END = "\":{".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] UID_START = "\"uid\":\"".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] EXPIRES_START = "\"expires\":\"".getBytes(StandardCharsets.UTF_8);
+
+    private static final JsonStringEncoder STRING_ENCODER = JsonStringEncoder.getInstance();
+
+    // the same format as ZonedDateTimeModule uses for expiration dates of uids
+    private static final DateTimeFormatter EXPIRES_FORMATTER = new DateTimeFormatterBuilder()
+            .appendPattern("yyyy-MM-dd'T'HH:mm:ss")
+            .appendFraction(ChronoField.NANO_OF_SECOND, 0, 9, true)
+            .appendPattern("XXX")
+            .toFormatter();
+
+    private final JsonFactory jsonFactory;
+
+    public UidsCookieCodec(JacksonMapper mapper) {
+        jsonFactory = Objects.requireNonNull(mapper).mapper().getFactory();
+    }
+
+    /**
+     * Decodes uids cookie value and passes every uid found in it to the given consumer.
+     * <p>
+     * Throws {@link IllegalArgumentException} if value is not base64 encoded
+     * and {@link DecodeException} if it is not a valid uids JSON.
+     */
+    public void decode(String value, BiConsumer<String, UidWithExpiry> uidConsumer) {
+        final byte[] json = Base64.getUrlDecoder().decode(value);
+
+        try (JsonParser parser = jsonFactory.createParser(json)) {
+            final JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.VALUE_NULL) {
+                return;
+            }
+            requireObject(token);
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String field = parser.currentName();
+                final JsonToken valueToken = parser.nextToken();
+                if (UIDS_FIELD.equals(field) && valueToken != JsonToken.VALUE_NULL) {
+                    requireObject(valueToken);
+                    decodeUids(parser, uidConsumer);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        } catch (IOException | DateTimeException e) {
+            throw new DecodeException("Failed to decode uids cookie: " + e.getMessage(), e);
+        }
+    }
+
+    private static void decodeUids(JsonParser parser, BiConsumer<String, UidWithExpiry> uidConsumer)
+            throws IOException {
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String family = parser.currentName();
+            final JsonToken token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+            requireObject(token);
+            uidConsumer.accept(family, decodeUid(parser));
+        }
+    }
+
+    private static UidWithExpiry decodeUid(JsonParser parser) throws IOException {
+        String uid = null;
+        ZonedDateTime expires = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String field = parser.currentName();
+            final JsonToken token = parser.nextToken();
+            if (UID_FIELD.equals(field)) {
+                requireScalar(token);
+                uid = parser.getValueAsString();
+            } else if (EXPIRES_FIELD.equals(field)) {
+                requireScalar(token);
+                expires = token != JsonToken.VALUE_NULL ? parseExpires(parser.getText()) : null;
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return new UidWithExpiry(uid, expires);
+    }
+
+    /**
+     * Parses expiration date written by {@link #EXPIRES_FORMATTER} without resolving its fields by formatter,
+     * other dates, e.g. with years of more than 4 digits, are left to the formatter.
+     */
+    private static ZonedDateTime parseExpires(String value) {
+        final int length = value.length();
+        if (length < 20 || value.charAt(4) != '-' || value.charAt(7) != '-' || value.charAt(10) != 'T'
+                || value.charAt(13) != ':' || value.charAt(16) != ':') {
+
+            return ZonedDateTime.parse(value, EXPIRES_FORMATTER);
+        }
+
+        int position = 19;
+        int nanos = 0;
+        if (value.charAt(position) == '.') {
+            final int fractionStart = ++position;
+            while (position < length && position - fractionStart < 9 && isDigit(value.charAt(position))) {
+                nanos = nanos * 10 + value.charAt(position++) - '0';
+            }
+            for (int digits = position - fractionStart; digits < 9; digits++) {
+                nanos *= 10;
+            }
+        }
+
+        final ZoneOffset offset = parseOffset(value, position);
+        final int year = parseDigits(value, 0, 4);
+        final int month = parseDigits(value, 5, 2);
+        final int day = parseDigits(value, 8, 2);
+        final int hour = parseDigits(value, 11, 2);
+        final int minute = parseDigits(value, 14, 2);
+        final int second = parseDigits(value, 17, 2);
+        if (offset == null || year < 0 || month < 0 || day < 0 || hour < 0 || minute < 0 || second < 0) {
+            return ZonedDateTime.parse(value, EXPIRES_FORMATTER);
+        }
+
+        return ZonedDateTime.of(year, month, day, hour, minute, second, nanos, offset);
+    }
+
+    private static ZoneOffset parseOffset(String value, int position) {
+        final int length = value.length();
+        if (position >= length) {
+            return null;
+        }
+
+        final char sign = value.charAt(position);
+        if (sign == 'Z' && position + 1 == length) {
+            return ZoneOffset.UTC;
+        }
+        if ((sign != '+' && sign != '-') || position + 6 != length || value.charAt(position + 3) != ':') {
+            return null;
+        }
+
+        final int hours = parseDigits(value, position + 1, 2);
+        final int minutes = parseDigits(value, position + 4, 2);
+        if (hours < 0 || minutes < 0) {
+            return null;
+        }
+        return sign == '+'
+                ? ZoneOffset.ofHoursMinutes(hours, minutes)
+                : ZoneOffset.ofHoursMinutes(-hours, -minutes);
+    }
+
+    private static int parseDigits(String value, int start, int count) {
+        int result = 0;
+        for (int i = start; i < start + count; i++) {
+            final char digit = value.charAt(i);
+            if (!isDigit(digit)) {
+                return -1;
+            }
+            result = result * 10 + digit - '0';
+        }
+        return result;
+    }
+
+    private static boolean isDigit(char value) {
+        return value >= '0' && value <= '9';
+    }
+
+    private static void requireObject(JsonToken token) {
+        if (token != JsonToken.START_OBJECT) {
+            throw new DecodeException("Expected JSON object in uids cookie, but was: " + token);
+        }
+    }
+
+    private static void requireScalar(JsonToken token) {
+        if (!token.isScalarValue()) {
+            throw new DecodeException("Expected JSON scalar in uids cookie, but was: " + token);
+        }
+    }
+
+    /**
+     * Returns JSON of single uid as member of uids object, which is ready to be joined by
+     * {@link #encode(Collection, Boolean)}.
+     */
+    public byte[] encodeUid(String family, UidWithExpiry uid) {
+        final byte[] familyBytes = STRING_ENCODER.quoteAsUTF8(family);
+        final byte[] uidBytes = uid.getUid() != null ? STRING_ENCODER.quoteAsUTF8(uid.getUid()) : null;
+        final byte[] expiresBytes = uid.getExpires() != null ? formatExpires(uid.getExpires()) : null;
+
+        final int size = familyBytes.length + 5
+                + (uidBytes != null ? UID_START.length + uidBytes.length + 1 : 0)
+                + (uidBytes != null && expiresBytes != null ? 1 : 0)
+                + (expiresBytes != null ? EXPIRES_START.length + expiresBytes.length + 1 : 0);
+
+        // "family":{"uid":"value","expires":"value"}
+        final byte[] json = new byte[size];
+        json[0] = '"';
+        int position = append(json, 1, familyBytes);
+        position = append(json, position, FAMILY_END);
+        if (uidBytes != null) {
+            position = append(json, position, UID_START);
+            position = append(json, position, uidBytes);
+            json[position++] = '"';
+        }
+        if (expiresBytes != null) {
+            if (uidBytes != null) {
+                json[position++] = ',';
+            }
+            position = append(json, position, EXPIRES_START);
+            position = append(json, position, expiresBytes);
+            json[position++] = '"';
+        }
+        json[position] = '}';
+
+        return json;
+    }
+
+    /**
+     * Formats expiration date as {@link #EXPIRES_FORMATTER} does, dates with years of more than 4 digits
+     * or offsets with seconds are left to the formatter.
+     */
+    private static byte[] formatExpires(ZonedDateTime expires) {
+        final int year = expires.getYear();
+        final int offsetSeconds = expires.getOffset().getTotalSeconds();
+        if (year < 0 || year > 9999 || offsetSeconds % 60 != 0) {
+            return EXPIRES_FORMATTER.format(expires).getBytes(StandardCharsets.UTF_8);
+        }
+
+        int nanos = expires.getNano();
+        int fractionDigits = nanos > 0 ? 9 : 0;
+        while (fractionDigits > 0 && nanos % 10 == 0) {
+            nanos /= 10;
+            fractionDigits--;
+        }
+
+        final int fractionSize = fractionDigits > 0 ? fractionDigits + 1 : 0;
+        final byte[] result = new byte[19 + fractionSize + (offsetSeconds == 0 ? 1 : 6)];
+
+        writeDigits(result, 0, year, 4);
+        result[4] = '-';
+        writeDigits(result, 5, expires.getMonthValue(), 2);
+        result[7] = '-';
+        writeDigits(result, 8, expires.getDayOfMonth(), 2);
+        result[10] = 'T';
+        writeDigits(result, 11, expires.getHour(), 2);
+        result[13] = ':';
+        writeDigits(result, 14, expires.getMinute(), 2);
+        result[16] = ':';
+        writeDigits(result, 17, expires.getSecond(), 2);
+
+        int position = 19;
+        if (fractionDigits > 0) {
+            result[position++] = '.';
+            writeDigits(result, position, nanos, fractionDigits);
+            position += fractionDigits;
+        }
+
+        if (offsetSeconds == 0) {
+            result[position] = 'Z';
+        } else {
+            final int absOffsetMinutes = Math.abs(offsetSeconds) / 60;
+            result[position] = (byte) (offsetSeconds > 0 ? '+' : '-');
+            writeDigits(result, position + 1, absOffsetMinutes / 60, 2);
+            result[position + 3] = ':';
+            writeDigits(result, position + 4, absOffsetMinutes % 60, 2);
+        }
+
+        return result;
+    }
+
+    private static void writeDigits(byte[] target, int start, int value, int count) {
+        int remaining = value;
+        for (int i = start + count - 1; i >= start; i--) {
+            target[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+    }
+
+    /**
+     * Returns uids cookie value built from uids encoded by {@link #encodeUid(String, UidWithExpiry)}.
+     */
+    public String encode(Collection<byte[]> encodedUids, Boolean optout) {
+        final byte[] end = optoutEnd(optout);
+        int size = UIDS_START.length + Math.max(encodedUids.size() - 1, 0) + end.length;
+        for (byte[] encodedUid : encodedUids) {
+            size += encodedUid.length;
+        }
+
+        final byte[] json = new byte[size];
+        int position = append(json, 0, UIDS_START);
+        for (byte[] encodedUid : encodedUids) {
+            if (position > UIDS_START.length) {
+                json[position++] = ',';
+            }
+            position = append(json, position, encodedUid);
+        }
+        append(json, position, end);
+
+        return Base64.getUrlEncoder().encodeToString(json);
+    }
+
+    /**
+     * Returns uids cookie value with the given uids and optout flag.
+     */
+    public String encode(Map<String, UidWithExpiry> uids, Boolean optout) {
+        return encode(uids.entrySet().stream()
+                        .map(entry -> encodeUid(entry.getKey(), entry.getValue()))
+                        .toList(),
+                optout);
+    }
+
+    private static byte[] optoutEnd(Boolean optout) {
+        if (optout == null) {
+            return UIDS_END;
+        }
+        return optout ? OPTOUT_TRUE : OPTOUT_FALSE;
+    }
+
+    private static int append(byte[] target, int position, byte[] source) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+}
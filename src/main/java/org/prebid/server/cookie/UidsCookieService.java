@@ -1,6 +1,5 @@
 package org.prebid.server.cookie;
 
-import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.Cookie;
 import io.vertx.core.http.CookieSameSite;
 import io.vertx.ext.web.RoutingContext;
@@ -18,7 +17,6 @@ import org.prebid.server.util.HttpUtil;
 
 import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -27,7 +25,6 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.TreeMap;
 
 /**
  * Contains logic for obtaining UIDs from the request and actualizing them.
@@ -55,6 +52,7 @@ public class UidsCookieService {
     private final PrioritizedCoopSyncProvider prioritizedCoopSyncProvider;
     private final Metrics metrics;
     private final JacksonMapper mapper;
+    private final UidsCookieCodec codec;
 
     public UidsCookieService(String optOutCookieName,
                              String optOutCookieValue,
@@ -90,6 +88,8 @@ public class UidsCookieService {
         this.prioritizedCoopSyncProvider = Objects.requireNonNull(prioritizedCoopSyncProvider);
         this.metrics = Objects.requireNonNull(metrics);
         this.mapper = Objects.requireNonNull(mapper);
+
+        codec = new UidsCookieCodec(mapper);
     }
 
     /**
@@ -132,10 +132,10 @@ public class UidsCookieService {
     }
 
     /**
-     * Parses cookies {@link Map} and composes {@link Uids} model.
+     * Parses cookies {@link Map} and composes {@link Uids} model with case-insensitive family names.
      */
     private Uids parseUids(Map<String, String> cookies) {
-        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        final Map<String, UidWithExpiry> uids = new CaseInsensitiveUidsMap();
 
         for (Map.Entry<String, String> cookie : cookies.entrySet()) {
             final String cookieKey = cookie.getKey();
@@ -143,16 +143,16 @@ public class UidsCookieService {
                 continue;
             }
 
+            final Map<String, UidWithExpiry> cookieUids = new HashMap<>();
             try {
-                final Uids parsedUids = mapper.decodeValue(
-                        Buffer.buffer(Base64.getUrlDecoder().decode(cookie.getValue())), Uids.class);
-                if (parsedUids != null && parsedUids.getUids() != null) {
-                    parsedUids.getUids().forEach((key, value) -> uids.merge(key, value, (newValue, oldValue) ->
-                            newValue.getExpires().compareTo(oldValue.getExpires()) > 0 ? newValue : oldValue));
-                }
+                codec.decode(cookie.getValue(), cookieUids::put);
             } catch (IllegalArgumentException | DecodeException e) {
                 logger.debug("Could not decode or parse {} cookie value {}", e, COOKIE_NAME, cookie.getValue());
+                continue;
             }
+
+            cookieUids.forEach((key, value) -> uids.merge(key, value, (newValue, oldValue) ->
+                    newValue.getExpires().compareTo(oldValue.getExpires()) > 0 ? newValue : oldValue));
         }
 
         return Uids.builder().uids(uids).build();
@@ -163,8 +163,8 @@ public class UidsCookieService {
      * as a value.
      */
     public Cookie aliveCookie(String cookieName, UidsCookie uidsCookie) {
-        final String value = Base64.getUrlEncoder().encodeToString(uidsCookie.toJson().getBytes());
-        return makeCookie(cookieName, value, ttlSeconds);
+        final Uids uids = uidsCookie.getCookieUids();
+        return makeCookie(cookieName, codec.encode(uids.getUids(), uids.getOptout()), ttlSeconds);
     }
 
     public Cookie aliveCookie(UidsCookie uidsCookie) {
@@ -215,11 +215,7 @@ public class UidsCookieService {
      * invalid uids. Also converts legacy uids to uids with expiration.
      */
     private Map<String, UidWithExpiry> enrichAndSanitizeUids(Uids uids, Map<String, String> cookies) {
-        final Map<String, UidWithExpiry> originalUidsMap = uids != null ? uids.getUids() : null;
-        final Map<String, UidWithExpiry> workingUidsMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
-        if (originalUidsMap != null) {
-            workingUidsMap.putAll(originalUidsMap);
-        }
+        final Map<String, UidWithExpiry> workingUidsMap = uids.getUids();
 
         final String hostCookie = parseHostCookie(cookies);
         if (hostCookie != null && hostCookieDiffers(hostCookie, workingUidsMap.get(hostCookieFamily))) {
@@ -283,32 +279,34 @@ public class UidsCookieService {
 
         final int cookieSchemaSize = UidsCookieSize.schemaSize(makeCookie(COOKIE_NAME, StringUtils.EMPTY, ttlSeconds));
         String nextCookieFamily = null;
+        byte[] nextEncodedUid = null;
         for (int i = 0; i < numberOfUidCookies; i++) {
             final int digits = i < 10 ? Integer.signum(i) : 2;
             final UidsCookieSize uidsCookieSize = new UidsCookieSize(cookieSchemaSize + digits, maxCookieSizeBytes);
 
-            final Map<String, UidWithExpiry> tempUids = new HashMap<>();
+            // every uid is encoded once, its size is used to fit it into the cookie and its bytes to build cookie value
+            final List<byte[]> encodedUids = new ArrayList<>();
             while (nextCookieFamily != null || cookieFamilies.hasNext()) {
-                nextCookieFamily = nextCookieFamily == null ? cookieFamilies.next() : nextCookieFamily;
-                final UidWithExpiry uidWithExpiry = uids.get(nextCookieFamily);
+                if (nextCookieFamily == null) {
+                    nextCookieFamily = cookieFamilies.next();
+                    nextEncodedUid = codec.encodeUid(nextCookieFamily, uids.get(nextCookieFamily));
+                }
 
-                uidsCookieSize.addUid(nextCookieFamily, uidWithExpiry.getUid());
+                uidsCookieSize.addUid(nextEncodedUid.length);
                 if (!uidsCookieSize.isValid()) {
                     break;
                 }
 
-                tempUids.put(nextCookieFamily, uidWithExpiry);
+                encodedUids.add(nextEncodedUid);
                 nextCookieFamily = null;
             }
 
             final String uidsName = i == 0 ? COOKIE_NAME : COOKIE_NAME_FORMAT.formatted(i + 1);
 
-            if (tempUids.isEmpty()) {
+            if (encodedUids.isEmpty()) {
                 splitCookies.add(expiredCookie(uidsName));
             } else {
-                splitCookies.add(aliveCookie(
-                        uidsName,
-                        new UidsCookie(Uids.builder().uids(tempUids).optout(hasOptout).build(), mapper)));
+                splitCookies.add(makeCookie(uidsName, codec.encode(encodedUids, hasOptout), ttlSeconds));
             }
         }
 
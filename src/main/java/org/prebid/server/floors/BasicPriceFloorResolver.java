@@ -46,22 +46,14 @@ import org.prebid.server.proto.openrtb.ext.request.ImpMediaType;
 import org.prebid.server.util.BidderUtil;
 import org.prebid.server.util.IterableUtil;
 import org.prebid.server.util.ObjectUtil;
-import org.prebid.server.util.dsl.config.PrebidConfigMatchingStrategy;
 import org.prebid.server.util.dsl.config.PrebidConfigParameter;
-import org.prebid.server.util.dsl.config.PrebidConfigParameters;
-import org.prebid.server.util.dsl.config.PrebidConfigSource;
-import org.prebid.server.util.dsl.config.impl.MostAccurateCombinationStrategy;
 import org.prebid.server.util.dsl.config.impl.SimpleDirectParameter;
-import org.prebid.server.util.dsl.config.impl.SimpleParameters;
-import org.prebid.server.util.dsl.config.impl.SimpleSource;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Pattern;
@@ -72,8 +64,6 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
     private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
 
     private static final String DEFAULT_RULES_CURRENCY = "USD";
-    private static final String SCHEMA_DEFAULT_DELIMITER = "|";
-    private static final String WILDCARD_CATCH_ALL = "*";
 
     private static final String VIDEO_ALIAS = "video-instream";
 
@@ -94,8 +84,6 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
     private final Metrics metrics;
     private final JacksonMapper mapper;
 
-    private final PrebidConfigMatchingStrategy matchingStrategy;
-
     public BasicPriceFloorResolver(CurrencyConversionService currencyConversionService,
                                    CountryCodeMapper countryCodeMapper,
                                    Metrics metrics,
@@ -105,8 +93,6 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
         this.countryCodeMapper = Objects.requireNonNull(countryCodeMapper);
         this.metrics = Objects.requireNonNull(metrics);
         this.mapper = Objects.requireNonNull(mapper);
-
-        matchingStrategy = new MostAccurateCombinationStrategy();
     }
 
     @Override
@@ -137,15 +123,12 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
             return null;
         }
 
-        final Map<String, BigDecimal> values = keysToLowerCase(modelGroup.getValues());
-        final PrebidConfigSource source = SimpleSource.of(
-                WILDCARD_CATCH_ALL,
-                ObjectUtils.defaultIfNull(schema.getDelimiter(), SCHEMA_DEFAULT_DELIMITER),
-                values.keySet());
-        final PrebidConfigParameters parameters = createParameters(schema, bidRequest, imp, mediaType, format, bidder);
+        final PriceFloorRulesIndex rulesIndex = modelGroup.getRulesIndex();
+        final List<PrebidConfigParameter> parameters =
+                createParameters(schema, bidRequest, imp, mediaType, format, bidder);
 
-        final String rule = matchingStrategy.match(source, parameters);
-        final BigDecimal floorForRule = rule != null ? values.get(rule) : null;
+        final String rule = rulesIndex.match(parameters);
+        final BigDecimal floorForRule = rulesIndex.floorFor(rule);
         final BigDecimal floor = floorForRule != null ? floorForRule : modelGroup.getDefaultFloor();
         final String modelGroupCurrency = modelGroup.getCurrency();
         final String floorCurrency = StringUtils.isNotEmpty(modelGroupCurrency)
@@ -188,30 +171,20 @@ public class BasicPriceFloorResolver implements PriceFloorResolver {
         return CollectionUtils.isNotEmpty(modelGroups) ? modelGroups.getFirst() : null;
     }
 
-    private static <V> Map<String, V> keysToLowerCase(Map<String, V> map) {
-        return map.entrySet().stream()
-                .collect(
-                        HashMap::new,
-                        (hashMap, entry) -> hashMap.put(entry.getKey().toLowerCase(), entry.getValue()),
-                        HashMap::putAll);
-    }
-
-    private PrebidConfigParameters createParameters(PriceFloorSchema schema,
-                                                    BidRequest bidRequest,
-                                                    Imp imp,
-                                                    ImpMediaType mediaType,
-                                                    Format format,
-                                                    String bidder) {
+    private List<PrebidConfigParameter> createParameters(PriceFloorSchema schema,
+                                                         BidRequest bidRequest,
+                                                         Imp imp,
+                                                         ImpMediaType mediaType,
+                                                         Format format,
+                                                         String bidder) {
 
         final List<ImpMediaType> resolvedMediaTypes = mediaType != null
                 ? Collections.singletonList(mediaType)
                 : mediaTypesFromImp(imp);
 
-        final List<PrebidConfigParameter> conditionsMatchers = schema.getFields().stream()
+        return schema.getFields().stream()
                 .map(field -> createParameter(field, bidRequest, imp, resolvedMediaTypes, format, bidder))
                 .toList();
-
-        return SimpleParameters.of(conditionsMatchers);
     }
 
     private static List<ImpMediaType> mediaTypesFromImp(Imp imp) {
@@ -16,6 +16,7 @@ import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.floors.model.PriceFloorData;
 import org.prebid.server.floors.model.PriceFloorDebugProperties;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
 import org.prebid.server.floors.proto.FetchResult;
 import org.prebid.server.floors.proto.FetchStatus;
 import org.prebid.server.json.DecodeException;
@@ -34,6 +35,7 @@ import org.prebid.server.util.ObjectUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -181,6 +183,8 @@ public class PriceFloorFetcher {
                 PriceFloorsConfigResolver.resolveMaxValue(fetchConfig.getMaxRules()),
                 PriceFloorsConfigResolver.resolveMaxValue(fetchConfig.getMaxSchemaDims()));
 
+        compileRulesIndexes(priceFloorData);
+
         return ResponseCacheInfo.of(priceFloorData,
                 FetchStatus.success,
                 null,
@@ -198,6 +202,16 @@ public class PriceFloorFetcher {
         return priceFloorData;
     }
 
+    /**
+     * Compiles rules lookup of every model group once, before data is stored and shared by auctions.
+     */
+    private static void compileRulesIndexes(PriceFloorData priceFloorData) {
+        final List<PriceFloorModelGroup> modelGroups = priceFloorData.getModelGroups();
+        if (modelGroups != null) {
+            modelGroups.stream().filter(Objects::nonNull).forEach(PriceFloorModelGroup::getRulesIndex);
+        }
+    }
+
     private Long cacheTtlFromResponse(HttpClientResponse httpClientResponse, String fetchUrl) {
         final String cacheControlValue = httpClientResponse.getHeaders().get(HttpHeaders.CACHE_CONTROL);
         final Matcher cacheHeaderMatcher = StringUtils.isNotBlank(cacheControlValue)
@@ -0,0 +1,237 @@
+package org.prebid.server.floors;
+
+import org.apache.commons.collections4.MapUtils;
+import org.apache.commons.lang3.ObjectUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.math3.util.CombinatoricsUtils;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
+import org.prebid.server.floors.model.PriceFloorSchema;
+import org.prebid.server.util.dsl.config.PrebidConfigParameter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable lookup structure compiled once per {@link PriceFloorModelGroup}.
+ * <p>
+ * Holds lower-cased rules, values known for each schema field and precomputed order in which fields are replaced
+ * by wildcard, so rule matching follows {@link org.prebid.server.util.dsl.config.impl.MostAccurateCombinationStrategy}
+ * without rebuilding rule sets on every lookup.
+ */
+public class PriceFloorRulesIndex {
+
+    private static final String SCHEMA_DEFAULT_DELIMITER = "|";
+    private static final String WILDCARD_CATCH_ALL = "*";
+
+    private static final PriceFloorRulesIndex EMPTY =
+            new PriceFloorRulesIndex(SCHEMA_DEFAULT_DELIMITER, Collections.emptyMap(), null, Collections.emptyList());
+
+    private final String delimiter;
+    private final Map<String, BigDecimal> rules;
+    private final List<Set<String>> fieldsValues;
+    // wildcard positions (as bit masks over direct parameters) in priority order, indexed by direct parameters count
+    private final List<int[]> wildcardMasks;
+
+    private PriceFloorRulesIndex(String delimiter,
+                                 Map<String, BigDecimal> rules,
+                                 List<Set<String>> fieldsValues,
+                                 List<int[]> wildcardMasks) {
+
+        this.delimiter = delimiter;
+        this.rules = rules;
+        this.fieldsValues = fieldsValues;
+        this.wildcardMasks = wildcardMasks;
+    }
+
+    public static PriceFloorRulesIndex compile(PriceFloorModelGroup modelGroup) {
+        final PriceFloorSchema schema = modelGroup.getSchema();
+        final int fieldsNumber = schema != null && schema.getFields() != null ? schema.getFields().size() : 0;
+        if (fieldsNumber == 0 || MapUtils.isEmpty(modelGroup.getValues())) {
+            return EMPTY;
+        }
+
+        final String delimiter = ObjectUtils.defaultIfNull(schema.getDelimiter(), SCHEMA_DEFAULT_DELIMITER);
+        final Map<String, BigDecimal> rules = keysToLowerCase(modelGroup.getValues());
+
+        final List<int[]> wildcardMasks = new ArrayList<>(fieldsNumber + 1);
+        for (int directNumber = 0; directNumber <= fieldsNumber; directNumber++) {
+            wildcardMasks.add(wildcardMasks(directNumber));
+        }
+
+        return new PriceFloorRulesIndex(
+                delimiter,
+                Collections.unmodifiableMap(rules),
+                fieldsValues(rules.keySet(), delimiter, fieldsNumber),
+                wildcardMasks);
+    }
+
+    private static <V> Map<String, V> keysToLowerCase(Map<String, V> map) {
+        final Map<String, V> result = new HashMap<>(map.size() * 4 / 3 + 1);
+        map.forEach((key, value) -> result.put(key.toLowerCase(), value));
+        return result;
+    }
+
+    /**
+     * Collects values of every field met in rules. Returns null if some rule can't be split on schema fields
+     * unambiguously, so no field-level filtering is possible.
+     */
+    private static List<Set<String>> fieldsValues(Set<String> rules, String delimiter, int fieldsNumber) {
+        final List<Set<String>> fieldsValues = new ArrayList<>(fieldsNumber);
+        for (int i = 0; i < fieldsNumber; i++) {
+            fieldsValues.add(new HashSet<>());
+        }
+
+        for (String rule : rules) {
+            final String[] ruleValues = StringUtils.splitByWholeSeparatorPreserveAllTokens(rule, delimiter);
+            if (ruleValues.length != fieldsNumber) {
+                return null;
+            }
+
+            for (int i = 0; i < fieldsNumber; i++) {
+                fieldsValues.get(i).add(ruleValues[i]);
+            }
+        }
+
+        return fieldsValues.stream().map(Collections::unmodifiableSet).toList();
+    }
+
+    /**
+     * Produces combinations of direct parameters replaced by wildcard: first the ones with fewer wildcards,
+     * and among them the ones with wildcards closer to the end of the rule.
+     */
+    private static int[] wildcardMasks(int directNumber) {
+        final int[] masks = new int[1 << directNumber];
+        int index = 0;
+        for (int wildcardsNumber = 0; wildcardsNumber <= directNumber; wildcardsNumber++) {
+            final Iterator<int[]> combinations = CombinatoricsUtils.combinationsIterator(directNumber, wildcardsNumber);
+            while (combinations.hasNext()) {
+                int mask = 0;
+                for (int combinationIndex : combinations.next()) {
+                    mask |= 1 << (directNumber - 1 - combinationIndex);
+                }
+                masks[index++] = mask;
+            }
+        }
+        return masks;
+    }
+
+    public BigDecimal floorFor(String rule) {
+        return rule != null ? rules.get(rule) : null;
+    }
+
+    /**
+     * Returns the most accurate rule matching given parameters, or null if there is no such rule.
+     */
+    public String match(List<PrebidConfigParameter> parameters) {
+        if (rules.isEmpty() || parameters.isEmpty()) {
+            return null;
+        }
+
+        final int size = parameters.size();
+        final List<List<String>> values = new ArrayList<>(size);
+        final int[] directIndices = new int[size];
+        int directNumber = 0;
+        int unmatchedDirectMask = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (!(parameters.get(i) instanceof PrebidConfigParameter.Direct direct)) {
+                values.add(null);
+                continue;
+            }
+
+            final List<String> knownValues = knownValues(direct, i);
+            if (knownValues == null) {
+                return null;
+            }
+            if (knownValues.isEmpty()) {
+                unmatchedDirectMask |= 1 << directNumber;
+            }
+
+            values.add(knownValues);
+            directIndices[directNumber++] = i;
+        }
+
+        final String[] ruleValues = new String[size];
+        final StringBuilder ruleBuilder = new StringBuilder();
+        for (int mask : directNumber < wildcardMasks.size() ? wildcardMasks.get(directNumber) : new int[0]) {
+            // there is no rule for such combination if any direct parameter with unknown values is kept
+            if ((unmatchedDirectMask & ~mask) != 0) {
+                continue;
+            }
+
+            final List<List<String>> combinationValues = new ArrayList<>(values);
+            for (int j = 0; j < directNumber; j++) {
+                if ((mask & (1 << j)) != 0) {
+                    combinationValues.set(directIndices[j], null);
+                }
+            }
+
+            final String rule = matchCombination(combinationValues, 0, ruleValues, ruleBuilder);
+            if (rule != null) {
+                return rule;
+            }
+        }
+
+        return null;
+    }
+
+    private List<String> knownValues(PrebidConfigParameter.Direct direct, int fieldIndex) {
+        final Set<String> fieldValues = fieldsValues != null && fieldIndex < fieldsValues.size()
+                ? fieldsValues.get(fieldIndex)
+                : null;
+
+        final List<String> result = new ArrayList<>();
+        boolean hasValues = false;
+        for (String value : direct.values()) {
+            hasValues = true;
+            final String lowerCaseValue = value.toLowerCase();
+            if (fieldValues == null || fieldValues.contains(lowerCaseValue)) {
+                result.add(lowerCaseValue);
+            }
+        }
+
+        return hasValues ? result : null;
+    }
+
+    private String matchCombination(List<List<String>> values,
+                                    int index,
+                                    String[] ruleValues,
+                                    StringBuilder ruleBuilder) {
+
+        if (index == values.size()) {
+            ruleBuilder.setLength(0);
+            for (int i = 0; i < ruleValues.length; i++) {
+                if (i > 0) {
+                    ruleBuilder.append(delimiter);
+                }
+                ruleBuilder.append(ruleValues[i]);
+            }
+
+            final String rule = ruleBuilder.toString();
+            return rules.containsKey(rule) ? rule : null;
+        }
+
+        final List<String> fieldValues = values.get(index);
+        if (fieldValues == null) {
+            ruleValues[index] = WILDCARD_CATCH_ALL;
+            return matchCombination(values, index + 1, ruleValues, ruleBuilder);
+        }
+
+        for (String value : fieldValues) {
+            ruleValues[index] = value;
+            final String rule = matchCombination(values, index + 1, ruleValues, ruleBuilder);
+            if (rule != null) {
+                return rule;
+            }
+        }
+
+        return null;
+    }
+}
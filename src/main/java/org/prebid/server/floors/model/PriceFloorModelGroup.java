@@ -1,9 +1,14 @@
 package org.prebid.server.floors.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import lombok.Singular;
+import lombok.ToString;
 import lombok.Value;
+import org.prebid.server.floors.PriceFloorRulesIndex;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -34,4 +39,13 @@ public class PriceFloorModelGroup {
 
     @JsonProperty("noFloorSignalBidders")
     List<String> noFloorSignalBidders;
+
+    /**
+     * Compiled rules lookup, built once per model group and shared by all floors resolutions using it.
+     */
+    @JsonIgnore
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    PriceFloorRulesIndex rulesIndex = PriceFloorRulesIndex.compile(this);
 }
@@ -1,5 +1,8 @@
 package org.prebid.server.geolocation;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.maxmind.db.CHMCache;
+import com.maxmind.db.Network;
 import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
@@ -9,32 +12,101 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import com.maxmind.geoip2.record.Traits;
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.http.conn.util.InetAddressUtils;
 import org.prebid.server.execution.file.FileProcessor;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.log.Logger;
+import org.prebid.server.log.LoggerFactory;
+import org.prebid.server.metric.Metrics;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
 import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
 import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of the {@link GeoLocationService}
  * backed by <a href="https://dev.maxmind.com/geoip/geoip2/geolite2/">MaxMind free database</a>
+ * <p>
+ * Database is either loaded into heap or extracted next to the archive and memory-mapped.
+ * Lookup results can be cached by IP prefix: result is cached for the whole prefix only when database network
+ * of the looked up address covers it, otherwise for the address itself. Lookups missing the cache can be offloaded
+ * to a dedicated worker pool, so slow lookups don't block event loop, failing when the given {@link Timeout} expires.
  */
 public class MaxMindGeoLocationService implements GeoLocationService, FileProcessor {
 
+    private static final Logger logger = LoggerFactory.getLogger(MaxMindGeoLocationService.class);
+
     private static final String VENDOR = "maxmind";
 
     private static final String DATABASE_FILE_NAME = "GeoLite2-City.mmdb";
+    private static final int IPV4_BITS = 32;
+    private static final int IPV6_BITS = 128;
+
+    private final Reader.FileMode fileMode;
+    private final Map<CacheKey, GeoInfo> cache;
+    private final int ipv4CachePrefixLength;
+    private final int ipv6CachePrefixLength;
+    private final WorkerExecutor workerExecutor;
+    private final Vertx vertx;
+    private final Metrics metrics;
+    private final Clock clock;
+    private final Map<DatabaseReader, ReaderUsage> readerUsages;
+
+    private volatile DatabaseReader databaseReader;
+    private volatile Path databaseFile;
+
+    public MaxMindGeoLocationService(Reader.FileMode fileMode,
+                                     int cacheSize,
+                                     int ipv4CachePrefixLength,
+                                     int ipv6CachePrefixLength,
+                                     WorkerExecutor workerExecutor,
+                                     Vertx vertx,
+                                     Metrics metrics,
+                                     Clock clock) {
+
+        this.fileMode = Objects.requireNonNull(fileMode);
+        this.cache = cacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(cacheSize).<CacheKey, GeoInfo>build().asMap()
+                : null;
+        this.ipv4CachePrefixLength = validatePrefixLength(ipv4CachePrefixLength, IPV4_BITS);
+        this.ipv6CachePrefixLength = validatePrefixLength(ipv6CachePrefixLength, IPV6_BITS);
+        this.workerExecutor = workerExecutor;
+        this.vertx = Objects.requireNonNull(vertx);
+        this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.readerUsages = new ConcurrentHashMap<>();
+    }
 
-    private DatabaseReader databaseReader;
+    private static int validatePrefixLength(int prefixLength, int maxLength) {
+        if (prefixLength < 0 || prefixLength > maxLength) {
+            throw new IllegalArgumentException("Cache prefix length should be between 0 and %d inclusive"
+                    .formatted(maxLength));
+        }
+        return prefixLength;
+    }
 
     public Future<?> setDataPath(String dataFilePath) {
         try (TarArchiveInputStream tarInput = new TarArchiveInputStream(new GZIPInputStream(
@@ -53,7 +125,22 @@ public class MaxMindGeoLocationService implements GeoLocationService, FileProces
                         .formatted(DATABASE_FILE_NAME, dataFilePath));
             }
 
-            databaseReader = new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
+            final Path previousDatabaseFile = databaseFile;
+            final DatabaseReader previousDatabaseReader = databaseReader;
+            databaseReader = fileMode == Reader.FileMode.MEMORY_MAPPED
+                    ? memoryMappedReader(tarInput, dataFilePath)
+                    : new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
+            if (cache != null) {
+                cache.clear();
+            }
+            if (previousDatabaseReader != null) {
+                retireDatabaseReader(previousDatabaseReader);
+            }
+            // mapping of the replaced reader stays valid after its file is unlinked
+            if (previousDatabaseFile != null) {
+                Files.deleteIfExists(previousDatabaseFile);
+            }
+
             return Future.succeededFuture();
         } catch (IOException e) {
             return Future.failedFuture(
@@ -61,32 +148,208 @@ public class MaxMindGeoLocationService implements GeoLocationService, FileProces
         }
     }
 
+    private DatabaseReader memoryMappedReader(InputStream databaseInput, String dataFilePath) throws IOException {
+        // database file is never rewritten in place, since it would corrupt the mapping used by lookups
+        final Path archiveDirectory = Path.of(dataFilePath).toAbsolutePath().getParent();
+        final Path file = Files.createTempFile(archiveDirectory, "GeoLite2-City", ".mmdb");
+        file.toFile().deleteOnExit();
+        Files.copy(databaseInput, file, StandardCopyOption.REPLACE_EXISTING);
+
+        databaseFile = file;
+        return new DatabaseReader.Builder(file.toFile())
+                .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                .withCache(new CHMCache())
+                .build();
+    }
+
+    /**
+     * Closes replaced reader as soon as no lookup uses it, so lookups already queued on worker pool don't fail.
+     */
+    private void retireDatabaseReader(DatabaseReader reader) throws IOException {
+        final ReaderUsage usage = readerUsages.compute(reader, (key, current) -> current != null
+                ? new ReaderUsage(current.lookups(), true)
+                : new ReaderUsage(0, true));
+
+        if (usage.lookups() == 0 && readerUsages.remove(reader, usage)) {
+            reader.close();
+        }
+    }
+
+    /**
+     * Registers lookup in the current reader, returns null if database wasn't loaded yet.
+     */
+    private DatabaseReader acquireDatabaseReader() {
+        while (true) {
+            final DatabaseReader reader = databaseReader;
+            if (reader == null) {
+                return null;
+            }
+
+            readerUsages.compute(reader, (key, current) -> current != null
+                    ? new ReaderUsage(current.lookups() + 1, current.retired())
+                    : new ReaderUsage(1, false));
+            if (reader == databaseReader) {
+                return reader;
+            }
+
+            // reader was replaced meanwhile and could be already closed, so lookup is retried with the new one
+            releaseDatabaseReader(reader);
+        }
+    }
+
+    private void releaseDatabaseReader(DatabaseReader reader) {
+        final ReaderUsage usage = readerUsages.computeIfPresent(reader, (key, current) ->
+                new ReaderUsage(current.lookups() - 1, current.retired()));
+        if (usage == null || usage.lookups() > 0 || !readerUsages.remove(reader, usage) || !usage.retired()) {
+            return;
+        }
+
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close replaced geo location database reader: " + e.getMessage());
+        }
+    }
+
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
         if (databaseReader == null) {
             return Future.failedFuture("Geo location database file hasn't been downloaded yet, try again later");
         }
 
+        // only IP literals are cached, since other addresses require name resolution
+        final InetAddress address = cache != null && isIpAddress(ip) ? toInetAddress(ip) : null;
+        if (address != null) {
+            final GeoInfo cachedGeoInfo = cachedGeoInfo(address);
+            metrics.updateGeoLocationCacheMetric(cachedGeoInfo != null);
+            if (cachedGeoInfo != null) {
+                return Future.succeededFuture(cachedGeoInfo);
+            }
+        }
+
+        final DatabaseReader reader = acquireDatabaseReader();
+        final long startTime = clock.millis();
+        return lookupInDatabase(reader, ip, timeout)
+                .onComplete(ignored -> metrics.updateGeoLocationRequestTime(clock.millis() - startTime));
+    }
+
+    private static boolean isIpAddress(String ip) {
+        return ip != null && (InetAddressUtils.isIPv4Address(ip) || InetAddressUtils.isIPv6Address(ip));
+    }
+
+    private static InetAddress toInetAddress(String ip) {
+        try {
+            return InetAddress.getByName(ip);
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private GeoInfo cachedGeoInfo(InetAddress address) {
+        final GeoInfo prefixGeoInfo = cache.get(prefixKey(address));
+        return prefixGeoInfo != null ? prefixGeoInfo : cache.get(addressKey(address));
+    }
+
+    private Future<GeoInfo> lookupInDatabase(DatabaseReader reader, String ip, Timeout timeout) {
+        if (workerExecutor == null) {
+            try {
+                return Future.succeededFuture(lookupInDatabase(reader, ip));
+            } catch (IOException | GeoIp2Exception e) {
+                return Future.failedFuture(e);
+            } finally {
+                releaseDatabaseReader(reader);
+            }
+        }
+
+        final long remainingTimeout = timeout != null ? timeout.remaining() : Long.MAX_VALUE;
+        if (remainingTimeout <= 0) {
+            releaseDatabaseReader(reader);
+            return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
+        }
+
+        final Promise<GeoInfo> promise = Promise.promise();
+        final Long timerId = timeout != null
+                ? vertx.setTimer(remainingTimeout, ignored -> promise.tryFail(new TimeoutException(
+                "Timeout period of %dms has been exceeded".formatted(remainingTimeout))))
+                : null;
+
+        workerExecutor.<GeoInfo>executeBlocking(() -> lookupInDatabase(reader, ip), false)
+                .onComplete(result -> {
+                    // reader is released when lookup is done rather than when it times out, since it's still in use
+                    releaseDatabaseReader(reader);
+                    if (timerId != null) {
+                        vertx.cancelTimer(timerId);
+                    }
+                    if (result.succeeded()) {
+                        promise.tryComplete(result.result());
+                    } else {
+                        promise.tryFail(result.cause());
+                    }
+                });
+
+        return promise.future();
+    }
+
+    private GeoInfo lookupInDatabase(DatabaseReader reader, String ip) throws IOException, GeoIp2Exception {
+        final InetAddress inetAddress = InetAddress.getByName(ip);
+        final CityResponse cityResponse = reader.city(inetAddress);
+        final Location location = cityResponse != null ? cityResponse.getLocation() : null;
+
+        final GeoInfo geoInfo = GeoInfo.builder()
+                .vendor(VENDOR)
+                .continent(resolveContinent(cityResponse))
+                .country(resolveCountry(cityResponse))
+                .region(resolveRegion(cityResponse))
+                // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
+                .city(resolveCity(cityResponse))
+                .lat(resolveLatitude(location))
+                .lon(resolveLongitude(location))
+                .build();
+
+        if (cache != null && isIpAddress(ip) && reader == databaseReader) {
+            cache.put(cacheKey(inetAddress, resolveNetwork(cityResponse)), geoInfo);
+        }
+
+        return geoInfo;
+    }
+
+    private CacheKey cacheKey(InetAddress address, Network network) {
+        final boolean networkCoversPrefix = network != null
+                && network.getNetworkAddress().getAddress().length == address.getAddress().length
+                && network.getPrefixLength() <= cachePrefixLength(address);
+
+        return networkCoversPrefix ? prefixKey(address) : addressKey(address);
+    }
+
+    private CacheKey prefixKey(InetAddress address) {
+        final int prefixLength = cachePrefixLength(address);
+        final byte[] bytes = address.getAddress();
+        for (int i = 0; i < bytes.length; i++) {
+            final int bitsToKeep = Math.clamp(prefixLength - i * 8L, 0, 8);
+            bytes[i] &= (byte) (0xFF << (8 - bitsToKeep));
+        }
+
         try {
-            final InetAddress inetAddress = InetAddress.getByName(ip);
-            final CityResponse cityResponse = databaseReader.city(inetAddress);
-            final Location location = cityResponse != null ? cityResponse.getLocation() : null;
-
-            return Future.succeededFuture(GeoInfo.builder()
-                    .vendor(VENDOR)
-                    .continent(resolveContinent(cityResponse))
-                    .country(resolveCountry(cityResponse))
-                    .region(resolveRegion(cityResponse))
-                    // metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
-                    .city(resolveCity(cityResponse))
-                    .lat(resolveLatitude(location))
-                    .lon(resolveLongitude(location))
-                    .build());
-        } catch (IOException | GeoIp2Exception e) {
-            return Future.failedFuture(e);
+            return new CacheKey(InetAddress.getByAddress(bytes), prefixLength);
+        } catch (UnknownHostException e) {
+            // never happens for address of valid length
+            throw new IllegalStateException(e);
         }
     }
 
+    private static CacheKey addressKey(InetAddress address) {
+        return new CacheKey(address, address instanceof Inet4Address ? IPV4_BITS : IPV6_BITS);
+    }
+
+    private int cachePrefixLength(InetAddress address) {
+        return address instanceof Inet4Address ? ipv4CachePrefixLength : ipv6CachePrefixLength;
+    }
+
+    private static Network resolveNetwork(CityResponse cityResponse) {
+        final Traits traits = cityResponse != null ? cityResponse.getTraits() : null;
+        return traits != null ? traits.getNetwork() : null;
+    }
+
     private static String resolveContinent(CityResponse cityResponse) {
         final Continent continent = cityResponse != null ? cityResponse.getContinent() : null;
         final String code = continent != null ? continent.getCode() : null;
@@ -119,4 +382,14 @@ public class MaxMindGeoLocationService implements GeoLocationService, FileProces
         final Double longitude = location != null ? location.getLongitude() : null;
         return longitude != null ? longitude.floatValue() : null;
     }
+
+    private record CacheKey(InetAddress address, int prefixLength) {
+    }
+
+    /**
+     * Number of lookups in progress with a reader and whether it was replaced, so it should be closed after them.
+     * Value equality lets only one of the concurrent parties remove the drained entry and close the reader.
+     */
+    private record ReaderUsage(int lookups, boolean retired) {
+    }
 }
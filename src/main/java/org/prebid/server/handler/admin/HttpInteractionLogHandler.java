@@ -20,6 +20,7 @@ public class HttpInteractionLogHandler implements Handler<RoutingContext> {
     private static final String ACCOUNT_PARAMETER = "account";
     private static final String BIDDER_PARAMETER = "bidder";
     private static final String LIMIT_PARAMETER = "limit";
+    private static final String SAMPLING_RATE_PARAMETER = "samplingRate";
 
     private final int maxLimit;
     private final HttpInteractionLogger httpInteractionLogger;
@@ -41,7 +42,8 @@ public class HttpInteractionLogHandler implements Handler<RoutingContext> {
                     readStatusCode(parameters),
                     readAccount(parameters),
                     readBidder(parameters),
-                    readLimit(parameters)));
+                    readLimit(parameters),
+                    readSamplingRate(parameters)));
 
             HttpUtil.executeSafely(routingContext, endpoint,
                     HttpServerResponse::end);
@@ -97,6 +99,23 @@ public class HttpInteractionLogHandler implements Handler<RoutingContext> {
         return limit;
     }
 
+    private Double readSamplingRate(MultiMap parameters) {
+        final String value = parameters.get(SAMPLING_RATE_PARAMETER);
+        final Double samplingRate;
+        try {
+            samplingRate = value != null ? Double.parseDouble(value) : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("Invalid '%s' parameter value".formatted(SAMPLING_RATE_PARAMETER));
+        }
+
+        if (samplingRate != null && (samplingRate <= 0 || samplingRate > 1)) {
+            throw new InvalidRequestException(
+                    "Parameter '%s' must be greater than 0 and not greater than 1".formatted(SAMPLING_RATE_PARAMETER));
+        }
+
+        return samplingRate;
+    }
+
     private Integer getIntParameter(String parameterName, MultiMap parameters) {
         final String value = parameters.get(parameterName);
         try {
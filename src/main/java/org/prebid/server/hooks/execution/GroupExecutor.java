@@ -4,6 +4,7 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
 import org.prebid.server.hooks.execution.model.HookId;
@@ -13,35 +14,43 @@ import org.prebid.server.hooks.v1.InvocationContext;
 import org.prebid.server.hooks.v1.InvocationResult;
 
 import java.time.Clock;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.TimeoutException;
-import java.util.function.Supplier;
 
+/**
+ * Executes hooks of the group in parallel: every hook is invoked with the initial payload of the group, and
+ * invocation results are applied in the order of hooks in the group as soon as all preceding results are available.
+ */
 class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
+    private static final long MIN_HOOK_TIMEOUT_MS = 1L;
+
     private final Vertx vertx;
     private final Clock clock;
-    private final Map<String, Boolean> modulesExecution;
+    private final HookBudgetTracker hookBudgetTracker;
 
     private ExecutionGroup group;
+    private Timeout auctionTimeout;
     private PAYLOAD initialPayload;
     private HookProvider<PAYLOAD, CONTEXT> hookProvider;
     private InvocationContextProvider<CONTEXT> invocationContextProvider;
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
 
-    private GroupExecutor(Vertx vertx, Clock clock, Map<String, Boolean> modulesExecution) {
+    private GroupExecutor(Vertx vertx, Clock clock, HookBudgetTracker hookBudgetTracker) {
         this.vertx = vertx;
         this.clock = clock;
-        this.modulesExecution = modulesExecution;
+        this.hookBudgetTracker = hookBudgetTracker;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> GroupExecutor<PAYLOAD, CONTEXT> create(
             Vertx vertx,
             Clock clock,
-            Map<String, Boolean> modulesExecution) {
+            HookBudgetTracker hookBudgetTracker) {
 
-        return new GroupExecutor<>(vertx, clock, modulesExecution);
+        return new GroupExecutor<>(vertx, clock, hookBudgetTracker);
     }
 
     public GroupExecutor<PAYLOAD, CONTEXT> withGroup(ExecutionGroup group) {
@@ -49,6 +58,11 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return this;
     }
 
+    public GroupExecutor<PAYLOAD, CONTEXT> withAuctionTimeout(Timeout auctionTimeout) {
+        this.auctionTimeout = auctionTimeout;
+        return this;
+    }
+
     public GroupExecutor<PAYLOAD, CONTEXT> withInitialPayload(PAYLOAD initialPayload) {
         this.initialPayload = initialPayload;
         return this;
@@ -77,119 +91,185 @@ class GroupExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     }
 
     public Future<GroupResult<PAYLOAD>> execute() {
-        final GroupResult<PAYLOAD> initialGroupResult = GroupResult.of(initialPayload, rejectAllowed);
-        Future<GroupResult<PAYLOAD>> groupFuture = Future.succeededFuture(initialGroupResult);
-
-        for (final HookId hookId : group.getHookSequence()) {
-            if (!modulesExecution.get(hookId.getModuleCode())) {
+        final List<HookId> hookSequence = group.getHookSequence();
+        final long timeout = hookTimeout();
+        final GroupCompletion completion = new GroupCompletion(
+                GroupResult.of(initialPayload, rejectAllowed), hookSequence, clock.millis());
+
+        for (int i = 0; i < hookSequence.size(); i++) {
+            final HookId hookId = hookSequence.get(i);
+            if (hookBudgetTracker != null && hookBudgetTracker.shouldSkip(hookId)) {
+                completion.skip(i);
                 continue;
             }
 
-            final Future<Hook<PAYLOAD, CONTEXT>> hookFuture = hook(hookId);
-
-            final long startTime = clock.millis();
-            final Future<InvocationResult<PAYLOAD>> invocationResult = hookFuture
-                    .compose(hook -> executeHook(hook, group.getTimeout(), initialGroupResult, hookId));
-
-            groupFuture = groupFuture.compose(groupResult ->
-                    applyInvocationResult(invocationResult, hookId, startTime, groupResult));
+            final int index = i;
+            executeHook(hookId, timeout).onComplete(result -> completion.complete(index, result));
         }
 
-        return groupFuture.recover(GroupExecutor::restoreResultFromRejection);
+        return completion.withTimeout(timeout);
     }
 
-    private Future<Hook<PAYLOAD, CONTEXT>> hook(HookId hookId) {
+    private long hookTimeout() {
+        final long groupTimeout = group.getTimeout();
+        return auctionTimeout != null
+                ? Math.max(Math.min(groupTimeout, auctionTimeout.remaining()), MIN_HOOK_TIMEOUT_MS)
+                : groupTimeout;
+    }
+
+    private Future<InvocationResult<PAYLOAD>> executeHook(HookId hookId, long timeout) {
+        final Hook<PAYLOAD, CONTEXT> hook;
         try {
-            return Future.succeededFuture(hookProvider.apply(hookId));
+            hook = hookProvider.apply(hookId);
         } catch (Exception e) {
             return Future.failedFuture(new FailedException(e.getMessage()));
         }
-    }
 
-    private Future<InvocationResult<PAYLOAD>> executeHook(Hook<PAYLOAD, CONTEXT> hook,
-                                                          Long timeout,
-                                                          GroupResult<PAYLOAD> groupResult,
-                                                          HookId hookId) {
+        final CONTEXT invocationContext;
+        try {
+            invocationContext = invocationContextProvider.apply(timeout, hookId, moduleContextFor(hookId));
+        } catch (Exception e) {
+            return Future.failedFuture(e);
+        }
 
-        final CONTEXT invocationContext = invocationContextProvider.apply(timeout, hookId, moduleContextFor(hookId));
-        return executeWithTimeout(() -> hook.call(groupResult.payload(), invocationContext), timeout);
+        try {
+            final Future<InvocationResult<PAYLOAD>> result = hook.call(initialPayload, invocationContext);
+            return result != null ? result : Future.failedFuture(new FailedException("Action returned null"));
+        } catch (Throwable e) {
+            return Future.failedFuture(new FailedException(e));
+        }
     }
 
-    private <T> Future<T> executeWithTimeout(Supplier<Future<T>> action, Long timeout) {
-        final Promise<T> promise = Promise.promise();
+    private Object moduleContextFor(HookId hookId) {
+        return hookExecutionContext.getModuleContexts().get(hookId.getModuleCode());
+    }
 
-        final long timeoutTimerId = vertx.setTimer(timeout, id -> failWithTimeout(promise));
+    private void saveModuleContext(HookId hookId, InvocationResult<PAYLOAD> result) {
+        hookExecutionContext.getModuleContexts().put(hookId.getModuleCode(), result.moduleContext());
+    }
 
-        executeSafely(action)
-                .onComplete(result -> completeWithActionResult(promise, timeoutTimerId, result));
+    /**
+     * Collects results of hooks completing in any order and applies them to the group result in the order of hooks
+     * in the group. Completes as soon as the last result is applied or any hook rejects the entity.
+     * <p>
+     * Hooks of the group are started together, so a single timer fails all hooks still running when the group
+     * timeout exceeds.
+     */
+    private class GroupCompletion {
+
+        private final GroupResult<PAYLOAD> groupResult;
+        private final List<HookId> hookSequence;
+        private final long startTime;
+        private final Promise<GroupResult<PAYLOAD>> promise;
+
+        private final List<AsyncResult<InvocationResult<PAYLOAD>>> results;
+        private final long[] executionTimes;
+        private final boolean[] completed;
+        private int nextToApply;
+        private long timeoutTimerId;
+
+        GroupCompletion(GroupResult<PAYLOAD> groupResult, List<HookId> hookSequence, long startTime) {
+            this.groupResult = groupResult;
+            this.hookSequence = hookSequence;
+            this.startTime = startTime;
+            this.promise = Promise.promise();
+
+            final int size = hookSequence.size();
+            results = new ArrayList<>(Collections.nCopies(size, null));
+            executionTimes = new long[size];
+            completed = new boolean[size];
+            nextToApply = 0;
+            timeoutTimerId = -1L;
+        }
 
-        return promise.future();
-    }
+        synchronized Future<GroupResult<PAYLOAD>> withTimeout(long timeout) {
+            applyCompleted();
+            if (!promise.future().isComplete()) {
+                timeoutTimerId = vertx.setTimer(timeout, id -> timeout());
+            }
 
-    private static <T> void failWithTimeout(Promise<T> promise) {
-        // no need for synchronization since timer is fired on the same event loop thread
-        if (!promise.future().isComplete()) {
-            promise.fail(new TimeoutException("Timed out while executing action"));
+            return promise.future();
         }
-    }
 
-    private static <T> Future<T> executeSafely(Supplier<Future<T>> action) {
-        try {
-            final Future<T> result = action.get();
-            return result != null ? result : Future.failedFuture(new FailedException("Action returned null"));
-        } catch (Throwable e) {
-            return Future.failedFuture(new FailedException(e));
+        synchronized void skip(int index) {
+            completed[index] = true;
         }
-    }
 
-    private <T> void completeWithActionResult(Promise<T> promise, long timeoutTimerId, AsyncResult<T> result) {
-        vertx.cancelTimer(timeoutTimerId);
+        synchronized void complete(int index, AsyncResult<InvocationResult<PAYLOAD>> result) {
+            // result may become ready after timeout exceeded
+            if (completed[index]) {
+                return;
+            }
+
+            if (hookBudgetTracker != null) {
+                hookBudgetTracker.recordCompletion(hookSequence.get(index));
+            }
+
+            results.set(index, result);
+            executionTimes[index] = clock.millis() - startTime;
+            completed[index] = true;
 
-        // check is to avoid harmless exception if timeout exceeds before successful result becomes ready
-        if (!promise.future().isComplete()) {
-            promise.handle(result);
+            applyCompleted();
         }
-    }
 
-    private long executionTime(long startTime) {
-        return clock.millis() - startTime;
-    }
+        private synchronized void timeout() {
+            final long executionTime = clock.millis() - startTime;
+            for (int i = 0; i < completed.length; i++) {
+                if (completed[i]) {
+                    continue;
+                }
 
-    private Future<GroupResult<PAYLOAD>> applyInvocationResult(
-            Future<InvocationResult<PAYLOAD>> invocationResult,
-            HookId hookId,
-            long startTime,
-            GroupResult<PAYLOAD> groupResult) {
-
-        return invocationResult
-                .map(result -> {
-                    saveModuleContext(hookId, result);
-                    return groupResult.applyInvocationResult(result, hookId, executionTime(startTime));
-                })
-                .otherwise(throwable -> groupResult.applyFailure(throwable, hookId, executionTime(startTime)))
-                .compose(this::propagateRejection);
-    }
+                if (hookBudgetTracker != null) {
+                    hookBudgetTracker.recordTimeout(hookSequence.get(i));
+                }
 
-    private Object moduleContextFor(HookId hookId) {
-        return hookExecutionContext.getModuleContexts().get(hookId.getModuleCode());
-    }
+                results.set(i, Future.failedFuture(new TimeoutException("Timed out while executing action")));
+                executionTimes[i] = executionTime;
+                completed[i] = true;
+            }
 
-    private void saveModuleContext(HookId hookId, InvocationResult<PAYLOAD> result) {
-        hookExecutionContext.getModuleContexts().put(hookId.getModuleCode(), result.moduleContext());
-    }
+            applyCompleted();
+        }
 
-    private Future<GroupResult<PAYLOAD>> propagateRejection(GroupResult<PAYLOAD> groupResult) {
-        return groupResult.shouldReject()
-                ? Future.failedFuture(new RejectedException(groupResult))
-                : Future.succeededFuture(groupResult);
+        private void applyCompleted() {
+            if (promise.future().isComplete()) {
+                return;
+            }
 
-    }
+            while (nextToApply < completed.length && completed[nextToApply]) {
+                apply(nextToApply++);
+
+                if (groupResult.shouldReject()) {
+                    finish();
+                    return;
+                }
+            }
 
-    private static <T> Future<T> restoreResultFromRejection(Throwable throwable) {
-        if (throwable instanceof RejectedException) {
-            return Future.succeededFuture(((RejectedException) throwable).result());
+            if (nextToApply == completed.length) {
+                finish();
+            }
+        }
+
+        private void apply(int index) {
+            final HookId hookId = hookSequence.get(index);
+            final AsyncResult<InvocationResult<PAYLOAD>> result = results.get(index);
+
+            if (result == null) {
+                groupResult.applySkip(hookId);
+            } else if (result.succeeded()) {
+                saveModuleContext(hookId, result.result());
+                groupResult.applyInvocationResult(result.result(), hookId, executionTimes[index]);
+            } else {
+                groupResult.applyFailure(result.cause(), hookId, executionTimes[index]);
+            }
         }
 
-        return Future.failedFuture(throwable);
+        private void finish() {
+            if (timeoutTimerId != -1L) {
+                vertx.cancelTimer(timeoutTimerId);
+            }
+
+            promise.complete(groupResult);
+        }
     }
 }
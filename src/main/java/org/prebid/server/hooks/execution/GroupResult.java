@@ -70,6 +70,18 @@ class GroupResult<T> {
         return this;
     }
 
+    public GroupResult<T> applySkip(HookId hookId) {
+        hookExecutionOutcomes.add(HookExecutionOutcome.builder()
+                .hookId(hookId)
+                .executionTime(0L)
+                .status(ExecutionStatus.execution_failure)
+                .message("Hook was skipped after repeatedly exceeding its timeout")
+                .action(ExecutionAction.no_invocation)
+                .build());
+
+        return this;
+    }
+
     public GroupExecutionOutcome toGroupExecutionOutcome() {
         return GroupExecutionOutcome.of(this.hookExecutionOutcomes());
     }
@@ -0,0 +1,65 @@
+package org.prebid.server.hooks.execution;
+
+import org.prebid.server.hooks.execution.model.HookId;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Tracks hooks exceeding their execution budget and skips them adaptively.
+ * <p>
+ * Hook which timed out the configured number of times in a row is skipped for the configured period. After the
+ * period hook is invoked again and is skipped once more on the first timeout, until it completes in time.
+ */
+public class HookBudgetTracker {
+
+    private final int maxConsecutiveTimeouts;
+    private final long skipDurationMs;
+    private final Clock clock;
+
+    private final Map<HookId, Budget> budgets;
+
+    public HookBudgetTracker(int maxConsecutiveTimeouts, long skipDurationMs, Clock clock) {
+        if (maxConsecutiveTimeouts < 1 || skipDurationMs < 1) {
+            throw new IllegalArgumentException(
+                    "Max consecutive timeouts and skip duration should be positive: "
+                            + "max-consecutive-timeouts=%d, skip-duration-ms=%d"
+                            .formatted(maxConsecutiveTimeouts, skipDurationMs));
+        }
+
+        this.maxConsecutiveTimeouts = maxConsecutiveTimeouts;
+        this.skipDurationMs = skipDurationMs;
+        this.clock = Objects.requireNonNull(clock);
+
+        budgets = new ConcurrentHashMap<>();
+    }
+
+    public boolean shouldSkip(HookId hookId) {
+        final Budget budget = budgets.get(hookId);
+        return budget != null && clock.millis() < budget.skipUntil;
+    }
+
+    public void recordTimeout(HookId hookId) {
+        final Budget budget = budgets.computeIfAbsent(hookId, key -> new Budget());
+        if (budget.consecutiveTimeouts.incrementAndGet() >= maxConsecutiveTimeouts) {
+            budget.skipUntil = clock.millis() + skipDurationMs;
+        }
+    }
+
+    public void recordCompletion(HookId hookId) {
+        final Budget budget = budgets.get(hookId);
+        if (budget != null) {
+            budget.consecutiveTimeouts.set(0);
+        }
+    }
+
+    private static class Budget {
+
+        private final AtomicInteger consecutiveTimeouts = new AtomicInteger();
+
+        private volatile long skipUntil;
+    }
+}
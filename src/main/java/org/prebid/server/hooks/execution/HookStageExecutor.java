@@ -2,6 +2,7 @@ package org.prebid.server.hooks.execution;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.response.BidResponse;
 import io.vertx.core.Future;
@@ -16,6 +17,7 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.execution.timeout.TimeoutFactory;
@@ -54,6 +56,7 @@ import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointPayload;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.Endpoint;
 import org.prebid.server.settings.model.Account;
@@ -61,6 +64,7 @@ import org.prebid.server.settings.model.AccountHooksConfiguration;
 import org.prebid.server.settings.model.HooksAdminConfig;
 
 import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -69,7 +73,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Stream;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class HookStageExecutor {
 
@@ -79,6 +83,7 @@ public class HookStageExecutor {
     private static final String ENTITY_AUCTION_RESPONSE = "auction-response";
     private static final String ENTITY_ALL_PROCESSED_BID_RESPONSES = "all-processed-bid-responses";
     private static final Account EMPTY_ACCOUNT = Account.empty(StringUtils.EMPTY);
+    private static final int MAX_COMPILED_PLANS = 10_000;
 
     private final ExecutionPlan hostExecutionPlan;
     private final ExecutionPlan defaultAccountExecutionPlan;
@@ -88,8 +93,13 @@ public class HookStageExecutor {
     private final Vertx vertx;
     private final Clock clock;
     private final ObjectMapper mapper;
+    private final Metrics metrics;
+    private final HookBudgetTracker hookBudgetTracker;
     private final boolean isConfigToInvokeRequired;
 
+    private final Map<Endpoint, StageExecutionPlan> compiledEntrypointPlans;
+    private final Map<CompiledPlanKey, CompiledStagePlan> compiledPlans;
+
     private HookStageExecutor(ExecutionPlan hostExecutionPlan,
                               ExecutionPlan defaultAccountExecutionPlan,
                               Map<String, Boolean> hostModuleExecution,
@@ -98,6 +108,8 @@ public class HookStageExecutor {
                               Vertx vertx,
                               Clock clock,
                               ObjectMapper mapper,
+                              Metrics metrics,
+                              HookBudgetTracker hookBudgetTracker,
                               boolean isConfigToInvokeRequired) {
 
         this.hostExecutionPlan = hostExecutionPlan;
@@ -107,8 +119,16 @@ public class HookStageExecutor {
         this.vertx = vertx;
         this.clock = clock;
         this.mapper = mapper;
+        this.metrics = metrics;
+        this.hookBudgetTracker = hookBudgetTracker;
         this.isConfigToInvokeRequired = isConfigToInvokeRequired;
         this.hostModuleExecution = hostModuleExecution;
+
+        compiledEntrypointPlans = new ConcurrentHashMap<>();
+        compiledPlans = Caffeine.newBuilder()
+                .maximumSize(MAX_COMPILED_PLANS)
+                .<CompiledPlanKey, CompiledStagePlan>build()
+                .asMap();
     }
 
     public static HookStageExecutor create(String hostExecutionPlan,
@@ -119,6 +139,8 @@ public class HookStageExecutor {
                                            Vertx vertx,
                                            Clock clock,
                                            JacksonMapper mapper,
+                                           Metrics metrics,
+                                           HookBudgetTracker hookBudgetTracker,
                                            boolean isConfigToInvokeRequired) {
 
         Objects.requireNonNull(hookCatalog);
@@ -133,6 +155,8 @@ public class HookStageExecutor {
                 Objects.requireNonNull(vertx),
                 Objects.requireNonNull(clock),
                 mapper.mapper(),
+                Objects.requireNonNull(metrics),
+                hookBudgetTracker,
                 isConfigToInvokeRequired);
     }
 
@@ -191,7 +215,6 @@ public class HookStageExecutor {
                 .withHookProvider(hookProviderForEntrypointStage(context))
                 .withInitialPayload(EntrypointPayloadImpl.of(queryParams, headers, body))
                 .withInvocationContextProvider(invocationContextProvider(endpoint))
-                .withModulesExecution(DefaultedMap.defaultedMap(hostModuleExecution, true))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -210,6 +233,7 @@ public class HookStageExecutor {
                         StageWithHookType.RAW_AUCTION_REQUEST, ENTITY_AUCTION_REQUEST, context, account, endpoint)
                 .withInitialPayload(AuctionRequestPayloadImpl.of(bidRequest))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -228,6 +252,7 @@ public class HookStageExecutor {
                         StageWithHookType.PROCESSED_AUCTION_REQUEST, ENTITY_AUCTION_REQUEST, context, account, endpoint)
                 .withInitialPayload(AuctionRequestPayloadImpl.of(bidRequest))
                 .withInvocationContextProvider(auctionInvocationContextProvider(endpoint, auctionContext))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -246,6 +271,7 @@ public class HookStageExecutor {
                 .stageExecutor(StageWithHookType.BIDDER_REQUEST, bidder, context, account, endpoint)
                 .withInitialPayload(BidderRequestPayloadImpl.of(bidderRequest.getBidRequest()))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -266,6 +292,7 @@ public class HookStageExecutor {
                 .stageExecutor(StageWithHookType.RAW_BIDDER_RESPONSE, bidder, context, account, endpoint)
                 .withInitialPayload(BidderResponsePayloadImpl.of(bids))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -285,6 +312,7 @@ public class HookStageExecutor {
         return stageExecutor(StageWithHookType.PROCESSED_BIDDER_RESPONSE, bidder, context, account, endpoint)
                 .withInitialPayload(BidderResponsePayloadImpl.of(bids))
                 .withInvocationContextProvider(bidderInvocationContextProvider(endpoint, auctionContext, bidder))
+                .withAuctionTimeout(auctionTimeout(auctionContext))
                 .withRejectAllowed(true)
                 .execute();
     }
@@ -344,7 +372,7 @@ public class HookStageExecutor {
             String entity,
             HookExecutionContext context) {
 
-        return StageExecutor.<PAYLOAD, CONTEXT>create(vertx, clock)
+        return StageExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, hookBudgetTracker, metrics)
                 .withStage(stage)
                 .withEntity(entity)
                 .withHookExecutionContext(context);
@@ -358,7 +386,6 @@ public class HookStageExecutor {
             Endpoint endpoint) {
 
         return stageExecutor(stage, entity, context)
-                .withModulesExecution(modulesExecutionForAccount(account))
                 .withExecutionPlan(planForStage(account, endpoint, stage.stage()))
                 .withHookProvider(hookProvider(stage, account, context));
     }
@@ -384,32 +411,70 @@ public class HookStageExecutor {
         return DefaultedMap.defaultedMap(resultModulesExecution, !isConfigToInvokeRequired);
     }
 
+    private static Timeout auctionTimeout(AuctionContext auctionContext) {
+        final TimeoutContext timeoutContext = auctionContext.getTimeoutContext();
+        return timeoutContext != null ? timeoutContext.getTimeout() : null;
+    }
+
     private StageExecutionPlan planForEntrypointStage(Endpoint endpoint) {
-        return effectiveStagePlanFrom(ExecutionPlan.empty(), endpoint, Stage.entrypoint);
+        return compiledEntrypointPlans.computeIfAbsent(endpoint, key -> compileStagePlan(
+                ExecutionPlan.empty(),
+                key,
+                Stage.entrypoint,
+                DefaultedMap.defaultedMap(hostModuleExecution, true)));
     }
 
+    /**
+     * Returns effective stage plan for the account, compiled on the first use and reused until account hooks
+     * configuration changes.
+     */
     private StageExecutionPlan planForStage(Account account, Endpoint endpoint, Stage stage) {
-        return effectiveStagePlanFrom(effectiveExecutionPlanFor(account), endpoint, stage);
+        final AccountHooksConfiguration hooksConfiguration = account.getHooks();
+        final CompiledPlanKey key = new CompiledPlanKey(account.getId(), endpoint, stage);
+
+        final CompiledStagePlan compiledPlan = compiledPlans.get(key);
+        if (compiledPlan != null && compiledPlan.isCompiledFrom(hooksConfiguration)) {
+            return compiledPlan.plan();
+        }
+
+        final StageExecutionPlan plan = compileStagePlan(
+                effectiveExecutionPlanFor(account), endpoint, stage, modulesExecutionForAccount(account));
+        compiledPlans.put(key, new CompiledStagePlan(hooksConfiguration, plan));
+
+        return plan;
     }
 
-    private StageExecutionPlan effectiveStagePlanFrom(
-            ExecutionPlan accountExecutionPlan, Endpoint endpoint, Stage stage) {
+    private StageExecutionPlan compileStagePlan(ExecutionPlan accountExecutionPlan,
+                                                Endpoint endpoint,
+                                                Stage stage,
+                                                Map<String, Boolean> modulesExecution) {
 
         final StageExecutionPlan hostStageExecutionPlan = stagePlanFrom(hostExecutionPlan, endpoint, stage);
         final StageExecutionPlan accountStageExecutionPlan = stagePlanFrom(accountExecutionPlan, endpoint, stage);
 
-        if (hostStageExecutionPlan.isEmpty()) {
-            return accountStageExecutionPlan;
-        } else if (accountStageExecutionPlan.isEmpty()) {
-            return hostStageExecutionPlan;
+        if (hostStageExecutionPlan.isEmpty() && accountStageExecutionPlan.isEmpty()) {
+            return StageExecutionPlan.empty();
         }
 
-        final List<ExecutionGroup> combinedGroups = Stream.of(hostStageExecutionPlan, accountStageExecutionPlan)
-                .map(StageExecutionPlan::getGroups)
-                .flatMap(Collection::stream)
-                .toList();
+        final List<ExecutionGroup> groups = new ArrayList<>(
+                hostStageExecutionPlan.getGroups().size() + accountStageExecutionPlan.getGroups().size());
+        addExecutedGroups(hostStageExecutionPlan, modulesExecution, groups);
+        addExecutedGroups(accountStageExecutionPlan, modulesExecution, groups);
 
-        return StageExecutionPlan.of(combinedGroups);
+        return StageExecutionPlan.of(Collections.unmodifiableList(groups));
+    }
+
+    private static void addExecutedGroups(StageExecutionPlan stageExecutionPlan,
+                                          Map<String, Boolean> modulesExecution,
+                                          List<ExecutionGroup> groups) {
+
+        for (final ExecutionGroup group : stageExecutionPlan.getGroups()) {
+            final List<HookId> executedHooks = group.getHookSequence().stream()
+                    .filter(hookId -> modulesExecution.get(hookId.getModuleCode()))
+                    .toList();
+
+            groups.add(ExecutionGroup.of(group.getTimeout(), executedHooks));
+        }
     }
 
     private static StageExecutionPlan stagePlanFrom(ExecutionPlan executionPlan, Endpoint endpoint, Stage stage) {
@@ -543,4 +608,18 @@ public class HookStageExecutor {
         final Set<String> accounts = abTest.getAccounts();
         return CollectionUtils.isEmpty(accounts) || accounts.contains(account);
     }
+
+    private record CompiledPlanKey(String accountId, Endpoint endpoint, Stage stage) {
+    }
+
+    /**
+     * Plan is matched to account hooks configuration by identity first, which is cheap when the same account
+     * instance is reused, falling back to equality, since account may be fetched or merged anew for every request.
+     */
+    private record CompiledStagePlan(AccountHooksConfiguration source, StageExecutionPlan plan) {
+
+        boolean isCompiledFrom(AccountHooksConfiguration hooksConfiguration) {
+            return source == hooksConfiguration || Objects.equals(source, hooksConfiguration);
+        }
+    }
 }
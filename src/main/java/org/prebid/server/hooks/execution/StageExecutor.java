@@ -2,23 +2,27 @@ package org.prebid.server.hooks.execution;
 
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.hooks.execution.model.ExecutionGroup;
 import org.prebid.server.hooks.execution.model.HookExecutionContext;
+import org.prebid.server.hooks.execution.model.HookExecutionOutcome;
 import org.prebid.server.hooks.execution.model.HookStageExecutionResult;
 import org.prebid.server.hooks.execution.model.StageExecutionPlan;
 import org.prebid.server.hooks.execution.model.StageWithHookType;
 import org.prebid.server.hooks.execution.provider.HookProvider;
 import org.prebid.server.hooks.v1.Hook;
 import org.prebid.server.hooks.v1.InvocationContext;
+import org.prebid.server.metric.Metrics;
 
 import java.time.Clock;
 import java.util.ArrayList;
-import java.util.Map;
 
 class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
 
     private final Vertx vertx;
     private final Clock clock;
+    private final HookBudgetTracker hookBudgetTracker;
+    private final Metrics metrics;
 
     private StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage;
     private String entity;
@@ -28,18 +32,24 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
     private InvocationContextProvider<CONTEXT> invocationContextProvider;
     private HookExecutionContext hookExecutionContext;
     private boolean rejectAllowed;
-    private Map<String, Boolean> modulesExecution;
+    private Timeout auctionTimeout;
 
-    private StageExecutor(Vertx vertx, Clock clock) {
+    private long hooksExecutionTime;
+
+    private StageExecutor(Vertx vertx, Clock clock, HookBudgetTracker hookBudgetTracker, Metrics metrics) {
         this.vertx = vertx;
         this.clock = clock;
+        this.hookBudgetTracker = hookBudgetTracker;
+        this.metrics = metrics;
     }
 
     public static <PAYLOAD, CONTEXT extends InvocationContext> StageExecutor<PAYLOAD, CONTEXT> create(
             Vertx vertx,
-            Clock clock) {
+            Clock clock,
+            HookBudgetTracker hookBudgetTracker,
+            Metrics metrics) {
 
-        return new StageExecutor<>(vertx, clock);
+        return new StageExecutor<>(vertx, clock, hookBudgetTracker, metrics);
     }
 
     public StageExecutor<PAYLOAD, CONTEXT> withStage(StageWithHookType<? extends Hook<PAYLOAD, CONTEXT>> stage) {
@@ -84,29 +94,35 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return this;
     }
 
-    public StageExecutor<PAYLOAD, CONTEXT> withModulesExecution(Map<String, Boolean> modulesExecution) {
-        this.modulesExecution = modulesExecution;
+    /**
+     * Limits hook timeouts to the time remaining for the auction, if set.
+     */
+    public StageExecutor<PAYLOAD, CONTEXT> withAuctionTimeout(Timeout auctionTimeout) {
+        this.auctionTimeout = auctionTimeout;
         return this;
     }
 
     public Future<HookStageExecutionResult<PAYLOAD>> execute() {
+        final long startTime = clock.millis();
         Future<StageResult<PAYLOAD>> stageFuture = Future.succeededFuture(StageResult.of(initialPayload, entity));
 
         for (final ExecutionGroup group : executionPlan.getGroups()) {
             stageFuture = stageFuture.compose(stageResult ->
                     executeGroup(group, stageResult.payload())
+                            .map(this::trackHooksExecutionTime)
                             .map(stageResult::applyGroupResult)
                             .compose(StageExecutor::propagateRejection));
         }
 
         return stageFuture
                 .recover(StageExecutor::restoreResultFromRejection)
-                .map(this::toHookStageExecutionResult);
+                .map(stageResult -> toHookStageExecutionResult(stageResult, startTime));
     }
 
     private Future<GroupResult<PAYLOAD>> executeGroup(ExecutionGroup group, PAYLOAD initialPayload) {
-        return GroupExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, modulesExecution)
+        return GroupExecutor.<PAYLOAD, CONTEXT>create(vertx, clock, hookBudgetTracker)
                 .withGroup(group)
+                .withAuctionTimeout(auctionTimeout)
                 .withInitialPayload(initialPayload)
                 .withHookProvider(hookProvider)
                 .withInvocationContextProvider(invocationContextProvider)
@@ -130,7 +146,25 @@ class StageExecutor<PAYLOAD, CONTEXT extends InvocationContext> {
         return Future.failedFuture(throwable);
     }
 
-    private HookStageExecutionResult<PAYLOAD> toHookStageExecutionResult(StageResult<PAYLOAD> stageResult) {
+    /**
+     * Hooks of the group are executed in parallel, so the group takes as long as the slowest of its hooks.
+     */
+    private GroupResult<PAYLOAD> trackHooksExecutionTime(GroupResult<PAYLOAD> groupResult) {
+        long groupExecutionTime = 0L;
+        for (final HookExecutionOutcome outcome : groupResult.hookExecutionOutcomes()) {
+            groupExecutionTime = Math.max(groupExecutionTime, outcome.getExecutionTime());
+        }
+
+        hooksExecutionTime += groupExecutionTime;
+        return groupResult;
+    }
+
+    private HookStageExecutionResult<PAYLOAD> toHookStageExecutionResult(StageResult<PAYLOAD> stageResult,
+                                                                         long startTime) {
+
+        metrics.updateHooksStageOverheadMetric(
+                stage.stage(), Math.max(clock.millis() - startTime - hooksExecutionTime, 0L));
+
         hookExecutionContext.getStageOutcomes().computeIfAbsent(stage.stage(), key -> new ArrayList<>())
                 .add(stageResult.toStageExecutionOutcome());
 
@@ -0,0 +1,12 @@
+package org.prebid.server.json;
+
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+
+/**
+ * JsonLogic expression compiled against the typed data it is evaluated with.
+ */
+@FunctionalInterface
+public interface CompiledJsonLogic<T> {
+
+    boolean evaluate(T data) throws JsonLogicEvaluationException;
+}
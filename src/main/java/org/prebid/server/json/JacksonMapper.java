@@ -3,6 +3,7 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.buffer.Buffer;
 import org.prebid.server.proto.openrtb.ext.FlexibleExtension;
@@ -15,9 +16,11 @@ public class JacksonMapper {
 
     private static final String FAILED_TO_DECODE = "Failed to decode: %s";
     private final ObjectMapper mapper;
+    private final ObjectMapper fragmentMapper;
 
     public JacksonMapper(ObjectMapper mapper) {
         this.mapper = Objects.requireNonNull(mapper);
+        this.fragmentMapper = mapper.copy().registerModule(new JsonFragmentModule());
     }
 
     public ObjectMapper mapper() {
@@ -26,7 +29,7 @@ public class JacksonMapper {
 
     public <T> String encodeToString(T obj) throws EncodeException {
         try {
-            return mapper.writeValueAsString(obj);
+            return encodingMapper().writeValueAsString(obj);
         } catch (JsonProcessingException e) {
             throw new EncodeException("Failed to encode as JSON: " + e.getMessage());
         }
@@ -34,12 +37,20 @@ public class JacksonMapper {
 
     public <T> byte[] encodeToBytes(T obj) throws EncodeException {
         try {
-            return mapper.writeValueAsBytes(obj);
+            return encodingMapper().writeValueAsBytes(obj);
         } catch (JsonProcessingException e) {
             throw new EncodeException("Failed to encode as byte array: " + e.getMessage());
         }
     }
 
+    /**
+     * Fragment aware mapper is used only while {@link JsonFragmentCache} is enabled for the current thread, so the
+     * shared mapper and tree conversions made with it are never affected by the cached fragments.
+     */
+    private ObjectMapper encodingMapper() {
+        return JsonFragmentCache.isActive() ? fragmentMapper : mapper;
+    }
+
     public <T> T decodeValue(String str, Class<T> clazz) throws DecodeException {
         try {
             return mapper.readValue(str, clazz);
@@ -64,17 +75,29 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Decodes value directly from buffer content, without intermediate {@link String} or byte array copy
+     * whenever the buffer is backed by an accessible array.
+     */
     public <T> T decodeValue(Buffer buf, Class<T> clazz) throws DecodeException {
+        final ByteBuf byteBuf = buf.getByteBuf();
         try {
-            return mapper.readValue((InputStream) new ByteBufInputStream(buf.getByteBuf()), clazz);
+            return byteBuf.hasArray()
+                    ? mapper.readValue(
+                    byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes(), clazz)
+                    : mapper.readValue((InputStream) new ByteBufInputStream(byteBuf), clazz);
         } catch (IOException e) {
             throw new DecodeException(FAILED_TO_DECODE.formatted(e.getMessage()), e);
         }
     }
 
     public <T> T decodeValue(Buffer buf, TypeReference<T> type) throws DecodeException {
+        final ByteBuf byteBuf = buf.getByteBuf();
         try {
-            return mapper.readValue(new ByteBufInputStream(buf.getByteBuf()), type);
+            return byteBuf.hasArray()
+                    ? mapper.readValue(
+                    byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(), byteBuf.readableBytes(), type)
+                    : mapper.readValue(new ByteBufInputStream(byteBuf), type);
         } catch (IOException e) {
             throw new DecodeException(FAILED_TO_DECODE.formatted(e.getMessage()), e);
         }
@@ -0,0 +1,86 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.SerializableString;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Keeps JSON representation of request sub-objects (site, app, device, user, source, regs) shared by bidder
+ * requests of the same auction, so every instance is encoded once and spliced as is into all bidder request bodies
+ * referencing it.
+ * <p>
+ * Instance is expected to be created per auction and cleared when its bidder requests are done. Entries are looked
+ * up by object identity and cache is consulted only within {@link #within(Supplier)} on the current thread, i.e.
+ * while bidder requests are being encoded and these objects are treated as immutable. Encoding outside of it is
+ * never affected by the fragments kept here.
+ */
+public class JsonFragmentCache {
+
+    private static final ThreadLocal<JsonFragmentCache> ACTIVE = new ThreadLocal<>();
+
+    private final Map<Object, SerializableString> fragments = new IdentityHashMap<>();
+
+    private int hits;
+
+    private int misses;
+
+    /**
+     * Runs given supplier with this cache enabled for the current thread.
+     */
+    public <T> T within(Supplier<T> supplier) {
+        final JsonFragmentCache previous = ACTIVE.get();
+        ACTIVE.set(this);
+        try {
+            return supplier.get();
+        } finally {
+            if (previous != null) {
+                ACTIVE.set(previous);
+            } else {
+                ACTIVE.remove();
+            }
+        }
+    }
+
+    /**
+     * Drops all kept fragments, so they are not reused once the objects they are taken from may change.
+     */
+    public void clear() {
+        fragments.clear();
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    static boolean isActive() {
+        return ACTIVE.get() != null;
+    }
+
+    /**
+     * Returns cached fragment for the given value or encodes and caches it when cache is enabled for the current
+     * thread, otherwise returns null meaning value should be serialized as usual.
+     */
+    static SerializableString fragmentFor(Object value, Supplier<SerializableString> encoder) {
+        final JsonFragmentCache cache = ACTIVE.get();
+        return cache != null ? cache.getOrEncode(value, encoder) : null;
+    }
+
+    private SerializableString getOrEncode(Object value, Supplier<SerializableString> encoder) {
+        final SerializableString cached = fragments.get(value);
+        if (cached != null) {
+            hits++;
+            return cached;
+        }
+
+        final SerializableString fragment = encoder.get();
+        fragments.put(value, fragment);
+        misses++;
+        return fragment;
+    }
+}
@@ -0,0 +1,134 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.iab.openrtb.request.App;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Source;
+import com.iab.openrtb.request.User;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.Set;
+
+/**
+ * Wraps serializers of request sub-objects commonly shared between bidder requests, so their JSON is taken from
+ * {@link JsonFragmentCache} when it is enabled for the current thread.
+ */
+class JsonFragmentModule extends SimpleModule {
+
+    private static final Set<Class<?>> FRAGMENT_TYPES =
+            Set.of(Site.class, App.class, Device.class, User.class, Source.class, Regs.class);
+
+    JsonFragmentModule() {
+        setSerializerModifier(new FragmentSerializerModifier());
+    }
+
+    private static class FragmentSerializerModifier extends BeanSerializerModifier {
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> modifySerializer(SerializationConfig config,
+                                                  BeanDescription beanDesc,
+                                                  JsonSerializer<?> serializer) {
+
+            return FRAGMENT_TYPES.contains(beanDesc.getBeanClass())
+                    ? new FragmentSerializer((JsonSerializer<Object>) serializer)
+                    : serializer;
+        }
+    }
+
+    private static class FragmentSerializer extends JsonSerializer<Object>
+            implements ResolvableSerializer, ContextualSerializer {
+
+        private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+        private final JsonSerializer<Object> delegate;
+
+        FragmentSerializer(JsonSerializer<Object> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            final SerializableString fragment;
+            try {
+                fragment = JsonFragmentCache.fragmentFor(value, () -> encode(value, generator, provider));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            if (fragment != null) {
+                generator.writeRawValue(fragment);
+            } else {
+                delegate.serialize(value, generator, provider);
+            }
+        }
+
+        private SerializableString encode(Object value, JsonGenerator generator, SerializerProvider provider) {
+            final StringWriter writer = new StringWriter();
+            try (JsonGenerator fragmentGenerator = JSON_FACTORY.createGenerator(writer)) {
+                fragmentGenerator.overrideStdFeatures(generator.getFeatureMask(), -1);
+                delegate.serialize(value, fragmentGenerator, provider);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new SerializedString(writer.toString());
+        }
+
+        @Override
+        public void serializeWithType(Object value,
+                                      JsonGenerator generator,
+                                      SerializerProvider provider,
+                                      TypeSerializer typeSerializer) throws IOException {
+
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        }
+
+        @Override
+        public boolean isEmpty(SerializerProvider provider, Object value) {
+            return delegate.isEmpty(provider, value);
+        }
+
+        @Override
+        public Class<Object> handledType() {
+            return delegate.handledType();
+        }
+
+        @Override
+        public void resolve(SerializerProvider provider) throws JsonMappingException {
+            if (delegate instanceof ResolvableSerializer resolvableSerializer) {
+                resolvableSerializer.resolve(provider);
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+
+            if (!(delegate instanceof ContextualSerializer contextualSerializer)) {
+                return this;
+            }
+
+            final JsonSerializer<?> contextual = contextualSerializer.createContextual(provider, property);
+            return contextual == delegate ? this : new FragmentSerializer((JsonSerializer<Object>) contextual);
+        }
+    }
+}
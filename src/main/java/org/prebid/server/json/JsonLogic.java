@@ -5,16 +5,25 @@ import io.github.jamsesso.jsonlogic.ast.JsonLogicParseException;
 import io.github.jamsesso.jsonlogic.ast.JsonLogicParser;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
 
+import java.util.Collection;
 import java.util.Map;
-import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class JsonLogic {
 
     private final JsonLogicEvaluator evaluator;
-
-    public JsonLogic(JsonLogicEvaluator jsonLogicEvaluator) {
-        evaluator = Objects.requireNonNull(jsonLogicEvaluator);
+    private final Map<String, JsonLogicExpression> expressions;
+
+    public JsonLogic(Collection<JsonLogicExpression> expressions) {
+        evaluator = new JsonLogicEvaluator(expressions);
+        this.expressions = expressions.stream()
+                .collect(Collectors.toUnmodifiableMap(
+                        JsonLogicExpression::key,
+                        Function.identity(),
+                        (first, second) -> second));
     }
 
     public JsonLogicNode parse(String jsonNode) {
@@ -33,4 +42,12 @@ public class JsonLogic {
         }
         throw new JsonLogicEvaluationException("Wrong type was returned.");
     }
+
+    /**
+     * Compiles expression to be evaluated against typed data with the same result as {@link #evaluate}
+     * gives for the data represented by {@link JsonLogicDataView#asMap}.
+     */
+    public <T> CompiledJsonLogic<T> compile(JsonLogicNode jsonLogicNode, JsonLogicDataView<T> dataView) {
+        return new JsonLogicCompiler<>(evaluator, expressions, dataView).compile(jsonLogicNode);
+    }
 }
@@ -0,0 +1,240 @@
+package org.prebid.server.json;
+
+import io.github.jamsesso.jsonlogic.ast.JsonLogicArray;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicNodeType;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicOperation;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicPrimitive;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicString;
+import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
+import io.github.jamsesso.jsonlogic.evaluator.JsonLogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.EqualityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.IfExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.InequalityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.LogicExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.MissingExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.PreEvaluatedArgumentsExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.StrictEqualityExpression;
+import io.github.jamsesso.jsonlogic.evaluator.expressions.StrictInequalityExpression;
+import io.github.jamsesso.jsonlogic.utils.ArrayLike;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Compiles parsed JsonLogic expression into a tree of closures.
+ * <p>
+ * Variables are bound to accessors of {@link JsonLogicDataView} and logic, conditional and pre-evaluated
+ * operations are invoked directly with the same {@link JsonLogicExpression}s the evaluator uses, so the result
+ * is the same as of {@link JsonLogicEvaluator}. Everything else, e.g. operations iterating over data, is delegated
+ * to the evaluator with data represented as a map, which is built at most once per evaluation.
+ */
+class JsonLogicCompiler<T> {
+
+    private final JsonLogicEvaluator evaluator;
+    private final Map<String, JsonLogicExpression> expressions;
+    private final JsonLogicDataView<T> dataView;
+
+    JsonLogicCompiler(JsonLogicEvaluator evaluator,
+                      Map<String, JsonLogicExpression> expressions,
+                      JsonLogicDataView<T> dataView) {
+
+        this.evaluator = Objects.requireNonNull(evaluator);
+        this.expressions = Objects.requireNonNull(expressions);
+        this.dataView = Objects.requireNonNull(dataView);
+    }
+
+    CompiledJsonLogic<T> compile(JsonLogicNode jsonLogicNode) {
+        final Node<T> root = compileNode(jsonLogicNode);
+
+        return data -> {
+            final Object result = root.evaluate(new Evaluation<>(data, dataView));
+
+            if (result instanceof Boolean booleanResult) {
+                return booleanResult;
+            }
+            throw new JsonLogicEvaluationException("Wrong type was returned.");
+        };
+    }
+
+    private Node<T> compileNode(JsonLogicNode node) {
+        return switch (node.getType()) {
+            case PRIMITIVE -> constant(evaluator.evaluate((JsonLogicPrimitive<?>) node));
+            case VARIABLE -> compileVariable((JsonLogicVariable) node);
+            case ARRAY -> compileArray((JsonLogicArray) node);
+            case OPERATION -> compileOperation((JsonLogicOperation) node);
+        };
+    }
+
+    private static <T> Node<T> constant(Object value) {
+        return evaluation -> value;
+    }
+
+    private Node<T> compileVariable(JsonLogicVariable variable) {
+        final JsonLogicNode key = variable.getKey();
+        final JsonLogicNode defaultValueNode = variable.getDefaultValue();
+
+        // only plain names are bound, paths and computed names and defaults are left to the evaluator
+        if (!(key instanceof JsonLogicString stringKey)
+                || stringKey.getValue().isEmpty()
+                || stringKey.getValue().indexOf('.') != -1
+                || defaultValueNode.getType() != JsonLogicNodeType.PRIMITIVE) {
+
+            return interpreted(variable);
+        }
+
+        final Function<T, Object> accessor = dataView.variable(stringKey.getValue());
+        final Object defaultValue = evaluator.evaluate((JsonLogicPrimitive<?>) defaultValueNode);
+
+        return evaluation -> {
+            final Object value = accessor.apply(evaluation.data);
+            return value != null ? JsonLogicEvaluator.transform(value) : defaultValue;
+        };
+    }
+
+    private Node<T> compileArray(JsonLogicArray array) {
+        final List<Node<T>> items = compileAll(array);
+        return evaluation -> evaluateAll(items, evaluation);
+    }
+
+    private Node<T> compileOperation(JsonLogicOperation operation) {
+        final JsonLogicExpression expression = expressions.get(operation.getOperator());
+        final JsonLogicArray arguments = operation.getArguments();
+
+        if (expression == LogicExpression.AND && !arguments.isEmpty()) {
+            return and(compileAll(arguments));
+        } else if (expression == LogicExpression.OR && !arguments.isEmpty()) {
+            return or(compileAll(arguments));
+        } else if (expression == IfExpression.IF || expression == IfExpression.TERNARY) {
+            return conditional(compileAll(arguments));
+        } else if (expression == InequalityExpression.INSTANCE) {
+            return not(preEvaluated(EqualityExpression.INSTANCE, compileAll(arguments)));
+        } else if (expression == StrictInequalityExpression.INSTANCE) {
+            return not(preEvaluated(StrictEqualityExpression.INSTANCE, compileAll(arguments)));
+        } else if (expression instanceof PreEvaluatedArgumentsExpression preEvaluatedExpression
+                && !(expression instanceof MissingExpression)) {
+
+            return preEvaluated(preEvaluatedExpression, compileAll(arguments));
+        }
+
+        return interpreted(operation);
+    }
+
+    private List<Node<T>> compileAll(JsonLogicArray nodes) {
+        final List<Node<T>> compiledNodes = new ArrayList<>(nodes.size());
+        for (JsonLogicNode node : nodes) {
+            compiledNodes.add(compileNode(node));
+        }
+        return compiledNodes;
+    }
+
+    private static <T> Node<T> and(List<Node<T>> arguments) {
+        return evaluation -> {
+            Object result = null;
+            for (Node<T> argument : arguments) {
+                result = argument.evaluate(evaluation);
+                if (!truthy(result)) {
+                    return result;
+                }
+            }
+            return result;
+        };
+    }
+
+    private static <T> Node<T> or(List<Node<T>> arguments) {
+        return evaluation -> {
+            Object result = null;
+            for (Node<T> argument : arguments) {
+                result = argument.evaluate(evaluation);
+                if (truthy(result)) {
+                    return result;
+                }
+            }
+            return result;
+        };
+    }
+
+    private static <T> Node<T> conditional(List<Node<T>> arguments) {
+        final int size = arguments.size();
+
+        return evaluation -> {
+            if (size == 0) {
+                return null;
+            } else if (size == 1) {
+                return arguments.getFirst().evaluate(evaluation);
+            }
+
+            for (int i = 0; i < size - 1; i += 2) {
+                if (truthy(arguments.get(i).evaluate(evaluation))) {
+                    return arguments.get(i + 1).evaluate(evaluation);
+                }
+            }
+
+            return size % 2 == 1 ? arguments.getLast().evaluate(evaluation) : null;
+        };
+    }
+
+    private static <T> Node<T> not(Node<T> argument) {
+        return evaluation -> !(Boolean) argument.evaluate(evaluation);
+    }
+
+    private static <T> Node<T> preEvaluated(PreEvaluatedArgumentsExpression expression, List<Node<T>> arguments) {
+        return evaluation -> {
+            List<Object> values = evaluateAll(arguments, evaluation);
+            if (values.size() == 1 && ArrayLike.isEligible(values.getFirst())) {
+                values = new ArrayLike(values.getFirst());
+            }
+
+            return expression.evaluate(values, null);
+        };
+    }
+
+    private static <T> List<Object> evaluateAll(List<Node<T>> nodes, Evaluation<T> evaluation)
+            throws JsonLogicEvaluationException {
+
+        final List<Object> values = new ArrayList<>(nodes.size());
+        for (Node<T> node : nodes) {
+            values.add(node.evaluate(evaluation));
+        }
+        return values;
+    }
+
+    private static boolean truthy(Object value) {
+        return io.github.jamsesso.jsonlogic.JsonLogic.truthy(value);
+    }
+
+    private Node<T> interpreted(JsonLogicNode node) {
+        return evaluation -> evaluator.evaluate(node, evaluation.asMap());
+    }
+
+    @FunctionalInterface
+    private interface Node<T> {
+
+        Object evaluate(Evaluation<T> evaluation) throws JsonLogicEvaluationException;
+    }
+
+    private static class Evaluation<T> {
+
+        private final T data;
+        private final JsonLogicDataView<T> dataView;
+
+        private Map<String, Object> dataAsMap;
+
+        Evaluation(T data, JsonLogicDataView<T> dataView) {
+            this.data = data;
+            this.dataView = dataView;
+        }
+
+        Map<String, Object> asMap() {
+            if (dataAsMap == null) {
+                dataAsMap = dataView.asMap(data);
+            }
+            return dataAsMap;
+        }
+    }
+}
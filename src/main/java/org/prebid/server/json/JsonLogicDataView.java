@@ -0,0 +1,23 @@
+package org.prebid.server.json;
+
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Describes typed data for {@link JsonLogic#compile(io.github.jamsesso.jsonlogic.ast.JsonLogicNode,
+ * JsonLogicDataView)}, so that variables are resolved once at compile time instead of looked up by name on every
+ * evaluation.
+ */
+public interface JsonLogicDataView<T> {
+
+    /**
+     * Returns accessor of the variable with given name. Accessor of unknown variable should return null,
+     * which is what lookup of missing key in {@link #asMap(Object)} does.
+     */
+    Function<T, Object> variable(String name);
+
+    /**
+     * Returns data as a map of variables, used for the parts of expression that can only be interpreted.
+     */
+    Map<String, Object> asMap(T data);
+}
@@ -1,6 +1,5 @@
 package org.prebid.server.json;
 
-import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluator;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.AllExpression;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.ArrayHasExpression;
 import io.github.jamsesso.jsonlogic.evaluator.expressions.ConcatenateExpression;
@@ -29,7 +28,7 @@ public class JsonLogicProvider {
     private static final JsonLogic JSON_LOGIC;
 
     static {
-        final JsonLogicEvaluator evaluator = new JsonLogicEvaluator(List.of(
+        JSON_LOGIC = new JsonLogic(List.of(
                 MathExpression.ADD,
                 MathExpression.SUBTRACT,
                 MathExpression.MULTIPLY,
@@ -64,8 +63,6 @@ public class JsonLogicProvider {
                 SubstringExpression.INSTANCE,
                 MissingExpression.ALL,
                 MissingExpression.SOME));
-
-        JSON_LOGIC = new JsonLogic(evaluator);
     }
 
     private JsonLogicProvider() {
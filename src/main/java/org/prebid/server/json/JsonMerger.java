@@ -24,17 +24,19 @@ public class JsonMerger {
      * with reason message.
      */
     public <T> T merge(T originalObject, String storedData, String id, Class<T> classToCast) {
+        return merge(originalObject, parseStoredData(storedData, id), id, classToCast);
+    }
+
+    /**
+     * Merges passed object with already parsed stored data and cast it to appropriate class.
+     * Stored data node is left unmodified, so it can be reused for successive merges.
+     */
+    public <T> T merge(T originalObject, JsonNode storedData, String id, Class<T> classToCast) {
         final JsonNode originJsonNode = mapper.mapper().valueToTree(originalObject);
-        final JsonNode storedRequestJsonNode;
-        try {
-            storedRequestJsonNode = mapper.mapper().readTree(storedData);
-        } catch (IOException e) {
-            throw new InvalidRequestException("Can't parse Json for stored request with id " + id);
-        }
         try {
             // Http request fields have higher priority and will override fields from stored requests
             // in case they have different values
-            return mapper.mapper().treeToValue(JsonMergePatch.fromJson(originJsonNode).apply(storedRequestJsonNode),
+            return mapper.mapper().treeToValue(JsonMergePatch.fromJson(originJsonNode).apply(storedData),
                     classToCast);
         } catch (JsonPatchException e) {
             throw new InvalidRequestException(
@@ -75,4 +77,12 @@ public class JsonMerger {
             throw new InvalidRequestException("Couldn't create merge patch for json nodes");
         }
     }
+
+    public JsonNode parseStoredData(String storedData, String id) {
+        try {
+            return mapper.mapper().readTree(storedData);
+        } catch (IOException e) {
+            throw new InvalidRequestException("Can't parse Json for stored request with id " + id);
+        }
+    }
 }
@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.web.RoutingContext;
 import lombok.Value;
 import org.apache.commons.collections4.CollectionUtils;
@@ -13,25 +14,41 @@ import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.model.HttpLogSpec;
 import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.util.ObjectUtil;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 
+/**
+ * Logs HTTP interactions matching {@link HttpLogSpec}.
+ * <p>
+ * Matching interactions are captured as references to request and response and handed to the given executor,
+ * which serializes and writes them. With bounded executor running on a background thread, which is the default
+ * setup, interactions that do not fit into its queue are dropped and counted, so the event loop is never blocked
+ * by logging. With calling thread executor they are written on the request thread.
+ */
 public class HttpInteractionLogger {
 
     private static final String HTTP_INTERACTION_LOGGER_NAME = "http-interaction";
     private final Logger logger = LoggerFactory.getLogger(HTTP_INTERACTION_LOGGER_NAME);
 
     private final JacksonMapper mapper;
+    private final Executor executor;
+    private final Metrics metrics;
 
     private final AtomicReference<SpecWithCounter> specWithCounter = new AtomicReference<>();
 
-    public HttpInteractionLogger(JacksonMapper mapper) {
+    public HttpInteractionLogger(JacksonMapper mapper, Executor executor, Metrics metrics) {
         this.mapper = Objects.requireNonNull(mapper);
+        this.executor = Objects.requireNonNull(executor);
+        this.metrics = Objects.requireNonNull(metrics);
     }
 
     public void setSpec(HttpLogSpec spec) {
@@ -44,18 +61,23 @@ public class HttpInteractionLogger {
                                         String responseBody) {
 
         if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.auction, statusCode, auctionContext)) {
-            logger.info(
+            final String uri = routingContext.request().uri();
+            final Buffer requestBody = routingContext.body().buffer();
+
+            log(() -> logger.info(
                     "Requested URL: \"{}\", request body: \"{}\", response status: \"{}\", response body: \"{}\"",
-                    routingContext.request().uri(),
-                    toOneLineString(routingContext.body().asString()),
+                    uri,
+                    toOneLineString(requestBody != null ? requestBody.toString() : null),
                     statusCode,
-                    responseBody);
-
-            incLoggedInteractions();
+                    responseBody));
         }
     }
 
     private String toOneLineString(String value) {
+        if (value == null) {
+            return null;
+        }
+
         try {
             return mapper.encodeToString(mapper.mapper().readTree(value));
         } catch (JsonProcessingException e) {
@@ -69,13 +91,13 @@ public class HttpInteractionLogger {
                                     String responseBody) {
 
         if (interactionSatisfiesSpec(HttpLogSpec.Endpoint.amp, statusCode, auctionContext)) {
-            logger.info(
+            final String uri = routingContext.request().uri();
+
+            log(() -> logger.info(
                     "Requested URL: \"{}\", response status: \"{}\", response body: \"{}\"",
-                    routingContext.request().uri(),
+                    uri,
                     statusCode,
-                    responseBody);
-
-            incLoggedInteractions();
+                    responseBody));
         }
     }
 
@@ -83,12 +105,23 @@ public class HttpInteractionLogger {
         final String bidder = bidderRequest.getBidder();
         if (interactionSatisfiesSpec(context, bidder)) {
             final BidRequest bidRequest = bidderRequest.getBidRequest();
-            final BidRequest updatedBidRequest = bidRequestWithBidderName(bidder, bidRequest);
-            final String jsonBidRequest = mapper.encodeToString(updatedBidRequest);
-            logger.info("Request body to {}: \"{}\"", bidder, jsonBidRequest);
 
-            incLoggedInteractions();
+            log(() -> logger.info(
+                    "Request body to {}: \"{}\"",
+                    bidder,
+                    mapper.encodeToString(bidRequestWithBidderName(bidder, bidRequest))));
+        }
+    }
+
+    private void log(Runnable interactionWriter) {
+        try {
+            executor.execute(interactionWriter);
+        } catch (RejectedExecutionException e) {
+            metrics.updateHttpInteractionsDroppedMetric();
+            return;
         }
+
+        incLoggedInteractions();
     }
 
     private boolean interactionSatisfiesSpec(HttpLogSpec.Endpoint requestEndpoint,
@@ -110,7 +143,8 @@ public class HttpInteractionLogger {
 
         return (endpoint == null || endpoint == requestEndpoint)
                 && (statusCode == null || statusCode == requestStatusCode)
-                && (account == null || account.equals(requestAccountId));
+                && (account == null || account.equals(requestAccountId))
+                && isSampled(spec);
     }
 
     private boolean interactionSatisfiesSpec(AuctionContext auctionContext,
@@ -132,7 +166,13 @@ public class HttpInteractionLogger {
 
         return (endpoint == null || endpoint == requestEndpoint)
                 && (account == null || account.equals(requestAccountId))
-                && bidder != null && bidder.equals(requestBidder);
+                && bidder != null && bidder.equals(requestBidder)
+                && isSampled(spec);
+    }
+
+    private static boolean isSampled(HttpLogSpec spec) {
+        final Double samplingRate = spec.getSamplingRate();
+        return samplingRate == null || ThreadLocalRandom.current().nextDouble() < samplingRate;
     }
 
     private HttpLogSpec.Endpoint parseHttpLogEndpoint(MetricName requestTypeMetric) {
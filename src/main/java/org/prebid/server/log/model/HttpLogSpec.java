@@ -15,6 +15,15 @@ public class HttpLogSpec {
 
     int limit;
 
+    /**
+     * Share of matching interactions to log, all of them are logged when not set.
+     */
+    Double samplingRate;
+
+    public static HttpLogSpec of(Endpoint endpoint, Integer statusCode, String account, String bidder, int limit) {
+        return of(endpoint, statusCode, account, bidder, limit, null);
+    }
+
     public enum Endpoint {
         auction, amp
     }
@@ -0,0 +1,157 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.PackedHistogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * {@link Reservoir} backed by HdrHistogram.
+ * <p>
+ * Values are recorded by wait-free {@link Recorder}, so updates from many threads don't contend on a lock.
+ * Snapshot covers values recorded during the current and the previous time window, which gives accurate
+ * tail percentiles for recent traffic regardless of the number of recorded values.
+ */
+public class HdrHistogramReservoir implements Reservoir {
+
+    private final int significantDigits;
+    private final long windowMillis;
+    private final Clock clock;
+    private final Recorder recorder;
+
+    private Histogram intervalHistogram;
+    private Histogram previousWindow;
+    private Histogram currentWindow;
+    private long currentWindowStart;
+
+    public HdrHistogramReservoir(int significantDigits, long windowMillis) {
+        this(significantDigits, windowMillis, Clock.defaultClock());
+    }
+
+    HdrHistogramReservoir(int significantDigits, long windowMillis, Clock clock) {
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("Window should be positive, but was: " + windowMillis);
+        }
+
+        this.significantDigits = significantDigits;
+        this.windowMillis = windowMillis;
+        this.clock = Objects.requireNonNull(clock);
+
+        // packed histograms keep memory footprint proportional to the number of distinct recorded values
+        recorder = new Recorder(significantDigits, true);
+        previousWindow = new PackedHistogram(significantDigits);
+        currentWindow = new PackedHistogram(significantDigits);
+        currentWindowStart = clock.getTime();
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        // negative values are not supported by HdrHistogram and are not expected for durations and sizes
+        if (value >= 0) {
+            recorder.recordValue(value);
+        }
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        rollWindows();
+        intervalHistogram = recorder.getIntervalHistogram(intervalHistogram);
+        currentWindow.add(intervalHistogram);
+
+        final Histogram histogram = previousWindow.copy();
+        histogram.add(currentWindow);
+        return new HdrHistogramSnapshot(histogram);
+    }
+
+    private void rollWindows() {
+        final long now = clock.getTime();
+        final long elapsed = now - currentWindowStart;
+        if (elapsed < windowMillis) {
+            return;
+        }
+
+        // values of the current window become outdated if nothing was reported during the whole next window
+        previousWindow = elapsed < windowMillis * 2 ? currentWindow : new PackedHistogram(significantDigits);
+        currentWindow = new PackedHistogram(significantDigits);
+        currentWindowStart = now;
+    }
+
+    private static class HdrHistogramSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+
+        HdrHistogramSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            if (quantile < 0.0 || quantile > 1.0 || Double.isNaN(quantile)) {
+                throw new IllegalArgumentException(quantile + " is not in [0..1]");
+            }
+
+            return histogram.getValueAtPercentile(quantile * 100);
+        }
+
+        @Override
+        public long[] getValues() {
+            final long[] values = new long[size()];
+            int index = 0;
+            for (HistogramIterationValue value : histogram.recordedValues()) {
+                final long equivalentValue = histogram.highestEquivalentValue(value.getValueIteratedTo());
+                for (long i = 0; i < value.getCountAtValueIteratedTo() && index < values.length; i++) {
+                    values[index++] = equivalentValue;
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (long value : getValues()) {
+                    out.printf("%d%n", value);
+                }
+            }
+        }
+    }
+}
@@ -7,6 +7,9 @@ public enum MetricName {
     // connection
     connection_accept_errors,
 
+    // http interaction logging
+    http_interactions_dropped,
+
     // circuit breaker
     db,
     geo,
@@ -22,6 +25,8 @@ public enum MetricName {
     geolocation_request_time,
     geolocation_successful,
     geolocation_fail,
+    geolocation_cache_hit,
+    geolocation_cache_miss,
 
     // auction
     requests,
@@ -39,6 +44,19 @@ public enum MetricName {
     bids_received,
     adm_bids_received,
     nurl_bids_received,
+    adaptive_tmax_limited("adaptive_tmax.limited"),
+    adaptive_tmax_saved("adaptive_tmax.saved"),
+    connection_pool_queue_size("connection_pool.queue_size"),
+    connection_pool_wait_time("connection_pool.wait_time"),
+    concurrency_limit("concurrency.limit"),
+    concurrency_in_flight("concurrency.in_flight"),
+    concurrency_rejected("concurrency.rejected"),
+    inference_batch_size("inference.batch_size"),
+    inference_queue_wait_time("inference.queue_wait_time"),
+    inference_latency("inference.latency"),
+    inference_fallback("inference.fallback"),
+    dropped_events,
+    retried_batches,
 
     // request types,
     openrtb2web("openrtb2-web"),
@@ -107,6 +125,8 @@ public enum MetricName {
     in_geo("in-geo"),
     out_geo("out-geo"),
     unknown_geo("unknown-geo"),
+    tcf,
+    gpp,
 
     // vendor list
     missing,
@@ -134,11 +154,14 @@ public enum MetricName {
     // settings cache
     stored_request("stored-request"),
     amp_stored_request("amp-stored-request"),
+    video_stored_request("video-stored-request"),
     account,
     initialize,
     update,
+    ahead,
     hit,
     miss,
+    coalesced,
 
     // hooks
     call,
@@ -150,6 +173,7 @@ public enum MetricName {
     failure,
     execution_error("execution-error"),
     duration,
+    overhead,
 
     // price-floors
     price_floors("price-floors"),
@@ -14,10 +14,10 @@ import org.prebid.server.settings.model.Account;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.LongSupplier;
@@ -39,9 +39,7 @@ public class Metrics extends UpdatableMetrics {
     private final Function<Integer, BidderCardinalityMetrics> bidderCardinalityMetricsCreator;
     private final Function<MetricName, CircuitBreakerMetrics> circuitBreakerMetricsCreator;
     private final Function<MetricName, SettingsCacheMetrics> settingsCacheMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
+    // concurrent maps let holders be created once on first use and then reused by all threads without locking
     private final RequestsMetrics requestsMetrics;
     private final Map<MetricName, RequestStatusMetrics> requestMetrics;
     private final Map<String, AccountMetrics> accountMetrics;
@@ -59,6 +57,7 @@ public class Metrics extends UpdatableMetrics {
     private final CurrencyRatesMetrics currencyRatesMetrics;
     private final Map<MetricName, SettingsCacheMetrics> settingsCacheMetrics;
     private final HooksMetrics hooksMetrics;
+    private final JsonFragmentCacheMetrics jsonFragmentCacheMetrics;
 
     public Metrics(MetricRegistry metricRegistry,
                    CounterType counterType,
@@ -81,22 +80,23 @@ public class Metrics extends UpdatableMetrics {
         settingsCacheMetricsCreator = type -> new SettingsCacheMetrics(metricRegistry, counterType, type);
 
         requestsMetrics = new RequestsMetrics(metricRegistry, counterType);
-        requestMetrics = new EnumMap<>(MetricName.class);
-        accountMetrics = new HashMap<>();
-        adapterMetrics = new HashMap<>();
-        analyticMetrics = new HashMap<>();
-        priceFloorsMetrics = new HashMap<>();
+        requestMetrics = new ConcurrentHashMap<>();
+        accountMetrics = new ConcurrentHashMap<>();
+        adapterMetrics = new ConcurrentHashMap<>();
+        analyticMetrics = new ConcurrentHashMap<>();
+        priceFloorsMetrics = new ConcurrentHashMap<>();
         alertsMetrics = new AlertsConfigMetrics(metricRegistry, counterType);
-        bidderCardinailtyMetrics = new HashMap<>();
+        bidderCardinailtyMetrics = new ConcurrentHashMap<>();
         userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType);
         cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType);
         privacyMetrics = new PrivacyMetrics(metricRegistry, counterType);
-        circuitBreakerMetrics = new HashMap<>();
+        circuitBreakerMetrics = new ConcurrentHashMap<>();
         cacheMetrics = new CacheMetrics(metricRegistry, counterType);
         timeoutNotificationMetrics = new TimeoutNotificationMetrics(metricRegistry, counterType);
         currencyRatesMetrics = new CurrencyRatesMetrics(metricRegistry, counterType);
-        settingsCacheMetrics = new HashMap<>();
+        settingsCacheMetrics = new ConcurrentHashMap<>();
         hooksMetrics = new HooksMetrics(metricRegistry, counterType);
+        jsonFragmentCacheMetrics = new JsonFragmentCacheMetrics(metricRegistry, counterType);
     }
 
     RequestsMetrics requests() {
@@ -167,6 +167,10 @@ public class Metrics extends UpdatableMetrics {
         return hooksMetrics;
     }
 
+    JsonFragmentCacheMetrics jsonFragmentCache() {
+        return jsonFragmentCacheMetrics;
+    }
+
     public void updateDebugRequestMetrics(boolean debugEnabled) {
         if (debugEnabled) {
             incCounter(MetricName.debug_requests);
@@ -307,6 +311,28 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateAdapterAdaptiveTimeoutMetrics(String bidder, long savedMillis) {
+        final AdapterTypeMetrics adapterTypeMetrics = forAdapter(bidder);
+        adapterTypeMetrics.incCounter(MetricName.adaptive_tmax_limited);
+        adapterTypeMetrics.updateHistogram(MetricName.adaptive_tmax_saved, savedMillis);
+    }
+
+    public void updateAdapterConnectionPoolMetrics(String bidder, int queueSize, long waitTime) {
+        final AdapterTypeMetrics adapterTypeMetrics = forAdapter(bidder);
+        adapterTypeMetrics.updateHistogram(MetricName.connection_pool_queue_size, queueSize);
+        adapterTypeMetrics.updateTimer(MetricName.connection_pool_wait_time, waitTime);
+    }
+
+    public void createAdapterConcurrencyGauges(String bidder, LongSupplier limit, LongSupplier inFlight) {
+        final AdapterTypeMetrics adapterTypeMetrics = forAdapter(bidder);
+        adapterTypeMetrics.createGauge(MetricName.concurrency_limit, limit);
+        adapterTypeMetrics.createGauge(MetricName.concurrency_in_flight, inFlight);
+    }
+
+    public void updateAdapterConcurrencyRejectedMetric(String bidder) {
+        forAdapter(bidder).incCounter(MetricName.concurrency_rejected);
+    }
+
     public void updateAdapterRequestNobidMetrics(String bidder, Account account) {
         forAdapter(bidder).request().incCounter(MetricName.nobid);
         if (accountMetricsVerbosityResolver.forAccount(account).isAtLeast(AccountMetricsVerbosityLevel.detailed)) {
@@ -360,6 +386,14 @@ public class Metrics extends UpdatableMetrics {
         forAnalyticReporter(analyticCode).forEventType(eventType).incCounter(result);
     }
 
+    public void updateAnalyticsDroppedEventsMetric(String analyticCode, long count) {
+        forAnalyticReporter(analyticCode).incCounter(MetricName.dropped_events, count);
+    }
+
+    public void updateAnalyticsRetriedBatchesMetric(String analyticCode) {
+        forAnalyticReporter(analyticCode).incCounter(MetricName.retried_batches);
+    }
+
     public void updatePriceFloorFetchMetric(MetricName result) {
         forPriceFloorFetch().incCounter(result);
     }
@@ -553,10 +587,18 @@ public class Metrics extends UpdatableMetrics {
         tcfMetrics.fromVersion(version).vendorList().incCounter(metricName);
     }
 
+    public void updatePrivacyConsentCacheMetric(MetricName consentType, boolean hit) {
+        privacy().consentCache(consentType).incCounter(hit ? MetricName.hit : MetricName.miss);
+    }
+
     public void updateConnectionAcceptErrors() {
         incCounter(MetricName.connection_accept_errors);
     }
 
+    public void updateHttpInteractionsDroppedMetric() {
+        incCounter(MetricName.http_interactions_dropped);
+    }
+
     public void updateDatabaseQueryTimeMetric(long millis) {
         updateTimer(MetricName.db_query_time, millis);
     }
@@ -589,6 +631,14 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateGeoLocationCacheMetric(boolean hit) {
+        incCounter(hit ? MetricName.geolocation_cache_hit : MetricName.geolocation_cache_miss);
+    }
+
+    public void updateGeoLocationRequestTime(long timeElapsed) {
+        updateTimer(MetricName.geolocation_request_time, timeElapsed);
+    }
+
     public void createGeoLocationCircuitBreakerGauge(BooleanSupplier stateSupplier) {
         forCircuitBreakerType(MetricName.geo)
                 .createGauge(MetricName.opened, () -> stateSupplier.getAsBoolean() ? 1 : 0);
@@ -645,10 +695,23 @@ public class Metrics extends UpdatableMetrics {
         forSettingsCacheType(cacheType).forRefreshType(refreshType).incCounter(MetricName.err);
     }
 
+    public void updateSettingsCacheRefreshAheadMetric(MetricName cacheType, MetricName result) {
+        forSettingsCacheType(cacheType).forRefreshType(MetricName.ahead).incCounter(result);
+    }
+
     public void updateSettingsCacheEventMetric(MetricName cacheType, MetricName event) {
         forSettingsCacheType(cacheType).incCounter(event);
     }
 
+    public void updateJsonFragmentCacheMetrics(int hits, int misses) {
+        if (hits > 0) {
+            jsonFragmentCache().incCounter(MetricName.hit, hits);
+        }
+        if (misses > 0) {
+            jsonFragmentCache().incCounter(MetricName.miss, misses);
+        }
+    }
+
     public void updateHooksMetrics(
             String moduleCode,
             Stage stage,
@@ -675,6 +738,24 @@ public class Metrics extends UpdatableMetrics {
 
     }
 
+    public void updateHooksStageOverheadMetric(Stage stage, long overhead) {
+        hooks().stage(stage).updateTimer(MetricName.overhead, overhead);
+    }
+
+    public void updateModuleInferenceMetrics(String moduleCode, int batchSize, long inferenceTime) {
+        final ModuleMetrics moduleMetrics = hooks().module(moduleCode);
+        moduleMetrics.updateHistogram(MetricName.inference_batch_size, batchSize);
+        moduleMetrics.updateTimer(MetricName.inference_latency, inferenceTime);
+    }
+
+    public void updateModuleInferenceQueueWaitTime(String moduleCode, long waitTime) {
+        hooks().module(moduleCode).updateTimer(MetricName.inference_queue_wait_time, waitTime);
+    }
+
+    public void updateModuleInferenceFallbackMetric(String moduleCode) {
+        hooks().module(moduleCode).incCounter(MetricName.inference_fallback);
+    }
+
     public void updateAccountHooksMetrics(
             Account account,
             String moduleCode,
@@ -2,7 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -12,12 +14,17 @@ class PrivacyMetrics extends UpdatableMetrics {
 
     private final USPrivacyMetrics usPrivacyMetrics;
     private final TcfMetrics tcfMetrics;
+    private final Function<MetricName, ConsentCacheMetrics> consentCacheMetricsCreator;
+    private final Map<MetricName, ConsentCacheMetrics> consentCacheMetrics;
 
     PrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
                 metricName -> "privacy." + metricName);
         usPrivacyMetrics = new USPrivacyMetrics(metricRegistry, counterType, "privacy");
         tcfMetrics = new TcfMetrics(metricRegistry, counterType, "privacy");
+        consentCacheMetricsCreator = consentType ->
+                new ConsentCacheMetrics(metricRegistry, counterType, "privacy", consentType);
+        consentCacheMetrics = new ConcurrentHashMap<>();
     }
 
     USPrivacyMetrics usp() {
@@ -28,6 +35,10 @@ class PrivacyMetrics extends UpdatableMetrics {
         return tcfMetrics;
     }
 
+    ConsentCacheMetrics consentCache(MetricName consentType) {
+        return consentCacheMetrics.computeIfAbsent(consentType, consentCacheMetricsCreator);
+    }
+
     static class USPrivacyMetrics extends UpdatableMetrics {
 
         USPrivacyMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
@@ -39,4 +50,20 @@ class PrivacyMetrics extends UpdatableMetrics {
             return metricName -> "%s.usp.%s".formatted(prefix, metricName);
         }
     }
+
+    static class ConsentCacheMetrics extends UpdatableMetrics {
+
+        ConsentCacheMetrics(MetricRegistry metricRegistry,
+                            CounterType counterType,
+                            String prefix,
+                            MetricName consentType) {
+
+            super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                    nameCreator(Objects.requireNonNull(prefix), Objects.requireNonNull(consentType)));
+        }
+
+        private static Function<MetricName, String> nameCreator(String prefix, MetricName consentType) {
+            return metricName -> "%s.consent-cache.%s.%s".formatted(prefix, consentType, metricName);
+        }
+    }
 }
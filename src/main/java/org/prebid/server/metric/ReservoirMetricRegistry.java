@@ -0,0 +1,32 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@link MetricRegistry} creating timers and histograms with reservoirs from the given factory
+ * instead of default exponentially decaying ones.
+ */
+public class ReservoirMetricRegistry extends MetricRegistry {
+
+    private final Supplier<Reservoir> reservoirFactory;
+
+    public ReservoirMetricRegistry(Supplier<Reservoir> reservoirFactory) {
+        this.reservoirFactory = Objects.requireNonNull(reservoirFactory);
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        return histogram(name, () -> new Histogram(reservoirFactory.get()));
+    }
+
+    @Override
+    public Timer timer(String name) {
+        return timer(name, () -> new Timer(reservoirFactory.get()));
+    }
+}
@@ -1,36 +1,37 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
-import java.util.EnumMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
+import java.util.function.LongConsumer;
 import java.util.function.LongSupplier;
 
 class UpdatableMetrics {
 
     private final MetricRegistry metricRegistry;
     private final Function<MetricName, String> nameCreator;
-    private final MetricIncrementer incrementer;
     private final CounterType counterType;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
-    private final Map<MetricName, String> metricNames;
+    private final ConcurrentMap<MetricName, String> metricNames;
+    // metric handles are resolved from registry once and then updated directly, so hot path doesn't need to build
+    // metric names and look them up in registry on every update
+    private final ConcurrentMap<MetricName, LongConsumer> counters;
+    private final ConcurrentMap<MetricName, Timer> timers;
+    private final ConcurrentMap<MetricName, Histogram> histograms;
 
     UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, Function<MetricName, String> nameCreator) {
         this.metricRegistry = metricRegistry;
         this.counterType = counterType;
         this.nameCreator = nameCreator;
-        metricNames = new EnumMap<>(MetricName.class);
 
-        incrementer = switch (counterType) {
-            case flushingCounter -> (registry, metricName, value) ->
-                    registry.counter(metricName, ResettingCounter::new).inc(value);
-            case counter -> (registry, metricName, value) -> registry.counter(metricName).inc(value);
-            case meter -> (registry, metricName, value) -> registry.meter(metricName).mark(value);
-        };
+        metricNames = new ConcurrentHashMap<>();
+        counters = new ConcurrentHashMap<>();
+        timers = new ConcurrentHashMap<>();
+        histograms = new ConcurrentHashMap<>();
     }
 
     /**
@@ -44,22 +45,43 @@ class UpdatableMetrics {
      * Increments metric's counter on a given value.
      */
     void incCounter(MetricName metricName, long value) {
-        incrementer.accept(metricRegistry, name(metricName), value);
+        LongConsumer counter = counters.get(metricName);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(metricName, this::createCounter);
+        }
+        counter.accept(value);
+    }
+
+    private LongConsumer createCounter(MetricName metricName) {
+        final String name = name(metricName);
+        return switch (counterType) {
+            case flushingCounter -> metricRegistry.counter(name, ResettingCounter::new)::inc;
+            case counter -> metricRegistry.counter(name)::inc;
+            case meter -> metricRegistry.meter(name)::mark;
+        };
     }
 
     /**
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        Timer timer = timers.get(metricName);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(metricName, key -> metricRegistry.timer(name(key)));
+        }
+        timer.update(millis, TimeUnit.MILLISECONDS);
     }
 
     /**
      * Updates metric's histogram with a given value.
      */
     void updateHistogram(MetricName metricName, long value) {
-        // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
-        metricRegistry.histogram(name(metricName)).update(value);
+        Histogram histogram = histograms.get(metricName);
+        if (histogram == null) {
+            // reservoir depends on registry: exponentially decaying one (size=1028, alpha=0.015) is used by default
+            histogram = histograms.computeIfAbsent(metricName, key -> metricRegistry.histogram(name(key)));
+        }
+        histogram.update(value);
     }
 
     void createGauge(MetricName metricName, LongSupplier supplier) {
@@ -68,18 +90,16 @@ class UpdatableMetrics {
 
     void removeMetric(MetricName metricName) {
         metricRegistry.remove(name(metricName));
+        counters.remove(metricName);
+        timers.remove(metricName);
+        histograms.remove(metricName);
     }
 
     private String name(MetricName metricName) {
-        return metricNames.computeIfAbsent(metricName, key -> nameCreator.apply(metricName));
+        return metricNames.computeIfAbsent(metricName, nameCreator);
     }
 
     public CounterType getCounterType() {
         return counterType;
     }
-
-    @FunctionalInterface
-    private interface MetricIncrementer {
-        void accept(MetricRegistry metricRegistry, String metricName, long value);
-    }
 }
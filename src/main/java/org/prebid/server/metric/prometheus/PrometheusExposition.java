@@ -0,0 +1,365 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricRegistryListener;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import io.prometheus.client.Collector;
+import io.prometheus.client.dropwizard.samplebuilder.SampleBuilder;
+import io.vertx.core.buffer.Buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Writes metrics of {@link MetricRegistry} in Prometheus text exposition format (version 0.0.4).
+ * <p>
+ * Name and labels of every series are resolved by {@link SampleBuilder} once, when the metric is registered,
+ * and kept pre-rendered and grouped by metric family. Scrape only reads current values and writes them
+ * to the buffer, without building intermediate samples for the whole registry. Output matches the one produced
+ * by {@link io.prometheus.client.dropwizard.DropwizardExports} with the same {@link SampleBuilder}.
+ */
+public class PrometheusExposition {
+
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
+    private static final double NANOS_TO_SECONDS = 1.0D / TimeUnit.SECONDS.toNanos(1L);
+    private static final List<String> QUANTILE_LABEL = Collections.singletonList("quantile");
+    private static final List<String> QUANTILES = List.of("0.5", "0.75", "0.95", "0.98", "0.99", "0.999");
+
+    private final SampleBuilder sampleBuilder;
+    private final ConcurrentMap<String, Family> families;
+    private final ConcurrentMap<String, Family> metricFamilies;
+    private volatile int lastSize;
+
+    public PrometheusExposition(MetricRegistry metricRegistry, SampleBuilder sampleBuilder) {
+        this.sampleBuilder = Objects.requireNonNull(sampleBuilder);
+
+        families = new ConcurrentHashMap<>();
+        metricFamilies = new ConcurrentHashMap<>();
+        lastSize = INITIAL_BUFFER_SIZE;
+
+        // listener is notified about already registered metrics as well
+        metricRegistry.addListener(new SeriesIndexer());
+    }
+
+    public Buffer write() {
+        final Output output = new Output(Buffer.buffer(lastSize));
+        for (Family family : families.values()) {
+            family.write(output);
+        }
+
+        lastSize = output.buffer.length();
+        return output.buffer;
+    }
+
+    private void add(String name, Metric metric) {
+        final Series series = createSeries(name, metric);
+        if (series == null) {
+            return;
+        }
+
+        final Family family = families.computeIfAbsent(series.familyName(), key -> new Family());
+        family.updateHeader(series, name, metric);
+        family.series.put(name, series);
+        metricFamilies.put(name, family);
+    }
+
+    private void remove(String name) {
+        final Family family = metricFamilies.remove(name);
+        if (family != null) {
+            family.series.remove(name);
+        }
+    }
+
+    private Series createSeries(String name, Metric metric) {
+        if (metric instanceof Counter counter) {
+            final Collector.MetricFamilySamples.Sample sample = sample(name, "");
+            return new SingleValueSeries(sample.name, "gauge", render(sample), () -> (double) counter.getCount());
+        } else if (metric instanceof Gauge<?> gauge) {
+            final Collector.MetricFamilySamples.Sample sample = sample(name, "");
+            return new GaugeSeries(sample.name, render(sample), gauge);
+        } else if (metric instanceof Meter meter) {
+            final Collector.MetricFamilySamples.Sample sample = sample(name, "_total");
+            return new SingleValueSeries(sample.name, "counter", render(sample), () -> (double) meter.getCount());
+        } else if (metric instanceof Histogram histogram) {
+            return summarySeries(name, 1.0D, histogram::getSnapshot, histogram::getCount);
+        } else if (metric instanceof Timer timer) {
+            return summarySeries(name, NANOS_TO_SECONDS, timer::getSnapshot, timer::getCount);
+        }
+        return null;
+    }
+
+    private Series summarySeries(String name,
+                                 double factor,
+                                 SnapshotSupplier snapshotSupplier,
+                                 CountSupplier countSupplier) {
+
+        final byte[][] quantilePrefixes = new byte[QUANTILES.size()][];
+        String familyName = null;
+        for (int i = 0; i < QUANTILES.size(); i++) {
+            final Collector.MetricFamilySamples.Sample sample = sampleBuilder.createSample(
+                    name, "", QUANTILE_LABEL, Collections.singletonList(QUANTILES.get(i)), 0);
+            quantilePrefixes[i] = render(sample);
+            familyName = familyName == null ? sample.name : familyName;
+        }
+
+        final byte[] countPrefix = render(sample(name, "_count"));
+        return new SummarySeries(familyName, factor, quantilePrefixes, countPrefix, snapshotSupplier, countSupplier);
+    }
+
+    private Collector.MetricFamilySamples.Sample sample(String name, String suffix) {
+        return sampleBuilder.createSample(name, suffix, Collections.emptyList(), Collections.emptyList(), 0);
+    }
+
+    private static byte[] header(String familyName, String type, String name, Metric metric) {
+        final String help = "Generated from Dropwizard metric import (metric=%s, type=%s)"
+                .formatted(name, metric.getClass().getName());
+
+        return "# HELP %s %s\n# TYPE %s %s\n"
+                .formatted(familyName, escapeHelp(help), familyName, type)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] render(Collector.MetricFamilySamples.Sample sample) {
+        final StringBuilder result = new StringBuilder(sample.name);
+        if (!sample.labelNames.isEmpty()) {
+            result.append('{');
+            for (int i = 0; i < sample.labelNames.size(); i++) {
+                result.append(sample.labelNames.get(i))
+                        .append("=\"")
+                        .append(escapeLabelValue(sample.labelValues.get(i)))
+                        .append("\",");
+            }
+            result.append('}');
+        }
+        return result.append(' ').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escapeHelp(String value) {
+        return value.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private class SeriesIndexer extends MetricRegistryListener.Base {
+
+        @Override
+        public void onGaugeAdded(String name, Gauge<?> gauge) {
+            add(name, gauge);
+        }
+
+        @Override
+        public void onGaugeRemoved(String name) {
+            remove(name);
+        }
+
+        @Override
+        public void onCounterAdded(String name, Counter counter) {
+            add(name, counter);
+        }
+
+        @Override
+        public void onCounterRemoved(String name) {
+            remove(name);
+        }
+
+        @Override
+        public void onHistogramAdded(String name, Histogram histogram) {
+            add(name, histogram);
+        }
+
+        @Override
+        public void onHistogramRemoved(String name) {
+            remove(name);
+        }
+
+        @Override
+        public void onMeterAdded(String name, Meter meter) {
+            add(name, meter);
+        }
+
+        @Override
+        public void onMeterRemoved(String name) {
+            remove(name);
+        }
+
+        @Override
+        public void onTimerAdded(String name, Timer timer) {
+            add(name, timer);
+        }
+
+        @Override
+        public void onTimerRemoved(String name) {
+            remove(name);
+        }
+    }
+
+    private static class Family {
+
+        private final ConcurrentMap<String, Series> series;
+        private volatile byte[] header;
+        private String headerMetricName;
+
+        Family() {
+            this.series = new ConcurrentHashMap<>();
+        }
+
+        /**
+         * Takes help and type of the family from the metric with the lowest name, like Dropwizard bridge does.
+         */
+        synchronized void updateHeader(Series series, String name, Metric metric) {
+            if (headerMetricName == null || name.compareTo(headerMetricName) < 0) {
+                headerMetricName = name;
+                header = header(series.familyName(), series.type(), name, metric);
+            }
+        }
+
+        void write(Output output) {
+            // header is written along with the first sample, so families without samples are skipped
+            output.pendingHeader = header;
+            for (Series value : series.values()) {
+                value.write(output);
+            }
+            output.pendingHeader = null;
+        }
+    }
+
+    private interface Series {
+
+        String familyName();
+
+        String type();
+
+        void write(Output output);
+    }
+
+    private record SingleValueSeries(String familyName, String type, byte[] prefix, DoubleSupplier valueSupplier)
+            implements Series {
+
+        @Override
+        public void write(Output output) {
+            output.sample(prefix, valueSupplier.getAsDouble());
+        }
+    }
+
+    private record GaugeSeries(String familyName, byte[] prefix, Gauge<?> gauge) implements Series {
+
+        @Override
+        public String type() {
+            return "gauge";
+        }
+
+        @Override
+        public void write(Output output) {
+            final Object value = gauge.getValue();
+            if (value instanceof Number number) {
+                output.sample(prefix, number.doubleValue());
+            } else if (value instanceof Boolean bool) {
+                output.sample(prefix, bool ? 1.0D : 0.0D);
+            }
+            // same as Prometheus Dropwizard bridge, gauges of other types are not exported
+        }
+    }
+
+    private record SummarySeries(String familyName,
+                                 double factor,
+                                 byte[][] quantilePrefixes,
+                                 byte[] countPrefix,
+                                 SnapshotSupplier snapshotSupplier,
+                                 CountSupplier countSupplier) implements Series {
+
+        @Override
+        public String type() {
+            return "summary";
+        }
+
+        @Override
+        public void write(Output output) {
+            final Snapshot snapshot = snapshotSupplier.get();
+            output.sample(quantilePrefixes[0], snapshot.getMedian() * factor);
+            output.sample(quantilePrefixes[1], snapshot.get75thPercentile() * factor);
+            output.sample(quantilePrefixes[2], snapshot.get95thPercentile() * factor);
+            output.sample(quantilePrefixes[3], snapshot.get98thPercentile() * factor);
+            output.sample(quantilePrefixes[4], snapshot.get99thPercentile() * factor);
+            output.sample(quantilePrefixes[5], snapshot.get999thPercentile() * factor);
+            output.sample(countPrefix, countSupplier.get());
+        }
+    }
+
+    @FunctionalInterface
+    private interface SnapshotSupplier {
+        Snapshot get();
+    }
+
+    @FunctionalInterface
+    private interface CountSupplier {
+        long get();
+    }
+
+    private static class Output {
+
+        // doubles below this bound are printed by Double.toString() in plain notation
+        private static final double PLAIN_NOTATION_BOUND = 1e7;
+        private static final byte[] NEW_LINE = {'\n'};
+        private static final byte[] FRACTION_ZERO = {'.', '0'};
+
+        private final Buffer buffer;
+        private final byte[] digits;
+        private byte[] pendingHeader;
+
+        Output(Buffer buffer) {
+            this.buffer = buffer;
+            this.digits = new byte[20];
+        }
+
+        void sample(byte[] prefix, double value) {
+            if (pendingHeader != null) {
+                buffer.appendBytes(pendingHeader);
+                pendingHeader = null;
+            }
+
+            buffer.appendBytes(prefix);
+            appendValue(value);
+            buffer.appendBytes(NEW_LINE);
+        }
+
+        private void appendValue(double value) {
+            // integral values are the most common ones, so they are written without intermediate strings
+            if (value == Math.rint(value) && Math.abs(value) < PLAIN_NOTATION_BOUND
+                    && Double.doubleToRawLongBits(value) != Double.doubleToRawLongBits(-0.0D)) {
+
+                appendLong((long) value);
+                buffer.appendBytes(FRACTION_ZERO);
+            } else {
+                buffer.appendString(Collector.doubleToGoString(value));
+            }
+        }
+
+        private void appendLong(long value) {
+            if (value < 0) {
+                buffer.appendByte((byte) '-');
+            }
+
+            long remainder = Math.abs(value);
+            int position = digits.length;
+            do {
+                digits[--position] = (byte) ('0' + remainder % 10);
+                remainder /= 10;
+            } while (remainder > 0);
+            buffer.appendBytes(digits, position, digits.length - position);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.prebid.server.metric.prometheus;
+
+import io.prometheus.client.exporter.common.TextFormat;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import org.prebid.server.util.HttpUtil;
+
+import java.util.Objects;
+
+public class PrometheusExpositionHandler implements Handler<RoutingContext> {
+
+    private final PrometheusExposition prometheusExposition;
+    private final String endpoint;
+
+    public PrometheusExpositionHandler(PrometheusExposition prometheusExposition, String endpoint) {
+        this.prometheusExposition = Objects.requireNonNull(prometheusExposition);
+        this.endpoint = Objects.requireNonNull(endpoint);
+    }
+
+    @Override
+    public void handle(RoutingContext routingContext) {
+        HttpUtil.executeSafely(routingContext, endpoint,
+                response -> response
+                        .putHeader(HttpUtil.CONTENT_TYPE_HEADER, TextFormat.CONTENT_TYPE_004)
+                        .end(prometheusExposition.write()));
+    }
+}
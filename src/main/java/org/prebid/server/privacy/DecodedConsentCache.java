@@ -0,0 +1,190 @@
+package org.prebid.server.privacy;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.iab.gpp.encoder.GppModel;
+import com.iab.gpp.encoder.field.HeaderV1Field;
+import com.iab.gpp.encoder.field.TcfCaV1Field;
+import com.iab.gpp.encoder.field.TcfEuV2Field;
+import com.iab.gpp.encoder.field.UsCaField;
+import com.iab.gpp.encoder.field.UsCoField;
+import com.iab.gpp.encoder.field.UsCtField;
+import com.iab.gpp.encoder.field.UsDeField;
+import com.iab.gpp.encoder.field.UsFlField;
+import com.iab.gpp.encoder.field.UsIaField;
+import com.iab.gpp.encoder.field.UsMtField;
+import com.iab.gpp.encoder.field.UsNatField;
+import com.iab.gpp.encoder.field.UsNeField;
+import com.iab.gpp.encoder.field.UsNhField;
+import com.iab.gpp.encoder.field.UsNjField;
+import com.iab.gpp.encoder.field.UsOrField;
+import com.iab.gpp.encoder.field.UsTnField;
+import com.iab.gpp.encoder.field.UsTxField;
+import com.iab.gpp.encoder.field.UsUtField;
+import com.iab.gpp.encoder.field.UsVaField;
+import com.iab.gpp.encoder.field.UspV1Field;
+import com.iab.gpp.encoder.section.EncodableSection;
+import com.iabtcf.decoder.TCString;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.gdpr.model.DecodedTCString;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Keeps decoded TCF and GPP consent strings, so the same consent string is not decoded for every request.
+ * <p>
+ * Cache size is bounded by total length of cached strings. Cached models are shared between requests,
+ * so they are read completely before caching: TC strings are copied to {@link DecodedTCString}
+ * and all segments of GPP sections are decoded. Models returned by this cache must not be modified.
+ * Decoding failures are cached as well and reported by {@link PreBidException} with the original message.
+ */
+public class DecodedConsentCache {
+
+    private static final int TCF_V2 = 2;
+
+    // field from each segment of every GPP section, reading it decodes the whole segment
+    private static final List<String> GPP_SEGMENT_FIELDS = Stream.of(
+                    HeaderV1Field.HEADER_CORE_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_CORE_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_PUBLISHER_PURPOSES_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_VENDORS_ALLOWED_SEGMENT_FIELD_NAMES,
+                    TcfEuV2Field.TCFEUV2_VENDORS_DISCLOSED_SEGMENT_FIELD_NAMES,
+                    TcfCaV1Field.TCFCAV1_CORE_SEGMENT_FIELD_NAMES,
+                    TcfCaV1Field.TCFCAV1_PUBLISHER_PURPOSES_SEGMENT_FIELD_NAMES,
+                    TcfCaV1Field.TCFCAV1_DISCLOSED_VENDORS_SEGMENT_FIELD_NAMES,
+                    UspV1Field.USPV1_CORE_SEGMENT_FIELD_NAMES,
+                    UsNatField.USNAT_CORE_SEGMENT_FIELD_NAMES,
+                    UsNatField.USNAT_GPC_SEGMENT_FIELD_NAMES,
+                    UsCaField.USCA_CORE_SEGMENT_FIELD_NAMES,
+                    UsCaField.USCA_GPC_SEGMENT_FIELD_NAMES,
+                    UsVaField.USVA_CORE_SEGMENT_FIELD_NAMES,
+                    UsCoField.USCO_CORE_SEGMENT_FIELD_NAMES,
+                    UsCoField.USCO_GPC_SEGMENT_FIELD_NAMES,
+                    UsUtField.USUT_CORE_SEGMENT_FIELD_NAMES,
+                    UsCtField.USCT_CORE_SEGMENT_FIELD_NAMES,
+                    UsCtField.USCT_GPC_SEGMENT_FIELD_NAMES,
+                    UsFlField.USFL_CORE_SEGMENT_FIELD_NAMES,
+                    UsMtField.USMT_CORE_SEGMENT_FIELD_NAMES,
+                    UsMtField.USMT_GPC_SEGMENT_FIELD_NAMES,
+                    UsOrField.USOR_CORE_SEGMENT_FIELD_NAMES,
+                    UsOrField.USOR_GPC_SEGMENT_FIELD_NAMES,
+                    UsTxField.USTX_CORE_SEGMENT_FIELD_NAMES,
+                    UsTxField.USTX_GPC_SEGMENT_FIELD_NAMES,
+                    UsDeField.USDE_CORE_SEGMENT_FIELD_NAMES,
+                    UsDeField.USDE_GPC_SEGMENT_FIELD_NAMES,
+                    UsIaField.USIA_CORE_SEGMENT_FIELD_NAMES,
+                    UsIaField.USIA_GPC_SEGMENT_FIELD_NAMES,
+                    UsNeField.USNE_CORE_SEGMENT_FIELD_NAMES,
+                    UsNeField.USNE_GPC_SEGMENT_FIELD_NAMES,
+                    UsNhField.USNH_CORE_SEGMENT_FIELD_NAMES,
+                    UsNhField.USNH_GPC_SEGMENT_FIELD_NAMES,
+                    UsNjField.USNJ_CORE_SEGMENT_FIELD_NAMES,
+                    UsNjField.USNJ_GPC_SEGMENT_FIELD_NAMES,
+                    UsTnField.USTN_CORE_SEGMENT_FIELD_NAMES,
+                    UsTnField.USTN_GPC_SEGMENT_FIELD_NAMES)
+            .map(List::getFirst)
+            .toList();
+
+    private final Map<String, Entry<TCString>> tcfCache;
+    private final Map<String, Entry<GppModel>> gppCache;
+    private final Metrics metrics;
+
+    public DecodedConsentCache(long maxWeight, Metrics metrics) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("maxWeight must be non negative");
+        }
+
+        tcfCache = createCache(maxWeight);
+        gppCache = createCache(maxWeight);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    private static <T> Map<String, Entry<T>> createCache(long maxWeight) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxWeight)
+                .<String, Entry<T>>weigher((consent, entry) -> consent.length())
+                .build()
+                .asMap();
+    }
+
+    /**
+     * Returns decoded TC string or throws {@link PreBidException} if it can't be decoded.
+     */
+    public TCString decodeTcString(String consentString) {
+        final Entry<TCString> cachedEntry = tcfCache.get(consentString);
+        metrics.updatePrivacyConsentCacheMetric(MetricName.tcf, cachedEntry != null);
+        if (cachedEntry != null) {
+            return cachedEntry.getOrThrow();
+        }
+
+        final Entry<TCString> entry = decode(consentString, DecodedConsentCache::decodeTcf);
+        // TCF v1 is not supported and its lazily decoded model is not worth copying
+        if (entry.error() != null || entry.model().getVersion() == TCF_V2) {
+            tcfCache.put(consentString, entry);
+        }
+        return entry.getOrThrow();
+    }
+
+    private static TCString decodeTcf(String consentString) {
+        final TCString tcString = TCString.decode(consentString);
+        return tcString.getVersion() == TCF_V2 ? DecodedTCString.of(tcString) : tcString;
+    }
+
+    /**
+     * Returns GPP model created by the given decoder or throws {@link PreBidException} if GPP string
+     * can't be decoded.
+     */
+    public GppModel decodeGpp(String gpp, Function<String, GppModel> decoder) {
+        final Entry<GppModel> cachedEntry = gppCache.get(gpp);
+        metrics.updatePrivacyConsentCacheMetric(MetricName.gpp, cachedEntry != null);
+        if (cachedEntry != null) {
+            return cachedEntry.getOrThrow();
+        }
+
+        final Entry<GppModel> entry = decode(gpp, decoder);
+        // model with malformed segments is not cached, its errors are reported when these segments are read
+        if (entry.error() != null || decodeSegments(entry.model())) {
+            gppCache.put(gpp, entry);
+        }
+        return entry.getOrThrow();
+    }
+
+    private static boolean decodeSegments(GppModel gppModel) {
+        try {
+            for (Integer sectionId : gppModel.getSectionIds()) {
+                final EncodableSection section = gppModel.getSection(sectionId);
+                for (String field : GPP_SEGMENT_FIELDS) {
+                    if (section.hasField(field)) {
+                        section.getFieldValue(field);
+                    }
+                }
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static <T> Entry<T> decode(String consent, Function<String, T> decoder) {
+        try {
+            return new Entry<>(decoder.apply(consent), null);
+        } catch (Exception e) {
+            return new Entry<>(null, e.getMessage());
+        }
+    }
+
+    private record Entry<T>(T model, String error) {
+
+        T getOrThrow() {
+            if (model == null) {
+                throw new PreBidException(error);
+            }
+            return model;
+        }
+    }
+}
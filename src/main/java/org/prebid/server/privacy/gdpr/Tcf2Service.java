@@ -12,6 +12,7 @@ import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.specialfeature.SpecialFeaturesStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
 import org.prebid.server.privacy.gdpr.vendorlist.VersionedVendorListService;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
@@ -107,9 +108,10 @@ public class Tcf2Service {
                 toVendorPermissionsByType(vendorPermissions, accountGdprConfig);
 
         return versionedVendorListService.forConsent(tcfConsent)
-                .compose(vendorGvlPermissions -> processSupportedPurposeStrategies(
+                .compose(vendorList -> processSupportedPurposeStrategies(
                                 tcfConsent,
-                                wrapWithGVL(vendorPermissionsByType, vendorGvlPermissions),
+                                vendorList,
+                                wrapWithGVL(vendorPermissionsByType, vendorList.getVendors()),
                                 mergedPurposes,
                                 mergedPurposeOneTreatmentInterpretation),
                         ignored -> processDowngradedSupportedPurposeStrategies(
@@ -173,6 +175,7 @@ public class Tcf2Service {
 
     private Future<Void> processSupportedPurposeStrategies(
             TCString tcfConsent,
+            CompiledVendorList vendorList,
             VendorPermissionsByType<VendorPermissionWithGvl> permissions,
             Purposes purposes,
             PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation) {
@@ -187,6 +190,7 @@ public class Tcf2Service {
 
             processPurposeStrategy(
                     tcfConsent,
+                    vendorList,
                     standardPermissions,
                     purposeById,
                     purposeStrategy,
@@ -194,6 +198,7 @@ public class Tcf2Service {
                     false);
             processPurposeStrategy(
                     tcfConsent,
+                    vendorList,
                     weakPermissions,
                     weakPurpose,
                     purposeStrategy,
@@ -220,6 +225,7 @@ public class Tcf2Service {
 
             processPurposeStrategy(
                     tcfConsent,
+                    CompiledVendorList.empty(),
                     standardPermissions,
                     downgradedPurposeById,
                     purposeStrategy,
@@ -227,6 +233,7 @@ public class Tcf2Service {
                     true);
             processPurposeStrategy(
                     tcfConsent,
+                    CompiledVendorList.empty(),
                     weakPermissions,
                     weakPurpose,
                     purposeStrategy,
@@ -259,6 +266,7 @@ public class Tcf2Service {
     }
 
     private static void processPurposeStrategy(TCString tcfConsent,
+                                               CompiledVendorList vendorList,
                                                Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
                                                Purpose purpose,
                                                PurposeStrategy purposeStrategy,
@@ -269,17 +277,20 @@ public class Tcf2Service {
             processPurposeOneTreatment(
                     purposeOneTreatmentInterpretation,
                     tcfConsent,
+                    vendorList,
                     purpose,
                     purposeStrategy,
                     vendorPermissionsWithGvl,
                     wasDowngraded);
         } else {
-            purposeStrategy.processTypePurposeStrategy(tcfConsent, purpose, vendorPermissionsWithGvl, wasDowngraded);
+            purposeStrategy.processTypePurposeStrategy(
+                    tcfConsent, vendorList, purpose, vendorPermissionsWithGvl, wasDowngraded);
         }
     }
 
     private static void processPurposeOneTreatment(PurposeOneTreatmentInterpretation purposeOneTreatmentInterpretation,
                                                    TCString tcfConsent,
+                                                   CompiledVendorList vendorList,
                                                    Purpose purposeOne,
                                                    PurposeStrategy purposeOneStrategy,
                                                    Collection<VendorPermissionWithGvl> vendorPermissionsWithGvl,
@@ -292,7 +303,7 @@ public class Tcf2Service {
                 // no need for special processing of no-access-allowed since everything is disallowed from the beginning
             }
             case ignore -> purposeOneStrategy.processTypePurposeStrategy(
-                    tcfConsent, purposeOne, vendorPermissionsWithGvl, wasDowngraded);
+                    tcfConsent, vendorList, purposeOne, vendorPermissionsWithGvl, wasDowngraded);
         }
     }
 
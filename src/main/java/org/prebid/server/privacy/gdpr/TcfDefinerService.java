@@ -17,6 +17,7 @@ import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.RequestLogInfo;
 import org.prebid.server.privacy.gdpr.model.TCStringEmpty;
@@ -65,6 +66,7 @@ public class TcfDefinerService {
     private final GeoLocationServiceWrapper geoLocationServiceWrapper;
     private final BidderCatalog bidderCatalog;
     private final IpAddressHelper ipAddressHelper;
+    private final DecodedConsentCache decodedConsentCache;
     private final Metrics metrics;
     private final double samplingRate;
 
@@ -74,6 +76,7 @@ public class TcfDefinerService {
                              GeoLocationServiceWrapper geoLocationServiceWrapper,
                              BidderCatalog bidderCatalog,
                              IpAddressHelper ipAddressHelper,
+                             DecodedConsentCache decodedConsentCache,
                              Metrics metrics,
                              double samplingRate) {
 
@@ -86,6 +89,7 @@ public class TcfDefinerService {
         this.geoLocationServiceWrapper = Objects.requireNonNull(geoLocationServiceWrapper);
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.ipAddressHelper = Objects.requireNonNull(ipAddressHelper);
+        this.decodedConsentCache = Objects.requireNonNull(decodedConsentCache);
         this.metrics = Objects.requireNonNull(metrics);
         this.samplingRate = samplingRate;
     }
@@ -378,7 +382,7 @@ public class TcfDefinerService {
 
     private TCString decodeTcString(String consentString, RequestLogInfo requestLogInfo, List<String> warnings) {
         try {
-            return TCString.decode(consentString);
+            return decodedConsentCache.decodeTcString(consentString);
         } catch (Exception e) {
             logWarn(consentString, e.getMessage(), requestLogInfo);
             warnings.add("Parsing consent string:\"%s\" - failed. %s".formatted(consentString, e.getMessage()));
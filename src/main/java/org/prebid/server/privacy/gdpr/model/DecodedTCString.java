@@ -0,0 +1,207 @@
+package org.prebid.server.privacy.gdpr.model;
+
+import com.iabtcf.decoder.TCString;
+import com.iabtcf.utils.IntIterable;
+import com.iabtcf.v2.PublisherRestriction;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable {@link TCString} holding values read from the decoded one.
+ * <p>
+ * Decoder reads fields of TC string lazily and memoizes them without synchronization, so decoded instance
+ * can't be shared between requests. This one is fully read on creation and can be shared safely.
+ */
+public class DecodedTCString implements TCString {
+
+    private final int version;
+    private final Instant created;
+    private final Instant lastUpdated;
+    private final int cmpId;
+    private final int cmpVersion;
+    private final int consentScreen;
+    private final String consentLanguage;
+    private final int vendorListVersion;
+    private final IntIterable purposesConsent;
+    private final IntIterable vendorConsent;
+    private final boolean defaultVendorConsent;
+    private final int tcfPolicyVersion;
+    private final boolean serviceSpecific;
+    private final boolean useNonStandardStacks;
+    private final IntIterable specialFeatureOptIns;
+    private final IntIterable purposesLITransparency;
+    private final boolean purposeOneTreatment;
+    private final String publisherCC;
+    private final IntIterable vendorLegitimateInterest;
+    private final List<PublisherRestriction> publisherRestrictions;
+    private final IntIterable allowedVendors;
+    private final IntIterable disclosedVendors;
+    private final IntIterable pubPurposesConsent;
+    private final IntIterable pubPurposesLITransparency;
+    private final IntIterable customPurposesConsent;
+    private final IntIterable customPurposesLITransparency;
+
+    private DecodedTCString(TCString tcString) {
+        version = tcString.getVersion();
+        created = tcString.getCreated();
+        lastUpdated = tcString.getLastUpdated();
+        cmpId = tcString.getCmpId();
+        cmpVersion = tcString.getCmpVersion();
+        consentScreen = tcString.getConsentScreen();
+        consentLanguage = tcString.getConsentLanguage();
+        vendorListVersion = tcString.getVendorListVersion();
+        purposesConsent = tcString.getPurposesConsent();
+        vendorConsent = tcString.getVendorConsent();
+        defaultVendorConsent = tcString.getDefaultVendorConsent();
+        tcfPolicyVersion = tcString.getTcfPolicyVersion();
+        serviceSpecific = tcString.isServiceSpecific();
+        useNonStandardStacks = tcString.getUseNonStandardStacks();
+        specialFeatureOptIns = tcString.getSpecialFeatureOptIns();
+        purposesLITransparency = tcString.getPurposesLITransparency();
+        purposeOneTreatment = tcString.getPurposeOneTreatment();
+        publisherCC = tcString.getPublisherCC();
+        vendorLegitimateInterest = tcString.getVendorLegitimateInterest();
+        publisherRestrictions = tcString.getPublisherRestrictions();
+        allowedVendors = tcString.getAllowedVendors();
+        disclosedVendors = tcString.getDisclosedVendors();
+        pubPurposesConsent = tcString.getPubPurposesConsent();
+        pubPurposesLITransparency = tcString.getPubPurposesLITransparency();
+        customPurposesConsent = tcString.getCustomPurposesConsent();
+        customPurposesLITransparency = tcString.getCustomPurposesLITransparency();
+    }
+
+    public static TCString of(TCString tcString) {
+        return new DecodedTCString(tcString);
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public Instant getCreated() {
+        return created;
+    }
+
+    @Override
+    public Instant getLastUpdated() {
+        return lastUpdated;
+    }
+
+    @Override
+    public int getCmpId() {
+        return cmpId;
+    }
+
+    @Override
+    public int getCmpVersion() {
+        return cmpVersion;
+    }
+
+    @Override
+    public int getConsentScreen() {
+        return consentScreen;
+    }
+
+    @Override
+    public String getConsentLanguage() {
+        return consentLanguage;
+    }
+
+    @Override
+    public int getVendorListVersion() {
+        return vendorListVersion;
+    }
+
+    @Override
+    public IntIterable getPurposesConsent() {
+        return purposesConsent;
+    }
+
+    @Override
+    public IntIterable getVendorConsent() {
+        return vendorConsent;
+    }
+
+    @Override
+    public boolean getDefaultVendorConsent() {
+        return defaultVendorConsent;
+    }
+
+    @Override
+    public int getTcfPolicyVersion() {
+        return tcfPolicyVersion;
+    }
+
+    @Override
+    public boolean isServiceSpecific() {
+        return serviceSpecific;
+    }
+
+    @Override
+    public boolean getUseNonStandardStacks() {
+        return useNonStandardStacks;
+    }
+
+    @Override
+    public IntIterable getSpecialFeatureOptIns() {
+        return specialFeatureOptIns;
+    }
+
+    @Override
+    public IntIterable getPurposesLITransparency() {
+        return purposesLITransparency;
+    }
+
+    @Override
+    public boolean getPurposeOneTreatment() {
+        return purposeOneTreatment;
+    }
+
+    @Override
+    public String getPublisherCC() {
+        return publisherCC;
+    }
+
+    @Override
+    public IntIterable getVendorLegitimateInterest() {
+        return vendorLegitimateInterest;
+    }
+
+    @Override
+    public List<PublisherRestriction> getPublisherRestrictions() {
+        return publisherRestrictions;
+    }
+
+    @Override
+    public IntIterable getAllowedVendors() {
+        return allowedVendors;
+    }
+
+    @Override
+    public IntIterable getDisclosedVendors() {
+        return disclosedVendors;
+    }
+
+    @Override
+    public IntIterable getPubPurposesConsent() {
+        return pubPurposesConsent;
+    }
+
+    @Override
+    public IntIterable getPubPurposesLITransparency() {
+        return pubPurposesLITransparency;
+    }
+
+    @Override
+    public IntIterable getCustomPurposesConsent() {
+        return customPurposesConsent;
+    }
+
+    @Override
+    public IntIterable getCustomPurposesLITransparency() {
+        return customPurposesLITransparency;
+    }
+}
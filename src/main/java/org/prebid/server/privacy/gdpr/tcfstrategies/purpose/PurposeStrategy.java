@@ -7,8 +7,10 @@ import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.BasicEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.EnforcePurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.FullEnforcePurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies.NoEnforcePurposeStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.settings.model.EnforcePurpose;
 import org.prebid.server.settings.model.Purpose;
@@ -61,19 +63,33 @@ public abstract class PurposeStrategy {
                                            Collection<VendorPermissionWithGvl> vendorPermissions,
                                            boolean wasDowngraded) {
 
+        processTypePurposeStrategy(vendorConsent, null, purpose, vendorPermissions, wasDowngraded);
+    }
+
+    /**
+     * Processes purpose using GVL compiled to {@link CompiledVendorList}. If vendor list is not given,
+     * GVL vendors of permissions are used.
+     */
+    public void processTypePurposeStrategy(TCString vendorConsent,
+                                           CompiledVendorList vendorList,
+                                           Purpose purpose,
+                                           Collection<VendorPermissionWithGvl> vendorPermissions,
+                                           boolean wasDowngraded) {
+
         final Collection<VendorPermissionWithGvl> excludedVendors = excludedVendors(vendorPermissions, purpose);
         final Collection<VendorPermissionWithGvl> vendorForPurpose = vendorPermissions.stream()
                 .filter(vendorPermission -> !excludedVendors.contains(vendorPermission))
                 .toList();
 
-        allowedByTypeStrategy(vendorConsent, purpose, vendorForPurpose, excludedVendors)
+        allowedByTypeStrategy(vendorConsent, vendorList, purpose, vendorForPurpose, excludedVendors)
                 .forEach(this::allow);
 
-        final Stream<VendorPermission> naturalVendorPermission = wasDowngraded
-                ? allowedByBasicTypeStrategy(vendorConsent, true, vendorForPurpose, excludedVendors)
-                : allowedByFullTypeStrategy(vendorConsent, true, vendorForPurpose, excludedVendors);
+        final EnforcePurposeStrategy naturalStrategy = wasDowngraded
+                ? basicEnforcePurposeStrategy
+                : fullEnforcePurposeStrategy;
 
-        naturalVendorPermission.forEach(this::allowNaturally);
+        allowedBy(naturalStrategy, vendorConsent, vendorList, true, vendorForPurpose, excludedVendors)
+                .forEach(this::allowNaturally);
     }
 
     private Collection<VendorPermissionWithGvl> excludedVendors(Collection<VendorPermissionWithGvl> vendorPermissions,
@@ -88,6 +104,7 @@ public abstract class PurposeStrategy {
     }
 
     private Stream<VendorPermission> allowedByTypeStrategy(TCString vendorConsent,
+                                                           CompiledVendorList vendorList,
                                                            Purpose purpose,
                                                            Collection<VendorPermissionWithGvl> vendorForPurpose,
                                                            Collection<VendorPermissionWithGvl> excludedVendors) {
@@ -95,44 +112,27 @@ public abstract class PurposeStrategy {
         final boolean isEnforceVendors = BooleanUtils.isNotFalse(purpose.getEnforceVendors());
 
         final EnforcePurpose purposeType = purpose.getEnforcePurpose();
-        if (purposeType == EnforcePurpose.no) {
-            return allowedByNoTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
-        }
-
-        if (purposeType == EnforcePurpose.basic) {
-            return allowedByBasicTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
-        }
-
-        return allowedByFullTypeStrategy(vendorConsent, isEnforceVendors, vendorForPurpose, excludedVendors);
-    }
-
-    private Stream<VendorPermission> allowedByBasicTypeStrategy(
-            TCString vendorConsent,
-            boolean isEnforceVendors,
-            Collection<VendorPermissionWithGvl> vendorForPurpose,
-            Collection<VendorPermissionWithGvl> excludedVendors) {
-
-        return basicEnforcePurposeStrategy.allowedByTypeStrategy(
-                getPurpose(), vendorConsent, vendorForPurpose, excludedVendors, isEnforceVendors);
+        final EnforcePurposeStrategy enforcePurposeStrategy = switch (purposeType) {
+            case no -> noEnforcePurposeStrategy;
+            case basic -> basicEnforcePurposeStrategy;
+            case null, default -> fullEnforcePurposeStrategy;
+        };
+
+        return allowedBy(
+                enforcePurposeStrategy, vendorConsent, vendorList, isEnforceVendors, vendorForPurpose, excludedVendors);
     }
 
-    private Stream<VendorPermission> allowedByNoTypeStrategy(
-            TCString vendorConsent,
-            boolean isEnforceVendors,
-            Collection<VendorPermissionWithGvl> vendorForPurpose,
-            Collection<VendorPermissionWithGvl> excludedVendors) {
-
-        return noEnforcePurposeStrategy.allowedByTypeStrategy(
-                getPurpose(), vendorConsent, vendorForPurpose, excludedVendors, isEnforceVendors);
-    }
-
-    private Stream<VendorPermission> allowedByFullTypeStrategy(
-            TCString vendorConsent,
-            boolean isEnforceVendors,
-            Collection<VendorPermissionWithGvl> vendorForPurpose,
-            Collection<VendorPermissionWithGvl> excludedVendors) {
-
-        return fullEnforcePurposeStrategy.allowedByTypeStrategy(
+    private Stream<VendorPermission> allowedBy(EnforcePurposeStrategy enforcePurposeStrategy,
+                                               TCString vendorConsent,
+                                               CompiledVendorList vendorList,
+                                               boolean isEnforceVendors,
+                                               Collection<VendorPermissionWithGvl> vendorForPurpose,
+                                               Collection<VendorPermissionWithGvl> excludedVendors) {
+
+        return vendorList != null
+                ? enforcePurposeStrategy.allowedByTypeStrategy(
+                getPurpose(), vendorConsent, vendorList, vendorForPurpose, excludedVendors, isEnforceVendors)
+                : enforcePurposeStrategy.allowedByTypeStrategy(
                 getPurpose(), vendorConsent, vendorForPurpose, excludedVendors, isEnforceVendors);
     }
 }
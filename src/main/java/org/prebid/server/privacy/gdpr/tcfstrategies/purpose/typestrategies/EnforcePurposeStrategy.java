@@ -4,6 +4,7 @@ import com.iabtcf.decoder.TCString;
 import com.iabtcf.utils.IntIterable;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 
 import java.util.Collection;
@@ -18,6 +19,21 @@ public abstract class EnforcePurposeStrategy {
             Collection<VendorPermissionWithGvl> excludedVendors,
             boolean isEnforceVendors);
 
+    /**
+     * Same as above, for strategies relying on GVL the given {@link CompiledVendorList} is used
+     * instead of vendors of permissions.
+     */
+    public Stream<VendorPermission> allowedByTypeStrategy(
+            PurposeCode purpose,
+            TCString vendorConsent,
+            CompiledVendorList vendorList,
+            Collection<VendorPermissionWithGvl> vendorsForPurpose,
+            Collection<VendorPermissionWithGvl> excludedVendors,
+            boolean isEnforceVendors) {
+
+        return allowedByTypeStrategy(purpose, vendorConsent, vendorsForPurpose, excludedVendors, isEnforceVendors);
+    }
+
     protected boolean isAllowedBySimpleConsentOrLegitimateInterest(PurposeCode purpose,
                                                                    Integer vendorId,
                                                                    boolean isEnforceVendor,
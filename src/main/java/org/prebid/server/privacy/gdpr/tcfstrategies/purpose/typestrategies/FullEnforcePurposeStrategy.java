@@ -1,17 +1,20 @@
 package org.prebid.server.privacy.gdpr.tcfstrategies.purpose.typestrategies;
 
 import com.iabtcf.decoder.TCString;
+import com.iabtcf.v2.PublisherRestriction;
 import com.iabtcf.v2.RestrictionType;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.collections4.map.DefaultedMap;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
 
 import java.util.Collection;
-import java.util.EnumSet;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,8 +22,32 @@ import java.util.stream.Stream;
 
 public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
 
+    private static final Map<Integer, RestrictionType> NO_RESTRICTIONS =
+            DefaultedMap.defaultedMap(Collections.emptyMap(), RestrictionType.UNDEFINED);
+
+    public Stream<VendorPermission> allowedByTypeStrategy(PurposeCode purpose,
+                                                          TCString vendorConsent,
+                                                          Collection<VendorPermissionWithGvl> vendorsForPurpose,
+                                                          Collection<VendorPermissionWithGvl> excludedVendors,
+                                                          boolean isEnforceVendors) {
+
+        return allowedByTypeStrategy(
+                purpose,
+                vendorConsent,
+                compileVendorList(vendorsForPurpose),
+                vendorsForPurpose,
+                excludedVendors,
+                isEnforceVendors);
+    }
+
+    /**
+     * Checks vendors against the given {@link CompiledVendorList} instead of {@link Vendor} of every permission,
+     * so each vendor is checked by a few bit lookups.
+     */
+    @Override
     public Stream<VendorPermission> allowedByTypeStrategy(PurposeCode purpose,
                                                           TCString vendorConsent,
+                                                          CompiledVendorList vendorList,
                                                           Collection<VendorPermissionWithGvl> vendorsForPurpose,
                                                           Collection<VendorPermissionWithGvl> excludedVendors,
                                                           boolean isEnforceVendors) {
@@ -31,24 +58,41 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
         final Stream<VendorPermission> allowedExcluded = toVendorPermissions(excludedVendors)
                 .filter(vendorPermission -> isNotRestricted(vendorPermission, vendorToRestriction));
 
-        final Stream<VendorPermission> allowedVendorPermissions = vendorsForPurpose.stream()
-                .filter(vendorPermissionWithGvl -> isAllowedByPublisherRestrictionAndFlexible(
+        final Stream<VendorPermission> allowedVendorPermissions = toVendorPermissions(vendorsForPurpose)
+                .filter(vendorPermission -> isAllowedByPublisherRestrictionAndFlexible(
                         purpose,
                         isEnforceVendors,
-                        vendorPermissionWithGvl,
+                        vendorPermission.getVendorId(),
+                        vendorList,
                         vendorConsent,
-                        vendorToRestriction.get(vendorPermissionWithGvl.getVendorPermission().getVendorId())))
-                .map(VendorPermissionWithGvl::getVendorPermission);
+                        vendorToRestriction.get(vendorPermission.getVendorId())));
 
         return Stream.concat(allowedExcluded, allowedVendorPermissions);
     }
 
+    private static CompiledVendorList compileVendorList(Collection<VendorPermissionWithGvl> vendorsForPurpose) {
+        final Map<Integer, Vendor> idToVendor = new HashMap<>();
+        for (VendorPermissionWithGvl vendorPermissionWithGvl : vendorsForPurpose) {
+            final Integer vendorId = vendorPermissionWithGvl.getVendorPermission().getVendorId();
+            if (vendorId != null) {
+                idToVendor.putIfAbsent(vendorId, vendorPermissionWithGvl.getVendor());
+            }
+        }
+
+        return CompiledVendorList.of(idToVendor);
+    }
+
     private static Map<Integer, RestrictionType> vendorToRestriction(
             PurposeCode purpose,
             TCString vendorConsent,
             Collection<VendorPermissionWithGvl> vendorsForPurpose,
             Collection<VendorPermissionWithGvl> excludedVendors) {
 
+        final List<PublisherRestriction> restrictions = vendorConsent.getPublisherRestrictions();
+        if (CollectionUtils.isEmpty(restrictions)) {
+            return NO_RESTRICTIONS;
+        }
+
         final Set<Integer> participatingVendorsIds =
                 Stream.concat(vendorsForPurpose.stream(), excludedVendors.stream())
                         .map(VendorPermissionWithGvl::getVendorPermission)
@@ -56,7 +100,7 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
                         .collect(Collectors.toSet());
 
         final Map<Integer, RestrictionType> publisherRestrictions = new HashMap<>();
-        vendorConsent.getPublisherRestrictions().stream()
+        restrictions.stream()
                 .filter(publisherRestriction -> publisherRestriction.getPurposeId() == purpose.code())
                 .forEach(publisherRestriction -> publisherRestriction.getVendorIds().toStream()
                         .filter(participatingVendorsIds::contains)
@@ -89,76 +133,25 @@ public class FullEnforcePurposeStrategy extends EnforcePurposeStrategy {
      * <li>For UNDEFINED we check by purposeConsent and vendorConsent
      * or purposesLITransparency and vendorLegitimateInterest</li>
      * <p>
+     * Which of these checks are applicable to the vendor is precomputed by {@link CompiledVendorList}.
      */
     private boolean isAllowedByPublisherRestrictionAndFlexible(PurposeCode purpose,
                                                                boolean isEnforceVendor,
-                                                               VendorPermissionWithGvl vendorPermissionWithGvl,
+                                                               Integer vendorId,
+                                                               CompiledVendorList vendorList,
                                                                TCString tcString,
                                                                RestrictionType restrictionType) {
 
-        if (restrictionType == RestrictionType.NOT_ALLOWED) {
-            return false;
-        }
-
-        final Integer vendorId = vendorPermissionWithGvl.getVendorPermission().getVendorId();
-        final Vendor vendorGvl = vendorPermissionWithGvl.getVendor();
-
-        final EnumSet<PurposeCode> flexiblePurposes = vendorGvl.getFlexiblePurposes();
-        final boolean isFlexible = CollectionUtils.isNotEmpty(flexiblePurposes) && flexiblePurposes.contains(purpose);
-
-        final EnumSet<PurposeCode> gvlPurposeCodes = vendorGvl.getPurposes();
-        if (gvlPurposeCodes != null && gvlPurposeCodes.contains(purpose)) {
-            return isFlexible
-                    ? isAllowedByFlexible(purpose, vendorId, isEnforceVendor, tcString, restrictionType)
-                    : isAllowedByNotFlexiblePurpose(purpose, vendorId, isEnforceVendor, tcString, restrictionType);
-        }
-
-        final EnumSet<PurposeCode> legIntGvlPurposeCodes = vendorGvl.getLegIntPurposes();
-        if (legIntGvlPurposeCodes != null && legIntGvlPurposeCodes.contains(purpose)) {
-            return isFlexible
-                    ? isAllowedByFlexible(purpose, vendorId, isEnforceVendor, tcString, restrictionType)
-                    : isAllowedByNotFlexibleLegitimateInterest(
-                        purpose, vendorId, isEnforceVendor, tcString, restrictionType);
-        }
-
-        return false;
-    }
-
-    private boolean isAllowedByNotFlexiblePurpose(PurposeCode purpose,
-                                                  Integer vendorId,
-                                                  boolean isEnforceVendor,
-                                                  TCString tcString,
-                                                  RestrictionType restrictionType) {
-
-        return (restrictionType == RestrictionType.REQUIRE_CONSENT || restrictionType == RestrictionType.UNDEFINED)
-                && isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
-    }
-
-    private boolean isAllowedByNotFlexibleLegitimateInterest(PurposeCode purpose,
-                                                             Integer vendorId,
-                                                             boolean isEnforceVendor,
-                                                             TCString tcString,
-                                                             RestrictionType restrictionType) {
-
-        final boolean isSupportedRestriction = restrictionType.equals(RestrictionType.REQUIRE_LEGITIMATE_INTEREST)
-                || restrictionType.equals(RestrictionType.UNDEFINED);
-
-        return isSupportedRestriction && isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
-    }
-
-    private boolean isAllowedByFlexible(PurposeCode purpose,
-                                        Integer vendorId,
-                                        boolean isEnforceVendor,
-                                        TCString tcString,
-                                        RestrictionType restrictionType) {
-
         return switch (restrictionType) {
             case NOT_ALLOWED -> false;
-            case REQUIRE_CONSENT -> isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
-            case REQUIRE_LEGITIMATE_INTEREST ->
-                    isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
-            case UNDEFINED ->
-                    isAllowedBySimpleConsentOrLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+            case REQUIRE_CONSENT -> vendorList.isAllowedByConsent(purpose, vendorId)
+                    && isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString);
+            case REQUIRE_LEGITIMATE_INTEREST -> vendorList.isAllowedByLegitimateInterest(purpose, vendorId)
+                    && isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString);
+            case UNDEFINED -> (vendorList.isAllowedByConsent(purpose, vendorId)
+                    && isAllowedBySimpleConsent(purpose, vendorId, isEnforceVendor, tcString))
+                    || (vendorList.isAllowedByLegitimateInterest(purpose, vendorId)
+                    && isAllowedByLegitimateInterest(purpose, vendorId, isEnforceVendor, tcString));
         };
     }
 }
@@ -0,0 +1,101 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Vendor list with purposes of vendors compiled to bit sets indexed by vendor ID.
+ * <p>
+ * For every purpose it keeps vendors that can be allowed by consent and vendors that can be allowed
+ * by legitimate interest, taking flexible purposes into account:
+ * <ul>
+ * <li>consent - vendor declares purpose, or declares it as legitimate interest and purpose is flexible;</li>
+ * <li>legitimate interest - vendor declares purpose as legitimate interest and either purpose is flexible
+ * or vendor doesn't declare it as consent purpose, or vendor declares flexible consent purpose.</li>
+ * </ul>
+ * Created once per vendor list version and shared between requests, so must not be modified.
+ */
+public class CompiledVendorList {
+
+    private static final CompiledVendorList EMPTY = new CompiledVendorList(Collections.emptyMap());
+
+    private final Map<Integer, Vendor> vendors;
+    private final Map<PurposeCode, BitSet> consentVendors;
+    private final Map<PurposeCode, BitSet> legitimateInterestVendors;
+
+    private CompiledVendorList(Map<Integer, Vendor> vendors) {
+        this.vendors = Collections.unmodifiableMap(vendors);
+
+        consentVendors = new EnumMap<>(PurposeCode.class);
+        legitimateInterestVendors = new EnumMap<>(PurposeCode.class);
+        for (PurposeCode purpose : PurposeCode.values()) {
+            consentVendors.put(purpose, new BitSet());
+            legitimateInterestVendors.put(purpose, new BitSet());
+        }
+
+        for (Map.Entry<Integer, Vendor> idToVendor : vendors.entrySet()) {
+            final Integer vendorId = idToVendor.getKey();
+            if (vendorId != null && vendorId >= 0 && idToVendor.getValue() != null) {
+                compile(vendorId, idToVendor.getValue());
+            }
+        }
+    }
+
+    public static CompiledVendorList of(Map<Integer, Vendor> vendors) {
+        return new CompiledVendorList(Objects.requireNonNull(vendors));
+    }
+
+    public static CompiledVendorList empty() {
+        return EMPTY;
+    }
+
+    private void compile(int vendorId, Vendor vendor) {
+        final EnumSet<PurposeCode> purposes = emptyIfNull(vendor.getPurposes());
+        final EnumSet<PurposeCode> legIntPurposes = emptyIfNull(vendor.getLegIntPurposes());
+        final EnumSet<PurposeCode> flexiblePurposes = emptyIfNull(vendor.getFlexiblePurposes());
+
+        for (PurposeCode purpose : purposes) {
+            consentVendors.get(purpose).set(vendorId);
+            if (flexiblePurposes.contains(purpose)) {
+                legitimateInterestVendors.get(purpose).set(vendorId);
+            }
+        }
+
+        for (PurposeCode purpose : legIntPurposes) {
+            final boolean flexible = flexiblePurposes.contains(purpose);
+            if (flexible) {
+                consentVendors.get(purpose).set(vendorId);
+            }
+            if (flexible || !purposes.contains(purpose)) {
+                legitimateInterestVendors.get(purpose).set(vendorId);
+            }
+        }
+    }
+
+    private static EnumSet<PurposeCode> emptyIfNull(EnumSet<PurposeCode> purposes) {
+        return purposes != null ? purposes : EnumSet.noneOf(PurposeCode.class);
+    }
+
+    public Map<Integer, Vendor> getVendors() {
+        return vendors;
+    }
+
+    public boolean isAllowedByConsent(PurposeCode purpose, Integer vendorId) {
+        return isSet(consentVendors.get(purpose), vendorId);
+    }
+
+    public boolean isAllowedByLegitimateInterest(PurposeCode purpose, Integer vendorId) {
+        return isSet(legitimateInterestVendors.get(purpose), vendorId);
+    }
+
+    private static boolean isSet(BitSet vendors, Integer vendorId) {
+        return vendorId != null && vendorId >= 0 && vendors.get(vendorId);
+    }
+}
@@ -72,11 +72,11 @@ public class VendorListService {
 
     /**
      * This is memory/performance optimized model slice:
-     * map of vendor list version -> map of vendor ID -> Vendors
+     * map of vendor list version -> vendors compiled for purpose enforcement
      */
-    private final Map<Integer, Map<Integer, Vendor>> cache;
+    private final Map<Integer, CompiledVendorList> cache;
 
-    private final Map<Integer, Vendor> fallbackVendorList;
+    private final CompiledVendorList fallbackVendorList;
     private final Set<Integer> versionsToFallback;
     private final VendorListFetchThrottler fetchThrottler;
 
@@ -128,17 +128,17 @@ public class VendorListService {
     }
 
     /**
-     * Returns a map with vendor ID as a key and a set of purposes as a value for given vendor list version.
+     * Returns vendors of given vendor list version compiled for purpose enforcement.
      */
-    public Future<Map<Integer, Vendor>> forVersion(int version) {
+    public Future<CompiledVendorList> forVersion(int version) {
         if (version <= 0) {
             return Future.failedFuture("TCF %d vendor list for version %s.%d not valid."
                     .formatted(getTcfVersion(), generationVersion, version));
         }
 
-        final Map<Integer, Vendor> idToVendor = cache.get(version);
-        if (idToVendor != null) {
-            return Future.succeededFuture(idToVendor);
+        final CompiledVendorList vendorList = cache.get(version);
+        if (vendorList != null) {
+            return Future.succeededFuture(vendorList);
         }
 
         final int tcf = getTcfVersion();
@@ -176,11 +176,11 @@ public class VendorListService {
     }
 
     /**
-     * Returns a Map of vendor id to Vendors.
+     * Returns vendors of vendor list compiled for purpose enforcement.
      */
-    private Map<Integer, Vendor> filterVendorIdToVendors(VendorList vendorList) {
-        return vendorList.getVendors().entrySet().stream()
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    private CompiledVendorList compileVendors(VendorList vendorList) {
+        return CompiledVendorList.of(vendorList.getVendors().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
     }
 
     /**
@@ -231,18 +231,17 @@ public class VendorListService {
     /**
      * Creates the cache from previously downloaded vendor lists.
      */
-    private Map<Integer, Map<Integer, Vendor>> createCache(FileSystem fileSystem, String cacheDir) {
+    private Map<Integer, CompiledVendorList> createCache(FileSystem fileSystem, String cacheDir) {
         final Map<String, String> versionToFileContent = readFileSystemCache(fileSystem, cacheDir);
 
-        final Map<Integer, Map<Integer, Vendor>> cache = Caffeine.newBuilder()
-                .<Integer, Map<Integer, Vendor>>build()
+        final Map<Integer, CompiledVendorList> cache = Caffeine.newBuilder()
+                .<Integer, CompiledVendorList>build()
                 .asMap();
 
         for (Map.Entry<String, String> versionAndFileContent : versionToFileContent.entrySet()) {
             final VendorList vendorList = toVendorList(versionAndFileContent.getValue());
-            final Map<Integer, Vendor> vendorIdToVendors = filterVendorIdToVendors(vendorList);
 
-            cache.put(Integer.valueOf(versionAndFileContent.getKey()), vendorIdToVendors);
+            cache.put(Integer.valueOf(versionAndFileContent.getKey()), compileVendors(vendorList));
         }
         return cache;
     }
@@ -258,14 +257,14 @@ public class VendorListService {
                         filename -> fileSystem.readFileBlocking(filename).toString()));
     }
 
-    private Map<Integer, Vendor> readFallbackVendorList(String fallbackVendorListPath) {
+    private CompiledVendorList readFallbackVendorList(String fallbackVendorListPath) {
         final String vendorListContent = fileSystem.readFileBlocking(fallbackVendorListPath).toString();
         final VendorList vendorList = toVendorList(vendorListContent);
         if (!isValid(vendorList)) {
             throw new PreBidException("Fallback vendor list parsed but has invalid data: " + vendorListContent);
         }
 
-        return filterVendorIdToVendors(vendorList);
+        return compileVendors(vendorList);
     }
 
     private boolean shouldFallback(int version) {
@@ -339,7 +338,7 @@ public class VendorListService {
     private Void updateCache(VendorListResult<VendorList> vendorListResult) {
         final int version = vendorListResult.getVersion();
 
-        cache.put(version, filterVendorIdToVendors(vendorListResult.getVendorList()));
+        cache.put(version, compileVendors(vendorListResult.getVendorList()));
 
         final int tcf = getTcfVersion();
 
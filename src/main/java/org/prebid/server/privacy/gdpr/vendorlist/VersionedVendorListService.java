@@ -2,9 +2,7 @@ package org.prebid.server.privacy.gdpr.vendorlist;
 
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
-import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
 
-import java.util.Map;
 import java.util.Objects;
 
 public class VersionedVendorListService {
@@ -17,7 +15,7 @@ public class VersionedVendorListService {
         this.vendorListServiceV3 = Objects.requireNonNull(vendorListServiceV3);
     }
 
-    public Future<Map<Integer, Vendor>> forConsent(TCString consent) {
+    public Future<CompiledVendorList> forConsent(TCString consent) {
         final int tcfPolicyVersion = consent.getTcfPolicyVersion();
         final int vendorListVersion = consent.getVendorListVersion();
 
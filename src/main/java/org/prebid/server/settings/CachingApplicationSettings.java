@@ -1,9 +1,11 @@
 package org.prebid.server.settings;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.log.Logger;
 import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.MetricName;
@@ -15,17 +17,25 @@ import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredItem;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Adds caching functionality for {@link ApplicationSettings} implementation.
+ * <p>
+ * Concurrent lookups of the same missed key share one in-flight call to the delegate instead of hitting
+ * the original source each. Accounts and categories accessed shortly before expiration are reloaded
+ * in background, while the cached value keeps being returned.
  */
 public class CachingApplicationSettings implements ApplicationSettings {
 
@@ -33,14 +43,24 @@ public class CachingApplicationSettings implements ApplicationSettings {
 
     private final ApplicationSettings delegate;
 
-    private final Map<String, Account> accountCache;
+    private final Map<String, CachedValue<Account>> accountCache;
     private final Map<String, String> accountToErrorCache;
     private final Map<String, String> adServerPublisherToErrorCache;
-    private final Map<String, Map<String, String>> categoryConfigCache;
+    private final Map<String, CachedValue<Map<String, String>>> categoryConfigCache;
     private final SettingsCache cache;
     private final SettingsCache ampCache;
     private final SettingsCache videoCache;
     private final Metrics metrics;
+    private final Clock clock;
+    private final TimeoutFactory timeoutFactory;
+    private final long refreshAfterMillis;
+    private final long refreshTimeoutMillis;
+
+    private final Map<String, Future<Account>> accountLoads;
+    private final Map<String, Future<Map<String, String>>> categoryLoads;
+    private final Map<String, Future<StoredDataResult>> storedDataLoads;
+    private final Map<String, Future<StoredDataResult>> ampStoredDataLoads;
+    private final Map<String, Future<StoredDataResult>> videoStoredDataLoads;
 
     public CachingApplicationSettings(ApplicationSettings delegate,
                                       SettingsCache cache,
@@ -49,7 +69,10 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                       Metrics metrics,
                                       int ttl,
                                       int size,
-                                      int jitter) {
+                                      int jitter,
+                                      int refreshAhead,
+                                      long refreshTimeoutMillis,
+                                      Clock clock) {
 
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
@@ -57,6 +80,13 @@ public class CachingApplicationSettings implements ApplicationSettings {
         if (jitter < 0 || jitter >= ttl) {
             throw new IllegalArgumentException("jitter must match the inequality: 0 <= jitter < ttl");
         }
+        if (refreshAhead < 0 || refreshAhead >= ttl - jitter) {
+            throw new IllegalArgumentException(
+                    "refresh ahead must match the inequality: 0 <= refresh ahead < ttl - jitter");
+        }
+        if (refreshAhead > 0 && refreshTimeoutMillis <= 0) {
+            throw new IllegalArgumentException("refresh timeout must be positive");
+        }
 
         this.delegate = Objects.requireNonNull(delegate);
         this.accountCache = SettingsCache.createCache(ttl, size, jitter);
@@ -67,6 +97,18 @@ public class CachingApplicationSettings implements ApplicationSettings {
         this.ampCache = Objects.requireNonNull(ampCache);
         this.videoCache = Objects.requireNonNull(videoCache);
         this.metrics = Objects.requireNonNull(metrics);
+        this.clock = Objects.requireNonNull(clock);
+        this.timeoutFactory = new TimeoutFactory(clock);
+        this.refreshTimeoutMillis = refreshTimeoutMillis;
+
+        // entry may expire jitter seconds earlier than ttl, so refresh is started before the earliest expiration
+        refreshAfterMillis = refreshAhead == 0 ? Long.MAX_VALUE : (ttl - jitter - refreshAhead) * 1000L;
+
+        accountLoads = new ConcurrentHashMap<>();
+        categoryLoads = new ConcurrentHashMap<>();
+        storedDataLoads = new ConcurrentHashMap<>();
+        ampStoredDataLoads = new ConcurrentHashMap<>();
+        videoStoredDataLoads = new ConcurrentHashMap<>();
     }
 
     /**
@@ -77,10 +119,12 @@ public class CachingApplicationSettings implements ApplicationSettings {
         return getFromCacheOrDelegate(
                 accountCache,
                 accountToErrorCache,
+                accountLoads,
                 StringUtils.isBlank(accountId) ? StringUtils.EMPTY : accountId,
                 timeout,
                 delegate::getAccountById,
-                event -> metrics.updateSettingsCacheEventMetric(MetricName.account, event));
+                event -> metrics.updateSettingsCacheEventMetric(MetricName.account, event),
+                result -> metrics.updateSettingsCacheRefreshAheadMetric(MetricName.account, result));
     }
 
     /**
@@ -92,7 +136,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                   Set<String> impIds,
                                                   Timeout timeout) {
 
-        return getFromCacheOrDelegate(cache, accountId, requestIds, impIds, timeout, delegate::getStoredData);
+        return getFromCacheOrDelegate(cache, storedDataLoads, MetricName.stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getStoredData);
     }
 
     /**
@@ -104,7 +149,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                      Set<String> impIds,
                                                      Timeout timeout) {
 
-        return getFromCacheOrDelegate(ampCache, accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
+        return getFromCacheOrDelegate(ampCache, ampStoredDataLoads, MetricName.amp_stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getAmpStoredData);
     }
 
     @Override
@@ -113,7 +159,8 @@ public class CachingApplicationSettings implements ApplicationSettings {
                                                        Set<String> impIds,
                                                        Timeout timeout) {
 
-        return getFromCacheOrDelegate(videoCache, accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
+        return getFromCacheOrDelegate(videoCache, videoStoredDataLoads, MetricName.video_stored_request,
+                accountId, requestIds, impIds, timeout, delegate::getVideoStoredData);
     }
 
     /**
@@ -130,38 +177,49 @@ public class CachingApplicationSettings implements ApplicationSettings {
                 ? "%s_%s".formatted(primaryAdServer, publisher)
                 : primaryAdServer;
 
-        return getFromCacheOrDelegate(categoryConfigCache, adServerPublisherToErrorCache, compoundKey, timeout,
-                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeout),
+        return getFromCacheOrDelegate(
+                categoryConfigCache,
+                adServerPublisherToErrorCache,
+                categoryLoads,
+                compoundKey,
+                timeout,
+                (key, timeoutParam) -> delegate.getCategories(primaryAdServer, publisher, timeoutParam),
+                CachingApplicationSettings::noOp,
                 CachingApplicationSettings::noOp);
     }
 
-    private static <T> Future<T> getFromCacheOrDelegate(Map<String, T> cache,
-                                                        Map<String, String> accountToErrorCache,
-                                                        String key,
-                                                        Timeout timeout,
-                                                        BiFunction<String, Timeout, Future<T>> retriever,
-                                                        Consumer<MetricName> metricUpdater) {
+    private <T> Future<T> getFromCacheOrDelegate(Map<String, CachedValue<T>> cache,
+                                                 Map<String, String> keyToErrorCache,
+                                                 Map<String, Future<T>> loads,
+                                                 String key,
+                                                 Timeout timeout,
+                                                 BiFunction<String, Timeout, Future<T>> retriever,
+                                                 Consumer<MetricName> metricUpdater,
+                                                 Consumer<MetricName> refreshMetricUpdater) {
 
-        final T cachedValue = cache.get(key);
+        final CachedValue<T> cachedValue = cache.get(key);
         if (cachedValue != null) {
             metricUpdater.accept(MetricName.hit);
+            if (clock.millis() - cachedValue.loadedAt() >= refreshAfterMillis) {
+                refreshAhead(cache, loads, key, retriever, refreshMetricUpdater);
+            }
 
-            return Future.succeededFuture(cachedValue);
+            return Future.succeededFuture(cachedValue.value());
         }
 
         metricUpdater.accept(MetricName.miss);
 
-        final String preBidExceptionMessage = accountToErrorCache.get(key);
+        final String preBidExceptionMessage = keyToErrorCache.get(key);
         if (preBidExceptionMessage != null) {
             return Future.failedFuture(new PreBidException(preBidExceptionMessage));
         }
 
-        return retriever.apply(key, timeout)
+        return loadOnce(loads, key, metricUpdater, () -> retriever.apply(key, timeout)
                 .map(value -> {
-                    cache.put(key, value);
+                    cacheIfStillLoading(cache, loads, key, value);
                     return value;
                 })
-                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, accountToErrorCache));
+                .recover(throwable -> cacheAndReturnFailedFuture(throwable, key, keyToErrorCache)));
     }
 
     /**
@@ -169,9 +227,13 @@ public class CachingApplicationSettings implements ApplicationSettings {
      * source, combines results and updates cache with missed stored item. In case when origin source returns failed
      * {@link Future} propagates its result to caller. In successive call return {@link Future&lt;StoredDataResult&gt;}
      * with all found stored items and error from origin source id call was made.
+     * <p>
+     * Lookups missing the same ids of the same account share one call to origin source.
      */
-    private static Future<StoredDataResult> getFromCacheOrDelegate(
+    private Future<StoredDataResult> getFromCacheOrDelegate(
             SettingsCache cache,
+            Map<String, Future<StoredDataResult>> loads,
+            MetricName cacheType,
             String accountId,
             Set<String> requestIds,
             Set<String> impIds,
@@ -199,21 +261,98 @@ public class CachingApplicationSettings implements ApplicationSettings {
         }
 
         // delegate call to original source for missed ids and update cache with it
-        return retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout).map(result -> {
-            final Map<String, String> storedIdToRequestFromDelegate = result.getStoredIdToRequest();
-            storedIdToRequest.putAll(storedIdToRequestFromDelegate);
-            for (Map.Entry<String, String> entry : storedIdToRequestFromDelegate.entrySet()) {
-                cache.saveRequestCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+        final String loadKey = "%s|%s|%s".formatted(
+                normalizedAccountId, new TreeSet<>(missedRequestIds), new TreeSet<>(missedImpIds));
+
+        return loadOnce(
+                loads,
+                loadKey,
+                event -> metrics.updateSettingsCacheEventMetric(cacheType, event),
+                () -> retriever.apply(normalizedAccountId, missedRequestIds, missedImpIds, timeout).map(result -> {
+                    result.getStoredIdToRequest().forEach((id, value) ->
+                            cache.saveRequestCache(normalizedAccountId, id, value));
+                    result.getStoredIdToImp().forEach((id, value) ->
+                            cache.saveImpCache(normalizedAccountId, id, value));
+                    return result;
+                }))
+                .map(result -> {
+                    storedIdToRequest.putAll(result.getStoredIdToRequest());
+                    storedIdToImp.putAll(result.getStoredIdToImp());
+                    return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+                });
+    }
 
-            final Map<String, String> storedIdToImpFromDelegate = result.getStoredIdToImp();
-            storedIdToImp.putAll(storedIdToImpFromDelegate);
-            for (Map.Entry<String, String> entry : storedIdToImpFromDelegate.entrySet()) {
-                cache.saveImpCache(normalizedAccountId, entry.getKey(), entry.getValue());
-            }
+    /**
+     * Reloads value in background, unless it is already being loaded. Failed reload leaves cached value as is,
+     * so it keeps being served until expiration.
+     * <p>
+     * Reload is not bound to the request triggering it, so it is made with its own timeout.
+     */
+    private <T> void refreshAhead(Map<String, CachedValue<T>> cache,
+                                  Map<String, Future<T>> loads,
+                                  String key,
+                                  BiFunction<String, Timeout, Future<T>> retriever,
+                                  Consumer<MetricName> refreshMetricUpdater) {
+
+        if (loads.containsKey(key)) {
+            return;
+        }
 
-            return StoredDataResult.of(storedIdToRequest, storedIdToImp, result.getErrors());
+        final Timeout refreshTimeout = timeoutFactory.create(refreshTimeoutMillis);
+        loadOnce(loads, key, CachingApplicationSettings::noOp, () -> retriever.apply(key, refreshTimeout)
+                .map(value -> {
+                    cacheIfStillLoading(cache, loads, key, value);
+                    return value;
+                }))
+                .onSuccess(value -> refreshMetricUpdater.accept(MetricName.ok))
+                .onFailure(throwable -> {
+                    refreshMetricUpdater.accept(MetricName.err);
+                    logger.debug("Refresh ahead of settings cache entry {} failed: {}", key, throwable.getMessage());
+                });
+    }
+
+    private <T> void cacheIfStillLoading(Map<String, CachedValue<T>> cache,
+                                         Map<String, Future<T>> loads,
+                                         String key,
+                                         T value) {
+
+        // load that was invalidated in the meantime must not bring outdated value back to cache
+        if (loads.containsKey(key)) {
+            cache.put(key, new CachedValue<>(value, clock.millis()));
+        }
+    }
+
+    /**
+     * Returns in-flight load of the given key if any, otherwise starts the new one. The load is forgotten
+     * as soon as it is completed, so results are always taken from the cache afterward.
+     */
+    private static <T> Future<T> loadOnce(Map<String, Future<T>> loads,
+                                          String key,
+                                          Consumer<MetricName> metricUpdater,
+                                          Supplier<Future<T>> loader) {
+
+        final Promise<T> promise = Promise.promise();
+        final Future<T> inFlight = loads.putIfAbsent(key, promise.future());
+        if (inFlight != null) {
+            metricUpdater.accept(MetricName.coalesced);
+            return inFlight;
+        }
+
+        final Future<T> load;
+        try {
+            load = loader.get();
+        } catch (RuntimeException e) {
+            loads.remove(key, promise.future());
+            promise.fail(e);
+            return promise.future();
+        }
+
+        load.onComplete(result -> {
+            loads.remove(key, promise.future());
+            promise.handle(result);
         });
+
+        return promise.future();
     }
 
     private static <T> Future<T> cacheAndReturnFailedFuture(Throwable throwable,
@@ -249,9 +388,13 @@ public class CachingApplicationSettings implements ApplicationSettings {
     public void invalidateAccountCache(String accountId) {
         accountCache.remove(accountId);
         accountToErrorCache.remove(accountId);
+        accountLoads.remove(accountId);
         logger.debug("Account with id {} was invalidated", accountId);
     }
 
     private static <ANY> void noOp(ANY any) {
     }
+
+    private record CachedValue<T>(T value, long loadedAt) {
+    }
 }
@@ -0,0 +1,107 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.collections4.MapUtils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Keeps parsed JSON trees of stored requests and imps, so the same stored data is not parsed on every request.
+ * <p>
+ * Entries are keyed by account and stored id and remember JSON they were parsed from, which plays the role
+ * of entry version: tree is reused only while stored data source returns the same JSON. Returned trees are shared
+ * between requests and must not be modified.
+ */
+public class ParsedStoredDataCache implements CacheNotificationListener {
+
+    private final Map<Key, ParsedItem> requestCache;
+    private final Map<Key, ParsedItem> impCache;
+
+    public ParsedStoredDataCache(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("size must be non negative");
+        }
+
+        requestCache = createCache(size);
+        impCache = createCache(size);
+    }
+
+    private static Map<Key, ParsedItem> createCache(int size) {
+        return Caffeine.newBuilder()
+                .maximumSize(size)
+                .<Key, ParsedItem>build()
+                .asMap();
+    }
+
+    public JsonNode storedRequest(String accountId, String id, String json, Function<String, JsonNode> parser) {
+        return getOrParse(requestCache, accountId, id, json, parser);
+    }
+
+    public JsonNode storedImp(String accountId, String id, String json, Function<String, JsonNode> parser) {
+        return getOrParse(impCache, accountId, id, json, parser);
+    }
+
+    private static JsonNode getOrParse(Map<Key, ParsedItem> cache,
+                                       String accountId,
+                                       String id,
+                                       String json,
+                                       Function<String, JsonNode> parser) {
+
+        final Key key = new Key(accountId, id);
+        final ParsedItem cachedItem = cache.get(key);
+        if (cachedItem != null && cachedItem.isParsedFrom(json)) {
+            return cachedItem.node();
+        }
+
+        final JsonNode node = parser.apply(json);
+        cache.put(key, new ParsedItem(json, node));
+        return node;
+    }
+
+    /**
+     * Drops parsed trees of saved stored data, new JSON will be parsed on the first use.
+     */
+    @Override
+    public void save(Map<String, String> requests, Map<String, String> imps) {
+        if (MapUtils.isNotEmpty(requests)) {
+            removeByIds(requestCache, requests.keySet());
+        }
+        if (MapUtils.isNotEmpty(imps)) {
+            removeByIds(impCache, imps.keySet());
+        }
+    }
+
+    @Override
+    public void invalidate(List<String> requests, List<String> imps) {
+        removeByIds(requestCache, requests);
+        removeByIds(impCache, imps);
+    }
+
+    private static void removeByIds(Map<Key, ParsedItem> cache, Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+
+        // stored data notifications don't carry account, so trees of all accounts are dropped
+        final Set<String> idsToRemove = new HashSet<>(ids);
+        cache.keySet().removeIf(key -> idsToRemove.contains(key.id()));
+    }
+
+    private record Key(String accountId, String id) {
+    }
+
+    private record ParsedItem(String json, JsonNode node) {
+
+        boolean isParsedFrom(String otherJson) {
+            // stored data caches return the same string instance until it is changed
+            return json == otherJson || Objects.equals(json, otherJson);
+        }
+    }
+}
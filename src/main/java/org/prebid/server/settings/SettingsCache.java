@@ -16,13 +16,21 @@ import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Just a simple wrapper over in-memory caches for requests and imps.
+ * <p>
+ * Notifications about saved and invalidated stored data are also passed to the given listener,
+ * which allows to keep caches derived from stored data in sync.
  */
 public class SettingsCache implements CacheNotificationListener {
 
     private final Map<String, Set<StoredItem>> requestCache;
     private final Map<String, Set<StoredItem>> impCache;
+    private final CacheNotificationListener downstreamListener;
 
     public SettingsCache(int ttl, int size, int jitter) {
+        this(ttl, size, jitter, null);
+    }
+
+    public SettingsCache(int ttl, int size, int jitter, CacheNotificationListener downstreamListener) {
         if (ttl <= 0 || size <= 0) {
             throw new IllegalArgumentException("ttl and size must be positive");
         }
@@ -32,6 +40,7 @@ public class SettingsCache implements CacheNotificationListener {
 
         requestCache = createCache(ttl, size, jitter);
         impCache = createCache(ttl, size, jitter);
+        this.downstreamListener = downstreamListener;
     }
 
     public static <T> Map<String, T> createCache(int ttlSeconds, int size, int jitterSeconds) {
@@ -86,12 +95,18 @@ public class SettingsCache implements CacheNotificationListener {
         if (MapUtils.isNotEmpty(imps)) {
             imps.forEach((key, value) -> impCache.put(key, Collections.singleton(StoredItem.of(null, value))));
         }
+        if (downstreamListener != null) {
+            downstreamListener.save(requests, imps);
+        }
     }
 
     @Override
     public void invalidate(List<String> requests, List<String> imps) {
         requests.forEach(requestCache.keySet()::remove);
         imps.forEach(impCache.keySet()::remove);
+        if (downstreamListener != null) {
+            downstreamListener.invalidate(requests, imps);
+        }
     }
 
     private static class StaticExpiry<K, V> implements Expiry<K, V> {
@@ -7,6 +7,8 @@ import org.apache.commons.collections4.ListUtils;
 import org.apache.commons.lang3.BooleanUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.analytics.AnalyticsReporter;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.model.DropPolicy;
 import org.prebid.server.analytics.reporter.AnalyticsReporterDelegator;
 import org.prebid.server.analytics.reporter.agma.AgmaAnalyticsReporter;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
@@ -19,6 +21,7 @@ import org.prebid.server.auction.privacy.enforcement.TcfEnforcement;
 import org.prebid.server.auction.privacy.enforcement.mask.UserFpdActivityMask;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.spring.config.retry.RetryPolicyConfigurationProperties;
 import org.prebid.server.version.PrebidVersionProvider;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +32,8 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import java.time.Clock;
@@ -62,6 +67,44 @@ public class AnalyticsConfiguration {
                 mapper);
     }
 
+    @Bean
+    AnalyticsPipelineFactory analyticsPipelineFactory(AnalyticsPipelineConfigurationProperties properties,
+                                                      HttpClient httpClient,
+                                                      Vertx vertx,
+                                                      Metrics metrics) {
+
+        return new AnalyticsPipelineFactory(
+                properties.getMaxPendingBytes(),
+                properties.getDropPolicy(),
+                properties.getRetryPolicy().toPolicy(),
+                httpClient,
+                vertx,
+                metrics);
+    }
+
+    @Bean
+    @ConfigurationProperties(prefix = "analytics.pipeline")
+    AnalyticsPipelineConfigurationProperties analyticsPipelineConfigurationProperties() {
+        return new AnalyticsPipelineConfigurationProperties();
+    }
+
+    @Validated
+    @NoArgsConstructor
+    @Data
+    private static class AnalyticsPipelineConfigurationProperties {
+
+        @NotNull
+        @Min(1)
+        private Long maxPendingBytes;
+
+        @NotNull
+        private DropPolicy dropPolicy;
+
+        @Valid
+        @NotNull
+        private RetryPolicyConfigurationProperties retryPolicy;
+    }
+
     @Bean
     @ConditionalOnProperty(prefix = "analytics.log", name = "enabled", havingValue = "true")
     LogAnalyticsReporter logAnalyticsReporter(JacksonMapper mapper) {
@@ -75,18 +118,16 @@ public class AnalyticsConfiguration {
         @Bean
         AgmaAnalyticsReporter agmaAnalyticsReporter(AgmaAnalyticsConfigurationProperties properties,
                                                     JacksonMapper jacksonMapper,
-                                                    HttpClient httpClient,
                                                     Clock clock,
                                                     PrebidVersionProvider prebidVersionProvider,
-                                                    Vertx vertx) {
+                                                    AnalyticsPipelineFactory analyticsPipelineFactory) {
 
             return new AgmaAnalyticsReporter(
                     properties.toComponentProperties(),
                     prebidVersionProvider,
                     jacksonMapper,
                     clock,
-                    httpClient,
-                    vertx);
+                    analyticsPipelineFactory);
         }
 
         @Bean
@@ -237,13 +278,15 @@ public class AnalyticsConfiguration {
                 PubstackAnalyticsConfiguratinProperties pubstackAnalyticsConfiguratinProperties,
                 HttpClient httpClient,
                 JacksonMapper jacksonMapper,
-                Vertx vertx) {
+                Vertx vertx,
+                AnalyticsPipelineFactory analyticsPipelineFactory) {
 
             return new PubstackAnalyticsReporter(
                     pubstackAnalyticsConfiguratinProperties.toComponentProperties(),
                     httpClient,
                     jacksonMapper,
-                    vertx);
+                    vertx,
+                    analyticsPipelineFactory);
         }
 
         @Bean
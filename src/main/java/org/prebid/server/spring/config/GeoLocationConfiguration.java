@@ -1,7 +1,10 @@
 package org.prebid.server.spring.config;
 
+import com.maxmind.db.Reader.FileMode;
 import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.GeoLocationServiceWrapper;
 import org.prebid.server.auction.requestfactory.Ortb2ImplicitParametersResolver;
@@ -25,7 +28,10 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.Resource;
 import org.springframework.util.FileCopyUtils;
+import org.springframework.validation.annotation.Validated;
 
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.Reader;
@@ -55,13 +61,22 @@ public class GeoLocationConfiguration {
             return new FileSyncerProperties();
         }
 
+        @Bean
+        @ConfigurationProperties(prefix = "geolocation.maxmind.lookup")
+        MaxMindLookupProperties maxMindLookupProperties() {
+            return new MaxMindLookupProperties();
+        }
+
         @Bean
         @ConditionalOnProperty(prefix = "geolocation.circuit-breaker", name = "enabled", havingValue = "false",
                 matchIfMissing = true)
         GeoLocationService basicGeoLocationService(FileSyncerProperties fileSyncerProperties,
-                                                   Vertx vertx) {
+                                                   MaxMindLookupProperties lookupProperties,
+                                                   Vertx vertx,
+                                                   Metrics metrics,
+                                                   Clock clock) {
 
-            return createGeoLocationService(fileSyncerProperties, vertx);
+            return createGeoLocationService(fileSyncerProperties, lookupProperties, vertx, metrics, clock);
         }
 
         @Bean
@@ -70,21 +85,62 @@ public class GeoLocationConfiguration {
                 Vertx vertx,
                 Metrics metrics,
                 FileSyncerProperties fileSyncerProperties,
+                MaxMindLookupProperties lookupProperties,
                 @Qualifier("maxMindCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties,
                 Clock clock) {
 
             return new CircuitBreakerSecuredGeoLocationService(vertx,
-                    createGeoLocationService(fileSyncerProperties, vertx), metrics,
+                    createGeoLocationService(fileSyncerProperties, lookupProperties, vertx, metrics, clock), metrics,
                     circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                     circuitBreakerProperties.getClosingIntervalMs(), clock);
         }
 
-        private GeoLocationService createGeoLocationService(FileSyncerProperties properties, Vertx vertx) {
-            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService();
+        private GeoLocationService createGeoLocationService(FileSyncerProperties properties,
+                                                            MaxMindLookupProperties lookupProperties,
+                                                            Vertx vertx,
+                                                            Metrics metrics,
+                                                            Clock clock) {
+
+            final int workerPoolSize = lookupProperties.getWorkerPoolSize();
+            final WorkerExecutor workerExecutor = workerPoolSize > 0
+                    ? vertx.createSharedWorkerExecutor("maxmind-geolocation", workerPoolSize)
+                    : null;
+
+            final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService(
+                    lookupProperties.isMemoryMapped() ? FileMode.MEMORY_MAPPED : FileMode.MEMORY,
+                    lookupProperties.getCacheSize(),
+                    lookupProperties.getCacheIpv4PrefixLength(),
+                    lookupProperties.getCacheIpv6PrefixLength(),
+                    workerExecutor,
+                    vertx,
+                    metrics,
+                    clock);
             final FileSyncer fileSyncer = FileUtil.fileSyncerFor(maxMindGeoLocationService, properties, vertx);
             fileSyncer.sync();
             return maxMindGeoLocationService;
         }
+
+        @Validated
+        @Data
+        @NoArgsConstructor
+        static class MaxMindLookupProperties {
+
+            private boolean memoryMapped;
+
+            @Min(0)
+            private int cacheSize;
+
+            @Min(0)
+            @Max(32)
+            private int cacheIpv4PrefixLength;
+
+            @Min(0)
+            @Max(128)
+            private int cacheIpv6PrefixLength;
+
+            @Min(0)
+            private int workerPoolSize;
+        }
     }
 
     @Configuration
@@ -4,10 +4,12 @@ import io.vertx.core.Vertx;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.hooks.execution.HookBudgetTracker;
 import org.prebid.server.hooks.execution.HookCatalog;
 import org.prebid.server.hooks.execution.HookStageExecutor;
 import org.prebid.server.hooks.v1.Module;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.HooksAdminConfig;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -35,6 +37,7 @@ public class HooksConfiguration {
                                         Vertx vertx,
                                         Clock clock,
                                         JacksonMapper mapper,
+                                        Metrics metrics,
                                         @Value("${settings.modules.require-config-to-invoke:false}")
                                         boolean isConfigToInvokeRequired) {
 
@@ -49,9 +52,17 @@ public class HooksConfiguration {
                 vertx,
                 clock,
                 mapper,
+                metrics,
+                hookBudgetTracker(hooksConfiguration.getAdaptiveSkipping(), clock),
                 isConfigToInvokeRequired);
     }
 
+    private static HookBudgetTracker hookBudgetTracker(AdaptiveSkippingProperties properties, Clock clock) {
+        return properties != null && properties.isEnabled()
+                ? new HookBudgetTracker(properties.getMaxConsecutiveTimeouts(), properties.getSkipDurationMs(), clock)
+                : null;
+    }
+
     @Bean
     @ConfigurationProperties("hooks")
     HooksConfigurationProperties hooksConfigurationProperties() {
@@ -68,5 +79,18 @@ public class HooksConfiguration {
         String defaultAccountExecutionPlan;
 
         HooksAdminConfig admin;
+
+        AdaptiveSkippingProperties adaptiveSkipping;
+    }
+
+    @Data
+    @NoArgsConstructor
+    private static class AdaptiveSkippingProperties {
+
+        boolean enabled;
+
+        int maxConsecutiveTimeouts;
+
+        long skipDurationMs;
     }
 }
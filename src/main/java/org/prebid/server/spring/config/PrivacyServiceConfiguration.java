@@ -16,6 +16,7 @@ import org.prebid.server.auction.privacy.enforcement.mask.UserFpdTcfMask;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
 import org.prebid.server.privacy.gdpr.Tcf2Service;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
@@ -164,6 +165,7 @@ public class PrivacyServiceConfiguration {
             GeoLocationServiceWrapper geoLocationServiceWrapper,
             BidderCatalog bidderCatalog,
             IpAddressHelper ipAddressHelper,
+            DecodedConsentCache decodedConsentCache,
             Metrics metrics,
             @Value("${logging.sampling-rate:0.01}") double samplingRate) {
 
@@ -176,10 +178,19 @@ public class PrivacyServiceConfiguration {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 samplingRate);
     }
 
+    @Bean
+    DecodedConsentCache decodedConsentCache(
+            @Value("${privacy.decoded-consent-cache.max-weight}") long maxWeight,
+            Metrics metrics) {
+
+        return new DecodedConsentCache(maxWeight, metrics);
+    }
+
     @Bean
     HostVendorTcfDefinerService hostVendorTcfDefinerService(
             TcfDefinerService tcfDefinerService,
@@ -14,6 +14,7 @@ import org.prebid.server.activity.infrastructure.creator.ActivityInfrastructureC
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.BidResponseCreator;
 import org.prebid.server.auction.BidResponsePostProcessor;
+import org.prebid.server.auction.BidderLatencyTracker;
 import org.prebid.server.auction.BidsAdjuster;
 import org.prebid.server.auction.DebugResolver;
 import org.prebid.server.auction.DsaEnforcer;
@@ -70,11 +71,14 @@ import org.prebid.server.bidadjustments.BidAdjustmentsResolver;
 import org.prebid.server.bidadjustments.BidAdjustmentsEnricher;
 import org.prebid.server.bidadjustments.BidAdjustmentsRulesResolver;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderConcurrencyLimiter;
 import org.prebid.server.bidder.BidderDeps;
 import org.prebid.server.bidder.BidderErrorNotifier;
+import org.prebid.server.bidder.BidderHttpClientProvider;
 import org.prebid.server.bidder.BidderRequestCompletionTrackerFactory;
 import org.prebid.server.bidder.HttpBidderRequestEnricher;
 import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.bidder.PooledBidderHttpClientProvider;
 import org.prebid.server.cache.BasicPbcStorageService;
 import org.prebid.server.cache.CoreCacheService;
 import org.prebid.server.cache.PbcStorageService;
@@ -105,10 +109,12 @@ import org.prebid.server.log.HttpInteractionLogger;
 import org.prebid.server.log.LoggerControlKnob;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.privacy.HostVendorTcfDefinerService;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.TcfDefinerService;
 import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.ParsedStoredDataCache;
 import org.prebid.server.settings.model.BidValidationEnforcement;
 import org.prebid.server.spring.config.model.CacheDefaultTtlProperties;
 import org.prebid.server.spring.config.model.ExternalConversionProperties;
@@ -146,6 +152,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -322,9 +331,27 @@ public class ServiceConfiguration {
     TimeoutResolver auctionTimeoutResolver(
             @Value("${auction.biddertmax.min}") long minTimeout,
             @Value("${auction.biddertmax.max:#{0}}") long maxTimeout,
-            @Value("${auction.tmax-upstream-response-time}") long upstreamResponseTime) {
+            @Value("${auction.tmax-upstream-response-time}") long upstreamResponseTime,
+            @Value("${auction.biddertmax.adaptive.enabled}") boolean adaptiveEnabled,
+            @Value("${auction.biddertmax.adaptive.percentile}") double adaptivePercentile,
+            @Value("${auction.biddertmax.adaptive.headroom-ms}") long adaptiveHeadroomMs,
+            @Value("${auction.biddertmax.adaptive.min-samples}") long adaptiveMinSamples,
+            @Value("${auction.biddertmax.adaptive.window-ms}") long adaptiveWindowMs,
+            @Value("${auction.biddertmax.adaptive.per-account}") boolean adaptivePerAccount,
+            Clock clock) {
+
+        if (!adaptiveEnabled) {
+            return new TimeoutResolver(minTimeout, maxTimeout, upstreamResponseTime);
+        }
 
-        return new TimeoutResolver(minTimeout, maxTimeout, upstreamResponseTime);
+        final BidderLatencyTracker bidderLatencyTracker = new BidderLatencyTracker(
+                adaptivePercentile,
+                adaptiveHeadroomMs,
+                adaptiveMinSamples,
+                adaptiveWindowMs,
+                adaptivePerAccount,
+                clock);
+        return new TimeoutResolver(minTimeout, maxTimeout, upstreamResponseTime, bidderLatencyTracker);
     }
 
     @Bean
@@ -404,23 +431,23 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    AuctionGppService auctionGppProcessor(GppService gppService) {
-        return new AuctionGppService(gppService);
+    AuctionGppService auctionGppProcessor(GppService gppService, DecodedConsentCache decodedConsentCache) {
+        return new AuctionGppService(gppService, decodedConsentCache);
     }
 
     @Bean
-    AmpGppService ampGppProcessor(GppService gppService) {
-        return new AmpGppService(gppService);
+    AmpGppService ampGppProcessor(GppService gppService, DecodedConsentCache decodedConsentCache) {
+        return new AmpGppService(gppService, decodedConsentCache);
     }
 
     @Bean
-    CookieSyncGppService cookieSyncGppProcessor(GppService gppService) {
-        return new CookieSyncGppService(gppService);
+    CookieSyncGppService cookieSyncGppProcessor(GppService gppService, DecodedConsentCache decodedConsentCache) {
+        return new CookieSyncGppService(gppService, decodedConsentCache);
     }
 
     @Bean
-    SetuidGppService setuidGppService(GppService gppService) {
-        return new SetuidGppService(gppService);
+    SetuidGppService setuidGppService(GppService gppService, DecodedConsentCache decodedConsentCache) {
+        return new SetuidGppService(gppService, decodedConsentCache);
     }
 
     @Bean
@@ -651,6 +678,16 @@ public class ServiceConfiguration {
 
         final HttpClient httpClient = createBasicHttpClient(vertx, httpClientProperties);
 
+        return createCircuitBreakerSecuredHttpClient(vertx, httpClient, metrics, circuitBreakerProperties, clock);
+    }
+
+    private static CircuitBreakerSecuredHttpClient createCircuitBreakerSecuredHttpClient(
+            Vertx vertx,
+            HttpClient httpClient,
+            Metrics metrics,
+            HttpClientCircuitBreakerProperties circuitBreakerProperties,
+            Clock clock) {
+
         return new CircuitBreakerSecuredHttpClient(
                 vertx,
                 httpClient,
@@ -663,6 +700,10 @@ public class ServiceConfiguration {
     }
 
     private static BasicHttpClient createBasicHttpClient(Vertx vertx, HttpClientProperties httpClientProperties) {
+        return new BasicHttpClient(vertx, vertx.createHttpClient(createHttpClientOptions(httpClientProperties)));
+    }
+
+    private static HttpClientOptions createHttpClientOptions(HttpClientProperties httpClientProperties) {
         final HttpClientOptions options = new HttpClientOptions()
                 .setMaxPoolSize(httpClientProperties.getMaxPoolSize())
                 .setIdleTimeoutUnit(TimeUnit.MILLISECONDS)
@@ -684,7 +725,52 @@ public class ServiceConfiguration {
                     .setKeyCertOptions(jksOptions);
         }
 
-        return new BasicHttpClient(vertx, vertx.createHttpClient(options));
+        return options;
+    }
+
+    @Bean
+    @Scope(scopeName = VertxContextScope.NAME, proxyMode = ScopedProxyMode.INTERFACES)
+    BidderHttpClientProvider bidderHttpClientProvider(
+            Vertx vertx,
+            HttpClient httpClient,
+            HttpClientProperties httpClientProperties,
+            @Autowired(required = false)
+            @Qualifier("httpClientCircuitBreakerProperties")
+            HttpClientCircuitBreakerProperties circuitBreakerProperties,
+            BidderCatalog bidderCatalog,
+            Metrics metrics,
+            Clock clock) {
+
+        final HttpClientOptions defaultOptions = createHttpClientOptions(httpClientProperties);
+
+        return new PooledBidderHttpClientProvider(
+                httpClient,
+                bidderCatalog,
+                (bidder, connectionPool) -> createBidderHttpClient(
+                        vertx,
+                        PooledBidderHttpClientProvider.httpClientOptions(defaultOptions, bidder, connectionPool),
+                        bidder,
+                        circuitBreakerProperties,
+                        metrics,
+                        clock),
+                httpClientProperties.getConnectTimeoutMs());
+    }
+
+    private static HttpClient createBidderHttpClient(Vertx vertx,
+                                                     HttpClientOptions options,
+                                                     String bidder,
+                                                     HttpClientCircuitBreakerProperties circuitBreakerProperties,
+                                                     Metrics metrics,
+                                                     Clock clock) {
+
+        final HttpClient httpClient = new BasicHttpClient(
+                vertx,
+                vertx.createHttpClient(options),
+                (queueSize, waitTime) -> metrics.updateAdapterConnectionPoolMetrics(bidder, queueSize, waitTime));
+
+        return circuitBreakerProperties != null
+                ? createCircuitBreakerSecuredHttpClient(vertx, httpClient, metrics, circuitBreakerProperties, clock)
+                : httpClient;
     }
 
     @Bean
@@ -796,16 +882,30 @@ public class ServiceConfiguration {
         return new CompositeMediaTypeProcessor(mediaTypeProcessors);
     }
 
+    @Bean
+    @ConditionalOnProperty(prefix = "auction.bidder-concurrency-limit", name = "enabled", havingValue = "true")
+    BidderConcurrencyLimiter bidderConcurrencyLimiter(
+            @Value("${auction.bidder-concurrency-limit.initial-limit}") int initialLimit,
+            @Value("${auction.bidder-concurrency-limit.min-limit}") int minLimit,
+            @Value("${auction.bidder-concurrency-limit.max-limit}") int maxLimit,
+            @Value("${auction.bidder-concurrency-limit.backoff-ratio}") double backoffRatio,
+            Metrics metrics) {
+
+        return new BidderConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio, metrics);
+    }
+
     @Bean
     HttpBidderRequester httpBidderRequester(
-            HttpClient httpClient,
+            BidderHttpClientProvider bidderHttpClientProvider,
+            @Autowired(required = false) BidderConcurrencyLimiter bidderConcurrencyLimiter,
             @Autowired(required = false) BidderRequestCompletionTrackerFactory bidderRequestCompletionTrackerFactory,
             BidderErrorNotifier bidderErrorNotifier,
             HttpBidderRequestEnricher requestEnricher,
             JacksonMapper mapper) {
 
         return new HttpBidderRequester(
-                httpClient,
+                bidderHttpClientProvider,
+                bidderConcurrencyLimiter,
                 bidderRequestCompletionTrackerFactory,
                 bidderErrorNotifier,
                 requestEnricher,
@@ -922,7 +1022,8 @@ public class ServiceConfiguration {
             Clock clock,
             JacksonMapper mapper,
             CriteriaLogManager criteriaLogManager,
-            @Value("${auction.strict-app-site-dooh:false}") boolean enabledStrictAppSiteDoohValidation) {
+            @Value("${auction.strict-app-site-dooh:false}") boolean enabledStrictAppSiteDoohValidation,
+            @Value("${auction.bidder-request-fragment-cache-enabled:false}") boolean fragmentCacheEnabled) {
 
         return new ExchangeService(
                 logSamplingRate,
@@ -950,7 +1051,8 @@ public class ServiceConfiguration {
                 clock,
                 mapper,
                 criteriaLogManager,
-                enabledStrictAppSiteDoohValidation);
+                enabledStrictAppSiteDoohValidation,
+                fragmentCacheEnabled);
     }
 
     @Bean
@@ -972,7 +1074,8 @@ public class ServiceConfiguration {
             Metrics metrics,
             TimeoutFactory timeoutFactory,
             JacksonMapper mapper,
-            JsonMerger jsonMerger) {
+            JsonMerger jsonMerger,
+            ParsedStoredDataCache parsedStoredDataCache) {
 
         return new StoredRequestProcessor(
                 defaultTimeoutMs,
@@ -984,7 +1087,8 @@ public class ServiceConfiguration {
                 metrics,
                 timeoutFactory,
                 mapper,
-                jsonMerger);
+                jsonMerger,
+                parsedStoredDataCache);
     }
 
     @Bean
@@ -1213,8 +1317,28 @@ public class ServiceConfiguration {
     }
 
     @Bean
-    HttpInteractionLogger httpInteractionLogger(JacksonMapper mapper) {
-        return new HttpInteractionLogger(mapper);
+    HttpInteractionLogger httpInteractionLogger(
+            JacksonMapper mapper,
+            Metrics metrics,
+            @Value("${logging.http-interaction.async.enabled:true}") boolean asyncEnabled,
+            @Value("${logging.http-interaction.async.buffer-size:1024}") int asyncBufferSize) {
+
+        final Executor executor = asyncEnabled ? httpInteractionLoggingExecutor(asyncBufferSize) : Runnable::run;
+        return new HttpInteractionLogger(mapper, executor, metrics);
+    }
+
+    private static Executor httpInteractionLoggingExecutor(int bufferSize) {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(bufferSize),
+                runnable -> {
+                    final Thread thread = new Thread(runnable, "http-interaction-logger");
+                    thread.setDaemon(true);
+                    return thread;
+                });
     }
 
     @Bean
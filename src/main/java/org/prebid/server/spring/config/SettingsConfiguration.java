@@ -23,6 +23,7 @@ import org.prebid.server.settings.DatabaseApplicationSettings;
 import org.prebid.server.settings.EnrichingApplicationSettings;
 import org.prebid.server.settings.FileApplicationSettings;
 import org.prebid.server.settings.HttpApplicationSettings;
+import org.prebid.server.settings.ParsedStoredDataCache;
 import org.prebid.server.settings.S3ApplicationSettings;
 import org.prebid.server.settings.SettingsCache;
 import org.prebid.server.settings.helper.ParametrizedQueryHelper;
@@ -434,7 +435,8 @@ public class SettingsConfiguration {
                 @Qualifier("settingsCache") SettingsCache cache,
                 @Qualifier("ampSettingsCache") SettingsCache ampCache,
                 @Qualifier("videoSettingCache") SettingsCache videoCache,
-                Metrics metrics) {
+                Metrics metrics,
+                Clock clock) {
 
             return new CachingApplicationSettings(
                     enrichingApplicationSettings,
@@ -444,7 +446,21 @@ public class SettingsConfiguration {
                     metrics,
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize(),
-                    cacheProperties.getJitterSeconds());
+                    cacheProperties.getJitterSeconds(),
+                    cacheProperties.getRefreshAheadSeconds(),
+                    cacheProperties.getRefreshTimeoutMs(),
+                    clock);
+        }
+    }
+
+    @Configuration
+    static class ParsedStoredDataCacheConfiguration {
+
+        @Bean
+        ParsedStoredDataCache parsedStoredDataCache(
+                @Value("${settings.parsed-stored-data-cache-size}") int size) {
+
+            return new ParsedStoredDataCache(size);
         }
     }
 
@@ -465,29 +481,38 @@ public class SettingsConfiguration {
 
         @Bean
         @Qualifier("settingsCache")
-        SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties) {
+        SettingsCache settingsCache(ApplicationSettingsCacheProperties cacheProperties,
+                                    ParsedStoredDataCache parsedStoredDataCache) {
+
             return new SettingsCache(
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize(),
-                    cacheProperties.getJitterSeconds());
+                    cacheProperties.getJitterSeconds(),
+                    parsedStoredDataCache);
         }
 
         @Bean
         @Qualifier("ampSettingsCache")
-        SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties) {
+        SettingsCache ampSettingsCache(ApplicationSettingsCacheProperties cacheProperties,
+                                       ParsedStoredDataCache parsedStoredDataCache) {
+
             return new SettingsCache(
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize(),
-                    cacheProperties.getJitterSeconds());
+                    cacheProperties.getJitterSeconds(),
+                    parsedStoredDataCache);
         }
 
         @Bean
         @Qualifier("videoSettingCache")
-        SettingsCache videoSettingCache(ApplicationSettingsCacheProperties cacheProperties) {
+        SettingsCache videoSettingCache(ApplicationSettingsCacheProperties cacheProperties,
+                                        ParsedStoredDataCache parsedStoredDataCache) {
+
             return new SettingsCache(
                     cacheProperties.getTtlSeconds(),
                     cacheProperties.getCacheSize(),
-                    cacheProperties.getJitterSeconds());
+                    cacheProperties.getJitterSeconds(),
+                    parsedStoredDataCache);
         }
     }
 
@@ -507,5 +532,9 @@ public class SettingsConfiguration {
         private Integer cacheSize;
         @Min(0)
         private int jitterSeconds;
+        @Min(0)
+        private int refreshAheadSeconds;
+        @Min(1)
+        private long refreshTimeoutMs = 1000L;
     }
 }
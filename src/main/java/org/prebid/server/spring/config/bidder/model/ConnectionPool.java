@@ -0,0 +1,26 @@
+package org.prebid.server.spring.config.bidder.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+@Data
+@Validated
+@NoArgsConstructor
+public class ConnectionPool {
+
+    @NotNull
+    @Min(1)
+    Integer maxSize;
+
+    Integer keepAliveTimeoutSeconds;
+
+    Boolean http2;
+
+    Integer http2MultiplexingLimit;
+
+    Integer warmUpConnections;
+}
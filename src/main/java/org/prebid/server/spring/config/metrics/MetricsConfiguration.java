@@ -18,7 +18,10 @@ import org.apache.commons.lang3.ObjectUtils;
 import org.prebid.server.auction.HooksMetricsService;
 import org.prebid.server.metric.AccountMetricsVerbosityResolver;
 import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.HdrHistogramReservoir;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirMetricRegistry;
+import org.prebid.server.metric.ReservoirType;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.spring.env.YamlPropertySourceFactory;
 import org.slf4j.LoggerFactory;
@@ -115,8 +118,17 @@ public class MetricsConfiguration {
     }
 
     @Bean
-    MetricRegistry metricRegistry(@Value("${metrics.jmx.enabled}") boolean jmxEnabled) {
+    MetricRegistry metricRegistry(@Value("${metrics.jmx.enabled}") boolean jmxEnabled,
+                                  @Value("${metrics.reservoir}") ReservoirType reservoirType,
+                                  @Value("${metrics.hdr-histogram.significant-digits}") int significantDigits,
+                                  @Value("${metrics.hdr-histogram.window-seconds}") long windowSeconds) {
+
         final boolean alreadyExists = SharedMetricRegistries.names().contains(METRIC_REGISTRY_NAME);
+        if (!alreadyExists) {
+            SharedMetricRegistries.add(
+                    METRIC_REGISTRY_NAME,
+                    createMetricRegistry(reservoirType, significantDigits, windowSeconds));
+        }
         final MetricRegistry metricRegistry = SharedMetricRegistries.getOrCreate(METRIC_REGISTRY_NAME);
 
         if (!alreadyExists && jmxEnabled) {
@@ -127,6 +139,17 @@ public class MetricsConfiguration {
         return metricRegistry;
     }
 
+    private static MetricRegistry createMetricRegistry(ReservoirType reservoirType,
+                                                       int significantDigits,
+                                                       long windowSeconds) {
+
+        return switch (reservoirType) {
+            case exponentiallyDecaying -> new MetricRegistry();
+            case hdrHistogram -> new ReservoirMetricRegistry(() -> new HdrHistogramReservoir(
+                    significantDigits, TimeUnit.SECONDS.toMillis(windowSeconds)));
+        };
+    }
+
     @Bean
     AccountMetricsVerbosityResolver accountMetricsVerbosity(AccountsProperties accountsProperties) {
         return new AccountMetricsVerbosityResolver(
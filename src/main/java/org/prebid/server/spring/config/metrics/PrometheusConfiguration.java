@@ -16,8 +16,11 @@ import org.prebid.server.log.LoggerFactory;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.metric.prometheus.NamespaceSubsystemSampleBuilder;
+import org.prebid.server.metric.prometheus.PrometheusExposition;
+import org.prebid.server.metric.prometheus.PrometheusExpositionHandler;
 import org.prebid.server.vertx.verticles.VerticleDefinition;
 import org.prebid.server.vertx.verticles.server.ServerVerticle;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -34,14 +37,13 @@ public class PrometheusConfiguration {
 
     private static final Logger logger = LoggerFactory.getLogger(PrometheusConfiguration.class);
 
+    private static final String METRICS_PATH = "/metrics";
+
     // TODO: Decide how to integrate this with ability to serve requests on unix domain socket
     @Bean
     public VerticleDefinition prometheusHttpServerVerticleDefinition(
             PrometheusConfigurationProperties prometheusConfigurationProperties,
-            Router prometheusRouter,
-            DropwizardExports dropwizardExports) {
-
-        CollectorRegistry.defaultRegistry.register(dropwizardExports);
+            Router prometheusRouter) {
 
         return VerticleDefinition.ofSingleInstance(
                 () -> new ServerVerticle(
@@ -61,18 +63,41 @@ public class PrometheusConfiguration {
     }
 
     @Bean
+    @ConditionalOnProperty(prefix = "metrics.prometheus", name = "native-exposition-enabled", havingValue = "false",
+            matchIfMissing = true)
     DropwizardExports dropwizardExports(Metrics metrics, MetricRegistry metricRegistry, SampleBuilder sampleBuilder) {
+        warnOnFlushingCounter(metrics);
+
+        final DropwizardExports dropwizardExports = new DropwizardExports(metricRegistry, sampleBuilder);
+        CollectorRegistry.defaultRegistry.register(dropwizardExports);
+        return dropwizardExports;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "metrics.prometheus", name = "native-exposition-enabled", havingValue = "true")
+    PrometheusExposition prometheusExposition(Metrics metrics,
+                                              MetricRegistry metricRegistry,
+                                              SampleBuilder sampleBuilder) {
+
+        warnOnFlushingCounter(metrics);
+
+        return new PrometheusExposition(metricRegistry, sampleBuilder);
+    }
+
+    private static void warnOnFlushingCounter(Metrics metrics) {
         if (metrics.getCounterType() == CounterType.flushingCounter) {
             logger.warn("Prometheus metric system: Metric type is flushingCounter.");
         }
-
-        return new DropwizardExports(metricRegistry, sampleBuilder);
     }
 
     @Bean
-    Router prometheusRouter(Vertx vertx) {
+    Router prometheusRouter(Vertx vertx,
+                            @Autowired(required = false) PrometheusExposition prometheusExposition) {
+
         final Router router = Router.router(vertx);
-        router.route("/metrics").handler(new MetricsHandler());
+        router.route(METRICS_PATH).handler(prometheusExposition != null
+                ? new PrometheusExpositionHandler(prometheusExposition, METRICS_PATH)
+                : new MetricsHandler());
         return router;
     }
 
@@ -14,9 +14,10 @@ import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Simple wrapper around {@link HttpClient} with general functionality.
@@ -25,10 +26,23 @@ public class BasicHttpClient implements HttpClient {
 
     private final Vertx vertx;
     private final io.vertx.core.http.HttpClient httpClient;
+    private final ConnectionPoolListener connectionPoolListener;
+
+    private final AtomicInteger pendingConnections;
 
     public BasicHttpClient(Vertx vertx, io.vertx.core.http.HttpClient httpClient) {
+        this(vertx, httpClient, null);
+    }
+
+    public BasicHttpClient(Vertx vertx,
+                           io.vertx.core.http.HttpClient httpClient,
+                           ConnectionPoolListener connectionPoolListener) {
+
         this.vertx = Objects.requireNonNull(vertx);
         this.httpClient = Objects.requireNonNull(httpClient);
+        this.connectionPoolListener = connectionPoolListener;
+
+        pendingConnections = new AtomicInteger();
     }
 
     @Override
@@ -85,6 +99,21 @@ public class BasicHttpClient implements HttpClient {
     }
 
     private Future<HttpClientRequest> makeRequest(RequestOptions options) {
+        if (connectionPoolListener == null) {
+            return acquireRequest(options);
+        }
+
+        // request future is completed once connection is taken from the pool
+        final int queueSize = pendingConnections.getAndIncrement();
+        final long startTime = System.nanoTime();
+        return acquireRequest(options).onComplete(ignored -> {
+            pendingConnections.decrementAndGet();
+            connectionPoolListener.onConnectionAcquired(
+                    queueSize, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
+        });
+    }
+
+    private Future<HttpClientRequest> acquireRequest(RequestOptions options) {
         try {
             return httpClient.request(options);
         } catch (Throwable e) {
@@ -103,10 +132,7 @@ public class BasicHttpClient implements HttpClient {
         }
 
         return response.body()
-                .map(body -> HttpClientResponse.of(
-                        response.statusCode(),
-                        response.headers(),
-                        body.toString(StandardCharsets.UTF_8)));
+                .map(body -> HttpClientResponse.ofBuffer(response.statusCode(), response.headers(), body));
 
     }
 }
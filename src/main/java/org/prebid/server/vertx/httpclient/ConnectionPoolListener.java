@@ -0,0 +1,16 @@
+package org.prebid.server.vertx.httpclient;
+
+/**
+ * Receives statistics of connection pool used by {@link BasicHttpClient}.
+ */
+@FunctionalInterface
+public interface ConnectionPoolListener {
+
+    /**
+     * Called once connection for the request is acquired from the pool or failed to be acquired.
+     *
+     * @param queueSize  number of other requests waiting for connection when the request was issued
+     * @param waitMillis time spent waiting for connection, including connection establishment
+     */
+    void onConnectionAcquired(int queueSize, long waitMillis);
+}
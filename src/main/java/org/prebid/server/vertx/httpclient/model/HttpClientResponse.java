@@ -1,19 +1,55 @@
 package org.prebid.server.vertx.httpclient.model;
 
 import io.vertx.core.MultiMap;
+import io.vertx.core.buffer.Buffer;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
 import lombok.Value;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * Holds Http client response data.
  * <p>
  * Should be created in "bodyHandler(...) after response has been read."
+ * <p>
+ * Body is kept in the form it was created with: raw {@link Buffer} for responses read from network,
+ * so that consumers can parse it directly, and is converted to {@link String} only when requested.
  */
-@Value(staticConstructor = "of")
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
 public class HttpClientResponse {
 
     int statusCode;
 
     MultiMap headers;
 
-    String body;
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    String rawBody;
+
+    @Getter(AccessLevel.NONE)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Buffer rawBodyBuffer;
+
+    @Getter(lazy = true)
+    String body = rawBodyBuffer != null ? rawBodyBuffer.toString(StandardCharsets.UTF_8) : rawBody;
+
+    @Getter(lazy = true)
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    Buffer bodyBuffer = rawBody != null ? Buffer.buffer(rawBody) : rawBodyBuffer;
+
+    public static HttpClientResponse of(int statusCode, MultiMap headers, String body) {
+        return new HttpClientResponse(statusCode, headers, body, null);
+    }
+
+    public static HttpClientResponse ofBuffer(int statusCode, MultiMap headers, Buffer body) {
+        return new HttpClientResponse(statusCode, headers, null, body);
+    }
 }
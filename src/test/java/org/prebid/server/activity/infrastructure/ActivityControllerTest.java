@@ -4,16 +4,23 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.activity.ComponentType;
 import org.prebid.server.activity.infrastructure.debug.ActivityInfrastructureDebug;
+import org.prebid.server.activity.infrastructure.payload.impl.ActivityInvocationPayloadImpl;
+import org.prebid.server.activity.infrastructure.payload.impl.PrivacyEnforcementServiceActivityInvocationPayload;
 import org.prebid.server.activity.infrastructure.rule.Rule;
 import org.prebid.server.activity.infrastructure.rule.TestRule;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
@@ -77,4 +84,89 @@ public class ActivityControllerTest {
         verify(debug).emitActivityInvocationDefaultResult(false);
         verify(debug, times(2)).emitProcessedRule(any(), any());
     }
+
+    @Test
+    public void isAllowedShouldEvaluateRulesOnceForEqualPayloads() {
+        // given
+        final AtomicInteger evaluations = new AtomicInteger();
+        final ActivityController activityController = ActivityController.of(
+                true,
+                singletonList(TestRule.disallowIfMatches(payload -> evaluations.incrementAndGet() > 0)),
+                debug);
+
+        // when
+        final boolean firstResult = activityController.isAllowed(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+        final boolean secondResult = activityController.isAllowed(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+
+        // then
+        assertThat(firstResult).isFalse();
+        assertThat(secondResult).isFalse();
+        assertThat(evaluations).hasValue(1);
+        verify(debug).emitActivityInvocationDefaultResult(true);
+    }
+
+    @Test
+    public void isAllowedShouldReportProcessedRulesOfMemoizedInvocation() {
+        // given
+        final Rule abstainingRule = TestRule.allowIfMatches(payload -> false);
+        final Rule disallowingRule = TestRule.disallowIfMatches(payload -> true);
+        final Rule skippedRule = TestRule.allowIfMatches(payload -> true);
+        final ActivityController activityController = ActivityController.of(
+                true,
+                asList(abstainingRule, disallowingRule, skippedRule),
+                debug);
+
+        // when
+        activityController.isAllowed(ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+        final boolean result = activityController.isAllowed(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+
+        // then
+        assertThat(result).isFalse();
+        verify(debug, times(2)).emitProcessedRule(same(abstainingRule), eq(Rule.Result.ABSTAIN));
+        verify(debug, times(2)).emitProcessedRule(same(disallowingRule), eq(Rule.Result.DISALLOW));
+        verify(debug, never()).emitProcessedRule(same(skippedRule), any());
+    }
+
+    @Test
+    public void isAllowedShouldEvaluateRulesForEveryDistinctPayload() {
+        // given
+        final ActivityController activityController = ActivityController.of(
+                true,
+                singletonList(TestRule.disallowIfMatches(payload -> "bidder".equals(payload.componentName()))),
+                debug);
+
+        // when
+        final boolean firstResult = activityController.isAllowed(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+        final boolean secondResult = activityController.isAllowed(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "otherBidder"));
+        final boolean thirdResult = activityController.isAllowed(PrivacyEnforcementServiceActivityInvocationPayload.of(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "otherBidder"), "USA", null, null));
+
+        // then
+        assertThat(firstResult).isFalse();
+        assertThat(secondResult).isTrue();
+        assertThat(thirdResult).isTrue();
+        verify(debug, times(3)).emitActivityInvocationDefaultResult(true);
+    }
+
+    @Test
+    public void isAllowedShouldEvaluateRulesOnEveryInvocationWhenTraceIsEnabled() {
+        // given
+        given(debug.isTraceEnabled()).willReturn(true);
+
+        final Rule rule = TestRule.disallowIfMatches(payload -> true);
+        final ActivityController activityController = ActivityController.of(true, singletonList(rule), debug);
+
+        // when
+        activityController.isAllowed(ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+        activityController.isAllowed(ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"));
+
+        // then
+        verify(debug, times(2)).emitActivityInvocationDefaultResult(true);
+        verify(debug, times(2)).emitProcessedRule(same(rule), eq(Rule.Result.DISALLOW));
+    }
 }
@@ -37,6 +37,7 @@ import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.prebid.server.activity.infrastructure.privacy.PrivacyModuleQualifier.US_NAT;
 
@@ -107,6 +108,54 @@ public class ActivityInfrastructureCreatorTest {
         verify(metrics).updateAlertsMetrics(eq(MetricName.general));
     }
 
+    @Test
+    public void parseShouldReuseCompiledPlanForSamePrivacyConfig() {
+        // given
+        final Account account = Account.builder()
+                .id("accountId")
+                .privacy(AccountPrivacyConfig.builder()
+                        .activities(Map.of(Activity.SYNC_USER, AccountActivityConfiguration.of(
+                                null, singletonList(AccountActivityConditionsRuleConfig.of(null, null)))))
+                        .modules(asList(
+                                AccountUSNatModuleConfig.of(null, 0, null),
+                                AccountUSNatModuleConfig.of(null, 0, null)))
+                        .build())
+                .build();
+
+        // when
+        creator.parse(account, null, debug);
+        creator.parse(account.toBuilder().privacy(account.getPrivacy().toBuilder().build()).build(), null, debug);
+
+        // then
+        verify(activityRuleFactory, times(2)).from(any(), any());
+        verify(metrics).updateAlertsMetrics(eq(MetricName.general));
+    }
+
+    @Test
+    public void parseShouldRecompilePlanWhenPrivacyConfigChanged() {
+        // given
+        final Account account = Account.builder()
+                .id("accountId")
+                .privacy(AccountPrivacyConfig.builder()
+                        .activities(Map.of(Activity.SYNC_USER, AccountActivityConfiguration.of(
+                                null, singletonList(AccountActivityConditionsRuleConfig.of(null, null)))))
+                        .build())
+                .build();
+        final Account updatedAccount = account.toBuilder()
+                .privacy(AccountPrivacyConfig.builder()
+                        .activities(Map.of(Activity.SYNC_USER, AccountActivityConfiguration.of(false, null)))
+                        .build())
+                .build();
+
+        // when
+        creator.parse(account, null, debug);
+        final Map<Activity, ActivityController> controllers = creator.parse(updatedAccount, null, debug);
+
+        // then
+        verify(activityRuleFactory).from(any(), any());
+        assertThat(controllers.get(Activity.SYNC_USER).isAllowed(null)).isFalse();
+    }
+
     @Test
     public void parseShouldPopulateSkipConfigForModules() {
         // given
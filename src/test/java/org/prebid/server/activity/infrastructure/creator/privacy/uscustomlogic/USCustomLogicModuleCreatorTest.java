@@ -2,7 +2,6 @@ package org.prebid.server.activity.infrastructure.creator.privacy.uscustomlogic;
 
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.jamsesso.jsonlogic.ast.JsonLogicBoolean;
-import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -60,6 +59,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         given(gppReaderFactory.forSection(anyInt(), anyBoolean(), any()))
                 .willReturn(new USNationalGppReader(null));
         given(jsonLogic.parse(any())).willReturn(JsonLogicBoolean.TRUE);
+        given(jsonLogic.compile(any(), any())).willReturn(gppReader -> true);
 
         target = new USCustomLogicModuleCreator(gppReaderFactory, jsonLogic, null, null, metrics, 0);
     }
@@ -123,7 +123,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
     }
 
     @Test
-    public void fromShouldShouldSkipNotSupportedSectionsIds() throws JsonLogicEvaluationException {
+    public void fromShouldShouldSkipNotSupportedSectionsIds() {
         // given
         final PrivacyModuleCreationContext creationContext = givenCreationContext(
                 asList(6, 7, 8, 9, 10, 11, 12, 13),
@@ -142,13 +142,13 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(gppReaderFactory);
 
         verify(jsonLogic, times(6)).parse(eq("{}"));
-        verify(jsonLogic, times(6)).evaluate(any(), any());
+        verify(jsonLogic, times(6)).compile(any(), any());
         verifyNoMoreInteractions(jsonLogic);
         verifyNoInteractions(metrics);
     }
 
     @Test
-    public void fromShouldShouldSkipNotConfiguredSectionsIds() throws JsonLogicEvaluationException {
+    public void fromShouldShouldSkipNotConfiguredSectionsIds() {
         // given
         final PrivacyModuleCreationContext creationContext = givenCreationContext(
                 asList(7, 8, 9),
@@ -162,7 +162,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(gppReaderFactory);
 
         verify(jsonLogic).parse(eq("{}"));
-        verify(jsonLogic).evaluate(any(), any());
+        verify(jsonLogic).compile(any(), any());
         verifyNoMoreInteractions(jsonLogic);
         verifyNoInteractions(metrics);
     }
@@ -202,7 +202,7 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
     }
 
     @Test
-    public void fromShouldUseDefaultValueForNormalizeSectionsIfItWasNull() throws JsonLogicEvaluationException {
+    public void fromShouldUseDefaultValueForNormalizeSectionsIfItWasNull() {
         // given
         final PrivacyModuleCreationContext creationContext = givenCreationContext(
                 singletonList(7),
@@ -216,7 +216,29 @@ public class USCustomLogicModuleCreatorTest extends VertxTest {
         verifyNoMoreInteractions(gppReaderFactory);
 
         verify(jsonLogic).parse(eq("{}"));
-        verify(jsonLogic).evaluate(any(), any());
+        verify(jsonLogic).compile(any(), any());
+        verifyNoMoreInteractions(jsonLogic);
+        verifyNoInteractions(metrics);
+    }
+
+    @Test
+    public void fromShouldCompileJsonLogicOncePerConfigWhenCacheIsEnabled() {
+        // given
+        target = new USCustomLogicModuleCreator(gppReaderFactory, jsonLogic, 60, 10, metrics, 0);
+
+        final PrivacyModuleCreationContext creationContext = givenCreationContext(
+                asList(7, 8),
+                givenConfig(Set.of(7, 8), null, Activity.CALL_BIDDER, mapper.createObjectNode()));
+
+        // when
+        final PrivacyModule privacyModule = target.from(creationContext);
+        target.from(creationContext);
+
+        // then
+        assertThat(privacyModule.proceed(null)).isEqualTo(Rule.Result.DISALLOW);
+
+        verify(jsonLogic).parse(eq("{}"));
+        verify(jsonLogic).compile(any(), any());
         verifyNoMoreInteractions(jsonLogic);
         verifyNoInteractions(metrics);
     }
@@ -77,6 +77,33 @@ public class ConditionsRuleCreatorTest {
         assertThat(rule.proceed(payload4)).isEqualTo(Rule.Result.DISALLOW);
     }
 
+    @Test
+    public void fromShouldReuseRulesCreatedForEqualConfiguration() {
+        // given
+        final AccountActivityConditionsRuleConfig.Condition condition =
+                AccountActivityConditionsRuleConfig.Condition.of(
+                        singletonList(ComponentType.BIDDER), singletonList("name"), asList(1, 2), null, null);
+        final ActivityControllerCreationContext matchedContext = creationContext(
+                GppContextCreator.from(null, singletonList(2)).build().getGppContext());
+        final ActivityControllerCreationContext notMatchedContext = creationContext(
+                GppContextCreator.from(null, singletonList(3)).build().getGppContext());
+
+        // when
+        final Rule matchedRule = target.from(AccountActivityConditionsRuleConfig.of(condition, false), matchedContext);
+        final Rule sameMatchedRule = target.from(
+                AccountActivityConditionsRuleConfig.of(condition, false), matchedContext);
+        final Rule notMatchedRule = target.from(
+                AccountActivityConditionsRuleConfig.of(condition, false), notMatchedContext);
+
+        // then
+        assertThat(sameMatchedRule).isSameAs(matchedRule);
+        assertThat(notMatchedRule).isNotSameAs(matchedRule);
+
+        final ActivityInvocationPayload payload = ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "name");
+        assertThat(matchedRule.proceed(payload)).isEqualTo(Rule.Result.DISALLOW);
+        assertThat(notMatchedRule.proceed(payload)).isEqualTo(Rule.Result.ABSTAIN);
+    }
+
     private static BidRequest givenBidRequest(String country, String region, String gpc) {
         return BidRequest.builder()
                 .device(Device.builder().geo(Geo.builder().country(country).region(region).build()).build())
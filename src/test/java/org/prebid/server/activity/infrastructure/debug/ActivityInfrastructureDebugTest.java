@@ -368,6 +368,19 @@ public class ActivityInfrastructureDebugTest extends VertxTest {
         verifyNoMoreInteractions(metrics);
     }
 
+    @Test
+    public void isTraceEnabledShouldReturnFalseIfTraceLevelIsNull() {
+        // when and then
+        assertThat(debug(null).isTraceEnabled()).isFalse();
+    }
+
+    @Test
+    public void isTraceEnabledShouldReturnTrueIfTraceLevelIsBasicOrVerbose() {
+        // when and then
+        assertThat(debug(TraceLevel.basic).isTraceEnabled()).isTrue();
+        assertThat(debug(TraceLevel.verbose).isTraceEnabled()).isTrue();
+    }
+
     private ActivityInfrastructureDebug debug(TraceLevel traceLevel) {
         return new ActivityInfrastructureDebug("accountId", traceLevel, metrics, jacksonMapper);
     }
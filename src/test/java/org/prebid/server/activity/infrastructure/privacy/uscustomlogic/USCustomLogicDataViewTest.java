@@ -0,0 +1,75 @@
+package org.prebid.server.activity.infrastructure.privacy.uscustomlogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class USCustomLogicDataViewTest {
+
+    @Mock(strictness = LENIENT)
+    private USCustomLogicGppReader gppReader;
+
+    private final USCustomLogicDataView target = new USCustomLogicDataView();
+
+    @Test
+    public void variableShouldReadOnlyRequestedField() {
+        // given
+        given(gppReader.getSaleOptOut()).willReturn(2);
+
+        // when
+        final Object result = target.variable("SaleOptOut").apply(gppReader);
+
+        // then
+        assertThat(result).isEqualTo(2);
+        verify(gppReader).getSaleOptOut();
+        verifyNoMoreInteractions(gppReader);
+    }
+
+    @Test
+    public void variableShouldReturnElementOfListFieldByOneBasedIndex() {
+        // given
+        given(gppReader.getSensitiveDataProcessing()).willReturn(asList(0, 1, 2));
+
+        // when and then
+        assertThat(target.variable("SensitiveDataProcessing1").apply(gppReader)).isEqualTo(0);
+        assertThat(target.variable("SensitiveDataProcessing3").apply(gppReader)).isEqualTo(2);
+        assertThat(target.variable("SensitiveDataProcessing4").apply(gppReader)).isNull();
+        assertThat(target.variable("SensitiveDataProcessing0").apply(gppReader)).isNull();
+        assertThat(target.variable("SensitiveDataProcessing01").apply(gppReader)).isNull();
+        assertThat(target.variable("SensitiveDataProcessing").apply(gppReader)).isNull();
+    }
+
+    @Test
+    public void variableShouldReturnNullForUnknownFieldOrIndexOfNonListField() {
+        // given
+        given(gppReader.getGpc()).willReturn(true);
+
+        // when and then
+        assertThat(target.variable("Unknown").apply(gppReader)).isNull();
+        assertThat(target.variable("Unknown1").apply(gppReader)).isNull();
+        assertThat(target.variable("Gpc1").apply(gppReader)).isNull();
+        assertThat(target.variable("1").apply(gppReader)).isNull();
+    }
+
+    @Test
+    public void variableShouldResolveSameValuesAsDataSupplier() {
+        // given
+        given(gppReader.getVersion()).willReturn(1);
+        given(gppReader.getGpc()).willReturn(false);
+        given(gppReader.getMspaServiceProviderMode()).willReturn(2);
+        given(gppReader.getKnownChildSensitiveDataConsents()).willReturn(asList(1, 0));
+
+        // when and then
+        target.asMap(gppReader).forEach((name, value) ->
+                assertThat(target.variable(name).apply(gppReader)).as(name).isEqualTo(value));
+    }
+}
@@ -2,20 +2,14 @@ package org.prebid.server.activity.infrastructure.privacy.uscustomlogic;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.TextNode;
-import io.github.jamsesso.jsonlogic.ast.JsonLogicNode;
-import io.github.jamsesso.jsonlogic.ast.JsonLogicString;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
-import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.activity.infrastructure.rule.Rule;
-import org.prebid.server.json.JsonLogic;
-
-import java.util.HashMap;
-import java.util.Map;
+import org.prebid.server.json.CompiledJsonLogic;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.same;
@@ -25,21 +19,17 @@ import static org.mockito.BDDMockito.given;
 public class USCustomLogicModuleTest extends VertxTest {
 
     @Mock
-    private USCustomLogicDataSupplier dataSupplier;
+    private USCustomLogicGppReader gppReader;
 
     @Mock
-    private JsonLogic jsonLogic;
+    private CompiledJsonLogic<USCustomLogicGppReader> jsonLogic;
 
     @Test
     public void proceedShouldReturnDisallow() throws JsonLogicEvaluationException {
         // given
-        final JsonLogicNode jsonLogicNode = new JsonLogicString(StringUtils.EMPTY);
-        final Map<String, Object> data = new HashMap<>();
-
-        given(dataSupplier.get()).willReturn(data);
-        given(jsonLogic.evaluate(same(jsonLogicNode), same(data))).willReturn(true);
+        given(jsonLogic.evaluate(same(gppReader))).willReturn(true);
 
-        final USCustomLogicModule target = new USCustomLogicModule(jsonLogic, jsonLogicNode, dataSupplier);
+        final USCustomLogicModule target = new USCustomLogicModule(jsonLogic, gppReader);
 
         // when
         final Rule.Result result = target.proceed(null);
@@ -51,13 +41,9 @@ public class USCustomLogicModuleTest extends VertxTest {
     @Test
     public void proceedShouldReturnAllow() throws JsonLogicEvaluationException {
         // given
-        final JsonLogicNode jsonLogicNode = new JsonLogicString(StringUtils.EMPTY);
-        final Map<String, Object> data = new HashMap<>();
+        given(jsonLogic.evaluate(same(gppReader))).willReturn(false);
 
-        given(dataSupplier.get()).willReturn(data);
-        given(jsonLogic.evaluate(same(jsonLogicNode), same(data))).willReturn(false);
-
-        final USCustomLogicModule target = new USCustomLogicModule(jsonLogic, jsonLogicNode, dataSupplier);
+        final USCustomLogicModule target = new USCustomLogicModule(jsonLogic, gppReader);
 
         // when
         final Rule.Result result = target.proceed(null);
@@ -69,13 +55,9 @@ public class USCustomLogicModuleTest extends VertxTest {
     @Test
     public void asLogEntryShouldReturnExpectedResult() throws JsonLogicEvaluationException {
         // given
-        final JsonLogicNode jsonLogicNode = new JsonLogicString(StringUtils.EMPTY);
-        final Map<String, Object> data = new HashMap<>();
-
-        given(dataSupplier.get()).willReturn(data);
-        given(jsonLogic.evaluate(same(jsonLogicNode), same(data))).willReturn(false);
+        given(jsonLogic.evaluate(same(gppReader))).willReturn(false);
 
-        final USCustomLogicModule target = new USCustomLogicModule(jsonLogic, jsonLogicNode, dataSupplier);
+        final USCustomLogicModule target = new USCustomLogicModule(jsonLogic, gppReader);
 
         // when
         final JsonNode logEntry = target.asLogEntry(mapper);
@@ -16,6 +16,7 @@ import org.prebid.server.activity.infrastructure.payload.impl.BidRequestActivity
 import org.prebid.server.activity.infrastructure.payload.impl.PrivacyEnforcementServiceActivityInvocationPayload;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -198,6 +199,44 @@ public class ConditionsRuleTest extends VertxTest {
         assertThat(matches).isEqualTo(false);
     }
 
+    @Test
+    public void matchesShouldReturnTrueIfComponentNameMatchedIgnoringCase() {
+        // given
+        final ConditionsRule rule = new ConditionsRule(null, singleton("ComponentName"), true, null, null, true);
+        final ActivityInvocationPayload payload = ActivityInvocationPayloadImpl.of(
+                ComponentType.ANALYTICS, "componentNAME");
+
+        // when
+        final boolean matches = rule.matches(payload);
+
+        // then
+        assertThat(matches).isEqualTo(true);
+    }
+
+    @Test
+    public void matchesShouldMatchAnyRegionIfOneOfGeoCodesOfCountryHasNoRegion() {
+        // given
+        final ConditionsRule rule = new ConditionsRule(
+                null,
+                null,
+                true,
+                asList(
+                        ConditionsRule.GeoCode.of("Country", "Region"),
+                        ConditionsRule.GeoCode.of("COUNTRY", null),
+                        ConditionsRule.GeoCode.of("OtherCountry", "Region1"),
+                        ConditionsRule.GeoCode.of("OtherCountry", "Region2")),
+                null,
+                true);
+
+        // when and then
+        assertThat(rule.matches(geoPayload("country", "anyRegion"))).isTrue();
+        assertThat(rule.matches(geoPayload("country", null))).isTrue();
+        assertThat(rule.matches(geoPayload("otherCountry", "REGION2"))).isTrue();
+        assertThat(rule.matches(geoPayload("otherCountry", "region3"))).isFalse();
+        assertThat(rule.matches(geoPayload("otherCountry", null))).isFalse();
+        assertThat(rule.matches(geoPayload(null, "region1"))).isFalse();
+    }
+
     @Test
     public void matchesShouldReturnTrueIfGpcMatched() {
         // given
@@ -281,4 +320,12 @@ public class ConditionsRuleTest extends VertxTest {
         assertThat(result.get("gpc")).isEqualTo(TextNode.valueOf("2"));
         assertThat(result.get("allow")).isEqualTo(BooleanNode.getTrue());
     }
+
+    private static ActivityInvocationPayload geoPayload(String country, String region) {
+        return PrivacyEnforcementServiceActivityInvocationPayload.of(
+                ActivityInvocationPayloadImpl.of(ComponentType.BIDDER, "bidder"),
+                country,
+                region,
+                null);
+    }
 }
@@ -0,0 +1,401 @@
+package org.prebid.server.analytics.pipeline;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.analytics.pipeline.model.BatchFormat;
+import org.prebid.server.analytics.pipeline.model.BatchProperties;
+import org.prebid.server.analytics.pipeline.model.Compression;
+import org.prebid.server.analytics.pipeline.model.DropPolicy;
+import org.prebid.server.execution.retry.FixedIntervalRetryPolicy;
+import org.prebid.server.execution.retry.NonRetryable;
+import org.prebid.server.execution.retry.RetryPolicy;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.vertx.httpclient.HttpClient;
+import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static io.vertx.core.http.HttpMethod.POST;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class AnalyticsPipelineTest {
+
+    private static final String NAME = "reporter";
+    private static final String ENDPOINT = "http://endpoint.com";
+
+    @Mock(strictness = LENIENT)
+    private HttpClient httpClient;
+
+    @Mock(strictness = LENIENT)
+    private Vertx vertx;
+
+    @Mock
+    private Metrics metrics;
+
+    @BeforeEach
+    public void setUp() {
+        givenResponses(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        given(vertx.setTimer(anyLong(), any())).willReturn(1L);
+        given(vertx.setPeriodic(anyLong(), any())).willReturn(2L);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveBudgets() {
+        assertThatIllegalArgumentException().isThrownBy(() -> givenPipeline(2, 0, 100L, NonRetryable.instance()));
+        assertThatIllegalArgumentException().isThrownBy(() -> givenPipeline(2, 100, 0L, NonRetryable.instance()));
+    }
+
+    @Test
+    public void submitShouldSendBatchWhenItReachesMaxEvents() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(2, 100, 100L, NonRetryable.instance());
+
+        // when
+        target.submit(bytes("{\"a\":1}"));
+        verifyNoInteractions(httpClient);
+        target.submit(bytes("{\"b\":2}"));
+
+        // then
+        assertThat(captureBodies(1)).containsExactly("[{\"a\":1},{\"b\":2}]");
+    }
+
+    @Test
+    public void submitShouldSendBatchBeforeAppendingEventWhichExceedsMaxBytes() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(100, 10, 100L, NonRetryable.instance());
+
+        // when
+        target.submit(bytes("12345"));
+        target.submit(bytes("67890"));
+        target.flush();
+
+        // then
+        assertThat(captureBodies(2)).containsExactly("[12345]", "[67890]");
+    }
+
+    @Test
+    public void submitShouldSendEventWhichExceedsMaxBytesAsSeparateBatch() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(100, 10, 100L, NonRetryable.instance());
+
+        // when
+        target.submit(bytes("1"));
+        target.submit(bytes("1234567890"));
+        target.flush();
+
+        // then
+        assertThat(captureBodies(2)).containsExactly("[1234567890]", "[1]");
+        verify(metrics, never()).updateAnalyticsDroppedEventsMetric(any(), anyInt());
+    }
+
+    @Test
+    public void submitShouldDropEventWhenPipelineIsNotStarted() {
+        // given
+        final AnalyticsPipeline target = new AnalyticsPipeline(
+                NAME,
+                ENDPOINT,
+                MultiMap.caseInsensitiveMultiMap(),
+                givenBatchProperties(1, 100, Compression.NONE, BatchFormat.JSON_ARRAY),
+                100L,
+                DropPolicy.DROP_OLDEST,
+                NonRetryable.instance(),
+                httpClient,
+                vertx,
+                metrics);
+
+        // when
+        target.submit(bytes("1"));
+        target.flush();
+
+        // then
+        verifyNoInteractions(httpClient);
+        verify(vertx, never()).setPeriodic(anyLong(), any());
+        verify(metrics).updateAnalyticsDroppedEventsMetric(NAME, 1);
+    }
+
+    @Test
+    public void stopShouldSendBufferedEventsAndCancelFlushTimer() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(100, 100, 100L, NonRetryable.instance());
+        target.submit(bytes("1"));
+
+        // when
+        target.stop();
+        target.submit(bytes("2"));
+        target.flush();
+
+        // then
+        assertThat(captureBodies(1)).containsExactly("[1]");
+        verify(vertx).cancelTimer(2L);
+        verify(metrics).updateAnalyticsDroppedEventsMetric(NAME, 1);
+    }
+
+    @Test
+    public void startShouldAcceptEventsAgainAfterStop() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(100, 100, 100L, NonRetryable.instance());
+        target.stop();
+
+        // when
+        target.start();
+        target.submit(bytes("1"));
+        target.flush();
+
+        // then
+        assertThat(captureBodies(1)).containsExactly("[1]");
+        verify(vertx, times(2)).setPeriodic(eq(1000L), any());
+    }
+
+    @Test
+    public void flushShouldSendBufferedEventsOnlyWhenThereAreAny() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(100, 100, 100L, NonRetryable.instance());
+
+        // when
+        target.flush();
+        target.submit(bytes("1"));
+        target.flush();
+        target.flush();
+
+        // then
+        assertThat(captureBodies(1)).containsExactly("[1]");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void pipelineShouldFlushBufferedEventsPeriodically() {
+        // given
+        givenPipeline(100, 100, 100L, NonRetryable.instance()).submit(bytes("1"));
+
+        // when
+        final ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(vertx).setPeriodic(eq(1000L), timerCaptor.capture());
+        timerCaptor.getValue().handle(1L);
+
+        // then
+        assertThat(captureBodies(1)).containsExactly("[1]");
+    }
+
+    @Test
+    public void flushShouldSendGzippedBatchWithContentEncodingHeader() throws IOException {
+        // given
+        final AnalyticsPipeline target = new AnalyticsPipeline(
+                NAME,
+                ENDPOINT,
+                MultiMap.caseInsensitiveMultiMap().add("Content-Type", "application/octet-stream"),
+                givenBatchProperties(100, 100, Compression.GZIP, BatchFormat.NEW_LINE_DELIMITED),
+                100L,
+                DropPolicy.DROP_OLDEST,
+                NonRetryable.instance(),
+                httpClient,
+                vertx,
+                metrics);
+        target.start();
+
+        // when
+        target.submit(bytes("1"));
+        target.submit(bytes("2"));
+        target.flush();
+
+        // then
+        final ArgumentCaptor<MultiMap> headersCaptor = ArgumentCaptor.forClass(MultiMap.class);
+        final ArgumentCaptor<byte[]> bodyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(eq(POST), eq(ENDPOINT), headersCaptor.capture(), bodyCaptor.capture(), eq(500L));
+        assertThat(headersCaptor.getValue().get("Content-Type")).isEqualTo("application/octet-stream");
+        assertThat(headersCaptor.getValue().get("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bodyCaptor.getValue()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("1\n2");
+        }
+    }
+
+    @Test
+    public void pipelineShouldRetryFailedBatchAccordingToRetryPolicy() {
+        // given
+        givenResponses(
+                Future.failedFuture("Timeout"),
+                Future.succeededFuture(HttpClientResponse.of(503, null, null)),
+                Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final AnalyticsPipeline target = givenPipeline(1, 100, 100L, FixedIntervalRetryPolicy.limited(50L, 2));
+
+        // when
+        target.submit(bytes("1"));
+        fireRetryTimers(2);
+
+        // then
+        assertThat(captureBodies(3)).containsExactly("[1]", "[1]", "[1]");
+        verify(metrics, times(2)).updateAnalyticsRetriedBatchesMetric(NAME);
+        verify(metrics, never()).updateAnalyticsDroppedEventsMetric(anyString(), anyLong());
+    }
+
+    @Test
+    public void pipelineShouldDropBatchWhenRetriesAreExhausted() {
+        // given
+        givenResponses(Future.failedFuture("Timeout"));
+        final AnalyticsPipeline target = givenPipeline(2, 100, 100L, FixedIntervalRetryPolicy.limited(50L, 1));
+
+        // when
+        target.submit(bytes("1"));
+        target.submit(bytes("2"));
+        fireRetryTimers(1);
+
+        // then
+        assertThat(captureBodies(2)).containsExactly("[1,2]", "[1,2]");
+        verify(metrics).updateAnalyticsRetriedBatchesMetric(NAME);
+        verify(metrics).updateAnalyticsDroppedEventsMetric(NAME, 2);
+    }
+
+    @Test
+    public void pipelineShouldNotRetryBatchRejectedWithClientError() {
+        // given
+        givenResponses(Future.succeededFuture(HttpClientResponse.of(400, null, null)));
+        final AnalyticsPipeline target = givenPipeline(1, 100, 100L, FixedIntervalRetryPolicy.of(50L));
+
+        // when
+        target.submit(bytes("1"));
+
+        // then
+        verify(vertx, never()).setTimer(anyLong(), any());
+        verify(metrics).updateAnalyticsDroppedEventsMetric(NAME, 1);
+    }
+
+    @Test
+    public void pipelineShouldDropOldestPendingBatchWhenPendingBytesBudgetIsExceeded() {
+        // given
+        final Promise<HttpClientResponse> firstResponse = Promise.promise();
+        givenResponses(firstResponse.future(), Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+        final AnalyticsPipeline target = givenPipeline(1, 100, 5L, FixedIntervalRetryPolicy.of(50L));
+
+        // when
+        target.submit(bytes("1"));
+        target.submit(bytes("2"));
+        firstResponse.fail("Timeout");
+
+        // then
+        assertThat(captureBodies(2)).containsExactly("[1]", "[2]");
+        verify(metrics).updateAnalyticsDroppedEventsMetric(NAME, 1);
+        verify(vertx, never()).setTimer(anyLong(), any());
+    }
+
+    @Test
+    public void pipelineShouldDropNewestBatchWhenPendingBytesBudgetIsExceeded() {
+        // given
+        givenResponses(Promise.<HttpClientResponse>promise().future());
+        final AnalyticsPipeline target = new AnalyticsPipeline(
+                NAME,
+                ENDPOINT,
+                MultiMap.caseInsensitiveMultiMap(),
+                givenBatchProperties(1, 100, Compression.NONE, BatchFormat.JSON_ARRAY),
+                5L,
+                DropPolicy.DROP_NEWEST,
+                NonRetryable.instance(),
+                httpClient,
+                vertx,
+                metrics);
+        target.start();
+
+        // when
+        target.submit(bytes("1"));
+        target.submit(bytes("2"));
+
+        // then
+        assertThat(captureBodies(1)).containsExactly("[1]");
+        verify(metrics).updateAnalyticsDroppedEventsMetric(NAME, 1);
+    }
+
+    @Test
+    public void pipelineShouldSendBatchesToUpdatedEndpoint() {
+        // given
+        final AnalyticsPipeline target = givenPipeline(1, 100, 100L, NonRetryable.instance());
+
+        // when
+        target.updateEndpoint("http://new-endpoint.com");
+        target.submit(bytes("1"));
+
+        // then
+        verify(httpClient).request(eq(POST), eq("http://new-endpoint.com"), any(), (byte[]) any(), anyLong());
+    }
+
+    @SafeVarargs
+    private void givenResponses(Future<HttpClientResponse> response, Future<HttpClientResponse>... responses) {
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(response, responses);
+    }
+
+    private AnalyticsPipeline givenPipeline(int maxEvents, int maxBytes, long maxPendingBytes, RetryPolicy retry) {
+        final AnalyticsPipeline pipeline = new AnalyticsPipeline(
+                NAME,
+                ENDPOINT,
+                MultiMap.caseInsensitiveMultiMap(),
+                givenBatchProperties(maxEvents, maxBytes, Compression.NONE, BatchFormat.JSON_ARRAY),
+                maxPendingBytes,
+                DropPolicy.DROP_OLDEST,
+                retry,
+                httpClient,
+                vertx,
+                metrics);
+        pipeline.start();
+        return pipeline;
+    }
+
+    private static BatchProperties givenBatchProperties(int maxEvents,
+                                                        int maxBytes,
+                                                        Compression compression,
+                                                        BatchFormat format) {
+
+        return BatchProperties.builder()
+                .maxEvents(maxEvents)
+                .maxBytes(maxBytes)
+                .flushIntervalMs(1000L)
+                .timeoutMs(500L)
+                .compression(compression)
+                .format(format)
+                .build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fireRetryTimers(int times) {
+        for (int i = 1; i <= times; i++) {
+            final ArgumentCaptor<Handler<Long>> timerCaptor = ArgumentCaptor.forClass(Handler.class);
+            verify(vertx, times(i)).setTimer(eq(50L), timerCaptor.capture());
+            timerCaptor.getValue().handle(1L);
+        }
+    }
+
+    private List<String> captureBodies(int times) {
+        final ArgumentCaptor<byte[]> bodyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient, times(times)).request(eq(POST), anyString(), any(), bodyCaptor.capture(), anyLong());
+        return bodyCaptor.getAllValues().stream()
+                .map(body -> new String(body, StandardCharsets.UTF_8))
+                .toList();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -9,6 +9,7 @@ import com.iab.openrtb.request.User;
 import com.iabtcf.decoder.TCString;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,10 +23,14 @@ import org.prebid.server.analytics.model.AmpEvent;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.NotificationEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.model.DropPolicy;
 import org.prebid.server.analytics.reporter.agma.model.AgmaAnalyticsProperties;
 import org.prebid.server.analytics.reporter.agma.model.AgmaEvent;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
+import org.prebid.server.execution.retry.NonRetryable;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
 import org.prebid.server.privacy.model.PrivacyContext;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
@@ -73,6 +78,9 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
     @Mock(strictness = Mock.Strictness.LENIENT)
     private HttpClient httpClient;
 
+    @Mock
+    private Metrics metrics;
+
     @Mock
     private PrebidVersionProvider versionProvider;
 
@@ -81,6 +89,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
 
     private Clock clock;
 
+    private AnalyticsPipelineFactory analyticsPipelineFactory;
+
     private AgmaAnalyticsReporter target;
 
     @BeforeEach
@@ -101,12 +111,14 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
 
         given(versionProvider.getNameVersionRecord()).willReturn("pbs_version");
         given(vertx.setTimer(anyLong(), any())).willReturn(1L, 2L);
-        given(httpClient.request(eq(POST), anyString(), any(), anyString(), anyLong())).willReturn(
-                Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(), "")));
         given(httpClient.request(eq(POST), anyString(), any(), any(byte[].class), anyLong())).willReturn(
                 Future.succeededFuture(HttpClientResponse.of(200, MultiMap.caseInsensitiveMultiMap(), "")));
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        analyticsPipelineFactory = new AnalyticsPipelineFactory(
+                1000000L, DropPolicy.DROP_OLDEST, NonRetryable.instance(), httpClient, vertx, metrics);
+
+        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, analyticsPipelineFactory);
+        target.initialize(Promise.promise());
     }
 
     @Test
@@ -168,7 +180,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -224,7 +236,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -280,7 +292,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 headersCaptor.capture(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(headersCaptor.getValue())
@@ -347,7 +359,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
 
         assertThat(result.succeeded()).isTrue();
@@ -402,7 +414,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("unknown_publisherId", "anotherCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, analyticsPipelineFactory);
+        target.initialize(Promise.promise());
 
         // given
         final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
@@ -436,7 +449,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("publisherId_bundleId", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, analyticsPipelineFactory);
+        target.initialize(Promise.promise());
 
         // given
         final App givenApp = App.builder().bundle("bundleId")
@@ -479,7 +493,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
     }
 
@@ -496,7 +510,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("_mySite", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, analyticsPipelineFactory);
+        target.initialize(Promise.promise());
 
         // given
         final Site givenSite = Site.builder().id("mySite").build();
@@ -537,7 +552,7 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 eq(POST),
                 eq("http://endpoint.com"),
                 any(),
-                eq(expectedEventPayload),
+                aryEq(expectedEventPayload.getBytes(StandardCharsets.UTF_8)),
                 eq(1000L));
     }
 
@@ -554,7 +569,8 @@ public class AgmaAnalyticsReporterTest extends VertxTest {
                 .accounts(Map.of("publisherId", "accountCode"))
                 .build();
 
-        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, httpClient, vertx);
+        target = new AgmaAnalyticsReporter(properties, versionProvider, jacksonMapper, clock, analyticsPipelineFactory);
+        target.initialize(Promise.promise());
 
         final Site givenSite = Site.builder().publisher(Publisher.builder().id("publisherId").build()).build();
 
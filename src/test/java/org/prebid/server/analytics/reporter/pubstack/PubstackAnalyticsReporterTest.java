@@ -15,6 +15,7 @@ import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.CookieSyncEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
 import org.prebid.server.analytics.model.VideoEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
 import org.prebid.server.analytics.reporter.pubstack.model.EventType;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackConfig;
@@ -50,6 +51,9 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Mock
     private HttpClient httpClient;
 
+    @Mock
+    private AnalyticsPipelineFactory analyticsPipelineFactory;
+
     @Mock
     private PubstackEventHandler auctionHandler;
 
@@ -78,7 +82,7 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
         handlers.put(EventType.setuid, setuidHandler);
 
         pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper,
-                vertx);
+                vertx, analyticsPipelineFactory);
         // inject mocked handlers to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers", handlers);
     }
@@ -189,7 +193,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Test
     public void processEventShouldCallEventHandlerForAuction() {
         // given
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, analyticsPipelineFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.auction, auctionHandler));
@@ -205,7 +210,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     @Test
     public void processEventShouldCallEventHandlerForSetuid() {
         // given
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, analyticsPipelineFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.setuid, setuidHandler));
@@ -222,7 +228,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForCookieSync() {
         // given
         final PubstackEventHandler cookieSyncHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, analyticsPipelineFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.cookiesync, cookieSyncHandler));
@@ -239,7 +246,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForAmp() {
         // given
         final PubstackEventHandler ampHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, analyticsPipelineFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.amp, ampHandler));
@@ -256,7 +264,8 @@ public class PubstackAnalyticsReporterTest extends VertxTest {
     public void processEventShouldCallEventHandlerForVideo() {
         // given
         final PubstackEventHandler videoHandler = mock(PubstackEventHandler.class);
-        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(properties, httpClient, jacksonMapper, vertx);
+        pubstackAnalyticsReporter = new PubstackAnalyticsReporter(
+                properties, httpClient, jacksonMapper, vertx, analyticsPipelineFactory);
         // inject mocked handler to private fields without accessor method
         ReflectionTestUtils.setField(pubstackAnalyticsReporter, "eventHandlers",
                 Collections.singletonMap(EventType.video, videoHandler));
@@ -3,34 +3,43 @@ package org.prebid.server.analytics.reporter.pubstack;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
 import io.vertx.core.Vertx;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.VertxTest;
 import org.prebid.server.analytics.model.AuctionEvent;
 import org.prebid.server.analytics.model.SetuidEvent;
+import org.prebid.server.analytics.pipeline.AnalyticsPipelineFactory;
+import org.prebid.server.analytics.pipeline.model.DropPolicy;
 import org.prebid.server.analytics.reporter.pubstack.model.PubstackAnalyticsProperties;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.cookie.UidsCookie;
+import org.prebid.server.execution.retry.NonRetryable;
 import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
-import org.springframework.test.util.ReflectionTestUtils;
 
-import java.util.Set;
-import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicReference;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
 
+import static io.vertx.core.http.HttpMethod.POST;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatCode;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -42,111 +51,79 @@ public class PubstackEventHandlerTest extends VertxTest {
     @Mock
     private Vertx vertx;
 
-    @Mock
+    @Mock(strictness = LENIENT)
     private HttpClient httpClient;
 
+    @Mock
+    private Metrics metrics;
+
+    private AnalyticsPipelineFactory analyticsPipelineFactory;
+
     private PubstackEventHandler pubstackEventHandler;
 
     @BeforeEach
     public void setUp() {
-        given(vertx.setTimer(anyLong(), any())).willReturn(1L, 2L);
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(100000)
-                .count(100)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
+
+        analyticsPipelineFactory = new AnalyticsPipelineFactory(
+                1000000L, DropPolicy.DROP_OLDEST, NonRetryable.instance(), httpClient, vertx, metrics);
+        pubstackEventHandler = givenEventHandler(100000, 100, true);
     }
 
     @Test
     public void handleShouldNotAcceptEventsWhenNotEnabled() {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(1)
-                .count(1)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, false, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        pubstackEventHandler = givenEventHandler(100000, 1, false);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
 
         // then
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
-        assertThat(events.get()).isEmpty();
         verifyNoInteractions(httpClient);
     }
 
     @Test
-    public void handleShouldAddEventWithScopeIdAndIncreaseByteSize() throws JsonProcessingException {
-        // given and when
+    public void handleShouldSendGzippedEventWithScopeId() throws IOException {
+        // given
+        pubstackEventHandler = givenEventHandler(100000, 1, true);
         final SetuidEvent setuidEvent = SetuidEvent.builder().bidder("bidder1").build();
+
+        // when
         pubstackEventHandler.handle(setuidEvent);
 
         // then
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        @SuppressWarnings("unchecked") final AtomicReference<Set<String>> events =
-                (AtomicReference<Set<String>>) ReflectionTestUtils
-                        .getField(pubstackEventHandler, "events");
         final ObjectNode eventJsonNode = mapper.valueToTree(setuidEvent);
         eventJsonNode.put("scope", "scopeId");
-        final String eventJsonRow = mapper.writeValueAsString(eventJsonNode);
-        assertThat(byteSize.get()).isEqualTo(eventJsonRow.getBytes().length);
-        assertThat(events.get()).hasSize(1)
-                .containsOnly(eventJsonRow);
+        assertThat(captureSentEvents()).isEqualTo(mapper.writeValueAsString(eventJsonNode));
     }
 
     @Test
-    public void handleShouldSendEventsWhenMaxByteBufferSizeExceedsSize() {
+    public void handleShouldSendEventsWhenMaxByteBufferSizeExceedsSize() throws IOException {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(20)
-                .count(100)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        final int eventSize = encodedEventSize(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler = givenEventHandler(eventSize * 2, 100, true);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
 
         // then
-        verify(httpClient).request(any(), anyString(), any(), (byte[]) any(), anyLong());
+        assertThat(captureSentEvents()).doesNotContain("bidder2");
     }
 
     @Test
-    public void handleShouldSendEventsWhenMaxCountEventsBufferExceeds() {
+    public void handleShouldSendEventsWhenMaxCountEventsBufferExceeds() throws IOException {
         // given
-        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
-                .endpoint("http://endpoint.com")
-                .scopeId("scopeId")
-                .sizeBytes(20000)
-                .count(1)
-                .reportTtlMs(10000L)
-                .timeoutMs(5000L)
-                .build();
-        pubstackEventHandler = new PubstackEventHandler(properties, true, "http://example.com", jacksonMapper,
-                httpClient, vertx);
+        pubstackEventHandler = givenEventHandler(100000, 2, true);
 
         // when
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder2").build());
 
         // then
-        verify(httpClient).request(any(), anyString(), any(), (byte[]) any(), anyLong());
+        assertThat(captureSentEvents().split("\n")).hasSize(2);
     }
 
     @Test
@@ -165,60 +142,98 @@ public class PubstackEventHandlerTest extends VertxTest {
     }
 
     @Test
-    public void sendEventsShouldSendEventsAndResetSendConditionParameters() {
+    public void reportEventsShouldSendBufferedEvents() throws IOException {
         // given
-        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
-                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, null)));
-
         pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        verifyNoInteractions(httpClient);
 
         // when
         pubstackEventHandler.reportEvents();
 
         // then
-        verify(vertx).cancelTimer(anyLong());
-        // one time in constructor and second after the send request
-        verify(vertx, times(2)).setTimer(anyLong(), any());
-        final AtomicLong byteSize = (AtomicLong) ReflectionTestUtils.getField(pubstackEventHandler, "byteSize");
-        assertThat(byteSize.get()).isEqualTo(0);
-        final Long currentTimerId = (Long) ReflectionTestUtils.getField(pubstackEventHandler,
-                "reportTimerId");
-        assertThat(currentTimerId).isEqualTo(2);
+        assertThat(captureSentEvents()).contains("bidder1");
     }
 
     @Test
-    public void updateConfigShouldSetNewValuesToEndpointScopeIdAndEnabledConfigs() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
+    public void updateConfigShouldSendEventsToNewEndpointWithNewScope() throws IOException {
+        // given
+        pubstackEventHandler.updateConfig(true, "http://new-endpoint.com", "newScope");
+
+        // when
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
 
         // then
-        final Boolean enabled = (Boolean) ReflectionTestUtils.getField(pubstackEventHandler, "enabled");
-        final String endpoint = (String) ReflectionTestUtils.getField(pubstackEventHandler, "endpoint");
-        final String newScope = (String) ReflectionTestUtils.getField(pubstackEventHandler, "scopeId");
-        assertThat(enabled).isFalse();
-        assertThat(endpoint).isEqualTo("newEndpoint");
-        assertThat(newScope).isEqualTo("newScope");
+        verify(httpClient).request(eq(POST), eq("http://new-endpoint.com"), any(), (byte[]) any(), anyLong());
+        assertThat(mapper.readTree(captureSentEvents()).get("scope").asText()).isEqualTo("newScope");
     }
 
     @Test
-    public void updateConfigShouldCancelReportTimerOnDisablingHandler() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
+    public void updateConfigShouldStopAcceptingEventsOnDisablingHandler() {
+        // given
+        pubstackEventHandler.updateConfig(false, "http://new-endpoint.com", "newScope");
+
+        // when
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+        pubstackEventHandler.reportEvents();
 
         // then
-        verify(vertx).setTimer(anyLong(), any());
+        verifyNoInteractions(httpClient);
         verify(vertx).cancelTimer(anyLong());
     }
 
     @Test
-    public void updateConfigShouldSetReportTimerOnDisablingHandler() {
-        // given and when
-        pubstackEventHandler.updateConfig(false, "newEndpoint", "newScope");
-        pubstackEventHandler.updateConfig(true, "newEndpoint", "newScope");
+    public void updateConfigShouldSendBufferedEventsOnDisablingHandler() throws IOException {
+        // given
+        pubstackEventHandler.handle(SetuidEvent.builder().bidder("bidder1").build());
+
+        // when
+        pubstackEventHandler.updateConfig(false, "http://endpoint.com", "scopeId");
 
         // then
-        // first time on handler creation, second time on enabling after it was disabled
-        verify(vertx, times(2)).setTimer(anyLong(), any());
-        verify(vertx).cancelTimer(anyLong());
+        assertThat(captureSentEvents()).contains("bidder1");
+    }
+
+    @Test
+    public void updateConfigShouldStartFlushTimerOnEnablingHandler() {
+        // given
+        pubstackEventHandler = givenEventHandler(100000, 100, false);
+
+        // when
+        pubstackEventHandler.updateConfig(true, "http://new-endpoint.com", "newScope");
+
+        // then
+        // first timer is started by the enabled handler created in setUp
+        verify(vertx, times(2)).setPeriodic(eq(10000L), any());
+    }
+
+    private PubstackEventHandler givenEventHandler(int sizeBytes, int count, boolean enabled) {
+        final PubstackAnalyticsProperties properties = PubstackAnalyticsProperties.builder()
+                .endpoint("http://endpoint.com")
+                .scopeId("scopeId")
+                .sizeBytes(sizeBytes)
+                .count(count)
+                .reportTtlMs(10000L)
+                .timeoutMs(5000L)
+                .build();
+        return new PubstackEventHandler(properties, enabled, "http://example.com", jacksonMapper,
+                analyticsPipelineFactory);
+    }
+
+    private static int encodedEventSize(SetuidEvent event) throws JsonProcessingException {
+        final ObjectNode eventJsonNode = mapper.valueToTree(event);
+        eventJsonNode.put("scope", "scopeId");
+        return mapper.writeValueAsBytes(eventJsonNode).length;
+    }
+
+    private String captureSentEvents() throws IOException {
+        final ArgumentCaptor<MultiMap> headersCaptor = ArgumentCaptor.forClass(MultiMap.class);
+        final ArgumentCaptor<byte[]> bodyCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(httpClient).request(eq(POST), anyString(), headersCaptor.capture(), bodyCaptor.capture(), anyLong());
+
+        assertThat(headersCaptor.getValue().get("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(bodyCaptor.getValue()))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
     }
 }
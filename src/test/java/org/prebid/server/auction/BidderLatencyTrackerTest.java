@@ -0,0 +1,128 @@
+package org.prebid.server.auction;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class BidderLatencyTrackerTest {
+
+    private static final long WINDOW_MILLIS = 60_000L;
+
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+
+    private BidderLatencyTracker target;
+
+    @BeforeEach
+    public void setUp() {
+        given(clock.millis()).willReturn(0L);
+
+        target = new BidderLatencyTracker(95, 50L, 100L, WINDOW_MILLIS, false, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidPercentile() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderLatencyTracker(0, 50L, 100L, WINDOW_MILLIS, false, clock));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderLatencyTracker(101, 50L, 100L, WINDOW_MILLIS, false, clock));
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidWindow() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new BidderLatencyTracker(95, 50L, 100L, 0L, false, clock));
+    }
+
+    @Test
+    public void timeoutShouldReturnMinusOneWhenBidderIsUnknown() {
+        assertThat(target.timeout("bidder", "accountId")).isEqualTo(-1L);
+    }
+
+    @Test
+    public void timeoutShouldReturnMinusOneWhenNotEnoughResponsesAreRecorded() {
+        // given
+        recordResponseTimes("bidder", null, 1, 99);
+
+        // when and then
+        assertThat(target.timeout("bidder", null)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void timeoutShouldReturnResponseTimePercentilePlusHeadroom() {
+        // given
+        recordResponseTimes("bidder", null, 1, 100);
+
+        // when and then
+        assertThat(target.timeout("bidder", null)).isEqualTo(95L + 50L);
+        assertThat(target.timeout("otherBidder", null)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void timeoutShouldReuseComputedPercentileForASecond() {
+        // given
+        recordResponseTimes("bidder", null, 1, 100);
+        assertThat(target.timeout("bidder", null)).isEqualTo(145L);
+
+        recordResponseTimes("bidder", null, 101, 200);
+
+        // when and then
+        given(clock.millis()).willReturn(999L);
+        assertThat(target.timeout("bidder", null)).isEqualTo(145L);
+
+        given(clock.millis()).willReturn(1000L);
+        assertThat(target.timeout("bidder", null)).isEqualTo(190L + 50L);
+    }
+
+    @Test
+    public void timeoutShouldForgetResponseTimesOfExpiredWindows() {
+        // given
+        recordResponseTimes("bidder", null, 1, 100);
+        assertThat(target.timeout("bidder", null)).isEqualTo(145L);
+
+        // when and then
+        given(clock.millis()).willReturn(WINDOW_MILLIS);
+        assertThat(target.timeout("bidder", null)).isEqualTo(145L);
+
+        given(clock.millis()).willReturn(2 * WINDOW_MILLIS);
+        assertThat(target.timeout("bidder", null)).isEqualTo(-1L);
+    }
+
+    @Test
+    public void timeoutShouldPreferAccountPercentileWhenTrackedPerAccount() {
+        // given
+        target = new BidderLatencyTracker(95, 50L, 100L, WINDOW_MILLIS, true, clock);
+        recordResponseTimes("bidder", "accountId", 1, 100);
+        recordResponseTimes("bidder", "otherAccountId", 101, 200);
+
+        // when and then
+        assertThat(target.timeout("bidder", "accountId")).isEqualTo(145L);
+        assertThat(target.timeout("bidder", "otherAccountId")).isEqualTo(195L + 50L);
+        assertThat(target.timeout("bidder", "unknownAccountId")).isEqualTo(190L + 50L);
+    }
+
+    @Test
+    public void timeoutShouldIgnoreAccountWhenNotTrackedPerAccount() {
+        // given
+        recordResponseTimes("bidder", "accountId", 1, 100);
+
+        // when and then
+        assertThat(target.timeout("bidder", "otherAccountId")).isEqualTo(145L);
+    }
+
+    private void recordResponseTimes(String bidder, String accountId, int from, int to) {
+        for (int responseTime = from; responseTime <= to; responseTime++) {
+            target.record(bidder, accountId, responseTime);
+        }
+    }
+}
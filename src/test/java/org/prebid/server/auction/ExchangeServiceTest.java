@@ -202,6 +202,7 @@ import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -318,7 +319,8 @@ public class ExchangeServiceTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L));
+                0L,
+                null));
         given(bidderCatalog.configuredName(anyString())).willAnswer(invocation -> invocation.getArgument(0));
 
         given(privacyEnforcementService.mask(any(), argThat(MapUtils::isNotEmpty), any()))
@@ -398,6 +400,9 @@ public class ExchangeServiceTest extends VertxTest {
         given(timeoutResolver.adjustForRequest(anyLong(), anyLong()))
                 .willAnswer(invocation -> invocation.getArgument(0));
 
+        given(timeoutResolver.limitByLatency(any(), any(), anyLong()))
+                .willAnswer(invocation -> invocation.getArgument(2));
+
         given(timeoutFactory.create(anyLong()))
                 .willReturn(timeout);
 
@@ -3096,6 +3101,44 @@ public class ExchangeServiceTest extends VertxTest {
         verify(metrics).updateAlertsMetrics(MetricName.general);
     }
 
+    @Test
+    public void holdAuctionShouldUpdateJsonFragmentCacheMetricsOncePerAuctionWhenFragmentCacheEnabled() {
+        // given
+        givenTarget(false, true);
+
+        given(httpBidderRequester.requestBids(any(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willAnswer(invocation -> {
+                    jacksonMapper.encodeToBytes(invocation.<BidderRequest>getArgument(1).getBidRequest());
+                    return Future.succeededFuture(givenEmptySeatBid());
+                });
+
+        final BidRequest bidRequest = givenBidRequest(
+                givenSingleImp(Map.of("bidder1", 1, "bidder2", 2)),
+                builder -> builder.site(Site.builder().domain("example.com").build()));
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(metrics).updateJsonFragmentCacheMetrics(anyInt(), anyInt());
+    }
+
+    @Test
+    public void holdAuctionShouldNotUpdateJsonFragmentCacheMetricsWhenFragmentCacheDisabled() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        final BidRequest bidRequest = givenBidRequest(
+                givenSingleImp(singletonMap("someBidder", 1)),
+                builder -> builder.site(Site.builder().domain("example.com").build()));
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(metrics, never()).updateJsonFragmentCacheMetrics(anyInt(), anyInt());
+    }
+
     @Test
     public void shouldNotAddExtPrebidEventsWhenEventsServiceReturnsEmptyEventsService() {
         // given
@@ -4036,7 +4079,8 @@ public class ExchangeServiceTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L));
+                0L,
+                null));
 
         given(bidResponseCreator.create(
                 argThat(argument -> argument.getAuctionParticipations().getFirst()
@@ -4117,7 +4161,8 @@ public class ExchangeServiceTest extends VertxTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                100L));
+                100L,
+                null));
 
         given(timeoutResolver.adjustForBidder(anyLong(), eq(90), eq(200L), eq(100L))).willReturn(400L);
         given(timeoutResolver.adjustForRequest(anyLong(), eq(200L))).willReturn(450L);
@@ -4146,6 +4191,90 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(timeoutCaptor.getAllValues()).containsExactly(450L);
     }
 
+    @Test
+    public void shouldLimitTimeoutAndTmaxByBidderLatencyAndRecordResponseTime() {
+        // given
+        given(bidderCatalog.bidderInfoByName(anyString())).willReturn(BidderInfo.create(
+                true,
+                null,
+                false,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                null,
+                0,
+                null,
+                false,
+                false,
+                CompressionType.NONE,
+                Ortb.of(false),
+                0L,
+                null));
+
+        given(timeoutResolver.adjustForBidder(anyLong(), anyInt(), anyLong(), anyLong())).willReturn(250L);
+        given(timeoutResolver.adjustForRequest(anyLong(), anyLong())).willReturn(450L);
+        given(timeoutResolver.limitByLatency(eq("bidderName"), eq("accountId"), anyLong())).willReturn(300L);
+        givenBidder(givenEmptySeatBid());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidderName", 1)));
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        final ArgumentCaptor<BidderRequest> bidderRequestCaptor = ArgumentCaptor.forClass(BidderRequest.class);
+        verify(httpBidderRequester).requestBids(
+                any(),
+                bidderRequestCaptor.capture(),
+                any(),
+                any(),
+                any(),
+                any(),
+                anyBoolean());
+        verify(timeoutResolver).adjustForBidder(eq(300L), anyInt(), anyLong(), anyLong());
+        assertThat(bidderRequestCaptor.getValue().getBidRequest().getTmax()).isEqualTo(250L);
+        verify(timeoutFactory).create(anyLong(), eq(300L));
+        verify(metrics).updateAdapterAdaptiveTimeoutMetrics("bidderName", 150L);
+        verify(timeoutResolver).recordBidderResponseTime(eq("bidderName"), eq("accountId"), anyLong());
+    }
+
+    @Test
+    public void shouldRecordTimeoutAsResponseTimeWhenBidderCallTimedOut() {
+        // given
+        given(timeoutResolver.adjustForRequest(anyLong(), anyLong())).willReturn(450L);
+        given(timeoutResolver.limitByLatency(eq("bidderName"), eq("accountId"), anyLong())).willReturn(300L);
+        givenBidder(BidderSeatBid.builder()
+                .errors(singletonList(BidderError.timeout("Timeout has been exceeded")))
+                .build());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidderName", 1)));
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(timeoutResolver).recordBidderResponseTime("bidderName", "accountId", 300L);
+    }
+
+    @Test
+    public void shouldNotRecordResponseTimeWhenBidderCallFailed() {
+        // given
+        givenBidder(BidderSeatBid.builder()
+                .errors(singletonList(BidderError.failedToRequestBids("Connection refused")))
+                .build());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("bidderName", 1)));
+
+        // when
+        target.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(timeoutResolver, never()).recordBidderResponseTime(any(), any(), anyLong());
+    }
+
     @Test
     public void shouldDropBidsWithInvalidPrice() {
         // given
@@ -4207,6 +4336,10 @@ public class ExchangeServiceTest extends VertxTest {
     }
 
     private void givenTarget(boolean enabledStrictAppSiteDoohValidation) {
+        givenTarget(enabledStrictAppSiteDoohValidation, false);
+    }
+
+    private void givenTarget(boolean enabledStrictAppSiteDoohValidation, boolean fragmentCacheEnabled) {
         target = new ExchangeService(
                 0,
                 bidderCatalog,
@@ -4232,7 +4365,8 @@ public class ExchangeServiceTest extends VertxTest {
                 clock,
                 jacksonMapper,
                 criteriaLogManager,
-                enabledStrictAppSiteDoohValidation);
+                enabledStrictAppSiteDoohValidation,
+                fragmentCacheEnabled);
     }
 
     private AuctionContext givenRequestContext(BidRequest bidRequest) {
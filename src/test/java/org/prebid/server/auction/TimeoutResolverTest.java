@@ -5,6 +5,9 @@ import org.junit.jupiter.api.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 
 public class TimeoutResolverTest {
 
@@ -70,4 +73,56 @@ public class TimeoutResolverTest {
     public void adjustForRequestShouldReturnMinTimeout() {
         assertThat(timeoutResolver.adjustForRequest(80L, 10L)).isEqualTo(MIN_TIMEOUT);
     }
+
+    @Test
+    public void limitByLatencyShouldReturnGivenTimeoutWhenAdaptiveTimeoutsAreDisabled() {
+        assertThat(timeoutResolver.limitByLatency("bidder", "accountId", 150L)).isEqualTo(150L);
+    }
+
+    @Test
+    public void limitByLatencyShouldReturnGivenTimeoutWhenBidderTimeoutIsUnknown() {
+        // given
+        final BidderLatencyTracker bidderLatencyTracker = mock(BidderLatencyTracker.class);
+        given(bidderLatencyTracker.timeout("bidder", "accountId")).willReturn(-1L);
+        timeoutResolver = new TimeoutResolver(MIN_TIMEOUT, MAX_TIMEOUT, 10L, bidderLatencyTracker);
+
+        // when and then
+        assertThat(timeoutResolver.limitByLatency("bidder", "accountId", 150L)).isEqualTo(150L);
+    }
+
+    @Test
+    public void limitByLatencyShouldReturnBidderTimeoutWhenItIsLessThanGiven() {
+        // given
+        final BidderLatencyTracker bidderLatencyTracker = mock(BidderLatencyTracker.class);
+        given(bidderLatencyTracker.timeout("bidder", "accountId")).willReturn(120L);
+        timeoutResolver = new TimeoutResolver(MIN_TIMEOUT, MAX_TIMEOUT, 10L, bidderLatencyTracker);
+
+        // when and then
+        assertThat(timeoutResolver.limitByLatency("bidder", "accountId", 150L)).isEqualTo(120L);
+        assertThat(timeoutResolver.limitByLatency("bidder", "accountId", 110L)).isEqualTo(110L);
+    }
+
+    @Test
+    public void limitByLatencyShouldNotReturnLessThanMinTimeout() {
+        // given
+        final BidderLatencyTracker bidderLatencyTracker = mock(BidderLatencyTracker.class);
+        given(bidderLatencyTracker.timeout("bidder", "accountId")).willReturn(20L);
+        timeoutResolver = new TimeoutResolver(MIN_TIMEOUT, MAX_TIMEOUT, 10L, bidderLatencyTracker);
+
+        // when and then
+        assertThat(timeoutResolver.limitByLatency("bidder", "accountId", 150L)).isEqualTo(MIN_TIMEOUT);
+    }
+
+    @Test
+    public void recordBidderResponseTimeShouldPassResponseTimeToTracker() {
+        // given
+        final BidderLatencyTracker bidderLatencyTracker = mock(BidderLatencyTracker.class);
+        timeoutResolver = new TimeoutResolver(MIN_TIMEOUT, MAX_TIMEOUT, 10L, bidderLatencyTracker);
+
+        // when
+        timeoutResolver.recordBidderResponseTime("bidder", "accountId", 42L);
+
+        // then
+        verify(bidderLatencyTracker).record("bidder", "accountId", 42L);
+    }
 }
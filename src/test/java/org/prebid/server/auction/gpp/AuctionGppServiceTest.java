@@ -18,6 +18,8 @@ import org.prebid.server.auction.gpp.model.privacy.TcfEuV2Privacy;
 import org.prebid.server.auction.gpp.model.privacy.UspV1Privacy;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.debug.DebugContext;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
 import org.prebid.server.proto.openrtb.ext.request.ExtUser;
 import org.prebid.server.proto.openrtb.ext.request.TraceLevel;
@@ -39,12 +41,14 @@ public class AuctionGppServiceTest {
 
     @Mock
     private GppService gppService;
+    @Mock
+    private Metrics metrics;
 
     private AuctionGppService auctionGppService;
 
     @BeforeEach
     public void setUp() {
-        auctionGppService = new AuctionGppService(gppService);
+        auctionGppService = new AuctionGppService(gppService, new DecodedConsentCache(10_000, metrics));
     }
 
     @Test
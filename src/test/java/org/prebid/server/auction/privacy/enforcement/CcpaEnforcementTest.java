@@ -80,7 +80,8 @@ public class CcpaEnforcementTest {
                         false,
                         null,
                         Ortb.of(false),
-                        0L));
+                        0L,
+                        null));
 
         target = new CcpaEnforcement(userFpdCcpaMask, bidderCatalog, metrics, true);
 
@@ -224,7 +225,8 @@ public class CcpaEnforcementTest {
                         false,
                         null,
                         Ortb.of(false),
-                        0L));
+                        0L,
+                        null));
 
         final AuctionContext auctionContext = givenAuctionContext(identity());
 
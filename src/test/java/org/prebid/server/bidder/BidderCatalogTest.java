@@ -100,7 +100,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final BidderDeps bidderDeps = BidderDeps.of(singletonList(BidderInstanceDeps.builder()
                 .name("BIDder")
@@ -134,7 +135,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final BidderInstanceDeps bidderInstanceDeps = BidderInstanceDeps.builder()
                 .name("BIDder")
@@ -159,7 +161,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final BidderInstanceDeps aliasInstanceDeps = BidderInstanceDeps.builder()
                 .name("ALIas")
@@ -197,7 +200,8 @@ public class BidderCatalogTest {
                         false,
                         CompressionType.NONE,
                         Ortb.of(false),
-                        0L))
+                        0L,
+                        null))
                 .deprecatedNames(emptyList())
                 .build()));
         target = new BidderCatalog(singletonList(bidderDeps));
@@ -265,7 +269,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final BidderInfo infoOfBidderWithoutUsersyncConfig = BidderInfo.create(
                 true,
@@ -284,7 +289,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final BidderInfo infoOfDisabledBidderWithUsersyncConfig = BidderInfo.create(
                 false,
@@ -303,7 +309,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final List<BidderDeps> bidderDeps = List.of(
                 BidderDeps.of(singletonList(BidderInstanceDeps.builder()
@@ -373,7 +380,8 @@ public class BidderCatalogTest {
                 false,
                 CompressionType.NONE,
                 Ortb.of(false),
-                0L);
+                0L,
+                null);
 
         final BidderDeps bidderDeps = BidderDeps.of(singletonList(BidderInstanceDeps.builder()
                 .name("BIDder")
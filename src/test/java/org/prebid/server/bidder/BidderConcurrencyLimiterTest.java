@@ -0,0 +1,134 @@
+package org.prebid.server.bidder;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.metric.Metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class BidderConcurrencyLimiterTest {
+
+    @Mock
+    private Metrics metrics;
+
+    private BidderConcurrencyLimiter target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new BidderConcurrencyLimiter(4, 2, 6, 0.5, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidLimits() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new BidderConcurrencyLimiter(4, 0, 6, 0.5, metrics));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BidderConcurrencyLimiter(4, 5, 6, 0.5, metrics));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BidderConcurrencyLimiter(7, 2, 6, 0.5, metrics));
+        assertThatIllegalArgumentException().isThrownBy(() -> new BidderConcurrencyLimiter(4, 2, 6, 1, metrics));
+    }
+
+    @Test
+    public void tryAcquireShouldRejectRequestsAboveLimit() {
+        // when
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire("bidder", 4);
+
+        // then
+        assertThat(permits).doesNotContainNull();
+        assertThat(target.tryAcquire("bidder")).isNull();
+        assertThat(target.tryAcquire("otherBidder")).isNotNull();
+        verify(metrics).updateAdapterConcurrencyRejectedMetric("bidder");
+    }
+
+    @Test
+    public void tryAcquireShouldAllowRequestAfterPermitIsReleased() {
+        // given
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire("bidder", 4);
+
+        // when
+        permits.getFirst().release(false);
+
+        // then
+        assertThat(target.tryAcquire("bidder")).isNotNull();
+    }
+
+    @Test
+    public void releaseShouldIncreaseLimitWhenItIsUtilized() {
+        // given
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire("bidder", 4);
+
+        // when
+        permits.forEach(permit -> permit.release(false));
+
+        // then
+        assertThat(limit()).isEqualTo(6);
+        assertThat(acquire("bidder", 7)).containsOnlyOnce((BidderConcurrencyLimiter.Permit) null);
+    }
+
+    @Test
+    public void releaseShouldNotIncreaseLimitWhenItIsUnderutilized() {
+        // given
+        final BidderConcurrencyLimiter.Permit permit = target.tryAcquire("bidder");
+
+        // when
+        permit.release(false);
+
+        // then
+        assertThat(limit()).isEqualTo(4);
+    }
+
+    @Test
+    public void releaseShouldDecreaseLimitWhenBidderIsOverloaded() {
+        // given
+        final List<BidderConcurrencyLimiter.Permit> permits = acquire("bidder", 2);
+
+        // when
+        permits.getFirst().release(true);
+
+        // then
+        assertThat(limit()).isEqualTo(2);
+        assertThat(inFlight()).isEqualTo(1);
+
+        // when
+        permits.getLast().release(true);
+
+        // then
+        assertThat(limit()).isEqualTo(2);
+        assertThat(inFlight()).isZero();
+    }
+
+    private List<BidderConcurrencyLimiter.Permit> acquire(String bidder, int count) {
+        final List<BidderConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            permits.add(target.tryAcquire(bidder));
+        }
+        return permits;
+    }
+
+    private long limit() {
+        return gauges().get(0).getAsLong();
+    }
+
+    private long inFlight() {
+        return gauges().get(1).getAsLong();
+    }
+
+    private List<LongSupplier> gauges() {
+        final ArgumentCaptor<LongSupplier> limitCaptor = ArgumentCaptor.forClass(LongSupplier.class);
+        final ArgumentCaptor<LongSupplier> inFlightCaptor = ArgumentCaptor.forClass(LongSupplier.class);
+        verify(metrics, times(1))
+                .createAdapterConcurrencyGauges(eq("bidder"), limitCaptor.capture(), inFlightCaptor.capture());
+        return List.of(limitCaptor.getValue(), inFlightCaptor.getValue());
+    }
+}
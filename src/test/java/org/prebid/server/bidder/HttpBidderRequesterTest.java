@@ -35,6 +35,7 @@ import org.prebid.server.bidder.model.HttpResponse;
 import org.prebid.server.bidder.model.Result;
 import org.prebid.server.execution.timeout.Timeout;
 import org.prebid.server.execution.timeout.TimeoutFactory;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.proto.openrtb.ext.response.ExtIgi;
@@ -44,6 +45,7 @@ import org.prebid.server.util.HttpUtil;
 import org.prebid.server.vertx.httpclient.HttpClient;
 import org.prebid.server.vertx.httpclient.model.HttpClientResponse;
 
+import java.net.ConnectException;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
@@ -72,6 +74,7 @@ import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -342,6 +345,46 @@ public class HttpBidderRequesterTest extends VertxTest {
         verify(bidRejectionTracker, never()).rejectImps(anyList(), any());
     }
 
+    @Test
+    public void shouldSendRequestsWithHttpClientProvidedForResolvedBidder() {
+        // given
+        final HttpClient bidderHttpClient = mock(HttpClient.class);
+        given(bidderHttpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(204, null, null)));
+        target = new HttpBidderRequester(
+                bidderName -> "bidder".equals(bidderName) ? bidderHttpClient : httpClient,
+                null,
+                null,
+                bidderErrorNotifier,
+                requestEnricher,
+                jacksonMapper,
+                0.0);
+
+        given(bidderAliases.resolveBidder("alias")).willReturn("bidder");
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                        givenSimpleHttpRequest(identity())),
+                emptyList()));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("alias")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        target.requestBids(
+                bidder,
+                bidderRequest,
+                bidRejectionTracker,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                bidderAliases,
+                false);
+
+        // then
+        verify(bidderHttpClient).request(any(), anyString(), any(), (byte[]) any(), anyLong());
+        verifyNoInteractions(httpClient);
+    }
+
     @Test
     public void shouldReturnBidsCreatedByBidder() {
         // given
@@ -1095,6 +1138,97 @@ public class HttpBidderRequesterTest extends VertxTest {
         verify(bidRejectionTracker).rejectImps(singleton("impId"), BidRejectionReason.ERROR_TIMED_OUT);
     }
 
+    @Test
+    public void shouldNotSendRequestAndRejectImpsWhenBidderConcurrencyLimitIsReached() {
+        // given
+        final BidderConcurrencyLimiter concurrencyLimiter = mock(BidderConcurrencyLimiter.class);
+        target = new HttpBidderRequester(
+                bidderName -> httpClient,
+                concurrencyLimiter,
+                null,
+                bidderErrorNotifier,
+                requestEnricher,
+                jacksonMapper,
+                0.0);
+
+        given(bidderAliases.resolveBidder("bidder")).willReturn("bidder");
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(builder -> builder.impIds(singleton("impId")))),
+                emptyList()));
+
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        // when
+        final BidderSeatBid bidderSeatBid = target
+                .requestBids(
+                        bidder,
+                        bidderRequest,
+                        bidRejectionTracker,
+                        timeout,
+                        CaseInsensitiveMultiMap.empty(),
+                        bidderAliases,
+                        false)
+                .result();
+
+        // then
+        verify(concurrencyLimiter).tryAcquire("bidder");
+        verifyNoInteractions(httpClient);
+        assertThat(bidderSeatBid.getErrors())
+                .extracting(BidderError::getType)
+                .containsExactly(BidderError.Type.failed_to_request_bids);
+        verify(bidRejectionTracker)
+                .rejectImps(singleton("impId"), BidRejectionReason.REQUEST_BLOCKED_CONCURRENCY_LIMIT);
+    }
+
+    @Test
+    public void shouldDecreaseBidderConcurrencyLimitWhenRequestTimedOut() {
+        // given
+        final BidderConcurrencyLimiter concurrencyLimiter = givenConcurrencyLimitedTarget();
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.failedFuture(new TimeoutException("Timeout exception")));
+
+        // when
+        requestBidsOfConcurrencyLimitedBidder();
+
+        // then
+        assertThat(concurrencyLimiter.tryAcquire("bidder")).isNotNull();
+        assertThat(concurrencyLimiter.tryAcquire("bidder")).isNull();
+    }
+
+    @Test
+    public void shouldDecreaseBidderConcurrencyLimitWhenConnectionToBidderFailed() {
+        // given
+        final BidderConcurrencyLimiter concurrencyLimiter = givenConcurrencyLimitedTarget();
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.failedFuture(new ConnectException("Connection refused")));
+
+        // when
+        requestBidsOfConcurrencyLimitedBidder();
+
+        // then
+        assertThat(concurrencyLimiter.tryAcquire("bidder")).isNotNull();
+        assertThat(concurrencyLimiter.tryAcquire("bidder")).isNull();
+    }
+
+    @Test
+    public void shouldNotDecreaseBidderConcurrencyLimitWhenRequestFailedForOtherReason() {
+        // given
+        final BidderConcurrencyLimiter concurrencyLimiter = givenConcurrencyLimitedTarget();
+        given(httpClient.request(any(), anyString(), any(), (byte[]) any(), anyLong()))
+                .willReturn(Future.failedFuture(new IllegalStateException("Request failed")));
+
+        // when
+        requestBidsOfConcurrencyLimitedBidder();
+
+        // then
+        assertThat(concurrencyLimiter.tryAcquire("bidder")).isNotNull();
+        assertThat(concurrencyLimiter.tryAcquire("bidder")).isNotNull();
+        verify(bidRejectionTracker).rejectImps(singleton("impId"), BidRejectionReason.ERROR_GENERAL);
+    }
+
     @Test
     public void shouldNotifyBidderOfTimeout() {
         // given
@@ -1311,4 +1445,40 @@ public class HttpBidderRequesterTest extends VertxTest {
             stubbing = stubbing.willReturn(Future.succeededFuture(httpClientResponse));
         }
     }
+
+    private BidderConcurrencyLimiter givenConcurrencyLimitedTarget() {
+        final BidderConcurrencyLimiter concurrencyLimiter = new BidderConcurrencyLimiter(
+                2, 1, 4, 0.5, mock(Metrics.class));
+        target = new HttpBidderRequester(
+                bidderName -> httpClient,
+                concurrencyLimiter,
+                null,
+                bidderErrorNotifier,
+                requestEnricher,
+                jacksonMapper,
+                0.0);
+
+        given(bidderAliases.resolveBidder("bidder")).willReturn("bidder");
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(
+                singletonList(givenSimpleHttpRequest(builder -> builder.impIds(singleton("impId")))),
+                emptyList()));
+
+        return concurrencyLimiter;
+    }
+
+    private void requestBidsOfConcurrencyLimitedBidder() {
+        final BidderRequest bidderRequest = BidderRequest.builder()
+                .bidder("bidder")
+                .bidRequest(BidRequest.builder().build())
+                .build();
+
+        target.requestBids(
+                bidder,
+                bidderRequest,
+                bidRejectionTracker,
+                timeout,
+                CaseInsensitiveMultiMap.empty(),
+                bidderAliases,
+                false);
+    }
 }
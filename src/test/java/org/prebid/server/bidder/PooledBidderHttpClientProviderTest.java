@@ -0,0 +1,180 @@
+package org.prebid.server.bidder;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.vertx.httpclient.HttpClient;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+public class PooledBidderHttpClientProviderTest {
+
+    @Mock
+    private HttpClient defaultHttpClient;
+    @Mock(strictness = LENIENT)
+    private HttpClient bidderHttpClient;
+    @Mock(strictness = LENIENT)
+    private BidderCatalog bidderCatalog;
+
+    private Map<String, BidderInfo.ConnectionPool> createdPools;
+
+    private BiFunction<String, BidderInfo.ConnectionPool, HttpClient> httpClientFactory;
+
+    @BeforeEach
+    public void setUp() {
+        createdPools = new HashMap<>();
+        httpClientFactory = (bidder, connectionPool) -> {
+            createdPools.put(bidder, connectionPool);
+            return bidderHttpClient;
+        };
+
+        given(bidderCatalog.names()).willReturn(Set.of("pooled", "shared", "disabled"));
+        given(bidderCatalog.isActive(anyString())).willReturn(true);
+        given(bidderCatalog.isActive("disabled")).willReturn(false);
+        given(bidderCatalog.bidderInfoByName("pooled")).willReturn(givenBidderInfo(givenConnectionPool(0, null)));
+        given(bidderCatalog.bidderInfoByName("shared")).willReturn(givenBidderInfo(null));
+        given(bidderCatalog.bidderInfoByName("disabled")).willReturn(givenBidderInfo(givenConnectionPool(0, null)));
+        given(bidderHttpClient.request(any(), anyString(), any(), (String) any(), anyLong()))
+                .willReturn(Future.succeededFuture());
+    }
+
+    @Test
+    public void httpClientShouldReturnDedicatedHttpClientOfBidderWithConnectionPool() {
+        // given
+        final PooledBidderHttpClientProvider target = givenTarget();
+
+        // when and then
+        assertThat(target.httpClient("pooled")).isSameAs(bidderHttpClient);
+        assertThat(target.httpClient("POOLED")).isSameAs(bidderHttpClient);
+        assertThat(createdPools).containsOnlyKeys("pooled");
+    }
+
+    @Test
+    public void httpClientShouldReturnDefaultHttpClientOfOtherBidders() {
+        // given
+        final PooledBidderHttpClientProvider target = givenTarget();
+
+        // when and then
+        assertThat(target.httpClient("shared")).isSameAs(defaultHttpClient);
+        assertThat(target.httpClient("disabled")).isSameAs(defaultHttpClient);
+        assertThat(target.httpClient("unknown")).isSameAs(defaultHttpClient);
+        assertThat(target.httpClient(null)).isSameAs(defaultHttpClient);
+    }
+
+    @Test
+    public void creationShouldWarmUpConnectionPoolWithConfiguredNumberOfRequests() {
+        // given
+        given(bidderCatalog.bidderInfoByName("pooled"))
+                .willReturn(givenBidderInfo(givenConnectionPool(3, "https://pooled.com/")));
+
+        // when
+        givenTarget();
+
+        // then
+        verify(bidderHttpClient, times(3))
+                .request(eq(HttpMethod.HEAD), eq("https://pooled.com/"), isNull(), isNull(String.class), eq(100L));
+    }
+
+    @Test
+    public void creationShouldTolerateWarmUpFailures() {
+        // given
+        given(bidderCatalog.bidderInfoByName("pooled"))
+                .willReturn(givenBidderInfo(givenConnectionPool(1, "https://pooled.com/")));
+        given(bidderHttpClient.request(any(), anyString(), any(), (String) any(), anyLong()))
+                .willReturn(Future.failedFuture("Connection refused"));
+
+        // when
+        final PooledBidderHttpClientProvider target = givenTarget();
+
+        // then
+        assertThat(target.httpClient("pooled")).isSameAs(bidderHttpClient);
+    }
+
+    @Test
+    public void creationShouldNotWarmUpConnectionPoolWhenEndpointHostIsUnknown() {
+        // given
+        given(bidderCatalog.bidderInfoByName("pooled")).willReturn(givenBidderInfo(givenConnectionPool(3, null)));
+
+        // when
+        givenTarget();
+
+        // then
+        verifyNoInteractions(bidderHttpClient);
+    }
+
+    @Test
+    public void httpClientOptionsShouldOverrideSharedOptionsWithConnectionPoolOptions() {
+        // given
+        final HttpClientOptions defaultOptions = new HttpClientOptions()
+                .setMaxPoolSize(4000)
+                .setConnectTimeout(100);
+        final BidderInfo.ConnectionPool connectionPool = BidderInfo.ConnectionPool.of(
+                50, 30, false, null, 0, null);
+
+        // when
+        final HttpClientOptions result = PooledBidderHttpClientProvider.httpClientOptions(
+                defaultOptions, "bidder", connectionPool);
+
+        // then
+        assertThat(result.getMaxPoolSize()).isEqualTo(50);
+        assertThat(result.getConnectTimeout()).isEqualTo(100);
+        assertThat(result.isKeepAlive()).isTrue();
+        assertThat(result.getKeepAliveTimeout()).isEqualTo(30);
+        assertThat(result.getProtocolVersion()).isEqualTo(HttpVersion.HTTP_1_1);
+        assertThat(result.getMetricsName()).isEqualTo("adapter.bidder");
+        assertThat(defaultOptions.getMaxPoolSize()).isEqualTo(4000);
+    }
+
+    @Test
+    public void httpClientOptionsShouldEnableHttp2WithMultiplexing() {
+        // given
+        final BidderInfo.ConnectionPool connectionPool = BidderInfo.ConnectionPool.of(
+                10, null, true, 100, 0, null);
+
+        // when
+        final HttpClientOptions result = PooledBidderHttpClientProvider.httpClientOptions(
+                new HttpClientOptions(), "bidder", connectionPool);
+
+        // then
+        assertThat(result.getProtocolVersion()).isEqualTo(HttpVersion.HTTP_2);
+        assertThat(result.isUseAlpn()).isTrue();
+        assertThat(result.getHttp2MaxPoolSize()).isEqualTo(10);
+        assertThat(result.getHttp2MultiplexingLimit()).isEqualTo(100);
+    }
+
+    private PooledBidderHttpClientProvider givenTarget() {
+        return new PooledBidderHttpClientProvider(defaultHttpClient, bidderCatalog, httpClientFactory, 100L);
+    }
+
+    private static BidderInfo.ConnectionPool givenConnectionPool(int warmUpConnections, String warmUpUrl) {
+        return BidderInfo.ConnectionPool.of(10, null, false, null, warmUpConnections, warmUpUrl);
+    }
+
+    private static BidderInfo givenBidderInfo(BidderInfo.ConnectionPool connectionPool) {
+        return BidderInfo.of(
+                true, null, true, false, null, null, null, null, null, null, false, false, null, null, 0L,
+                connectionPool);
+    }
+}
@@ -0,0 +1,167 @@
+package org.prebid.server.cookie;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.json.DecodeException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class UidsCookieCodecTest extends VertxTest {
+
+    private UidsCookieCodec target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new UidsCookieCodec(jacksonMapper);
+    }
+
+    @Test
+    public void decodeShouldReturnUidsEncodedByMapper() throws JsonProcessingException {
+        // given
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        uids.put("rubicon", new UidWithExpiry(
+                "J5VLCWQP-26-CWFT", ZonedDateTime.parse("2023-12-05T19:00:05.103329-03:00")));
+        uids.put("adnxs", new UidWithExpiry("12345", ZonedDateTime.parse("2023-12-05T22:00:05Z")));
+        uids.put("unknown", new UidWithExpiry(null, null));
+        final String value = encodeWithMapper(Uids.builder().uids(uids).optout(false).build());
+
+        // when
+        final Map<String, UidWithExpiry> result = decode(value);
+
+        // then
+        assertThat(result).isEqualTo(uids);
+    }
+
+    @Test
+    public void decodeShouldSkipUnknownFieldsAndNullUids() {
+        // given
+        final String value = encode("""
+                {"unknown":{"nested":[1,{"a":"b"}]},"tempUIDs":{"adnxs":null,"rubicon":{"uid":123,"other":{}}},\
+                "optout":true}""");
+
+        // when
+        final Map<String, UidWithExpiry> result = decode(value);
+
+        // then
+        assertThat(result).containsOnly(Map.entry("rubicon", new UidWithExpiry("123", null)));
+    }
+
+    @Test
+    public void decodeShouldParseExpirationDatesAsMapper() throws JsonProcessingException {
+        // given
+        final List<String> dates = List.of(
+                "2023-12-05T19:00:05Z",
+                "2023-12-05T19:00:05.1Z",
+                "2023-12-05T19:00:05.103329-03:00",
+                "2023-12-05T19:00:05.123456789+05:30",
+                "+12023-12-05T19:00:05Z");
+
+        for (String date : dates) {
+            final String json = "{\"tempUIDs\":{\"adnxs\":{\"uid\":\"uid\",\"expires\":\"%s\"}}}".formatted(date);
+
+            // when
+            final Map<String, UidWithExpiry> result = decode(encode(json));
+
+            // then
+            assertThat(result.get("adnxs")).isEqualTo(mapper.readValue(json, Uids.class).getUids().get("adnxs"));
+        }
+    }
+
+    @Test
+    public void decodeShouldReturnNothingForNullJson() {
+        // when
+        final Map<String, UidWithExpiry> result = decode(encode("null"));
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    public void decodeShouldFailOnNonBase64Value() {
+        // when and then
+        assertThatIllegalArgumentException().isThrownBy(() -> decode("abcde!"));
+    }
+
+    @Test
+    public void decodeShouldFailOnInvalidJson() {
+        // when and then
+        assertThatExceptionOfType(DecodeException.class).isThrownBy(() -> decode(encode("{\"tempUIDs\":")));
+        assertThatExceptionOfType(DecodeException.class).isThrownBy(() -> decode(encode("[]")));
+        assertThatExceptionOfType(DecodeException.class)
+                .isThrownBy(() -> decode(encode("{\"tempUIDs\":{\"adnxs\":{\"uid\":[]}}}")));
+        assertThatExceptionOfType(DecodeException.class)
+                .isThrownBy(() -> decode(encode("{\"tempUIDs\":{\"adnxs\":{\"expires\":\"invalid\"}}}")));
+        assertThatExceptionOfType(DecodeException.class)
+                .isThrownBy(() -> decode(encode("{\"tempUIDs\":{\"adnxs\":{\"expires\":\"2023-12-05T19:00:05.\"}}}")));
+        assertThatExceptionOfType(DecodeException.class)
+                .isThrownBy(() -> decode(encode("{\"tempUIDs\":{\"adnxs\":{\"expires\":\"2023-13-05T19:00:05Z\"}}}")));
+    }
+
+    @Test
+    public void encodeShouldReturnTheSameValueAsMapper() throws JsonProcessingException {
+        // given
+        final Map<String, UidWithExpiry> uids = new LinkedHashMap<>();
+        uids.put("rubicon", UidWithExpiry.live("J5VLCWQP-26-CWFT"));
+        uids.put("adnxs", new UidWithExpiry(
+                "\"quoted\" ünïcode", ZonedDateTime.parse("2023-12-05T19:00:05.100-03:00")));
+        uids.put("empty", new UidWithExpiry(null, null));
+        uids.put("seconds", new UidWithExpiry("uid", ZonedDateTime.parse("2023-12-05T19:00:05Z")));
+        uids.put("nanos", new UidWithExpiry("uid", ZonedDateTime.parse("0999-01-05T09:00:05.000000001+05:30")));
+        uids.put("farFuture", new UidWithExpiry("uid", ZonedDateTime.parse("+10000-12-05T19:00:05.12-00:01:30")));
+
+        // when and then
+        assertThat(target.encode(uids, true))
+                .isEqualTo(encodeWithMapper(Uids.builder().uids(uids).optout(true).build()));
+        assertThat(target.encode(uids, false))
+                .isEqualTo(encodeWithMapper(Uids.builder().uids(uids).optout(false).build()));
+        assertThat(target.encode(uids, null))
+                .isEqualTo(encodeWithMapper(Uids.builder().uids(uids).build()));
+        assertThat(target.encode(Map.of(), false))
+                .isEqualTo(encodeWithMapper(Uids.builder().uids(Map.of()).optout(false).build()));
+    }
+
+    @Test
+    public void encodeShouldJoinEncodedUids() {
+        // given
+        final UidWithExpiry rubiconUid = UidWithExpiry.live("rubiconUid");
+        final UidWithExpiry adnxsUid = UidWithExpiry.live("adnxsUid");
+        final List<byte[]> encodedUids = new ArrayList<>();
+        encodedUids.add(target.encodeUid("rubicon", rubiconUid));
+        encodedUids.add(target.encodeUid("adnxs", adnxsUid));
+
+        // when
+        final String result = target.encode(encodedUids, false);
+
+        // then
+        assertThat(decode(result)).containsOnly(Map.entry("rubicon", rubiconUid), Map.entry("adnxs", adnxsUid));
+    }
+
+    private Map<String, UidWithExpiry> decode(String value) {
+        final Map<String, UidWithExpiry> uids = new HashMap<>();
+        target.decode(value, uids::put);
+        return uids;
+    }
+
+    private static String encode(String json) {
+        return Base64.getUrlEncoder().encodeToString(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String encodeWithMapper(Uids uids) throws JsonProcessingException {
+        return Base64.getUrlEncoder().encodeToString(mapper.writeValueAsBytes(uids));
+    }
+}
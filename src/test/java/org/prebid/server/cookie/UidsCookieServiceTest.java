@@ -139,6 +139,25 @@ public class UidsCookieServiceTest extends VertxTest {
         assertThat(uidsCookie.uidFrom("bidderB")).isEqualTo("bidder-B-uid");
     }
 
+    @Test
+    public void shouldReturnMergedUidsFromCookiesIgnoringCaseOfFamilyNames() throws JsonProcessingException {
+        // given
+        final UidWithExpiry olderUid = UidWithExpiry.expired("older-uid");
+        final UidWithExpiry newerUid = UidWithExpiry.live("newer-uid");
+        final Map<String, String> cookies = Map.of(
+                "uids", encodeUids(Uids.builder().uids(Map.of("bidderA", olderUid, "bidderB", olderUid)).build()),
+                "uids2", encodeUids(Uids.builder().uids(Map.of("BIDDERA", newerUid)).build()));
+
+        // when
+        final UidsCookie uidsCookie = target.parseFromCookies(cookies);
+
+        // then
+        assertThat(uidsCookie.getCookieUids().getUids()).hasSize(2);
+        assertThat(uidsCookie.uidFrom("bidderA")).isEqualTo("newer-uid");
+        assertThat(uidsCookie.uidFrom("biddera")).isEqualTo("newer-uid");
+        assertThat(uidsCookie.uidFrom("BidderB")).isEqualTo("older-uid");
+    }
+
     @Test
     public void shouldReturnNonEmptyUidsCookie() {
         // given
@@ -0,0 +1,164 @@
+package org.prebid.server.floors;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.floors.model.PriceFloorField;
+import org.prebid.server.floors.model.PriceFloorModelGroup;
+import org.prebid.server.floors.model.PriceFloorSchema;
+import org.prebid.server.util.dsl.config.PrebidConfigParameter;
+import org.prebid.server.util.dsl.config.impl.MostAccurateCombinationStrategy;
+import org.prebid.server.util.dsl.config.impl.SimpleDirectParameter;
+import org.prebid.server.util.dsl.config.impl.SimpleParameters;
+import org.prebid.server.util.dsl.config.impl.SimpleSource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceFloorRulesIndexTest extends VertxTest {
+
+    private static final List<PriceFloorField> FIELDS = asList(
+            PriceFloorField.mediaType, PriceFloorField.size, PriceFloorField.domain, PriceFloorField.bidder);
+
+    @Test
+    public void matchShouldReturnExactRuleIgnoringCase() {
+        // given
+        final PriceFloorRulesIndex target = givenIndex(Map.of(
+                "Banner|300x250|Example.com|Bidder", BigDecimal.ONE,
+                "banner|300x250|*|bidder", BigDecimal.TEN));
+
+        // when
+        final String result = target.match(asList(
+                SimpleDirectParameter.of("banner"),
+                SimpleDirectParameter.of("300x250"),
+                SimpleDirectParameter.of("EXAMPLE.com"),
+                SimpleDirectParameter.of("bidder")));
+
+        // then
+        assertThat(result).isEqualTo("banner|300x250|example.com|bidder");
+        assertThat(target.floorFor(result)).isEqualTo(BigDecimal.ONE);
+    }
+
+    @Test
+    public void matchShouldPreferWildcardsCloserToTheEndOfRule() {
+        // given
+        final PriceFloorRulesIndex target = givenIndex(Map.of(
+                "banner|*|*|bidder", BigDecimal.ONE,
+                "banner|300x250|*|*", BigDecimal.TEN,
+                "*|300x250|example.com|*", BigDecimal.TWO));
+
+        // when
+        final String result = target.match(asList(
+                SimpleDirectParameter.of("banner"),
+                SimpleDirectParameter.of("300x250"),
+                SimpleDirectParameter.of("example.com"),
+                SimpleDirectParameter.of("bidder")));
+
+        // then
+        assertThat(result).isEqualTo("banner|300x250|*|*");
+    }
+
+    @Test
+    public void matchShouldUseWildcardForIndirectParameters() {
+        // given
+        final PriceFloorRulesIndex target = givenIndex(Map.of(
+                "banner|*|example.com|bidder", BigDecimal.ONE,
+                "banner|300x250|example.com|bidder", BigDecimal.TEN));
+
+        // when
+        final String result = target.match(asList(
+                SimpleDirectParameter.of("banner"),
+                PrebidConfigParameter.wildcard(),
+                SimpleDirectParameter.of("example.com"),
+                SimpleDirectParameter.of("bidder")));
+
+        // then
+        assertThat(result).isEqualTo("banner|*|example.com|bidder");
+    }
+
+    @Test
+    public void matchShouldReturnNullWhenAnyParameterHasNoValues() {
+        // given
+        final PriceFloorRulesIndex target = givenIndex(Map.of("*|*|*|*", BigDecimal.ONE));
+
+        // when
+        final String result = target.match(asList(
+                SimpleDirectParameter.of("banner"),
+                SimpleDirectParameter.of(emptyList()),
+                SimpleDirectParameter.of("example.com"),
+                SimpleDirectParameter.of("bidder")));
+
+        // then
+        assertThat(result).isNull();
+    }
+
+    @Test
+    public void matchShouldReturnSameRulesAsMostAccurateCombinationStrategy() {
+        // given
+        final Random random = new Random(42);
+        final MostAccurateCombinationStrategy strategy = new MostAccurateCombinationStrategy();
+
+        for (int attempt = 0; attempt < 500; attempt++) {
+            final Map<String, BigDecimal> rules = new HashMap<>();
+            for (int i = 0; i < 20; i++) {
+                rules.put(randomRule(random), BigDecimal.ONE);
+            }
+            final List<PrebidConfigParameter> parameters = new ArrayList<>();
+            for (int i = 0; i < FIELDS.size(); i++) {
+                parameters.add(random.nextInt(5) == 0
+                        ? PrebidConfigParameter.wildcard()
+                        : SimpleDirectParameter.of(asList(randomValue(random), randomValue(random))));
+            }
+
+            // when
+            final String result = givenIndex(rules).match(parameters);
+
+            // then
+            final String expected = strategy.match(
+                    SimpleSource.of("*", "|", rules.keySet()),
+                    SimpleParameters.of(parameters));
+            assertThat(result).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void modelGroupShouldNotExposeRulesIndexAsJson() {
+        // given
+        final PriceFloorModelGroup modelGroup = givenModelGroup(Map.of("*|*|*|*", BigDecimal.ONE));
+        modelGroup.getRulesIndex();
+
+        // when and then
+        assertThat(mapper.valueToTree(modelGroup).has("rulesIndex")).isFalse();
+        assertThat(modelGroup).isEqualTo(givenModelGroup(Map.of("*|*|*|*", BigDecimal.ONE)));
+    }
+
+    private static String randomRule(Random random) {
+        final List<String> values = new ArrayList<>();
+        for (int i = 0; i < FIELDS.size(); i++) {
+            values.add(random.nextInt(3) == 0 ? "*" : randomValue(random));
+        }
+        return String.join("|", values);
+    }
+
+    private static String randomValue(Random random) {
+        return "v" + random.nextInt(3);
+    }
+
+    private static PriceFloorRulesIndex givenIndex(Map<String, BigDecimal> rules) {
+        return PriceFloorRulesIndex.compile(givenModelGroup(rules));
+    }
+
+    private static PriceFloorModelGroup givenModelGroup(Map<String, BigDecimal> rules) {
+        return PriceFloorModelGroup.builder()
+                .schema(PriceFloorSchema.of("|", FIELDS))
+                .values(rules)
+                .build();
+    }
+}
@@ -1,6 +1,9 @@
 package org.prebid.server.geolocation;
 
+import com.maxmind.db.Network;
+import com.maxmind.db.Reader;
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.City;
@@ -8,31 +11,67 @@ import com.maxmind.geoip2.record.Continent;
 import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
+import com.maxmind.geoip2.record.Traits;
 import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.WorkerExecutor;
+import io.vertx.junit5.VertxExtension;
+import io.vertx.junit5.VertxTestContext;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.mockito.internal.util.reflection.ReflectionMemberAccessor;
+import org.prebid.server.execution.timeout.Timeout;
+import org.prebid.server.execution.timeout.TimeoutFactory;
 import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
 
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.time.Clock;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 
+@ExtendWith(VertxExtension.class)
 public class MaxMindGeoLocationServiceTest {
 
     private static final String TEST_IP = "80.215.195.122";
 
+    private Vertx vertx;
+    private Metrics metrics;
+    private TimeoutFactory timeoutFactory;
+
     private MaxMindGeoLocationService maxMindGeoLocationService;
 
     @BeforeEach
     public void setUp() {
-        maxMindGeoLocationService = new MaxMindGeoLocationService();
+        vertx = Vertx.vertx();
+        metrics = Mockito.mock(Metrics.class);
+        timeoutFactory = new TimeoutFactory(Clock.systemUTC());
+
+        maxMindGeoLocationService = createService(0, null);
+    }
+
+    @AfterEach
+    public void tearDown(VertxTestContext context) {
+        vertx.close(context.succeedingThenComplete());
     }
 
     @Test
@@ -127,4 +166,205 @@ public class MaxMindGeoLocationServiceTest {
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isEqualTo(GeoInfo.builder().vendor("maxmind").build());
     }
+
+    @Test
+    public void lookupShouldCacheResultForPrefixCoveredByDatabaseNetwork() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(100, null);
+        final DatabaseReader databaseReader = givenDatabaseReader("fr", "80.215.0.0", 16);
+
+        // when
+        final Future<GeoInfo> first = maxMindGeoLocationService.lookup("80.215.195.122", null);
+        final Future<GeoInfo> second = maxMindGeoLocationService.lookup("80.215.195.1", null);
+
+        // then
+        assertThat(first.result().getCountry()).isEqualTo("fr");
+        assertThat(second.result()).isSameAs(first.result());
+
+        verify(databaseReader, times(1)).city(any());
+        verify(metrics).updateGeoLocationCacheMetric(false);
+        verify(metrics).updateGeoLocationCacheMetric(true);
+        verify(metrics).updateGeoLocationRequestTime(anyLong());
+    }
+
+    @Test
+    public void lookupShouldCacheResultForAddressOnlyWhenDatabaseNetworkIsNarrowerThanPrefix() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(100, null);
+        final DatabaseReader databaseReader = givenDatabaseReader("fr", "80.215.195.112", 28);
+
+        // when
+        maxMindGeoLocationService.lookup("80.215.195.122", null);
+        maxMindGeoLocationService.lookup("80.215.195.1", null);
+        final Future<GeoInfo> result = maxMindGeoLocationService.lookup("80.215.195.122", null);
+
+        // then
+        assertThat(result.result().getCountry()).isEqualTo("fr");
+
+        verify(databaseReader, times(2)).city(any());
+        verify(metrics, times(2)).updateGeoLocationCacheMetric(false);
+        verify(metrics).updateGeoLocationCacheMetric(true);
+    }
+
+    @Test
+    public void lookupShouldNotCacheFailedLookups() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(100, null);
+        final DatabaseReader databaseReader = givenDatabaseReader(null, null, 0);
+        given(databaseReader.city(any())).willThrow(new AddressNotFoundException("not found"));
+
+        // when
+        maxMindGeoLocationService.lookup(TEST_IP, null);
+        final Future<GeoInfo> result = maxMindGeoLocationService.lookup(TEST_IP, null);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(AddressNotFoundException.class);
+
+        verify(databaseReader, times(2)).city(any());
+        verify(metrics, times(2)).updateGeoLocationCacheMetric(false);
+    }
+
+    @Test
+    public void lookupShouldLookUpOnWorkerPool() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(0, vertx.createSharedWorkerExecutor("test-geolocation", 1));
+        givenDatabaseReader("fr", "80.215.0.0", 16);
+
+        // when
+        final Future<GeoInfo> result = awaitCompletion(
+                maxMindGeoLocationService.lookup(TEST_IP, timeoutFactory.create(1000L)));
+
+        // then
+        assertThat(result.succeeded()).isTrue();
+        assertThat(result.result().getCountry()).isEqualTo("fr");
+
+        verify(metrics).updateGeoLocationRequestTime(anyLong());
+        verify(metrics, never()).updateGeoLocationCacheMetric(anyBoolean());
+    }
+
+    @Test
+    public void lookupShouldFailWhenTimeoutExpiresWhileLookingUpOnWorkerPool() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(0, vertx.createSharedWorkerExecutor("test-geolocation", 1));
+        final DatabaseReader databaseReader = givenDatabaseReader("fr", "80.215.0.0", 16);
+        given(databaseReader.city(any())).willAnswer(invocation -> {
+            Thread.sleep(500L);
+            return null;
+        });
+
+        // when
+        final Future<GeoInfo> result = awaitCompletion(
+                maxMindGeoLocationService.lookup(TEST_IP, timeoutFactory.create(50L)));
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(TimeoutException.class);
+    }
+
+    @Test
+    public void lookupShouldFailWithoutLookingUpWhenTimeoutAlreadyExpired() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(0, vertx.createSharedWorkerExecutor("test-geolocation", 1));
+        final DatabaseReader databaseReader = givenDatabaseReader("fr", "80.215.0.0", 16);
+        final Timeout expiredTimeout = timeoutFactory.create(Clock.systemUTC().millis() - 1000L, 1L);
+
+        // when
+        final Future<GeoInfo> result = maxMindGeoLocationService.lookup(TEST_IP, expiredTimeout);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).isInstanceOf(TimeoutException.class).hasMessage("Timeout has been exceeded");
+
+        verifyNoInteractions(databaseReader);
+    }
+
+    @Test
+    public void replacedDatabaseReaderShouldBeClosedOnlyAfterLookupsInProgressComplete() throws Exception {
+        // given
+        maxMindGeoLocationService = createService(0, vertx.createSharedWorkerExecutor("test-geolocation", 1));
+        final DatabaseReader previousDatabaseReader = givenDatabaseReader("fr", "80.215.0.0", 16);
+        final CityResponse cityResponse = previousDatabaseReader.city(null);
+        final CountDownLatch lookupStarted = new CountDownLatch(1);
+        final CountDownLatch lookupReleased = new CountDownLatch(1);
+        given(previousDatabaseReader.city(any())).willAnswer(invocation -> {
+            lookupStarted.countDown();
+            lookupReleased.await(5, TimeUnit.SECONDS);
+            return cityResponse;
+        });
+
+        final Future<GeoInfo> result = maxMindGeoLocationService.lookup(TEST_IP, timeoutFactory.create(5000L));
+        assertThat(lookupStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        givenDatabaseReader("de", "80.215.0.0", 16);
+        retireDatabaseReader(previousDatabaseReader);
+
+        // then
+        verify(previousDatabaseReader, never()).close();
+
+        lookupReleased.countDown();
+        assertThat(awaitCompletion(result).result().getCountry()).isEqualTo("fr");
+        verify(previousDatabaseReader).close();
+    }
+
+    @Test
+    public void replacedDatabaseReaderShouldBeClosedImmediatelyWhenNoLookupsAreInProgress() throws Exception {
+        // given
+        final DatabaseReader previousDatabaseReader = givenDatabaseReader("fr", "80.215.0.0", 16);
+        maxMindGeoLocationService.lookup(TEST_IP, null);
+        givenDatabaseReader("de", "80.215.0.0", 16);
+
+        // when
+        retireDatabaseReader(previousDatabaseReader);
+
+        // then
+        verify(previousDatabaseReader).close();
+        assertThat(maxMindGeoLocationService.lookup(TEST_IP, null).result().getCountry()).isEqualTo("de");
+    }
+
+    private MaxMindGeoLocationService createService(int cacheSize, WorkerExecutor workerExecutor) {
+        return new MaxMindGeoLocationService(
+                Reader.FileMode.MEMORY, cacheSize, 24, 48, workerExecutor, vertx, metrics, Clock.systemUTC());
+    }
+
+    private DatabaseReader givenDatabaseReader(String countryIsoCode, String networkAddress, int prefixLength)
+            throws Exception {
+
+        final Country country = Mockito.mock(Country.class);
+        Mockito.when(country.getIsoCode()).thenReturn(countryIsoCode);
+
+        final Traits traits = Mockito.mock(Traits.class);
+        Mockito.when(traits.getNetwork()).thenReturn(networkAddress != null
+                ? new Network(InetAddress.getByName(networkAddress), prefixLength)
+                : null);
+
+        final CityResponse cityResponse = Mockito.mock(CityResponse.class);
+        Mockito.when(cityResponse.getCountry()).thenReturn(country);
+        Mockito.when(cityResponse.getTraits()).thenReturn(traits);
+
+        final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
+        given(databaseReader.city(any())).willReturn(cityResponse);
+
+        new ReflectionMemberAccessor().set(
+                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"),
+                maxMindGeoLocationService,
+                databaseReader);
+
+        return databaseReader;
+    }
+
+    private void retireDatabaseReader(DatabaseReader databaseReader) throws Exception {
+        final Method retireDatabaseReader = MaxMindGeoLocationService.class
+                .getDeclaredMethod("retireDatabaseReader", DatabaseReader.class);
+        retireDatabaseReader.setAccessible(true);
+        retireDatabaseReader.invoke(maxMindGeoLocationService, databaseReader);
+    }
+
+    private static <T> Future<T> awaitCompletion(Future<T> future) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(1);
+        future.onComplete(ignored -> latch.countDown());
+        assertThat(latch.await(5, TimeUnit.SECONDS)).isTrue();
+        return future;
+    }
 }
@@ -0,0 +1,84 @@
+package org.prebid.server.hooks.execution;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.hooks.execution.model.HookId;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mock.Strictness.LENIENT;
+
+@ExtendWith(MockitoExtension.class)
+public class HookBudgetTrackerTest {
+
+    private static final HookId HOOK_ID = HookId.of("module", "hook");
+
+    @Mock(strictness = LENIENT)
+    private Clock clock;
+
+    private HookBudgetTracker target;
+
+    @BeforeEach
+    public void setUp() {
+        given(clock.millis()).willReturn(1000L);
+
+        target = new HookBudgetTracker(2, 500L, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveSettings() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HookBudgetTracker(0, 500L, clock));
+        assertThatIllegalArgumentException().isThrownBy(() -> new HookBudgetTracker(2, 0L, clock));
+    }
+
+    @Test
+    public void shouldSkipShouldReturnFalseForUnknownHook() {
+        // when and then
+        assertThat(target.shouldSkip(HOOK_ID)).isFalse();
+    }
+
+    @Test
+    public void shouldSkipShouldReturnTrueAfterMaxConsecutiveTimeouts() {
+        // when
+        target.recordTimeout(HOOK_ID);
+        final boolean skippedAfterFirstTimeout = target.shouldSkip(HOOK_ID);
+        target.recordTimeout(HOOK_ID);
+
+        // then
+        assertThat(skippedAfterFirstTimeout).isFalse();
+        assertThat(target.shouldSkip(HOOK_ID)).isTrue();
+    }
+
+    @Test
+    public void shouldSkipShouldReturnFalseWhenCompletionInterruptsTimeouts() {
+        // when
+        target.recordTimeout(HOOK_ID);
+        target.recordCompletion(HOOK_ID);
+        target.recordTimeout(HOOK_ID);
+
+        // then
+        assertThat(target.shouldSkip(HOOK_ID)).isFalse();
+    }
+
+    @Test
+    public void shouldSkipShouldReturnFalseAfterSkipDurationAndTrueAgainOnNextTimeout() {
+        // given
+        target.recordTimeout(HOOK_ID);
+        target.recordTimeout(HOOK_ID);
+
+        // when
+        given(clock.millis()).willReturn(1500L);
+        final boolean skippedAfterDuration = target.shouldSkip(HOOK_ID);
+        target.recordTimeout(HOOK_ID);
+
+        // then
+        assertThat(skippedAfterDuration).isFalse();
+        assertThat(target.shouldSkip(HOOK_ID)).isTrue();
+    }
+}
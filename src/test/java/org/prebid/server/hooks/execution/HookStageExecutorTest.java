@@ -28,6 +28,7 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
+import org.prebid.server.auction.model.TimeoutContext;
 import org.prebid.server.auction.model.debug.DebugContext;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderSeatBid;
@@ -82,6 +83,7 @@ import org.prebid.server.hooks.v1.entrypoint.EntrypointHook;
 import org.prebid.server.hooks.v1.entrypoint.EntrypointPayload;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointHook;
 import org.prebid.server.hooks.v1.exitpoint.ExitpointPayload;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.model.CaseInsensitiveMultiMap;
 import org.prebid.server.model.Endpoint;
 import org.prebid.server.proto.openrtb.ext.response.BidType;
@@ -91,6 +93,7 @@ import org.prebid.server.settings.model.HooksAdminConfig;
 
 import java.time.Clock;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -110,6 +113,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.entry;
 import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
@@ -125,6 +129,8 @@ public class HookStageExecutorTest extends VertxTest {
 
     @Mock(strictness = LENIENT)
     private HookCatalog hookCatalog;
+    @Mock
+    private Metrics metrics;
     private TimeoutFactory timeoutFactory;
     private Vertx vertx;
     private Clock clock;
@@ -454,6 +460,8 @@ public class HookStageExecutorTest extends VertxTest {
                 vertx,
                 clock,
                 jacksonMapper,
+                metrics,
+                null,
                 false);
 
         final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
@@ -1178,6 +1186,122 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldExecuteEntrypointHooksOfGroupWithInitialPayloadOfGroup(VertxTestContext context) {
+        // given
+        final List<String> invokedBodies = new ArrayList<>();
+        final BiFunction<EntrypointPayload, InvocationContext, Future<InvocationResult<EntrypointPayload>>> hook =
+                (payload, invocationContext) -> {
+                    invokedBodies.add(payload.body());
+                    return Future.succeededFuture(InvocationResultUtils.succeeded(updatedPayload ->
+                            EntrypointPayloadImpl.of(
+                                    updatedPayload.queryParams(),
+                                    updatedPayload.headers(),
+                                    updatedPayload.body() + "-upd")));
+                };
+
+        givenEntrypointHook("module-alpha", "hook-a", hook);
+        givenEntrypointHook("module-beta", "hook-a", hook);
+        givenEntrypointHook("module-beta", "hook-b", hook);
+        givenEntrypointHook("module-alpha", "hook-b", hook);
+
+        final HookStageExecutor executor = createExecutor(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(Stage.entrypoint, execPlanTwoGroupsTwoHooksEach())))));
+
+        // when
+        final Future<HookStageExecutionResult<EntrypointPayload>> future = executor.executeEntrypointStage(
+                CaseInsensitiveMultiMap.empty(),
+                CaseInsensitiveMultiMap.empty(),
+                "body",
+                HookExecutionContext.of(Endpoint.openrtb2_auction));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(result.getPayload().body()).isEqualTo("body-upd-upd-upd-upd");
+            assertThat(invokedBodies).containsExactly("body", "body", "body-upd-upd", "body-upd-upd");
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldSkipEntrypointHookThatRepeatedlyExceedsTimeout(VertxTestContext context) {
+        // given
+        givenEntrypointHook(
+                "module-alpha",
+                "hook-a",
+                delayedHook(InvocationResultUtils.succeeded(identity()), 250));
+
+        final HookStageExecutor executor = createExecutor(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(
+                                Stage.entrypoint, execPlanOneGroupOneHook("module-alpha", "hook-a"))))),
+                null,
+                new HookBudgetTracker(1, 60000L, clock));
+
+        final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
+
+        // when
+        final Future<HookStageExecutionResult<EntrypointPayload>> future = executor
+                .executeEntrypointStage(
+                        CaseInsensitiveMultiMap.empty(),
+                        CaseInsensitiveMultiMap.empty(),
+                        "body",
+                        hookExecutionContext)
+                .compose(ignored -> executor.executeEntrypointStage(
+                        CaseInsensitiveMultiMap.empty(),
+                        CaseInsensitiveMultiMap.empty(),
+                        "body",
+                        hookExecutionContext));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(result.getPayload().body()).isEqualTo("body");
+
+            assertThat(hookExecutionContext.getStageOutcomes().get(Stage.entrypoint))
+                    .hasSize(2)
+                    .extracting(stageOutcome -> stageOutcome.getGroups().getFirst().getHooks().getFirst())
+                    .extracting(HookExecutionOutcome::getStatus, HookExecutionOutcome::getAction)
+                    .containsExactly(
+                            tuple(ExecutionStatus.timeout, null),
+                            tuple(ExecutionStatus.execution_failure, ExecutionAction.no_invocation));
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldExecuteEntrypointHooksAndUpdateStageOverheadMetric(VertxTestContext context) {
+        // given
+        givenEntrypointHook(
+                "module-alpha",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(identity())));
+
+        final HookStageExecutor executor = createExecutor(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(
+                                Stage.entrypoint, execPlanOneGroupOneHook("module-alpha", "hook-a"))))));
+
+        // when
+        final Future<HookStageExecutionResult<EntrypointPayload>> future = executor.executeEntrypointStage(
+                CaseInsensitiveMultiMap.empty(),
+                CaseInsensitiveMultiMap.empty(),
+                "body",
+                HookExecutionContext.of(Endpoint.openrtb2_auction));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            verify(metrics).updateHooksStageOverheadMetric(eq(Stage.entrypoint), anyLong());
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteRawAuctionRequestHooksWhenNoExecutionPlanInAccount(VertxTestContext context) {
         // given
@@ -1428,6 +1552,8 @@ public class HookStageExecutorTest extends VertxTest {
                 vertx,
                 clock,
                 jacksonMapper,
+                metrics,
+                null,
                 false);
 
         final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
@@ -1545,6 +1671,8 @@ public class HookStageExecutorTest extends VertxTest {
                 vertx,
                 clock,
                 jacksonMapper,
+                metrics,
+                null,
                 true);
 
         final HookExecutionContext hookExecutionContext = HookExecutionContext.of(Endpoint.openrtb2_auction);
@@ -1867,6 +1995,107 @@ public class HookStageExecutorTest extends VertxTest {
         }));
     }
 
+    @Test
+    public void shouldExecuteRawAuctionRequestHooksLimitingTimeoutByRemainingAuctionTime(VertxTestContext context) {
+        // given
+        final RawAuctionRequestHookImpl hookImpl = spy(
+                RawAuctionRequestHookImpl.of(immediateHook(InvocationResultUtils.succeeded(identity()))));
+        given(hookCatalog.hookById(eqHook("module-alpha", "hook-a"), eq(StageWithHookType.RAW_AUCTION_REQUEST)))
+                .willReturn(hookImpl);
+
+        final HookStageExecutor executor = createExecutor(
+                executionPlan(singletonMap(
+                        Endpoint.openrtb2_auction,
+                        EndpointExecutionPlan.of(singletonMap(
+                                Stage.raw_auction_request, execPlanOneGroupOneHook("module-alpha", "hook-a"))))));
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor.executeRawAuctionRequestStage(
+                AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(Account.empty("accountId"))
+                        .timeoutContext(TimeoutContext.of(0L, timeoutFactory.create(50L), 0))
+                        .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                        .debugContext(DebugContext.empty())
+                        .build());
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            final ArgumentCaptor<AuctionInvocationContext> invocationContextCaptor =
+                    ArgumentCaptor.forClass(AuctionInvocationContext.class);
+            verify(hookImpl).call(any(), invocationContextCaptor.capture());
+
+            assertThat(invocationContextCaptor.getValue().timeout().remaining()).isEqualTo(50L);
+
+            context.completeNow();
+        }));
+    }
+
+    @Test
+    public void shouldExecuteRawAuctionRequestHooksRecompilingPlanWhenAccountHooksChanged(
+            VertxTestContext context) {
+
+        // given
+        givenRawAuctionRequestHook(
+                "module-alpha",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(payload -> AuctionRequestPayloadImpl.of(
+                        payload.bidRequest().toBuilder().at(1).build()))));
+
+        givenRawAuctionRequestHook(
+                "module-beta",
+                "hook-a",
+                immediateHook(InvocationResultUtils.succeeded(payload -> AuctionRequestPayloadImpl.of(
+                        payload.bidRequest().toBuilder().test(1).build()))));
+
+        final HookStageExecutor executor = createExecutor(null);
+
+        final Account alphaAccount = Account.builder()
+                .id("accountId")
+                .hooks(AccountHooksConfiguration.of(
+                        ExecutionPlan.of(null, singletonMap(
+                                Endpoint.openrtb2_auction,
+                                EndpointExecutionPlan.of(singletonMap(
+                                        Stage.raw_auction_request,
+                                        execPlanOneGroupOneHook("module-alpha", "hook-a"))))),
+                        null,
+                        null))
+                .build();
+        final Account betaAccount = Account.builder()
+                .id("accountId")
+                .hooks(AccountHooksConfiguration.of(
+                        ExecutionPlan.of(null, singletonMap(
+                                Endpoint.openrtb2_auction,
+                                EndpointExecutionPlan.of(singletonMap(
+                                        Stage.raw_auction_request,
+                                        execPlanOneGroupOneHook("module-beta", "hook-a"))))),
+                        null,
+                        null))
+                .build();
+
+        // when
+        final Future<HookStageExecutionResult<AuctionRequestPayload>> future = executor
+                .executeRawAuctionRequestStage(AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(alphaAccount)
+                        .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                        .debugContext(DebugContext.empty())
+                        .build())
+                .compose(ignored -> executor.executeRawAuctionRequestStage(AuctionContext.builder()
+                        .bidRequest(BidRequest.builder().build())
+                        .account(betaAccount)
+                        .hookExecutionContext(HookExecutionContext.of(Endpoint.openrtb2_auction))
+                        .debugContext(DebugContext.empty())
+                        .build()));
+
+        // then
+        future.onComplete(context.succeeding(result -> {
+            assertThat(result.getPayload().bidRequest()).isEqualTo(BidRequest.builder().test(1).build());
+
+            context.completeNow();
+        }));
+    }
+
     @Test
     public void shouldExecuteProcessedAuctionRequestHooksHappyPath(VertxTestContext context) {
         // given
@@ -3412,6 +3641,13 @@ public class HookStageExecutorTest extends VertxTest {
     }
 
     private HookStageExecutor createExecutor(String hostExecutionPlan, String defaultAccountExecutionPlan) {
+        return createExecutor(hostExecutionPlan, defaultAccountExecutionPlan, null);
+    }
+
+    private HookStageExecutor createExecutor(String hostExecutionPlan,
+                                             String defaultAccountExecutionPlan,
+                                             HookBudgetTracker hookBudgetTracker) {
+
         return HookStageExecutor.create(
                 hostExecutionPlan,
                 defaultAccountExecutionPlan,
@@ -3421,6 +3657,8 @@ public class HookStageExecutorTest extends VertxTest {
                 vertx,
                 clock,
                 jacksonMapper,
+                metrics,
+                hookBudgetTracker,
                 false);
     }
 
@@ -0,0 +1,108 @@
+package org.prebid.server.json;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.User;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.proto.openrtb.ext.request.ExtUser;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonFragmentCacheTest extends VertxTest {
+
+    @Test
+    public void withinShouldReuseFragmentOfTheSameInstance() {
+        // given
+        final Site site = Site.builder().domain("example.com").page("https://example.com/page").build();
+        final BidRequest firstRequest = BidRequest.builder().id("1").site(site).build();
+        final BidRequest secondRequest = BidRequest.builder().id("2").site(site).tmax(100L).build();
+        final JsonFragmentCache target = new JsonFragmentCache();
+
+        // when
+        final List<String> result = target.within(() -> List.of(
+                jacksonMapper.encodeToString(firstRequest),
+                jacksonMapper.encodeToString(secondRequest)));
+
+        // then
+        assertThat(result).containsExactly(
+                jacksonMapper.encodeToString(firstRequest),
+                jacksonMapper.encodeToString(secondRequest));
+        assertThat(target.getHits()).isEqualTo(1);
+        assertThat(target.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void withinShouldEncodeDifferentInstancesSeparately() {
+        // given
+        final Site site = Site.builder().domain("example.com").build();
+        final Site otherSite = site.toBuilder().domain("other.com").build();
+        final JsonFragmentCache target = new JsonFragmentCache();
+
+        // when
+        final List<String> result = target.within(() -> List.of(
+                jacksonMapper.encodeToString(BidRequest.builder().site(site).build()),
+                jacksonMapper.encodeToString(BidRequest.builder().site(otherSite).build())));
+
+        // then
+        assertThat(result).containsExactly(
+                "{\"site\":{\"domain\":\"example.com\"}}",
+                "{\"site\":{\"domain\":\"other.com\"}}");
+        assertThat(target.getHits()).isZero();
+        assertThat(target.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void withinShouldNotReuseFragmentsAfterClear() {
+        // given
+        final ExtUser extUser = ExtUser.builder().build();
+        final User user = User.builder().id("userId").ext(extUser).build();
+        final JsonFragmentCache target = new JsonFragmentCache();
+        target.within(() -> jacksonMapper.encodeToString(user));
+        target.clear();
+
+        extUser.addProperty("property", TextNode.valueOf("value"));
+
+        // when
+        final String result = target.within(() -> jacksonMapper.encodeToString(user));
+
+        // then
+        assertThat(result).isEqualTo("{\"id\":\"userId\",\"ext\":{\"property\":\"value\"}}");
+        assertThat(target.getMisses()).isEqualTo(2);
+    }
+
+    @Test
+    public void encodingOutsideOfScopeShouldNotUseCachedFragments() {
+        // given
+        final ExtUser extUser = ExtUser.builder().build();
+        final User user = User.builder().id("userId").ext(extUser).build();
+        new JsonFragmentCache().within(() -> jacksonMapper.encodeToString(user));
+
+        extUser.addProperty("property", TextNode.valueOf("value"));
+
+        // when
+        final String result = jacksonMapper.encodeToString(user);
+
+        // then
+        assertThat(result).isEqualTo("{\"id\":\"userId\",\"ext\":{\"property\":\"value\"}}");
+    }
+
+    @Test
+    public void treeConversionWithinScopeShouldNotProduceRawValues() {
+        // given
+        final Site site = Site.builder().domain("example.com").build();
+        final JsonFragmentCache target = new JsonFragmentCache();
+
+        // when
+        final JsonNode result = target.within(() -> mapper.valueToTree(BidRequest.builder().site(site).build()));
+
+        // then
+        assertThat(result.get("site").isObject()).isTrue();
+        assertThat(result.at("/site/domain").asText()).isEqualTo("example.com");
+        assertThat(target.getMisses()).isZero();
+    }
+}
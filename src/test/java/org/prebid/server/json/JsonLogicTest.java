@@ -8,9 +8,14 @@ import io.github.jamsesso.jsonlogic.ast.JsonLogicVariable;
 import io.github.jamsesso.jsonlogic.evaluator.JsonLogicEvaluationException;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class JsonLogicTest {
 
@@ -41,4 +46,117 @@ public class JsonLogicTest {
         // then
         assertThat(result).isFalse();
     }
+
+    @Test
+    public void compileShouldReturnSameResultAsEvaluate() {
+        // given
+        final Map<String, Object> data = new HashMap<>();
+        data.put("Zero", 0);
+        data.put("One", 1);
+        data.put("Two", 2);
+        data.put("True", true);
+        data.put("Name", "name");
+        data.put("Null", null);
+
+        final List<String> expressions = List.of(
+                "true",
+                "{\"var\": \"True\"}",
+                "{\"==\": [{\"var\": \"One\"}, 1]}",
+                "{\"==\": [{\"var\": \"One\"}, \"1\"]}",
+                "{\"===\": [{\"var\": \"One\"}, 1]}",
+                "{\"!=\": [{\"var\": \"Two\"}, 1]}",
+                "{\"!==\": [{\"var\": \"Two\"}, 2]}",
+                "{\"==\": [{\"var\": \"Missing\"}, null]}",
+                "{\"==\": [{\"var\": [\"Missing\", 5]}, 5]}",
+                "{\"==\": [{\"var\": \"Name.length\"}, null]}",
+                "{\"and\": [{\"var\": \"True\"}, {\">\": [{\"var\": \"Two\"}, 1]}]}",
+                "{\"and\": [{\"var\": \"True\"}, {\"var\": \"Zero\"}, true]}",
+                "{\"or\": [{\"var\": \"Zero\"}, {\"var\": \"Null\"}, {\"in\": [{\"var\": \"Two\"}, [1, 2]]}]}",
+                "{\"!\": [{\"var\": \"Zero\"}]}",
+                "{\"!!\": [[]]}",
+                "{\"if\": [{\"var\": \"Zero\"}, false, {\"var\": \"One\"}, true, false]}",
+                "{\"?:\": [{\"var\": \"Zero\"}, false, true]}",
+                "{\"in\": [\"am\", {\"var\": \"Name\"}]}",
+                "{\"<\": [0, {\"+\": [{\"var\": \"One\"}, {\"var\": \"Two\"}]}, 4]}",
+                "{\"!\": {\"missing\": [\"One\", \"Two\"]}}",
+                "{\"some\": [[1, 2], {\"==\": [{\"var\": \"\"}, {\"var\": \"Two\"}]}]}");
+
+        for (String expression : expressions) {
+            final JsonLogicNode jsonLogicNode = jsonLogic.parse(expression);
+
+            final CompiledJsonLogic<Map<String, Object>> compiledJsonLogic = jsonLogic.compile(
+                    jsonLogicNode, new MapDataView());
+
+            // when
+            final Object result = outcomeOf(() -> compiledJsonLogic.evaluate(data));
+
+            // then
+            assertThat(result).as(expression).isEqualTo(outcomeOf(() -> jsonLogic.evaluate(jsonLogicNode, data)));
+        }
+    }
+
+    @Test
+    public void compileShouldFailOnNonBooleanResult() {
+        // given
+        final CompiledJsonLogic<Map<String, Object>> compiledJsonLogic = jsonLogic.compile(
+                jsonLogic.parse("{\"var\": \"a\"}"), new MapDataView());
+
+        // when and then
+        assertThatThrownBy(() -> compiledJsonLogic.evaluate(Map.of("a", 1)))
+                .isInstanceOf(JsonLogicEvaluationException.class)
+                .hasMessage("Wrong type was returned.");
+    }
+
+    @Test
+    public void compileShouldResolveVariablesOnceAndBuildMapOnlyForInterpretedOperations()
+            throws JsonLogicEvaluationException {
+
+        // given
+        final MapDataView dataView = new MapDataView();
+        final CompiledJsonLogic<Map<String, Object>> compiledJsonLogic = jsonLogic.compile(
+                jsonLogic.parse("{\"or\": [{\"==\": [{\"var\": \"a\"}, 1]}, {\"!\": {\"missing\": [\"b\"]}}]}"),
+                dataView);
+
+        // when
+        final boolean firstResult = compiledJsonLogic.evaluate(Map.of("a", 1));
+        final boolean secondResult = compiledJsonLogic.evaluate(Map.of("a", 2));
+
+        // then
+        assertThat(firstResult).isTrue();
+        assertThat(secondResult).isFalse();
+        assertThat(dataView.resolvedVariables).containsExactly("a");
+        assertThat(dataView.mapsCreated).isEqualTo(1);
+    }
+
+    private static Object outcomeOf(Evaluation evaluation) {
+        try {
+            return evaluation.evaluate();
+        } catch (JsonLogicEvaluationException e) {
+            return e.getMessage();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Evaluation {
+
+        boolean evaluate() throws JsonLogicEvaluationException;
+    }
+
+    private static class MapDataView implements JsonLogicDataView<Map<String, Object>> {
+
+        private final List<String> resolvedVariables = new ArrayList<>();
+        private int mapsCreated;
+
+        @Override
+        public Function<Map<String, Object>, Object> variable(String name) {
+            resolvedVariables.add(name);
+            return data -> data.get(name);
+        }
+
+        @Override
+        public Map<String, Object> asMap(Map<String, Object> data) {
+            mapsCreated++;
+            return data;
+        }
+    }
 }
@@ -3,6 +3,7 @@ package org.prebid.server.log;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.iab.openrtb.request.BidRequest;
 import com.iab.openrtb.request.Imp;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpServerRequest;
 import io.vertx.ext.web.RequestBody;
 import io.vertx.ext.web.RoutingContext;
@@ -16,13 +17,19 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.log.model.HttpLogSpec;
 import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.function.UnaryOperator;
 
 import static java.util.Collections.singletonList;
 import static java.util.function.UnaryOperator.identity;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -43,15 +50,17 @@ public class HttpInteractionLoggerTest extends VertxTest {
     private HttpServerRequest serverRequest;
     @Mock(strictness = LENIENT)
     private RequestBody requestBody;
+    @Mock
+    private Metrics metrics;
 
     private HttpInteractionLogger target;
 
     @BeforeEach
     public void setUp() {
-        target = new HttpInteractionLogger(jacksonMapper);
+        target = new HttpInteractionLogger(jacksonMapper, Runnable::run, metrics);
         given(routingContext.request()).willReturn(serverRequest);
         given(routingContext.body()).willReturn(requestBody);
-        given(requestBody.asString()).willReturn("{}");
+        given(requestBody.buffer()).willReturn(Buffer.buffer("{}"));
         given(serverRequest.uri()).willReturn("example.com");
         ReflectionTestUtils.setField(target, "logger", logger);
     }
@@ -154,10 +163,10 @@ public class HttpInteractionLoggerTest extends VertxTest {
     @Test
     public void maybeLogOpenrtb2AuctionShouldLogOneLineBodyFromContext() {
         // given
-        given(requestBody.asString()).willReturn("""
+        given(requestBody.buffer()).willReturn(Buffer.buffer("""
                 {
                   "param": "value"
-                }""");
+                }"""));
         final AuctionContext givenAuctionContext =
                 givenAuctionContext(accountBuilder -> accountBuilder.id("123"));
         final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", null, 1);
@@ -173,7 +182,7 @@ public class HttpInteractionLoggerTest extends VertxTest {
     @Test
     public void maybeLogOpenrtb2AuctionShouldLogMessageInsteadOfInvalidBody() {
         // given
-        given(requestBody.asString()).willReturn("{");
+        given(requestBody.buffer()).willReturn(Buffer.buffer("{"));
         final AuctionContext givenAuctionContext =
                 givenAuctionContext(accountBuilder -> accountBuilder.id("123"));
         final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", null, 1);
@@ -462,6 +471,91 @@ public class HttpInteractionLoggerTest extends VertxTest {
         verify(logger).info(anyString(), anyString(), anyString());
     }
 
+    @Test
+    public void maybeLogOpenrtb2AuctionShouldNotLogIfInteractionIsNotSampled() {
+        // given
+        final AuctionContext givenAuctionContext =
+                givenAuctionContext(accountBuilder -> accountBuilder.id("123"));
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", null, 1, Double.MIN_VALUE);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogOpenrtb2Auction(givenAuctionContext, routingContext, 200, "responseBody");
+
+        // then
+        verifyNoInteractions(logger);
+    }
+
+    @Test
+    public void maybeLogOpenrtb2AuctionShouldLogIfSamplingRateIsOne() {
+        // given
+        final AuctionContext givenAuctionContext =
+                givenAuctionContext(accountBuilder -> accountBuilder.id("123"));
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", null, 1, 1.0);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogOpenrtb2Auction(givenAuctionContext, routingContext, 200, "responseBody");
+
+        // then
+        verify(logger).info(anyString(), anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    public void maybeLogOpenrtb2AuctionShouldDeferLoggingToExecutor() {
+        // given
+        final List<Runnable> tasks = new ArrayList<>();
+        target = givenHttpInteractionLogger(tasks::add);
+
+        final AuctionContext givenAuctionContext =
+                givenAuctionContext(accountBuilder -> accountBuilder.id("123"));
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", null, 1);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogOpenrtb2Auction(givenAuctionContext, routingContext, 200, "responseBody");
+
+        // then
+        verifyNoInteractions(logger);
+        assertThat(tasks).hasSize(1);
+
+        tasks.getFirst().run();
+        verify(logger).info(anyString(), eq("example.com"), eq("{}"), eq(200), eq("responseBody"));
+    }
+
+    @Test
+    public void maybeLogBidderRequestShouldDropInteractionAndNotCountItIfExecutorRejectsIt() {
+        // given
+        target = givenHttpInteractionLogger(task -> {
+            throw new RejectedExecutionException("Queue is full");
+        });
+
+        final AuctionContext givenAuctionContext =
+                givenAuctionContext(accountBuilder -> accountBuilder.id("123"));
+        final BidderRequest givenBidderRequest = givenBidderRequest(identity());
+        final HttpLogSpec givenSpec = HttpLogSpec.of(null, null, "123", "bidderName", 1);
+
+        // when
+        target.setSpec(givenSpec);
+        target.maybeLogBidderRequest(givenAuctionContext, givenBidderRequest);
+
+        // then
+        verify(metrics).updateHttpInteractionsDroppedMetric();
+        verifyNoInteractions(logger);
+
+        // and when executor accepts the next interaction, it is still logged within the limit
+        ReflectionTestUtils.setField(target, "executor", (Executor) Runnable::run);
+        target.maybeLogBidderRequest(givenAuctionContext, givenBidderRequest);
+
+        verify(logger).info(anyString(), anyString(), anyString());
+    }
+
+    private HttpInteractionLogger givenHttpInteractionLogger(Executor executor) {
+        final HttpInteractionLogger httpInteractionLogger = new HttpInteractionLogger(jacksonMapper, executor, metrics);
+        ReflectionTestUtils.setField(httpInteractionLogger, "logger", logger);
+        return httpInteractionLogger;
+    }
+
     private static AuctionContext givenAuctionContext(UnaryOperator<Account.AccountBuilder> accountBuilderCustomizer) {
         final Account account = accountBuilderCustomizer.apply(Account.builder()).build();
 
@@ -0,0 +1,120 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Snapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+
+@ExtendWith(MockitoExtension.class)
+public class HdrHistogramReservoirTest {
+
+    @Mock
+    private Clock clock;
+
+    private HdrHistogramReservoir target;
+
+    @BeforeEach
+    public void setUp() {
+        given(clock.getTime()).willReturn(0L);
+
+        target = new HdrHistogramReservoir(3, 1000L, clock);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveWindow() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new HdrHistogramReservoir(2, 0L, clock));
+    }
+
+    @Test
+    public void getSnapshotShouldReturnAccurateTailPercentiles() {
+        // given
+        for (int i = 1; i <= 100_000; i++) {
+            target.update(i);
+        }
+
+        // when
+        final Snapshot snapshot = target.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(100_000);
+        assertThat(snapshot.getMin()).isEqualTo(1L);
+        assertThat(snapshot.getMax()).isCloseTo(100_000L, within(100L));
+        assertThat(snapshot.getMedian()).isCloseTo(50_000, within(50.0));
+        assertThat(snapshot.get99thPercentile()).isCloseTo(99_000, within(100.0));
+        assertThat(snapshot.get999thPercentile()).isCloseTo(99_900, within(100.0));
+        assertThat(snapshot.getMean()).isCloseTo(50_000, within(50.0));
+    }
+
+    @Test
+    public void getSnapshotShouldIgnoreNegativeValues() {
+        // given
+        target.update(-1L);
+        target.update(10L);
+
+        // when
+        final Snapshot snapshot = target.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsExactly(10L);
+    }
+
+    @Test
+    public void getSnapshotShouldKeepValuesOfPreviousWindow() {
+        // given
+        target.update(10L);
+        target.getSnapshot();
+
+        given(clock.getTime()).willReturn(1500L);
+        target.update(20L);
+
+        // when
+        final Snapshot snapshot = target.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsExactly(10L, 20L);
+    }
+
+    @Test
+    public void getSnapshotShouldDropValuesOlderThanTwoWindows() {
+        // given
+        target.update(10L);
+        target.getSnapshot();
+
+        given(clock.getTime()).willReturn(1000L);
+        target.update(20L);
+        target.getSnapshot();
+
+        given(clock.getTime()).willReturn(2000L);
+        target.update(30L);
+
+        // when
+        final Snapshot snapshot = target.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsExactly(20L, 30L);
+    }
+
+    @Test
+    public void getSnapshotShouldDropAllValuesWhenNotReportedForTwoWindows() {
+        // given
+        target.update(10L);
+        target.getSnapshot();
+
+        given(clock.getTime()).willReturn(2500L);
+        target.update(20L);
+
+        // when
+        final Snapshot snapshot = target.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsExactly(20L);
+    }
+}
@@ -490,6 +490,18 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("analytics.analyticCode.setuid.badinput").getCount()).isOne();
     }
 
+    @Test
+    public void updateAnalyticsPipelineMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updateAnalyticsDroppedEventsMetric(ANALYTIC_CODE, 5);
+        metrics.updateAnalyticsDroppedEventsMetric(ANALYTIC_CODE, 2);
+        metrics.updateAnalyticsRetriedBatchesMetric(ANALYTIC_CODE);
+
+        // then
+        assertThat(metricRegistry.counter("analytics.analyticCode.dropped_events").getCount()).isEqualTo(7);
+        assertThat(metricRegistry.counter("analytics.analyticCode.retried_batches").getCount()).isOne();
+    }
+
     @Test
     public void updateFetchWithFetchResultShouldCreateMetricsAsExpected() {
         // when
@@ -570,6 +582,55 @@ public class MetricsTest {
                 .isEqualTo(2);
     }
 
+    @Test
+    public void updateAdapterAdaptiveTimeoutMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updateAdapterAdaptiveTimeoutMetrics(RUBICON, 100L);
+        metrics.updateAdapterAdaptiveTimeoutMetrics(RUBICON, 50L);
+        metrics.updateAdapterAdaptiveTimeoutMetrics(CONVERSANT, 20L);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.adaptive_tmax.limited").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.histogram("adapter.rubicon.adaptive_tmax.saved").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("adapter.conversant.adaptive_tmax.limited").getCount()).isOne();
+        assertThat(metricRegistry.histogram("adapter.conversant.adaptive_tmax.saved").getCount()).isOne();
+    }
+
+    @Test
+    public void updateAdapterConnectionPoolMetricsShouldUpdateMetrics() {
+        // when
+        metrics.updateAdapterConnectionPoolMetrics(RUBICON, 0, 5L);
+        metrics.updateAdapterConnectionPoolMetrics(RUBICON, 3, 20L);
+
+        // then
+        assertThat(metricRegistry.histogram("adapter.rubicon.connection_pool.queue_size").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.histogram("adapter.rubicon.connection_pool.queue_size").getSnapshot().getMax())
+                .isEqualTo(3);
+        assertThat(metricRegistry.timer("adapter.rubicon.connection_pool.wait_time").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void createAdapterConcurrencyGaugesShouldCreateGauges() {
+        // when
+        metrics.createAdapterConcurrencyGauges(RUBICON, () -> 100L, () -> 5L);
+
+        // then
+        assertThat(metricRegistry.gauge("adapter.rubicon.concurrency.limit", () -> null).getValue())
+                .isEqualTo(100L);
+        assertThat(metricRegistry.gauge("adapter.rubicon.concurrency.in_flight", () -> null).getValue())
+                .isEqualTo(5L);
+    }
+
+    @Test
+    public void updateAdapterConcurrencyRejectedMetricShouldIncrementMetric() {
+        // when
+        metrics.updateAdapterConcurrencyRejectedMetric(RUBICON);
+        metrics.updateAdapterConcurrencyRejectedMetric(RUBICON);
+
+        // then
+        assertThat(metricRegistry.counter("adapter.rubicon.concurrency.rejected").getCount()).isEqualTo(2);
+    }
+
     @Test
     public void updateAdapterRequestNobidMetricsShouldIncrementMetrics() {
         // when
@@ -928,6 +989,18 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("privacy.usp.opt-out").getCount()).isOne();
     }
 
+    @Test
+    public void updatePrivacyConsentCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updatePrivacyConsentCacheMetric(MetricName.tcf, true);
+        metrics.updatePrivacyConsentCacheMetric(MetricName.tcf, true);
+        metrics.updatePrivacyConsentCacheMetric(MetricName.gpp, false);
+
+        // then
+        assertThat(metricRegistry.counter("privacy.consent-cache.tcf.hit").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("privacy.consent-cache.gpp.miss").getCount()).isOne();
+    }
+
     @Test
     public void updatePrivacyTcfMissingMetricShouldIncrementMetric() {
         // when
@@ -1111,6 +1184,15 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("connection_accept_errors").getCount()).isOne();
     }
 
+    @Test
+    public void shouldIncrementHttpInteractionsDroppedMetric() {
+        // when
+        metrics.updateHttpInteractionsDroppedMetric();
+
+        // then
+        assertThat(metricRegistry.counter("http_interactions_dropped").getCount()).isOne();
+    }
+
     @Test
     public void shouldUpdateDatabaseQueryTimeMetric() {
         // when
@@ -1177,6 +1259,27 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("geolocation_fail").getCount()).isOne();
     }
 
+    @Test
+    public void updateGeoLocationCacheMetricShouldIncrementMetrics() {
+        // when
+        metrics.updateGeoLocationCacheMetric(true);
+        metrics.updateGeoLocationCacheMetric(true);
+        metrics.updateGeoLocationCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("geolocation_cache_hit").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.counter("geolocation_cache_miss").getCount()).isOne();
+    }
+
+    @Test
+    public void updateGeoLocationRequestTimeShouldUpdateTimer() {
+        // when
+        metrics.updateGeoLocationRequestTime(5L);
+
+        // then
+        assertThat(metricRegistry.timer("geolocation_request_time").getCount()).isOne();
+    }
+
     @Test
     public void shouldAlwaysIncrementGeoLocationRequestsMetricAndEitherSuccessfulOrFailMetricDependingOnFlag() {
         // when
@@ -1296,6 +1399,15 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateSettingsCacheRefreshAheadMetricShouldIncrementMetric() {
+        // when
+        metrics.updateSettingsCacheRefreshAheadMetric(MetricName.account, MetricName.ok);
+
+        // then
+        assertThat(metricRegistry.counter("settings.cache.account.refresh.ahead.ok").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateSettingsCacheEventMetricShouldIncrementMetric() {
         // when
@@ -1305,6 +1417,28 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("settings.cache.account.hit").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void updateJsonFragmentCacheMetricsShouldIncrementMetrics() {
+        // when
+        metrics.updateJsonFragmentCacheMetrics(3, 2);
+
+        // then
+        assertThat(metricRegistry.counter("json-fragment-cache.hit").getCount()).isEqualTo(3);
+        assertThat(metricRegistry.counter("json-fragment-cache.miss").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void updateHooksStageOverheadMetricShouldUpdateTimer() {
+        // when
+        metrics.updateHooksStageOverheadMetric(Stage.raw_auction_request, 3L);
+        metrics.updateHooksStageOverheadMetric(Stage.raw_auction_request, 1L);
+        metrics.updateHooksStageOverheadMetric(Stage.exitpoint, 2L);
+
+        // then
+        assertThat(metricRegistry.timer("modules.stage.rawauction.overhead").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer("modules.stage.exitpoint.overhead").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateHooksMetricsShouldIncrementMetrics() {
         // when
@@ -1408,6 +1542,23 @@ public class MetricsTest {
                 .isEqualTo(1);
     }
 
+    @Test
+    public void updateModuleInferenceMetricsShouldUpdateMetrics() {
+        // when
+        metrics.updateModuleInferenceMetrics("module1", 1, 5L);
+        metrics.updateModuleInferenceMetrics("module1", 4, 8L);
+        metrics.updateModuleInferenceQueueWaitTime("module1", 2L);
+        metrics.updateModuleInferenceFallbackMetric("module1");
+
+        // then
+        assertThat(metricRegistry.histogram("modules.module.module1.inference.batch_size").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.histogram("modules.module.module1.inference.batch_size").getSnapshot().getMax())
+                .isEqualTo(4);
+        assertThat(metricRegistry.timer("modules.module.module1.inference.latency").getCount()).isEqualTo(2);
+        assertThat(metricRegistry.timer("modules.module.module1.inference.queue_wait_time").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("modules.module.module1.inference.fallback").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void updateAccountHooksMetricsShouldIncrementMetricsIfVerbosityIsDetailed() {
         // given
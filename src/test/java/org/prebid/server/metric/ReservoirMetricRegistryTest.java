@@ -0,0 +1,63 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.Collector;
+import io.prometheus.client.dropwizard.DropwizardExports;
+import org.junit.jupiter.api.Test;
+import org.prebid.server.metric.prometheus.NamespaceSubsystemSampleBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+public class ReservoirMetricRegistryTest {
+
+    private final MetricRegistry target = new ReservoirMetricRegistry(() -> new HdrHistogramReservoir(2, 60_000L));
+
+    @Test
+    public void timerShouldUseReservoirFromFactory() {
+        // when
+        target.timer("timer").update(5, TimeUnit.MILLISECONDS);
+
+        // then
+        assertThat(target.timer("timer").getSnapshot().getValues()).hasSize(1);
+        assertThat(target.timer("timer").getSnapshot().getMax())
+                .isCloseTo(TimeUnit.MILLISECONDS.toNanos(5), withPercentage(1));
+    }
+
+    @Test
+    public void histogramShouldUseReservoirFromFactory() {
+        // when
+        for (int i = 1; i <= 1000; i++) {
+            target.histogram("histogram").update(i);
+        }
+
+        // then
+        assertThat(target.histogram("histogram").getSnapshot().get999thPercentile()).isEqualTo(999);
+    }
+
+    @Test
+    public void prometheusExportShouldContainTimerQuantiles() {
+        // given
+        for (int i = 1; i <= 1000; i++) {
+            target.timer("adapter.bidder.request_time").update(i, TimeUnit.MILLISECONDS);
+        }
+
+        // when
+        final List<Collector.MetricFamilySamples> result = new DropwizardExports(
+                target, new NamespaceSubsystemSampleBuilder("namespace", "subsystem", emptyList())).collect();
+
+        // then
+        assertThat(result)
+                .flatExtracting(samples -> samples.samples)
+                .filteredOn(sample -> sample.labelValues.equals(List.of("0.99")))
+                .singleElement()
+                .satisfies(sample -> {
+                    assertThat(sample.name).isEqualTo("namespace_subsystem_adapter_bidder_request_time");
+                    assertThat(sample.value).isCloseTo(0.99, withPercentage(1));
+                });
+    }
+}
@@ -0,0 +1,124 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import io.prometheus.client.CollectorRegistry;
+import io.prometheus.client.dropwizard.DropwizardExports;
+import io.prometheus.client.dropwizard.samplebuilder.MapperConfig;
+import io.prometheus.client.exporter.common.TextFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusExpositionTest {
+
+    private MetricRegistry metricRegistry;
+    private NamespaceSubsystemSampleBuilder sampleBuilder;
+
+    @BeforeEach
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+        sampleBuilder = new NamespaceSubsystemSampleBuilder("namespace", "subsystem", asList(
+                new MapperConfig(
+                        "account.*.adapter.*.bids_received",
+                        "account.bids_received",
+                        Map.of("account", "${0}", "adapter", "${1}")),
+                new MapperConfig(
+                        "requests.*.*",
+                        "requests.status.type",
+                        Map.of("status", "${0}", "type", "${1}"))));
+    }
+
+    @Test
+    public void writeShouldProduceSameOutputAsDropwizardBridge() throws IOException {
+        // given
+        final PrometheusExposition target = new PrometheusExposition(metricRegistry, sampleBuilder);
+
+        metricRegistry.counter("account.acc1.adapter.rubicon.bids_received").inc(12_345_678L);
+        metricRegistry.counter("account.acc2.adapter.rubicon.bids_received").inc(3);
+        metricRegistry.counter("account.acc\"3.adapter.appnexus.bids_received").inc(-2);
+        metricRegistry.counter("imps_requested").inc(7);
+        metricRegistry.meter("requests.ok.openrtb2-web").mark(5);
+        metricRegistry.meter("requests.err.openrtb2-app").mark();
+        metricRegistry.timer("adapter.rubicon.request_time").update(15, TimeUnit.MILLISECONDS);
+        metricRegistry.histogram("adapter.rubicon.prices").update(1500);
+        metricRegistry.gauge("gauge.number", () -> () -> 1.5);
+        metricRegistry.gauge("gauge.boolean", () -> () -> true);
+
+        // when
+        final String result = target.write().toString();
+
+        // then
+        assertThat(families(result)).isEqualTo(families(dropwizardBridgeOutput()));
+    }
+
+    @Test
+    public void writeShouldIncludeMetricsRegisteredBeforeCreation() {
+        // given
+        metricRegistry.counter("imps_requested").inc(7);
+
+        // when
+        final String result = new PrometheusExposition(metricRegistry, sampleBuilder).write().toString();
+
+        // then
+        assertThat(result).isEqualTo("""
+                # HELP namespace_subsystem_imps_requested Generated from Dropwizard metric import \
+                (metric=imps_requested, type=com.codahale.metrics.Counter)
+                # TYPE namespace_subsystem_imps_requested gauge
+                namespace_subsystem_imps_requested 7.0
+                """);
+    }
+
+    @Test
+    public void writeShouldSkipRemovedMetricsAndGaugesOfUnsupportedTypes() {
+        // given
+        final PrometheusExposition target = new PrometheusExposition(metricRegistry, sampleBuilder);
+
+        metricRegistry.counter("imps_requested").inc();
+        metricRegistry.remove("imps_requested");
+        metricRegistry.gauge("gauge.string", () -> (Gauge<String>) () -> "value");
+
+        // when
+        final String result = target.write().toString();
+
+        // then
+        assertThat(result).isEmpty();
+    }
+
+    private String dropwizardBridgeOutput() throws IOException {
+        final CollectorRegistry collectorRegistry = new CollectorRegistry();
+        collectorRegistry.register(new DropwizardExports(metricRegistry, sampleBuilder));
+
+        final StringWriter writer = new StringWriter();
+        TextFormat.write004(writer, collectorRegistry.metricFamilySamples());
+        return writer.toString();
+    }
+
+    /**
+     * Splits exposition on families with sorted samples, since order of families and their samples may differ.
+     */
+    private static Map<String, List<String>> families(String exposition) {
+        final Map<String, List<String>> families = new HashMap<>();
+        List<String> current = null;
+        for (String line : exposition.split("\n")) {
+            if (line.startsWith("# HELP ")) {
+                current = new ArrayList<>();
+                families.put(line, current);
+            } else {
+                current.add(line);
+            }
+        }
+        families.values().forEach(lines -> lines.sort(String::compareTo));
+        return families;
+    }
+}
@@ -0,0 +1,140 @@
+package org.prebid.server.privacy;
+
+import com.iab.gpp.encoder.GppModel;
+import com.iab.gpp.encoder.section.TcfEuV2;
+import com.iabtcf.decoder.TCString;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.gdpr.model.DecodedTCString;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DecodedConsentCacheTest {
+
+    private static final String TC_STRING = "CPBCa-mPBCa-mAAAAAENA0CAAEAAAAAAACiQAaQAwAAgAgABoAAAAAA";
+    private static final String GPP_STRING = "DBABMA~CPXxRfAPXxRfAAfKABENB-CgAAAAAAAAAAYgAAAAAAAA";
+
+    @Mock
+    private Metrics metrics;
+
+    private DecodedConsentCache target;
+
+    @BeforeEach
+    public void setUp() {
+        target = new DecodedConsentCache(10_000, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnNegativeMaxWeight() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new DecodedConsentCache(-1, metrics));
+    }
+
+    @Test
+    public void decodeTcStringShouldReturnCopyOfDecodedString() {
+        // when
+        final TCString result = target.decodeTcString(TC_STRING);
+
+        // then
+        final TCString expected = TCString.decode(TC_STRING);
+        assertThat(result).isInstanceOf(DecodedTCString.class);
+        assertThat(result.getVersion()).isEqualTo(expected.getVersion());
+        assertThat(result.getCmpId()).isEqualTo(expected.getCmpId());
+        assertThat(result.getTcfPolicyVersion()).isEqualTo(expected.getTcfPolicyVersion());
+        assertThat(result.getPurposesConsent().toSet()).isEqualTo(expected.getPurposesConsent().toSet());
+        assertThat(result.getVendorConsent().toSet()).isEqualTo(expected.getVendorConsent().toSet());
+        assertThat(result.getSpecialFeatureOptIns().toSet()).isEqualTo(expected.getSpecialFeatureOptIns().toSet());
+    }
+
+    @Test
+    public void decodeTcStringShouldReturnCachedStringOnRepeatedCall() {
+        // when
+        final TCString first = target.decodeTcString(TC_STRING);
+        final TCString second = target.decodeTcString(TC_STRING);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(metrics).updatePrivacyConsentCacheMetric(MetricName.tcf, false);
+        verify(metrics).updatePrivacyConsentCacheMetric(MetricName.tcf, true);
+    }
+
+    @Test
+    public void decodeTcStringShouldCacheDecodingFailure() {
+        // when and then
+        assertThatExceptionOfType(PreBidException.class).isThrownBy(() -> target.decodeTcString("invalid"));
+        assertThatExceptionOfType(PreBidException.class).isThrownBy(() -> target.decodeTcString("invalid"));
+        verify(metrics).updatePrivacyConsentCacheMetric(MetricName.tcf, false);
+        verify(metrics).updatePrivacyConsentCacheMetric(MetricName.tcf, true);
+    }
+
+    @Test
+    public void decodeGppShouldDecodeStringOnlyOnce() {
+        // given
+        final AtomicInteger decodings = new AtomicInteger();
+        final Function<String, GppModel> decoder = gpp -> {
+            decodings.incrementAndGet();
+            return new GppModel(gpp);
+        };
+
+        // when
+        final GppModel first = target.decodeGpp(GPP_STRING, decoder);
+        final GppModel second = target.decodeGpp(GPP_STRING, decoder);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(decodings).hasValue(1);
+        assertThat(first.hasSection(TcfEuV2.ID)).isTrue();
+        verify(metrics).updatePrivacyConsentCacheMetric(MetricName.gpp, false);
+        verify(metrics).updatePrivacyConsentCacheMetric(MetricName.gpp, true);
+    }
+
+    @Test
+    public void decodeGppShouldCacheDecodingFailure() {
+        // given
+        final AtomicInteger decodings = new AtomicInteger();
+        final Function<String, GppModel> decoder = gpp -> {
+            decodings.incrementAndGet();
+            throw new IllegalArgumentException("error");
+        };
+
+        // when and then
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.decodeGpp("invalid", decoder))
+                .withMessage("error");
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> target.decodeGpp("invalid", decoder))
+                .withMessage("error");
+        assertThat(decodings).hasValue(1);
+    }
+
+    @Test
+    public void decodeGppShouldNotCacheModelWithMalformedSegment() {
+        // given
+        final AtomicInteger decodings = new AtomicInteger();
+        final Function<String, GppModel> decoder = gpp -> {
+            decodings.incrementAndGet();
+            return new GppModel(gpp);
+        };
+
+        // when
+        target.decodeGpp("DBABMA~invalid", decoder);
+        target.decodeGpp("DBABMA~invalid", decoder);
+
+        // then
+        assertThat(decodings).hasValue(2);
+        verify(metrics, times(2)).updatePrivacyConsentCacheMetric(MetricName.gpp, false);
+    }
+}
@@ -15,6 +15,7 @@ import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
 import org.prebid.server.privacy.gdpr.tcfstrategies.purpose.PurposeStrategy;
 import org.prebid.server.privacy.gdpr.tcfstrategies.specialfeature.SpecialFeaturesStrategy;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
 import org.prebid.server.privacy.gdpr.vendorlist.VersionedVendorListService;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
 import org.prebid.server.settings.model.AccountGdprConfig;
@@ -34,7 +35,6 @@ import java.util.function.Consumer;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.emptyMap;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.apache.commons.collections4.SetUtils.hashSet;
@@ -103,7 +103,7 @@ public class Tcf2ServiceTest extends VertxTest {
 
     @BeforeEach
     public void setUp() {
-        given(vendorListService.forConsent(any())).willReturn(Future.succeededFuture(emptyMap()));
+        given(vendorListService.forConsent(any())).willReturn(Future.succeededFuture(CompiledVendorList.empty()));
 
         given(purposeStrategyOne.getPurpose()).willReturn(ONE);
         given(purposeStrategyTwo.getPurpose()).willReturn(TWO);
@@ -205,11 +205,14 @@ public class Tcf2ServiceTest extends VertxTest {
                 purpose7.getVendorExceptions(),
                 purpose7.getEid());
         final List<VendorPermissionWithGvl> permissionsWithGvl = singletonList(withGvl(expectedVendorPermission, 1));
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, permissionsWithGvl, true);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, permissionsWithGvl, true);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, permissionsWithGvl, true);
-        verify(purposeStrategySeven)
-                .processTypePurposeStrategy(tcString, downgradedPurpose7, permissionsWithGvl, true);
+        verify(purposeStrategyOne).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose1, permissionsWithGvl, true);
+        verify(purposeStrategyTwo).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose2, permissionsWithGvl, true);
+        verify(purposeStrategyFour).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose4, permissionsWithGvl, true);
+        verify(purposeStrategySeven).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), downgradedPurpose7, permissionsWithGvl, true);
         verifyEachSpecialFeatureStrategyReceive(singletonList(expectedVendorPermission));
 
         verify(vendorListService).forConsent(any());
@@ -233,6 +236,7 @@ public class Tcf2ServiceTest extends VertxTest {
 
         verify(purposeStrategyOne).processTypePurposeStrategy(
                 tcString,
+                CompiledVendorList.empty(),
                 accountPurposeOne,
                 singletonList(withGvl(expectedVendorPermission, null)),
                 false);
@@ -349,13 +353,13 @@ public class Tcf2ServiceTest extends VertxTest {
 
         final List<VendorPermissionWithGvl> permissions = singletonList(withGvl(expectedVendorPermission, 1));
         verify(purposeStrategyOne, never())
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), eq(permissions), eq(false));
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), eq(permissions), eq(false));
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), eq(permissions), eq(false));
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), eq(emptyList()), eq(true));
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), eq(emptyList()), eq(true));
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), eq(emptyList()), eq(true));
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), any(), eq(permissions), eq(false));
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), any(), eq(permissions), eq(false));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), any(), eq(permissions), eq(false));
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), any(), eq(emptyList()), eq(true));
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), any(), eq(emptyList()), eq(true));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), any(), eq(emptyList()), eq(true));
         verifyEachSpecialFeatureStrategyReceive(singletonList(expectedVendorPermission));
 
         verify(vendorListService).forConsent(any());
@@ -377,14 +381,14 @@ public class Tcf2ServiceTest extends VertxTest {
 
         final List<VendorPermissionWithGvl> permissions = singletonList(withGvl(expectedVendorPermission, 1));
         verify(purposeStrategyOne, never())
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
         verify(purposeStrategyOne).allow(any());
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), eq(permissions), eq(false));
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), eq(permissions), eq(false));
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), eq(permissions), eq(false));
-        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), eq(emptyList()), eq(true));
-        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), eq(emptyList()), eq(true));
-        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), eq(emptyList()), eq(true));
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), any(), eq(permissions), eq(false));
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), any(), eq(permissions), eq(false));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), any(), eq(permissions), eq(false));
+        verify(purposeStrategyTwo).processTypePurposeStrategy(any(), any(), any(), eq(emptyList()), eq(true));
+        verify(purposeStrategySeven).processTypePurposeStrategy(any(), any(), any(), eq(emptyList()), eq(true));
+        verify(purposeStrategyFour).processTypePurposeStrategy(any(), any(), any(), eq(emptyList()), eq(true));
         verifyEachSpecialFeatureStrategyReceive(singletonList(expectedVendorPermission));
 
         verify(vendorListService).forConsent(any());
@@ -427,7 +431,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 vendorPermission -> vendorPermission.consentNaturallyWith(ONE),
                 doNothing()))
                 .when(purposeStrategyOne)
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
 
         doAnswer(answer(
                 doNothing(),
@@ -441,7 +445,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 },
                 doNothing()))
                 .when(purposeStrategyTwo)
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
 
         doAnswer(answer(
                 doNothing(),
@@ -452,7 +456,7 @@ public class Tcf2ServiceTest extends VertxTest {
                     vendorPermission.getPrivacyEnforcementAction().setRemoveUserIds(false);
                 }))
                 .when(purposeStrategyFour)
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
 
         final Purpose purposeFour = Purpose.of(
                 purpose4.getEnforcePurpose(),
@@ -508,7 +512,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 vendorPermission -> vendorPermission.consentNaturallyWith(ONE),
                 doNothing()))
                 .when(purposeStrategyOne)
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
 
         doAnswer(answer(
                 doNothing(),
@@ -522,7 +526,7 @@ public class Tcf2ServiceTest extends VertxTest {
                 },
                 doNothing()))
                 .when(purposeStrategyTwo)
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
 
         doAnswer(answer(
                 doNothing(),
@@ -533,7 +537,7 @@ public class Tcf2ServiceTest extends VertxTest {
                     vendorPermission.getPrivacyEnforcementAction().setRemoveUserIds(false);
                 }))
                 .when(purposeStrategyFour)
-                .processTypePurposeStrategy(any(), any(), anyCollection(), anyBoolean());
+                .processTypePurposeStrategy(any(), any(), any(), anyCollection(), anyBoolean());
 
         final Purpose purposeFour = Purpose.of(
                 purpose4.getEnforcePurpose(),
@@ -577,17 +581,25 @@ public class Tcf2ServiceTest extends VertxTest {
     }
 
     public void verifyEachPurposeStrategyReceive(List<VendorPermissionWithGvl> permissions) {
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, purpose1, permissions, false);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, purpose2, permissions, false);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, purpose4, permissions, false);
-        verify(purposeStrategySeven).processTypePurposeStrategy(tcString, purpose7, permissions, false);
+        verify(purposeStrategyOne).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose1, permissions, false);
+        verify(purposeStrategyTwo).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose2, permissions, false);
+        verify(purposeStrategyFour).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose4, permissions, false);
+        verify(purposeStrategySeven).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), purpose7, permissions, false);
     }
 
     public void verifyEachPurposeStrategyReceiveWeak(List<VendorPermissionWithGvl> permissions) {
-        verify(purposeStrategyOne).processTypePurposeStrategy(tcString, weakPurpose1, permissions, true);
-        verify(purposeStrategyTwo).processTypePurposeStrategy(tcString, weakPurpose2, permissions, true);
-        verify(purposeStrategyFour).processTypePurposeStrategy(tcString, weakPurpose4, permissions, true);
-        verify(purposeStrategySeven).processTypePurposeStrategy(tcString, weakPurpose7, permissions, true);
+        verify(purposeStrategyOne).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), weakPurpose1, permissions, true);
+        verify(purposeStrategyTwo).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), weakPurpose2, permissions, true);
+        verify(purposeStrategyFour).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), weakPurpose4, permissions, true);
+        verify(purposeStrategySeven).processTypePurposeStrategy(
+                tcString, CompiledVendorList.empty(), weakPurpose7, permissions, true);
     }
 
     public void verifyEachSpecialFeatureStrategyReceive(List<VendorPermission> vendorPermission) {
@@ -601,7 +613,7 @@ public class Tcf2ServiceTest extends VertxTest {
     @SafeVarargs
     private static Answer<Void> answer(Consumer<VendorPermission>... actionOnVendorPermission) {
         return invocation -> {
-            final Collection<VendorPermissionWithGvl> vendorPermissions = invocation.getArgument(2);
+            final Collection<VendorPermissionWithGvl> vendorPermissions = invocation.getArgument(3);
             int currentAction = 0;
 
             for (VendorPermissionWithGvl vendorPermission : vendorPermissions) {
@@ -15,6 +15,7 @@ import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.geolocation.model.GeoInfo;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.privacy.DecodedConsentCache;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.TCStringEmpty;
 import org.prebid.server.privacy.gdpr.model.TcfContext;
@@ -45,6 +46,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -66,10 +68,14 @@ public class TcfDefinerServiceTest {
     @Mock
     private Metrics metrics;
 
+    private DecodedConsentCache decodedConsentCache;
+
     private TcfDefinerService target;
 
     @BeforeEach
     public void setUp() {
+        decodedConsentCache = new DecodedConsentCache(10_000, mock(Metrics.class));
+
         final GdprConfig gdprConfig = GdprConfig.builder()
                 .defaultValue("1")
                 .enabled(true)
@@ -85,6 +91,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
     }
@@ -100,6 +107,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -179,6 +187,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -212,6 +221,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -245,6 +255,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -289,6 +300,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -331,6 +343,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -451,6 +464,7 @@ public class TcfDefinerServiceTest {
                 geoLocationServiceWrapper,
                 bidderCatalog,
                 ipAddressHelper,
+                decodedConsentCache,
                 metrics,
                 0.01);
 
@@ -14,12 +14,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.privacy.gdpr.model.PrivacyEnforcementAction;
 import org.prebid.server.privacy.gdpr.model.VendorPermission;
 import org.prebid.server.privacy.gdpr.model.VendorPermissionWithGvl;
+import org.prebid.server.privacy.gdpr.vendorlist.CompiledVendorList;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
 import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
 
 import java.util.EnumSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -1171,6 +1173,30 @@ public class FullEnforcePurposeStrategyTest {
         assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission2);
     }
 
+    @Test
+    public void shouldCheckVendorsAgainstGivenCompiledVendorList() {
+        // given
+        final VendorPermission vendorPermission1 = VendorPermission.of(1, null, PrivacyEnforcementAction.restrictAll());
+        final VendorPermission vendorPermission2 = VendorPermission.of(2, null, PrivacyEnforcementAction.restrictAll());
+        final List<VendorPermissionWithGvl> vendorPermissionWithGvls = asList(
+                withGvl(vendorPermission1, Vendor.empty(1)),
+                withGvl(vendorPermission2, Vendor.builder().id(2).purposes(EnumSet.of(PURPOSE_CODE)).build()));
+
+        final CompiledVendorList vendorList = CompiledVendorList.of(Map.of(
+                1, Vendor.builder().id(1).purposes(EnumSet.of(PURPOSE_CODE)).build(),
+                2, Vendor.empty(2)));
+
+        given(purposesConsent.contains(anyInt())).willReturn(true);
+        given(vendorIds.intIterator()).willReturn(intIterator());
+
+        // when
+        final Stream<VendorPermission> result = target.allowedByTypeStrategy(
+                PURPOSE_CODE, tcString, vendorList, vendorPermissionWithGvls, emptyList(), false);
+
+        // then
+        assertThat(result).usingRecursiveFieldByFieldElementComparator().containsOnly(vendorPermission1);
+    }
+
     private void setRestriction(RestrictionType requireConsent) {
         given(publisherRestriction.getRestrictionType()).willReturn(requireConsent);
     }
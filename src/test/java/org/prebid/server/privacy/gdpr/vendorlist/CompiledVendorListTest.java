@@ -0,0 +1,112 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import org.junit.jupiter.api.Test;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode.ONE;
+import static org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode.THREE;
+import static org.prebid.server.privacy.gdpr.vendorlist.proto.PurposeCode.TWO;
+
+public class CompiledVendorListTest {
+
+    @Test
+    public void shouldAllowConsentPurposeOnlyByConsent() {
+        // when
+        final CompiledVendorList result = CompiledVendorList.of(Map.of(
+                1, givenVendor(1, EnumSet.of(ONE), EnumSet.noneOf(PurposeCode.class))));
+
+        // then
+        assertThat(result.isAllowedByConsent(ONE, 1)).isTrue();
+        assertThat(result.isAllowedByLegitimateInterest(ONE, 1)).isFalse();
+        assertThat(result.isAllowedByConsent(TWO, 1)).isFalse();
+    }
+
+    @Test
+    public void shouldAllowLegitimateInterestPurposeOnlyByLegitimateInterest() {
+        // when
+        final CompiledVendorList result = CompiledVendorList.of(Map.of(
+                1, givenVendor(1, EnumSet.noneOf(PurposeCode.class), EnumSet.of(ONE))));
+
+        // then
+        assertThat(result.isAllowedByConsent(ONE, 1)).isFalse();
+        assertThat(result.isAllowedByLegitimateInterest(ONE, 1)).isTrue();
+    }
+
+    @Test
+    public void shouldAllowFlexiblePurposeByConsentAndLegitimateInterest() {
+        // given
+        final Vendor consentVendor = givenVendor(1, EnumSet.of(ONE), EnumSet.noneOf(PurposeCode.class)).toBuilder()
+                .flexiblePurposes(EnumSet.of(ONE))
+                .build();
+        final Vendor legitimateInterestVendor = givenVendor(2, EnumSet.noneOf(PurposeCode.class), EnumSet.of(ONE))
+                .toBuilder()
+                .flexiblePurposes(EnumSet.of(ONE))
+                .build();
+
+        // when
+        final CompiledVendorList result = CompiledVendorList.of(Map.of(1, consentVendor, 2, legitimateInterestVendor));
+
+        // then
+        assertThat(result.isAllowedByConsent(ONE, 1)).isTrue();
+        assertThat(result.isAllowedByLegitimateInterest(ONE, 1)).isTrue();
+        assertThat(result.isAllowedByConsent(ONE, 2)).isTrue();
+        assertThat(result.isAllowedByLegitimateInterest(ONE, 2)).isTrue();
+    }
+
+    @Test
+    public void shouldIgnoreFlexiblePurposeNotDeclaredByVendor() {
+        // given
+        final Vendor vendor = givenVendor(1, EnumSet.of(ONE), EnumSet.noneOf(PurposeCode.class)).toBuilder()
+                .flexiblePurposes(EnumSet.of(THREE))
+                .build();
+
+        // when
+        final CompiledVendorList result = CompiledVendorList.of(Map.of(1, vendor));
+
+        // then
+        assertThat(result.isAllowedByConsent(THREE, 1)).isFalse();
+        assertThat(result.isAllowedByLegitimateInterest(THREE, 1)).isFalse();
+    }
+
+    @Test
+    public void shouldNotAllowUnknownOrInvalidVendors() {
+        // given
+        final Map<Integer, Vendor> vendors = new HashMap<>();
+        vendors.put(1, Vendor.builder().id(1).build());
+        vendors.put(-1, givenVendor(-1, EnumSet.of(ONE), EnumSet.of(ONE)));
+
+        // when
+        final CompiledVendorList result = CompiledVendorList.of(vendors);
+
+        // then
+        assertThat(result.getVendors()).isEqualTo(vendors);
+        assertThat(result.isAllowedByConsent(ONE, 1)).isFalse();
+        assertThat(result.isAllowedByConsent(ONE, 2)).isFalse();
+        assertThat(result.isAllowedByConsent(ONE, -1)).isFalse();
+        assertThat(result.isAllowedByLegitimateInterest(ONE, null)).isFalse();
+    }
+
+    @Test
+    public void emptyShouldNotAllowAnyVendor() {
+        // when
+        final CompiledVendorList result = CompiledVendorList.empty();
+
+        // then
+        assertThat(result.getVendors()).isEmpty();
+        assertThat(result.isAllowedByConsent(ONE, 1)).isFalse();
+        assertThat(result.isAllowedByLegitimateInterest(ONE, 1)).isFalse();
+    }
+
+    private static Vendor givenVendor(int id, EnumSet<PurposeCode> purposes, EnumSet<PurposeCode> legIntPurposes) {
+        return Vendor.empty(id).toBuilder()
+                .purposes(purposes)
+                .legIntPurposes(legIntPurposes)
+                .build();
+    }
+}
@@ -149,7 +149,7 @@ public class VendorListServiceTest extends VertxTest {
                 fetchThrottler);
 
         // when
-        final Future<Map<Integer, Vendor>> future = target.forVersion(1);
+        final Future<Map<Integer, Vendor>> future = target.forVersion(1).map(CompiledVendorList::getVendors);
 
         // then
         verifyNoInteractions(httpClient);
@@ -444,7 +444,7 @@ public class VendorListServiceTest extends VertxTest {
         givenHttpClientProducesException(new RuntimeException());
 
         // when
-        final Future<Map<Integer, Vendor>> future = target.forVersion(1);
+        final Future<Map<Integer, Vendor>> future = target.forVersion(1).map(CompiledVendorList::getVendors);
 
         // then
         assertThat(future).isFailed()
@@ -461,7 +461,7 @@ public class VendorListServiceTest extends VertxTest {
 
         // when
         target.forVersion(1); // populate cache
-        final Future<Map<Integer, Vendor>> result = target.forVersion(1);
+        final Future<Map<Integer, Vendor>> result = target.forVersion(1).map(CompiledVendorList::getVendors);
 
         // then
         assertThat(result).succeededWith(singletonMap(
@@ -509,7 +509,7 @@ public class VendorListServiceTest extends VertxTest {
 
         // when
         target.forVersion(1); // populate cache
-        final Future<Map<Integer, Vendor>> future = target.forVersion(1);
+        final Future<Map<Integer, Vendor>> future = target.forVersion(1).map(CompiledVendorList::getVendors);
 
         // then
         assertThat(future).succeededWith(idToVendor);
@@ -523,9 +523,9 @@ public class VendorListServiceTest extends VertxTest {
         // when
 
         // first call triggers http request that results in 404
-        final Future<Map<Integer, Vendor>> future1 = target.forVersion(1);
+        final Future<Map<Integer, Vendor>> future1 = target.forVersion(1).map(CompiledVendorList::getVendors);
         // second call yields fallback vendor list
-        final Future<Map<Integer, Vendor>> future2 = target.forVersion(1);
+        final Future<Map<Integer, Vendor>> future2 = target.forVersion(1).map(CompiledVendorList::getVendors);
 
         // then
         assertThat(future1).isFailed();
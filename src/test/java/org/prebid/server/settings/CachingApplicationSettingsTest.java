@@ -1,9 +1,11 @@
 package org.prebid.server.settings;
 
 import io.vertx.core.Future;
+import io.vertx.core.Promise;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.prebid.server.exception.InvalidRequestException;
@@ -14,12 +16,14 @@ import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
 import org.prebid.server.settings.model.Account;
 import org.prebid.server.settings.model.AccountAuctionConfig;
+import org.prebid.server.settings.model.AccountStatus;
 import org.prebid.server.settings.model.StoredDataResult;
 import org.prebid.server.settings.model.StoredResponseDataResult;
 
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeoutException;
 
@@ -30,6 +34,7 @@ import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anySet;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -47,6 +52,8 @@ public class CachingApplicationSettingsTest {
     private ApplicationSettings delegateSettings;
     @Mock
     private Metrics metrics;
+    @Mock
+    private Clock clock;
 
     private CachingApplicationSettings target;
 
@@ -64,7 +71,26 @@ public class CachingApplicationSettingsTest {
                 metrics,
                 360,
                 100,
-                0);
+                0,
+                0,
+                1000L,
+                Clock.systemUTC());
+    }
+
+    @Test
+    public void creationShouldFailWhenRefreshAheadIsNotLessThanTtlWithoutJitter() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new CachingApplicationSettings(
+                delegateSettings,
+                new SettingsCache(360, 100, 0),
+                new SettingsCache(360, 100, 0),
+                new SettingsCache(360, 100, 0),
+                metrics,
+                360,
+                100,
+                60,
+                300,
+                1000L,
+                Clock.systemUTC()));
     }
 
     @Test
@@ -273,6 +299,147 @@ public class CachingApplicationSettingsTest {
         verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.hit));
     }
 
+    @Test
+    public void getAccountByIdShouldShareInFlightLoadBetweenConcurrentCalls() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout))).willReturn(promise.future());
+
+        // when
+        final Future<Account> first = target.getAccountById("accountId", timeout);
+        final Future<Account> second = target.getAccountById("accountId", timeout);
+        promise.complete(Account.empty("accountId"));
+        final Future<Account> third = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(List.of(first, second, third))
+                .extracting(Future::result)
+                .containsOnly(Account.empty("accountId"));
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.account), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getAccountByIdShouldNotCacheLoadedAccountWhenCacheWasInvalidatedDuringLoad() {
+        // given
+        final Promise<Account> promise = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(promise.future())
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+        target.invalidateAccountCache("accountId");
+        promise.complete(Account.empty("outdated"));
+        final Future<Account> lastFuture = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(Account.empty("outdated"));
+        assertThat(lastFuture.result()).isEqualTo(Account.empty("accountId"));
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldReloadAccountInBackgroundWhenRefreshAheadIsDue() {
+        // given
+        given(clock.millis()).willReturn(0L, 300_000L);
+        target = refreshAheadTarget();
+
+        final Promise<Account> reload = Promise.promise();
+        given(delegateSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")))
+                .willReturn(reload.future());
+
+        // when
+        target.getAccountById("accountId", timeout);
+        final Future<Account> staleFuture = target.getAccountById("accountId", timeout);
+        reload.complete(Account.builder().id("accountId").status(AccountStatus.inactive).build());
+        final Future<Account> refreshedFuture = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(staleFuture.result()).isEqualTo(Account.empty("accountId"));
+        assertThat(refreshedFuture.result().getStatus()).isEqualTo(AccountStatus.inactive);
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), any());
+        verify(metrics).updateSettingsCacheRefreshAheadMetric(eq(MetricName.account), eq(MetricName.ok));
+    }
+
+    @Test
+    public void getAccountByIdShouldReloadAccountInBackgroundWithItsOwnTimeout() {
+        // given
+        given(clock.millis()).willReturn(0L, 300_000L);
+        target = refreshAheadTarget();
+
+        given(delegateSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")))
+                .willReturn(Promise.<Account>promise().future());
+
+        // when
+        target.getAccountById("accountId", timeout);
+        target.getAccountById("accountId", timeout);
+
+        // then
+        final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), timeoutCaptor.capture());
+        assertThat(timeoutCaptor.getAllValues().get(0)).isSameAs(timeout);
+        assertThat(timeoutCaptor.getAllValues().get(1)).isNotSameAs(timeout)
+                .extracting(Timeout::getDeadline)
+                .isEqualTo(301_000L);
+    }
+
+    @Test
+    public void getAccountByIdShouldNotKeepLoadInFlightWhenDelegateThrowsException() {
+        // given
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willThrow(new IllegalStateException("error"))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        final Future<Account> failedFuture = target.getAccountById("accountId", timeout);
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(failedFuture.failed()).isTrue();
+        assertThat(failedFuture.cause()).isInstanceOf(IllegalStateException.class).hasMessage("error");
+        assertThat(future.result()).isEqualTo(Account.empty("accountId"));
+        verify(delegateSettings, times(2)).getAccountById(eq("accountId"), same(timeout));
+    }
+
+    @Test
+    public void getAccountByIdShouldKeepReturningCachedAccountWhenRefreshAheadFailed() {
+        // given
+        given(clock.millis()).willReturn(0L, 300_000L);
+        target = refreshAheadTarget();
+
+        given(delegateSettings.getAccountById(eq("accountId"), any()))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")))
+                .willReturn(Future.failedFuture(new PreBidException("error")));
+
+        // when
+        target.getAccountById("accountId", timeout);
+        final Future<Account> future = target.getAccountById("accountId", timeout);
+
+        // then
+        assertThat(future.result()).isEqualTo(Account.empty("accountId"));
+        verify(metrics).updateSettingsCacheRefreshAheadMetric(eq(MetricName.account), eq(MetricName.err));
+    }
+
+    @Test
+    public void getAccountByIdShouldNotReloadAccountInBackgroundBeforeRefreshAheadIsDue() {
+        // given
+        given(clock.millis()).willReturn(0L, 299_999L);
+        target = refreshAheadTarget();
+
+        given(delegateSettings.getAccountById(eq("accountId"), same(timeout)))
+                .willReturn(Future.succeededFuture(Account.empty("accountId")));
+
+        // when
+        target.getAccountById("accountId", timeout);
+        target.getAccountById("accountId", timeout);
+
+        // then
+        verify(delegateSettings).getAccountById(eq("accountId"), same(timeout));
+    }
+
     @Test
     public void getCategoriesShouldReturnResultFromCacheOnSuccessiveCalls() {
         // given
@@ -291,6 +458,29 @@ public class CachingApplicationSettingsTest {
         verifyNoMoreInteractions(delegateSettings);
     }
 
+    @Test
+    public void getCategoriesShouldReloadCategoriesInBackgroundWithItsOwnTimeout() {
+        // given
+        given(clock.millis()).willReturn(0L, 300_000L);
+        target = refreshAheadTarget();
+
+        given(delegateSettings.getCategories(eq("adServer"), eq("publisher"), any()))
+                .willReturn(Future.succeededFuture(singletonMap("iab", "id")))
+                .willReturn(Promise.<Map<String, String>>promise().future());
+
+        // when
+        target.getCategories("adServer", "publisher", timeout);
+        target.getCategories("adServer", "publisher", timeout);
+
+        // then
+        final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
+        verify(delegateSettings, times(2)).getCategories(eq("adServer"), eq("publisher"), timeoutCaptor.capture());
+        assertThat(timeoutCaptor.getAllValues().get(0)).isSameAs(timeout);
+        assertThat(timeoutCaptor.getAllValues().get(1)).isNotSameAs(timeout)
+                .extracting(Timeout::getDeadline)
+                .isEqualTo(301_000L);
+    }
+
     @Test
     public void getCategoriesShouldPropagateFailure() {
         // given
@@ -429,6 +619,45 @@ public class CachingApplicationSettingsTest {
         verifyNoMoreInteractions(delegateSettings);
     }
 
+    @Test
+    public void getStoredDataShouldShareInFlightLoadOfTheSameMissedIds() {
+        // given
+        final Promise<StoredDataResult> promise = Promise.promise();
+        given(delegateSettings.getStoredData(any(), any(), any(), any())).willReturn(promise.future());
+
+        // when
+        final Future<StoredDataResult> first =
+                target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout);
+        final Future<StoredDataResult> second =
+                target.getStoredData("1001", singleton("reqid"), singleton("impid"), timeout);
+        promise.complete(StoredDataResult.of(
+                singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList()));
+
+        // then
+        assertThat(List.of(first, second))
+                .extracting(Future::result)
+                .containsOnly(StoredDataResult.of(
+                        singletonMap("reqid", "json"), singletonMap("impid", "json2"), emptyList()));
+        verify(delegateSettings)
+                .getStoredData(eq("1001"), eq(singleton("reqid")), eq(singleton("impid")), same(timeout));
+        verify(metrics).updateSettingsCacheEventMetric(eq(MetricName.stored_request), eq(MetricName.coalesced));
+    }
+
+    @Test
+    public void getStoredDataShouldNotShareLoadOfDifferentAccounts() {
+        // given
+        given(delegateSettings.getStoredData(any(), any(), any(), any()))
+                .willReturn(Promise.<StoredDataResult>promise().future());
+
+        // when
+        target.getStoredData("1001", singleton("reqid"), emptySet(), timeout);
+        target.getStoredData("1002", singleton("reqid"), emptySet(), timeout);
+
+        // then
+        verify(delegateSettings).getStoredData(eq("1001"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+        verify(delegateSettings).getStoredData(eq("1002"), eq(singleton("reqid")), eq(emptySet()), same(timeout));
+    }
+
     @Test
     public void getStoredResponseShouldPropagateFailure() {
         // given
@@ -445,4 +674,19 @@ public class CachingApplicationSettingsTest {
                 .isInstanceOf(InvalidRequestException.class)
                 .hasMessage("error");
     }
+
+    private CachingApplicationSettings refreshAheadTarget() {
+        return new CachingApplicationSettings(
+                delegateSettings,
+                new SettingsCache(360, 100, 0),
+                new SettingsCache(360, 100, 0),
+                new SettingsCache(360, 100, 0),
+                metrics,
+                360,
+                100,
+                0,
+                60,
+                1000L,
+                clock);
+    }
 }
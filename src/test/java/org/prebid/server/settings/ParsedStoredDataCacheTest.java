@@ -0,0 +1,113 @@
+package org.prebid.server.settings;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class ParsedStoredDataCacheTest {
+
+    private ParsedStoredDataCache target;
+
+    private AtomicInteger parseCount;
+
+    private Function<String, JsonNode> parser;
+
+    @BeforeEach
+    public void setUp() {
+        target = new ParsedStoredDataCache(10);
+        parseCount = new AtomicInteger();
+        parser = json -> {
+            parseCount.incrementAndGet();
+            return TextNode.valueOf(json);
+        };
+    }
+
+    @Test
+    public void creationShouldFailOnNegativeSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ParsedStoredDataCache(-1));
+    }
+
+    @Test
+    public void storedRequestShouldParseJsonOnlyOnceForTheSameAccountIdAndJson() {
+        // when
+        final JsonNode first = target.storedRequest("account", "id", "json", parser);
+        final JsonNode second = target.storedRequest("account", "id", new String("json"), parser);
+
+        // then
+        assertThat(second).isSameAs(first);
+        assertThat(parseCount).hasValue(1);
+    }
+
+    @Test
+    public void storedRequestShouldParseJsonAgainWhenItWasChanged() {
+        // when
+        target.storedRequest("account", "id", "json", parser);
+        final JsonNode result = target.storedRequest("account", "id", "changed", parser);
+
+        // then
+        assertThat(result).isEqualTo(TextNode.valueOf("changed"));
+        assertThat(parseCount).hasValue(2);
+    }
+
+    @Test
+    public void storedRequestShouldNotShareParsedJsonBetweenAccounts() {
+        // when
+        target.storedRequest("account1", "id", "json", parser);
+        target.storedRequest("account2", "id", "json", parser);
+
+        // then
+        assertThat(parseCount).hasValue(2);
+    }
+
+    @Test
+    public void storedImpShouldNotShareParsedJsonWithStoredRequest() {
+        // when
+        target.storedRequest("account", "id", "json", parser);
+        target.storedImp("account", "id", "json", parser);
+        target.storedImp("account", "id", "json", parser);
+
+        // then
+        assertThat(parseCount).hasValue(2);
+    }
+
+    @Test
+    public void invalidateShouldDropParsedJsonOfAllAccounts() {
+        // given
+        target.storedRequest("account1", "reqId", "json", parser);
+        target.storedRequest("account2", "reqId", "json", parser);
+        target.storedImp("account1", "impId", "json", parser);
+
+        // when
+        target.invalidate(singletonList("reqId"), emptyList());
+        target.storedRequest("account1", "reqId", "json", parser);
+        target.storedRequest("account2", "reqId", "json", parser);
+        target.storedImp("account1", "impId", "json", parser);
+
+        // then
+        assertThat(parseCount).hasValue(5);
+    }
+
+    @Test
+    public void saveShouldDropParsedJsonOfSavedIds() {
+        // given
+        target.storedImp("account", "impId", "json", parser);
+
+        // when
+        target.save(emptyMap(), singletonMap("impId", "json"));
+        target.storedImp("account", "impId", "json", parser);
+
+        // then
+        assertThat(parseCount).hasValue(2);
+    }
+}
@@ -2,6 +2,7 @@ package org.prebid.server.vertx.httpclient;
 
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpClient;
@@ -31,6 +32,7 @@ import java.util.concurrent.TimeoutException;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mock.Strictness.LENIENT;
@@ -50,6 +52,8 @@ public class BasicHttpClientTest {
     private HttpClientRequest httpClientRequest;
     @Mock
     private HttpClientResponse httpClientResponse;
+    @Mock
+    private ConnectionPoolListener connectionPoolListener;
 
     @BeforeEach
     public void setUp() {
@@ -93,6 +97,21 @@ public class BasicHttpClientTest {
         assertThat(future.succeeded()).isTrue();
     }
 
+    @Test
+    public void requestShouldReturnResponseWithBodyBufferAsReceived() {
+        // given
+        final Buffer body = Buffer.buffer("response");
+        given(httpClientResponse.body()).willReturn(Future.succeededFuture(body));
+
+        // when
+        final Future<org.prebid.server.vertx.httpclient.model.HttpClientResponse> future =
+                httpClient.request(HttpMethod.GET, "http://www.example.com", null, (String) null, 1L);
+
+        // then
+        assertThat(future.result().getBodyBuffer()).isSameAs(body);
+        assertThat(future.result().getBody()).isEqualTo("response");
+    }
+
     @Test
     public void requestShouldAllowFollowingRedirections() {
         // given and when
@@ -129,6 +148,26 @@ public class BasicHttpClientTest {
         assertThat(future.cause()).hasMessage("Request exception");
     }
 
+    @Test
+    public void requestShouldReportConnectionPoolQueueSizeWhenConnectionIsAcquired() {
+        // given
+        final Promise<HttpClientRequest> firstConnectionPromise = Promise.promise();
+        final Promise<HttpClientRequest> secondConnectionPromise = Promise.promise();
+        given(wrappedHttpClient.request(any()))
+                .willReturn(firstConnectionPromise.future(), secondConnectionPromise.future());
+        httpClient = new BasicHttpClient(vertx, wrappedHttpClient, connectionPoolListener);
+
+        // when
+        httpClient.request(HttpMethod.GET, "http://www.example.com", null, (String) null, 1L);
+        httpClient.request(HttpMethod.GET, "http://www.example.com", null, (String) null, 1L);
+        firstConnectionPromise.fail("Connection exception");
+        secondConnectionPromise.complete(httpClientRequest);
+
+        // then
+        verify(connectionPoolListener).onConnectionAcquired(eq(0), anyLong());
+        verify(connectionPoolListener).onConnectionAcquired(eq(1), anyLong());
+    }
+
     @Test
     public void requestShouldFailIfHttpResponseFails() {
         // given